@@ -19,8 +19,16 @@ CREATE TABLE IF NOT EXISTS crypto_scout.stream_offsets (
     updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
 );
 
+-- Symbol dictionary: dense ids that stay stable across restarts
+CREATE TABLE IF NOT EXISTS crypto_scout.symbols (
+    id INTEGER PRIMARY KEY CHECK (id >= 0),
+    symbol TEXT NOT NULL UNIQUE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
 -- Set ownership to application role
 ALTER TABLE crypto_scout.stream_offsets OWNER TO crypto_scout_db;
+ALTER TABLE crypto_scout.symbols OWNER TO crypto_scout_db;
 
 -- Grant privileges
 GRANT ALL PRIVILEGES ON SCHEMA crypto_scout TO crypto_scout_db;
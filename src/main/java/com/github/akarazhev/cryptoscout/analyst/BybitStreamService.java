@@ -24,13 +24,22 @@
 
 package com.github.akarazhev.cryptoscout.analyst;
 
+import com.github.akarazhev.cryptoscout.analyst.codec.OutputCodec;
+import com.github.akarazhev.cryptoscout.analyst.codec.SliceCodec;
 import com.github.akarazhev.cryptoscout.analyst.db.StreamOffsetsRepository;
 import com.github.akarazhev.cryptoscout.analyst.stream.AnalystTransformer;
 import com.github.akarazhev.cryptoscout.analyst.stream.BytesToPayloadTransformer;
+import com.github.akarazhev.cryptoscout.analyst.stream.CompressionStats;
+import com.github.akarazhev.cryptoscout.analyst.stream.HandoffStats;
 import com.github.akarazhev.cryptoscout.analyst.stream.MessageSupplier;
+import com.github.akarazhev.cryptoscout.analyst.stream.ShardPool;
+import com.github.akarazhev.cryptoscout.analyst.stream.ShardedTransformer;
+import com.github.akarazhev.cryptoscout.analyst.stream.StreamPayload;
 import com.github.akarazhev.cryptoscout.analyst.stream.StreamPublisher;
 import com.github.akarazhev.cryptoscout.config.AmqpConfig;
+import com.github.akarazhev.cryptoscout.config.AnalystConfig;
 import com.rabbitmq.stream.Consumer;
+import com.rabbitmq.stream.ConsumerFlowStrategy;
 import com.rabbitmq.stream.Environment;
 import com.rabbitmq.stream.Message;
 import com.rabbitmq.stream.MessageHandler;
@@ -38,25 +47,37 @@ import com.rabbitmq.stream.OffsetSpecification;
 import com.rabbitmq.stream.Producer;
 import com.rabbitmq.stream.SubscriptionListener;
 import io.activej.async.service.ReactiveService;
+import io.activej.datastream.processor.transformer.StreamTransformer;
+import io.activej.jmx.api.attribute.JmxAttribute;
 import io.activej.promise.Promise;
+import io.activej.promise.SettablePromise;
 import io.activej.reactor.AbstractReactive;
+import io.activej.reactor.jmx.ReactiveJmxBeanWithStats;
 import io.activej.reactor.nio.NioReactor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 
-public final class BybitStreamService extends AbstractReactive implements ReactiveService {
+public final class BybitStreamService extends AbstractReactive implements ReactiveService, ReactiveJmxBeanWithStats {
     private static final Logger LOGGER = LoggerFactory.getLogger(BybitStreamService.class);
+    private final HandoffStats handoffStats = HandoffStats.create();
+    private final CompressionStats compressionStats = CompressionStats.create();
+    private final List<Partition> partitions = new CopyOnWriteArrayList<>();
     private final Executor executor;
     private final StreamOffsetsRepository streamOffsetsRepository;
     private final DataService dataService;
     private final String sourceStream;
     private final String targetStream;
+    private final ShardPool shardPool;
+    private final Map<NioReactor, DataService> forks = new IdentityHashMap<>();
     private volatile Environment environment;
-    private volatile Consumer consumer;
     private volatile Producer producer;
-    private volatile MessageSupplier messageSupplier;
 
     public static BybitStreamService create(final NioReactor reactor, final Executor executor,
                                             final StreamOffsetsRepository streamOffsetsRepository,
@@ -73,52 +94,145 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
         this.dataService = dataService;
         this.sourceStream = AmqpConfig.getAmqpBybitStream();
         this.targetStream = AmqpConfig.getAmqpBybitTaStream();
+        final var shards = AnalystConfig.getBybitShards();
+        this.shardPool = shards > 1 ? ShardPool.create("bybit-shard", shards) : null;
+        if (shardPool != null) {
+            // One fork per shard, shared by every partition: a symbol always lands on the same shard and so on the
+            // same analytic state, whichever partition delivered it
+            for (final var shardReactor : shardPool.getReactors()) {
+                forks.put(shardReactor, dataService.fork(shardReactor));
+            }
+        }
     }
 
     @Override
     public Promise<Void> start() {
+        if (shardPool != null) {
+            shardPool.start();
+        }
+
         return Promise.ofBlocking(executor, () -> {
-                    environment = AmqpConfig.getEnvironment();
-                    producer = environment.producerBuilder()
-                            .name(targetStream)
-                            .stream(targetStream)
-                            .build();
+                    environment = AmqpConfig.getEnvironment(
+                            AmqpConfig.isAmqpStreamZeroCopy() ? SliceCodec.create() : null, compressionStats);
+                    producer = createProducer();
                 })
                 .then(() -> {
-                    messageSupplier = MessageSupplier.create();
-                    messageSupplier.transformWith(BytesToPayloadTransformer.create())
-                            .transformWith(AnalystTransformer.createForBybit(dataService))
-                            .streamTo(StreamPublisher.create(producer, streamOffsetsRepository, executor));
+                    final var sources = getSourcePartitions();
+                    // The partitions share one producer, so together they must stay within its unconfirmed window
+                    final var maxUnconfirmed = Math.max(1,
+                            AmqpConfig.getAmqpStreamProducerMaxUnconfirmed() / sources.size());
+                    for (final var stream : sources) {
+                        final var partition = new Partition(stream, MessageSupplier.create(
+                                AmqpConfig.getAmqpStreamBufferCapacity(), AmqpConfig.getAmqpStreamDrainBatchSize(),
+                                handoffStats));
+                        partition.completion = partition.messageSupplier.transformWith(
+                                        BytesToPayloadTransformer.createForBybit(dataService.getSymbolTable()))
+                                .transformWith(createAnalystStage())
+                                .streamTo(StreamPublisher.create(producer, streamOffsetsRepository, executor,
+                                        OutputCodec.of(AmqpConfig.getAmqpBybitTaStreamCodec(),
+                                                dataService.getSymbolTable()), maxUnconfirmed));
+                        partitions.add(partition);
+                    }
+
                     return Promise.ofBlocking(executor, () -> {
-                        consumer = environment.consumerBuilder()
-                                .stream(sourceStream)
-                                .noTrackingStrategy()
-                                .subscriptionListener(this::updateOffset)
-                                .messageHandler(this::onMessage)
-                                .build();
+                        for (final var partition : partitions) {
+                            partition.consumer = environment.consumerBuilder()
+                                    .stream(partition.stream)
+                                    .noTrackingStrategy()
+                                    .flow()
+                                    .strategy(ConsumerFlowStrategy.creditWhenHalfMessagesProcessed(
+                                            AmqpConfig.getAmqpStreamInitialCredits()))
+                                    .builder()
+                                    .subscriptionListener(context -> updateOffset(partition.stream, context))
+                                    .messageHandler((context, message) ->
+                                            onMessage(partition.messageSupplier, context, message))
+                                    .build();
+                        }
                     });
                 });
     }
 
+    @JmxAttribute
+    public HandoffStats getHandoffStats() {
+        return handoffStats;
+    }
+
+    @JmxAttribute
+    public CompressionStats getCompressionStats() {
+        return compressionStats;
+    }
+
+    @JmxAttribute
+    public int getHandoffBufferedCount() {
+        var count = 0;
+        for (final var partition : partitions) {
+            count += partition.messageSupplier.getBufferedCount();
+        }
+
+        return count;
+    }
+
+    @JmxAttribute
+    public int getPartitionCount() {
+        return partitions.size();
+    }
+
     @Override
     public Promise<Void> stop() {
-        return Promise.ofBlocking(executor, () -> {
-            closeConsumer();
-            closeProducer();
-            stopPipeline();
-            closeEnvironment();
-        });
+        // The pipelines drain into the producer on their shard reactors, so both stay up until every pipeline is done
+        return Promise.ofBlocking(executor, this::closeConsumers)
+                .then(this::stopPipelines)
+                .then(() -> Promise.ofBlocking(executor, () -> {
+                    closeProducer();
+                    stopShardPool();
+                    closeEnvironment();
+                }));
+    }
+
+    private List<String> getSourcePartitions() {
+        final var count = AmqpConfig.getAmqpBybitStreamPartitions();
+        if (count <= 1) {
+            return List.of(sourceStream);
+        }
+        // Super stream partitions follow the broker's default "<super-stream>-<index>" naming
+        final var streams = new ArrayList<String>(count);
+        for (var i = 0; i < count; i++) {
+            streams.add(sourceStream + "-" + i);
+        }
+
+        return streams;
     }
 
-    private void updateOffset(final SubscriptionListener.SubscriptionContext context) {
-        reactor.execute(() -> Promise.ofBlocking(executor, () -> streamOffsetsRepository.getOffset(sourceStream))
+    private Producer createProducer() {
+        final var builder = AmqpConfig.configureProducer(environment.producerBuilder()).name(targetStream);
+        if (AmqpConfig.getAmqpBybitTaStreamPartitions() <= 1) {
+            return builder.stream(targetStream).build();
+        }
+
+        return builder.superStream(targetStream)
+                .routing(StreamPublisher::routingKey)
+                .producerBuilder()
+                .build();
+    }
+
+    private StreamTransformer<StreamPayload, StreamPayload> createAnalystStage() {
+        if (shardPool == null) {
+            return AnalystTransformer.createForBybit(dataService);
+        }
+
+        return ShardedTransformer.create(shardPool.getReactors(), AnalystConfig.getShardMaxInFlight(),
+                shardReactor -> AnalystTransformer.createForBybit(forks.get(shardReactor)));
+    }
+
+    private void updateOffset(final String stream, final SubscriptionListener.SubscriptionContext context) {
+        reactor.execute(() -> Promise.ofBlocking(executor, () -> streamOffsetsRepository.getOffset(stream))
                 .then(saved -> {
                     if (saved.isPresent()) {
                         context.offsetSpecification(OffsetSpecification.offset(saved.getAsLong() + 1));
-                        LOGGER.info("Consumer starting from DB offset {}+1 for stream {}", saved.getAsLong(), sourceStream);
+                        LOGGER.info("Consumer starting from DB offset {}+1 for stream {}", saved.getAsLong(), stream);
                     } else {
                         context.offsetSpecification(OffsetSpecification.first());
-                        LOGGER.info("Consumer starting from first for stream {}", sourceStream);
+                        LOGGER.info("Consumer starting from first for stream {}", stream);
                     }
 
                     return Promise.complete();
@@ -132,23 +246,28 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
         );
     }
 
-    private void onMessage(final MessageHandler.Context context, final Message message) {
+    private void onMessage(final MessageSupplier messageSupplier, final MessageHandler.Context context,
+                           final Message message) {
         try {
-            final var body = message.getBodyAsBinary();
-            messageSupplier.enqueue(sourceStream, context.offset(), body);
+            messageSupplier.enqueue(context, message);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while enqueuing bybit stream message at offset {}", context.offset());
         } catch (final Exception ex) {
             LOGGER.error("Failed to enqueue bybit stream message: {}", ex.getMessage(), ex);
         }
     }
 
-    private void closeConsumer() {
-        try {
-            if (consumer != null) {
-                consumer.close();
-                consumer = null;
+    private void closeConsumers() {
+        for (final var partition : partitions) {
+            try {
+                if (partition.consumer != null) {
+                    partition.consumer.close();
+                    partition.consumer = null;
+                }
+            } catch (final Exception ex) {
+                LOGGER.warn("Error closing bybit stream consumer for {}", partition.stream, ex);
             }
-        } catch (final Exception ex) {
-            LOGGER.warn("Error closing bybit stream consumer", ex);
         }
     }
 
@@ -163,11 +282,35 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
         }
     }
 
-    private void stopPipeline() {
-        final var supplier = messageSupplier;
-        if (supplier != null) {
-            reactor.execute(supplier::sendEndOfStream);
-            messageSupplier = null;
+    private Promise<Void> stopPipelines() {
+        final var stopping = List.copyOf(partitions);
+        partitions.clear();
+        var stopped = Promise.complete();
+        for (final var partition : stopping) {
+            // Queued behind any drain already scheduled, so buffered messages still go through
+            reactor.execute(partition.messageSupplier::sendEndOfStream);
+            final var completion = new SettablePromise<Void>();
+            partition.completion.whenComplete((_, ex) -> {
+                if (ex != null) {
+                    LOGGER.warn("Bybit stream pipeline for {} ended with an error", partition.stream, ex);
+                }
+
+                completion.set(null);
+            });
+            stopped = stopped.then(() -> completion);
+        }
+
+        return stopped;
+    }
+
+    private void stopShardPool() {
+        try {
+            if (shardPool != null) {
+                shardPool.stop();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while stopping bybit shard reactors");
         }
     }
 
@@ -181,4 +324,16 @@ public final class BybitStreamService extends AbstractReactive implements Reacti
             LOGGER.warn("Error closing bybit stream environment", ex);
         }
     }
+
+    private static final class Partition {
+        private final String stream;
+        private final MessageSupplier messageSupplier;
+        private Promise<Void> completion;
+        private volatile Consumer consumer;
+
+        private Partition(final String stream, final MessageSupplier messageSupplier) {
+            this.stream = stream;
+            this.messageSupplier = messageSupplier;
+        }
+    }
 }
@@ -54,6 +54,50 @@ final class Constants {
         static final String BYBIT_GET_ALL_LIQUIDATION = "bybit.getAllLiquidation";
     }
 
+    final static class Interval {
+        private Interval() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Bybit stream kline intervals kept in a history
+        static final String MINUTE_1 = "1";
+        static final String MINUTE_5 = "5";
+        static final String MINUTE_15 = "15";
+        static final String MINUTE_60 = "60";
+        static final String MINUTE_240 = "240";
+        static final String DAY_1 = "D";
+    }
+
+    final static class Enrichment {
+        private Enrichment() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final String KLINE_AGGREGATION_NONE = "none";
+    }
+
+    final static class Symbols {
+        private Symbols() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Delay before a symbol id that failed to persist is claimed again
+        static final long CLAIM_RETRY_DELAY_MS = 5000L;
+    }
+
+    final static class Retention {
+        private Retention() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Series types of the retention settings
+        static final String KLINES = "klines";
+        static final String TICKERS = "tickers";
+        static final String ORDER_BOOKS = "order.books";
+        static final String PUBLIC_TRADES = "public.trades";
+        static final String LIQUIDATIONS = "liquidations";
+    }
+
     final static class Source {
         private Source() {
             throw new UnsupportedOperationException();
@@ -24,13 +24,17 @@
 
 package com.github.akarazhev.cryptoscout.analyst;
 
+import com.github.akarazhev.cryptoscout.analyst.codec.SliceCodec;
 import com.github.akarazhev.cryptoscout.analyst.db.StreamOffsetsRepository;
 import com.github.akarazhev.cryptoscout.analyst.stream.AnalystTransformer;
 import com.github.akarazhev.cryptoscout.analyst.stream.BytesToPayloadTransformer;
+import com.github.akarazhev.cryptoscout.analyst.stream.CompressionStats;
+import com.github.akarazhev.cryptoscout.analyst.stream.HandoffStats;
 import com.github.akarazhev.cryptoscout.analyst.stream.MessageSupplier;
 import com.github.akarazhev.cryptoscout.analyst.stream.StreamPublisher;
 import com.github.akarazhev.cryptoscout.config.AmqpConfig;
 import com.rabbitmq.stream.Consumer;
+import com.rabbitmq.stream.ConsumerFlowStrategy;
 import com.rabbitmq.stream.Environment;
 import com.rabbitmq.stream.Message;
 import com.rabbitmq.stream.MessageHandler;
@@ -38,16 +42,20 @@ import com.rabbitmq.stream.OffsetSpecification;
 import com.rabbitmq.stream.Producer;
 import com.rabbitmq.stream.SubscriptionListener;
 import io.activej.async.service.ReactiveService;
+import io.activej.jmx.api.attribute.JmxAttribute;
 import io.activej.promise.Promise;
 import io.activej.reactor.AbstractReactive;
+import io.activej.reactor.jmx.ReactiveJmxBeanWithStats;
 import io.activej.reactor.nio.NioReactor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.Executor;
 
-public final class CryptoScoutService extends AbstractReactive implements ReactiveService {
+public final class CryptoScoutService extends AbstractReactive implements ReactiveService, ReactiveJmxBeanWithStats {
     private static final Logger LOGGER = LoggerFactory.getLogger(CryptoScoutService.class);
+    private final HandoffStats handoffStats = HandoffStats.create();
+    private final CompressionStats compressionStats = CompressionStats.create();
     private final Executor executor;
     private final StreamOffsetsRepository streamOffsetsRepository;
     private final DataService dataService;
@@ -76,14 +84,16 @@ public final class CryptoScoutService extends AbstractReactive implements Reacti
     @Override
     public Promise<Void> start() {
         return Promise.ofBlocking(executor, () -> {
-                    environment = AmqpConfig.getEnvironment();
-                    producer = environment.producerBuilder()
+                    environment = AmqpConfig.getEnvironment(
+                            AmqpConfig.isAmqpStreamZeroCopy() ? SliceCodec.create() : null, compressionStats);
+                    producer = AmqpConfig.configureProducer(environment.producerBuilder())
                             .name(stream)
                             .stream(stream)
                             .build();
                 })
                 .then(() -> {
-                    messageSupplier = MessageSupplier.create();
+                    messageSupplier = MessageSupplier.create(AmqpConfig.getAmqpStreamBufferCapacity(),
+                            AmqpConfig.getAmqpStreamDrainBatchSize(), handoffStats);
                     messageSupplier.transformWith(BytesToPayloadTransformer.create())
                             .transformWith(AnalystTransformer.createForCryptoScout(dataService))
                             .streamTo(StreamPublisher.create(producer, streamOffsetsRepository, executor));
@@ -91,6 +101,10 @@ public final class CryptoScoutService extends AbstractReactive implements Reacti
                         consumer = environment.consumerBuilder()
                                 .stream(stream)
                                 .noTrackingStrategy()
+                                .flow()
+                                .strategy(ConsumerFlowStrategy.creditWhenHalfMessagesProcessed(
+                                        AmqpConfig.getAmqpStreamInitialCredits()))
+                                .builder()
                                 .subscriptionListener(this::updateOffset)
                                 .messageHandler(this::onMessage)
                                 .build();
@@ -98,6 +112,22 @@ public final class CryptoScoutService extends AbstractReactive implements Reacti
                 });
     }
 
+    @JmxAttribute
+    public HandoffStats getHandoffStats() {
+        return handoffStats;
+    }
+
+    @JmxAttribute
+    public CompressionStats getCompressionStats() {
+        return compressionStats;
+    }
+
+    @JmxAttribute
+    public int getHandoffBufferedCount() {
+        final var supplier = messageSupplier;
+        return supplier != null ? supplier.getBufferedCount() : 0;
+    }
+
     @Override
     public Promise<Void> stop() {
         return Promise.ofBlocking(executor, () -> {
@@ -132,8 +162,10 @@ public final class CryptoScoutService extends AbstractReactive implements Reacti
 
     private void onMessage(final MessageHandler.Context context, final Message message) {
         try {
-            final var body = message.getBodyAsBinary();
-            messageSupplier.enqueue(stream, context.offset(), body);
+            messageSupplier.enqueue(context, message);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while enqueuing crypto scout stream message at offset {}", context.offset());
         } catch (final Exception ex) {
             LOGGER.error("Failed to enqueue crypto scout stream message: {}", ex.getMessage(), ex);
         }
@@ -24,225 +24,606 @@
 
 package com.github.akarazhev.cryptoscout.analyst;
 
+import com.github.akarazhev.cryptoscout.analyst.backfill.BackfillPlanner;
+import com.github.akarazhev.cryptoscout.analyst.backfill.BackfillScheduler;
+import com.github.akarazhev.cryptoscout.analyst.book.OrderBookEngine;
+import com.github.akarazhev.cryptoscout.analyst.codec.JsonReader;
+import com.github.akarazhev.cryptoscout.analyst.codec.PayloadView;
+import com.github.akarazhev.cryptoscout.analyst.codec.ResponseChunks;
+import com.github.akarazhev.cryptoscout.analyst.codec.ResponseReader;
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolTable;
+import com.github.akarazhev.cryptoscout.analyst.codec.Topics;
+import com.github.akarazhev.cryptoscout.analyst.enrich.EnrichmentPipeline;
+import com.github.akarazhev.cryptoscout.analyst.enrich.EnrichmentStage;
+import com.github.akarazhev.cryptoscout.analyst.flow.TradeFlowEngine;
+import com.github.akarazhev.cryptoscout.analyst.history.BoundedHistory;
+import com.github.akarazhev.cryptoscout.analyst.history.KlineHistory;
+import com.github.akarazhev.cryptoscout.analyst.history.KlineStore;
+import com.github.akarazhev.cryptoscout.analyst.history.RetentionPolicy;
+import com.github.akarazhev.cryptoscout.analyst.history.RowHistory;
+import com.github.akarazhev.cryptoscout.analyst.liquidation.LiquidationEngine;
+import com.github.akarazhev.cryptoscout.analyst.model.Kline;
+import com.github.akarazhev.cryptoscout.analyst.model.Klines;
+import com.github.akarazhev.cryptoscout.analyst.ta.IndicatorEngine;
+import com.github.akarazhev.cryptoscout.analyst.ta.KlineAggregator;
 import com.github.akarazhev.cryptoscout.config.AmqpConfig;
+import com.github.akarazhev.cryptoscout.config.AnalystConfig;
 import com.github.akarazhev.jcryptolib.stream.Message;
 import com.github.akarazhev.jcryptolib.stream.Payload;
-import com.github.akarazhev.jcryptolib.util.JsonUtils;
 import io.activej.async.service.ReactiveService;
 import io.activej.datastream.consumer.AbstractStreamConsumer;
 import io.activej.datastream.consumer.StreamConsumer;
+import io.activej.jmx.api.attribute.JmxAttribute;
 import io.activej.promise.Promise;
 import io.activej.reactor.AbstractReactive;
+import io.activej.reactor.jmx.ReactiveJmxBeanWithStats;
 import io.activej.reactor.nio.NioReactor;
+import io.activej.reactor.schedule.ScheduledRunnable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.time.ZoneOffset;
-import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Queue;
 import java.util.concurrent.Executor;
-
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Enrichment.KLINE_AGGREGATION_NONE;
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Interval.DAY_1;
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Interval.MINUTE_1;
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Interval.MINUTE_15;
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Interval.MINUTE_240;
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Interval.MINUTE_5;
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Interval.MINUTE_60;
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Method.BYBIT_GET_KLINE_15M;
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Method.BYBIT_GET_KLINE_1D;
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Method.BYBIT_GET_KLINE_1M;
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Method.BYBIT_GET_KLINE_240M;
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Method.BYBIT_GET_KLINE_5M;
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Method.BYBIT_GET_KLINE_60M;
 import static com.github.akarazhev.cryptoscout.analyst.Constants.Method.CRYPTO_SCOUT_GET_KLINE_1D;
 import static com.github.akarazhev.cryptoscout.analyst.Constants.Method.CRYPTO_SCOUT_GET_KLINE_1W;
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Retention.KLINES;
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Retention.LIQUIDATIONS;
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Retention.ORDER_BOOKS;
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Retention.PUBLIC_TRADES;
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Retention.TICKERS;
 import static com.github.akarazhev.cryptoscout.analyst.Constants.Source.ANALYST;
 import static com.github.akarazhev.jcryptolib.bybit.Constants.Symbol.BTC_USDT;
 import static com.github.akarazhev.jcryptolib.util.TimeUtils.toOdt;
-import static com.github.akarazhev.jcryptolib.util.TimeUtils.tomorrowInUtc;
 
-public final class DataService extends AbstractReactive implements ReactiveService {
+public final class DataService extends AbstractReactive implements ReactiveService, ReactiveJmxBeanWithStats {
     private final static Logger LOGGER = LoggerFactory.getLogger(DataService.class);
-    private final Queue<Map<String, Object>> cryptoScoutKlines1d = new ArrayDeque<>();
-    private final Queue<Map<String, Object>> cryptoScoutKlines1w = new ArrayDeque<>();
-    private final Queue<Map<String, Object>> bybitKlines1m = new ArrayDeque<>();
-    private final Queue<Map<String, Object>> bybitKlines5m = new ArrayDeque<>();
-    private final Queue<Map<String, Object>> bybitKlines15m = new ArrayDeque<>();
-    private final Queue<Map<String, Object>> bybitKlines60m = new ArrayDeque<>();
-    private final Queue<Map<String, Object>> bybitKlines240m = new ArrayDeque<>();
-    private final Queue<Map<String, Object>> bybitKlines1d = new ArrayDeque<>();
-    private final Queue<Map<String, Object>> bybitTickers = new ArrayDeque<>();
-    private final Queue<Map<String, Object>> bybitOrderBooks1 = new ArrayDeque<>();
-    private final Queue<Map<String, Object>> bybitOrderBooks50 = new ArrayDeque<>();
-    private final Queue<Map<String, Object>> bybitOrderBooks200 = new ArrayDeque<>();
-    private final Queue<Map<String, Object>> bybitOrderBooks1000 = new ArrayDeque<>();
-    private final Queue<Map<String, Object>> bybitPublicTrades = new ArrayDeque<>();
-    private final Queue<Map<String, Object>> bybitAllLiquidations = new ArrayDeque<>();
+    private final Map<String, BoundedHistory> histories = new LinkedHashMap<>();
+    private final List<KlineStore> stores = new ArrayList<>();
+    private final ResponseReader responseReader = ResponseReader.create();
+    private final ResponseChunks responseChunks = ResponseChunks.create();
+    private final KlineHistory cryptoScoutKlines1d;
+    private final KlineHistory cryptoScoutKlines1w;
+    private final KlineHistory bybitKlines1m;
+    private final KlineHistory bybitKlines5m;
+    private final KlineHistory bybitKlines15m;
+    private final KlineHistory bybitKlines60m;
+    private final KlineHistory bybitKlines240m;
+    private final KlineHistory bybitKlines1d;
+    private final RowHistory bybitTickers;
+    private final RowHistory bybitOrderBooks1;
+    private final RowHistory bybitOrderBooks50;
+    private final RowHistory bybitOrderBooks200;
+    private final RowHistory bybitOrderBooks1000;
+    private final RowHistory bybitPublicTrades;
+    private final RowHistory bybitAllLiquidations;
     private final AmqpPublisher chatbotPublisher;
     private final AmqpPublisher collectorPublisher;
     private final Executor executor;
-
-    public static DataService create(final NioReactor reactor, final Executor executor,
+    private final SymbolTable symbolTable;
+    private final EnrichmentPipeline enrichmentPipeline;
+    private final BackfillScheduler backfillScheduler;
+    private final DataService owner;
+    private final boolean enrichmentOnly;
+    private ScheduledRunnable retentionTask;
+    private ScheduledRunnable backfillTask;
+    private boolean chunkApplied;
+
+    public static DataService create(final NioReactor reactor, final Executor executor, final SymbolTable symbolTable,
                                      final AmqpPublisher chatbotPublisher, final AmqpPublisher collectorPublisher) {
-        return new DataService(reactor, executor, chatbotPublisher, collectorPublisher);
+        return new DataService(reactor, executor, symbolTable, chatbotPublisher, collectorPublisher, null);
     }
 
-    private DataService(final NioReactor reactor, final Executor executor,
-                        final AmqpPublisher chatbotPublisher, final AmqpPublisher collectorPublisher) {
+    private DataService(final NioReactor reactor, final Executor executor, final SymbolTable symbolTable,
+                        final AmqpPublisher chatbotPublisher, final AmqpPublisher collectorPublisher,
+                        final DataService owner) {
         super(reactor);
         this.executor = executor;
+        this.symbolTable = symbolTable;
+        this.owner = owner != null ? owner : this;
+        this.enrichmentOnly = owner != null;
+        final var klines = retentionOf(KLINES);
+        this.cryptoScoutKlines1d = register("cryptoScoutKlines1d", () -> KlineHistory.create(symbolTable, klines));
+        this.cryptoScoutKlines1w = register("cryptoScoutKlines1w", () -> KlineHistory.create(symbolTable, klines));
+        this.bybitKlines1m = register("bybitKlines1m", () -> KlineHistory.create(symbolTable, klines));
+        this.bybitKlines5m = register("bybitKlines5m", () -> KlineHistory.create(symbolTable, klines));
+        this.bybitKlines15m = register("bybitKlines15m", () -> KlineHistory.create(symbolTable, klines));
+        this.bybitKlines60m = register("bybitKlines60m", () -> KlineHistory.create(symbolTable, klines));
+        this.bybitKlines240m = register("bybitKlines240m", () -> KlineHistory.create(symbolTable, klines));
+        this.bybitKlines1d = register("bybitKlines1d", () -> KlineHistory.create(symbolTable, klines));
+        final var orderBooks = retentionOf(ORDER_BOOKS);
+        this.bybitTickers = register("bybitTickers", () -> RowHistory.create(retentionOf(TICKERS)));
+        this.bybitOrderBooks1 = register("bybitOrderBooks1", () -> RowHistory.create(orderBooks));
+        this.bybitOrderBooks50 = register("bybitOrderBooks50", () -> RowHistory.create(orderBooks));
+        this.bybitOrderBooks200 = register("bybitOrderBooks200", () -> RowHistory.create(orderBooks));
+        this.bybitOrderBooks1000 = register("bybitOrderBooks1000", () -> RowHistory.create(orderBooks));
+        this.bybitPublicTrades = register("bybitPublicTrades", () -> RowHistory.create(retentionOf(PUBLIC_TRADES)));
+        this.bybitAllLiquidations = register("bybitAllLiquidations",
+                () -> RowHistory.create(retentionOf(LIQUIDATIONS)));
         this.chatbotPublisher = chatbotPublisher;
         this.collectorPublisher = collectorPublisher;
+        this.enrichmentPipeline = EnrichmentPipeline.create(createEnrichmentStages(),
+                AnalystConfig.isEnrichmentInline(),
+                TimeUnit.MICROSECONDS.toNanos(AnalystConfig.getEnrichmentInlineBudgetMicros()));
+        this.backfillScheduler = BackfillScheduler.create(this::requestKlines, AnalystConfig.getBackfillMaxInFlight(),
+                AnalystConfig.getBackfillTimeoutMs());
+        if (!enrichmentOnly) {
+            registerBackfill();
+        }
+    }
+
+    /**
+     * Creates an enrichment-only service bound to another reactor: it shares executor, symbol dictionary and
+     * publishers and owns its own enrichment stages, but keeps no histories and requests no backfill. A fork has no
+     * lifecycle of its own and must not be started; the collector responses keep going to this service. Its stages
+     * hold per-symbol state, so every pipeline on the same reactor should share one fork. Confirmed stream klines
+     * it sees are handed to the histories of the service it was forked from, on that service's reactor.
+     */
+    public DataService fork(final NioReactor reactor) {
+        return new DataService(reactor, executor, symbolTable, chatbotPublisher, collectorPublisher, owner);
+    }
+
+    public SymbolTable getSymbolTable() {
+        return symbolTable;
     }
 
-    Queue<Map<String, Object>> getCryptoScoutKlines1d() {
+    KlineHistory getCryptoScoutKlines1d() {
         return cryptoScoutKlines1d;
     }
 
-    Queue<Map<String, Object>> getCryptoScoutKlines1w() {
+    KlineHistory getCryptoScoutKlines1w() {
         return cryptoScoutKlines1w;
     }
 
-    Queue<Map<String, Object>> getBybitKlines1m() {
+    KlineHistory getBybitKlines1m() {
         return bybitKlines1m;
     }
 
-    Queue<Map<String, Object>> getBybitKlines5m() {
+    KlineHistory getBybitKlines5m() {
         return bybitKlines5m;
     }
 
-    Queue<Map<String, Object>> getBybitKlines15m() {
+    KlineHistory getBybitKlines15m() {
         return bybitKlines15m;
     }
 
-    Queue<Map<String, Object>> getBybitKlines60m() {
+    KlineHistory getBybitKlines60m() {
         return bybitKlines60m;
     }
 
-    Queue<Map<String, Object>> getBybitKlines240m() {
+    KlineHistory getBybitKlines240m() {
         return bybitKlines240m;
     }
 
-    Queue<Map<String, Object>> getBybitKlines1d() {
+    KlineHistory getBybitKlines1d() {
         return bybitKlines1d;
     }
 
-    Queue<Map<String, Object>> getBybitTickers() {
+    RowHistory getBybitTickers() {
         return bybitTickers;
     }
 
-    Queue<Map<String, Object>> getBybitOrderBooks1() {
+    RowHistory getBybitOrderBooks1() {
         return bybitOrderBooks1;
     }
 
-    Queue<Map<String, Object>> getBybitOrderBooks50() {
+    RowHistory getBybitOrderBooks50() {
         return bybitOrderBooks50;
     }
 
-    Queue<Map<String, Object>> getBybitOrderBooks200() {
+    RowHistory getBybitOrderBooks200() {
         return bybitOrderBooks200;
     }
 
-    Queue<Map<String, Object>> getBybitOrderBooks1000() {
+    RowHistory getBybitOrderBooks1000() {
         return bybitOrderBooks1000;
     }
 
-    Queue<Map<String, Object>> getBybitPublicTrades() {
+    RowHistory getBybitPublicTrades() {
         return bybitPublicTrades;
     }
 
-    Queue<Map<String, Object>> getBybitAllLiquidations() {
+    RowHistory getBybitAllLiquidations() {
         return bybitAllLiquidations;
     }
 
     @Override
     public Promise<Void> start() {
-        final var to = toOdt(tomorrowInUtc());
-        getCryptoScoutBtcUsdtKline1d(to);
-        getCryptoScoutBtcUsdtKline1w(to);
-        return Promise.complete();
+        if (enrichmentOnly) {
+            return Promise.ofException(new IllegalStateException("An enrichment-only fork cannot be started"));
+        }
+
+        final var now = reactor.currentTimeMillis();
+        final Promise<Void> restored = AnalystConfig.isHistoryPersistent() ?
+                Promise.ofBlocking(executor, () -> restoreHistories(now)) : Promise.complete();
+        return restored.whenResult(() -> {
+            pollBackfill();
+            scheduleRetention(AnalystConfig.getRetentionIntervalMs());
+        });
     }
 
     @Override
     public Promise<Void> stop() {
-        cryptoScoutKlines1d.clear();
-        cryptoScoutKlines1w.clear();
-        bybitKlines1m.clear();
-        bybitKlines5m.clear();
-        bybitKlines15m.clear();
-        bybitKlines60m.clear();
-        bybitKlines240m.clear();
-        bybitKlines1d.clear();
-        bybitTickers.clear();
-        bybitOrderBooks1.clear();
-        bybitOrderBooks50.clear();
-        bybitOrderBooks200.clear();
-        bybitOrderBooks1000.clear();
-        bybitPublicTrades.clear();
-        bybitAllLiquidations.clear();
-        return Promise.complete();
+        if (retentionTask != null) {
+            retentionTask.cancel();
+            retentionTask = null;
+        }
+
+        if (backfillTask != null) {
+            backfillTask.cancel();
+            backfillTask = null;
+        }
+
+        backfillScheduler.clear();
+        responseChunks.clear();
+        histories.values().forEach(BoundedHistory::clear);
+        // Candles still arriving on the reactor must not reach a store being closed on the executor
+        histories.values().forEach(history -> {
+            if (history instanceof KlineHistory klines) {
+                klines.detach();
+            }
+        });
+        return Promise.ofBlocking(executor, this::closeStores);
+    }
+
+    @JmxAttribute
+    public long getHistoryBytes() {
+        var bytes = 0L;
+        for (final var history : histories.values()) {
+            bytes += history.estimatedBytes();
+        }
+
+        return bytes;
+    }
+
+    @JmxAttribute
+    public Map<String, Long> getHistoryBytesBySeries() {
+        final var bytes = new LinkedHashMap<String, Long>();
+        histories.forEach((name, history) -> bytes.put(name, history.estimatedBytes()));
+        return bytes;
+    }
+
+    @JmxAttribute
+    public Map<String, Integer> getHistorySizeBySeries() {
+        final var sizes = new LinkedHashMap<String, Integer>();
+        histories.forEach((name, history) -> sizes.put(name, history.size()));
+        return sizes;
+    }
+
+    @JmxAttribute
+    public BackfillScheduler getBackfill() {
+        return backfillScheduler;
+    }
+
+    @JmxAttribute
+    public Map<String, Long> getHistoryEvictedBySeries() {
+        final var evicted = new LinkedHashMap<String, Long>();
+        histories.forEach((name, history) -> evicted.put(name, history.getEvictedCount()));
+        return evicted;
+    }
+
+    @JmxAttribute
+    public long getResponseChunkCount() {
+        return responseChunks.getChunkCount();
+    }
+
+    @JmxAttribute
+    public long getResponseChunkGapCount() {
+        return responseChunks.getGapCount();
     }
 
     public StreamConsumer<byte[]> getStreamConsumer() {
         return new InternalStreamConsumer();
     }
 
-    @SuppressWarnings("unchecked")
     private void consume(final byte[] body) {
         try {
-            consume((Message<List<Map<String, Object>>>) JsonUtils.bytes2Object(body, Message.class));
+            chunkApplied = true;
+            final var chunk = responseReader.read(body, this::append);
+            switch (chunk.type()) {
+                case Message.Type.RESPONSE -> settle(chunk);
+                case null, default -> LOGGER.debug("Unhandled message type: {}", chunk.type());
+            }
         } catch (final Exception e) {
             LOGGER.error("Failed to process message", e);
         }
     }
 
-    private void consume(final Message<List<Map<String, Object>>> message) {
-        final var command = message.command();
-        switch (command.type()) {
-            case Message.Type.RESPONSE -> {
-                switch (command.method()) {
-                    // CryptoScoutCollector methods
-                    case Constants.Method.CRYPTO_SCOUT_GET_KLINE_1D -> cryptoScoutKlines1d.addAll(message.value());
-                    case Constants.Method.CRYPTO_SCOUT_GET_KLINE_1W -> cryptoScoutKlines1w.addAll(message.value());
-                    // BybitCryptoCollector methods
-                    case Constants.Method.BYBIT_GET_KLINE_1M -> bybitKlines1m.addAll(message.value());
-                    case Constants.Method.BYBIT_GET_KLINE_5M -> bybitKlines5m.addAll(message.value());
-                    case Constants.Method.BYBIT_GET_KLINE_15M -> bybitKlines15m.addAll(message.value());
-                    case Constants.Method.BYBIT_GET_KLINE_60M -> bybitKlines60m.addAll(message.value());
-                    case Constants.Method.BYBIT_GET_KLINE_240M -> bybitKlines240m.addAll(message.value());
-                    case Constants.Method.BYBIT_GET_KLINE_1D -> bybitKlines1d.addAll(message.value());
-                    case Constants.Method.BYBIT_GET_TICKER -> bybitTickers.addAll(message.value());
-                    case Constants.Method.BYBIT_GET_ORDER_BOOK_1 -> bybitOrderBooks1.addAll(message.value());
-                    case Constants.Method.BYBIT_GET_ORDER_BOOK_50 -> bybitOrderBooks50.addAll(message.value());
-                    case Constants.Method.BYBIT_GET_ORDER_BOOK_200 -> bybitOrderBooks200.addAll(message.value());
-                    case Constants.Method.BYBIT_GET_ORDER_BOOK_1000 -> bybitOrderBooks1000.addAll(message.value());
-                    case Constants.Method.BYBIT_GET_PUBLIC_TRADE -> bybitPublicTrades.addAll(message.value());
-                    case Constants.Method.BYBIT_GET_ALL_LIQUIDATION -> bybitAllLiquidations.addAll(message.value());
-                    default -> LOGGER.debug("Unhandled response method: {}", command.method());
+    private void append(final ResponseReader.Chunk chunk, final JsonReader values) {
+        if (chunk.type() != Message.Type.RESPONSE) {
+            return;
+        }
+        try {
+            append(chunk.method(), values);
+        } catch (final RuntimeException ex) {
+            // Settled all the same, so the request is not left in flight until it times out
+            chunkApplied = false;
+            LOGGER.error("Failed to apply chunk {} of a {} response", chunk.page(), chunk.method(), ex);
+        }
+    }
+
+    private void append(final String method, final JsonReader values) {
+        // Rows go straight from the body into their history, so a chunk never exists as parsed objects as a whole
+        final var now = reactor.currentTimeMillis();
+        switch (method) {
+            // CryptoScoutCollector methods
+            case Constants.Method.CRYPTO_SCOUT_GET_KLINE_1D -> cryptoScoutKlines1d.appendAll(values);
+            case Constants.Method.CRYPTO_SCOUT_GET_KLINE_1W -> cryptoScoutKlines1w.appendAll(values);
+            // BybitCryptoCollector methods
+            case Constants.Method.BYBIT_GET_KLINE_1M -> bybitKlines1m.appendAll(values);
+            case Constants.Method.BYBIT_GET_KLINE_5M -> bybitKlines5m.appendAll(values);
+            case Constants.Method.BYBIT_GET_KLINE_15M -> bybitKlines15m.appendAll(values);
+            case Constants.Method.BYBIT_GET_KLINE_60M -> bybitKlines60m.appendAll(values);
+            case Constants.Method.BYBIT_GET_KLINE_240M -> bybitKlines240m.appendAll(values);
+            case Constants.Method.BYBIT_GET_KLINE_1D -> bybitKlines1d.appendAll(values);
+            case Constants.Method.BYBIT_GET_TICKER -> bybitTickers.appendAll(values, now);
+            case Constants.Method.BYBIT_GET_ORDER_BOOK_1 -> bybitOrderBooks1.appendAll(values, now);
+            case Constants.Method.BYBIT_GET_ORDER_BOOK_50 -> bybitOrderBooks50.appendAll(values, now);
+            case Constants.Method.BYBIT_GET_ORDER_BOOK_200 -> bybitOrderBooks200.appendAll(values, now);
+            case Constants.Method.BYBIT_GET_ORDER_BOOK_1000 -> bybitOrderBooks1000.appendAll(values, now);
+            case Constants.Method.BYBIT_GET_PUBLIC_TRADE -> bybitPublicTrades.appendAll(values, now);
+            case Constants.Method.BYBIT_GET_ALL_LIQUIDATION -> bybitAllLiquidations.appendAll(values, now);
+            default -> LOGGER.debug("Unhandled response method: {}", method);
+        }
+    }
+
+    private void settle(final ResponseReader.Chunk chunk) {
+        final var now = reactor.currentTimeMillis();
+        final var method = chunk.method();
+        // Whatever arrived is kept; a response with lost or failed chunks settles its request without covering it
+        final var whole = responseChunks.accept(chunk, chunkApplied);
+        final var request = chunk.request();
+        final var key = request != null ?
+                new BackfillScheduler.Key(request.symbol(), request.from(), request.to()) : null;
+        if (chunk.last()) {
+            backfillScheduler.complete(method, key, whole, now);
+        } else {
+            backfillScheduler.progress(method, key, now);
+        }
+    }
+
+    /**
+     * Whether enrichment leaves the payload unchanged, judged from its envelope topic alone, letting the pipeline
+     * forward the message without decoding its data.
+     */
+    public boolean isPassthrough(final PayloadView payload) {
+        return !enrichmentPipeline.accepts(payload.getTopic());
+    }
+
+    public EnrichmentPipeline getEnrichmentPipeline() {
+        return enrichmentPipeline;
+    }
+
+    /**
+     * Enriches the payload on the calling reactor when every stage is non-blocking and fits the inline budget, and
+     * offloads to the executor otherwise. Must be called from the reactor thread that owns this service.
+     */
+    public Promise<Payload<?>> processAsync(final Payload<?> payload) {
+        return enrichmentPipeline.process(payload, executor)
+                .whenException(error -> LOGGER.error("Failed to process payload: {}", error.getMessage(), error));
+    }
+
+    /**
+     * Enriches a micro-batch under the same inline rules as {@link #processAsync}; results match the input order and
+     * hold {@code null} for payloads a stage dropped.
+     */
+    public Promise<List<Payload<?>>> processBatchAsync(final List<Payload<?>> payloads) {
+        return enrichmentPipeline.processBatch(payloads, executor)
+                .whenException(error -> LOGGER.error("Failed to process batch of {} payloads: {}", payloads.size(),
+                        error.getMessage(), error));
+    }
+
+    private List<EnrichmentStage> createEnrichmentStages() {
+        // Each service instance, including every fork, gets its own stages so stateful stages never share state
+        final var stages = new ArrayList<EnrichmentStage>();
+        // First, so it sees the klines as streamed rather than whatever the aggregator makes of them
+        stages.add(new StreamKlineRecorder());
+        final var aggregation = AnalystConfig.getKlineAggregation();
+        if (!KLINE_AGGREGATION_NONE.equalsIgnoreCase(aggregation)) {
+            stages.add(KlineAggregator.create(symbolTable,
+                    KlineAggregator.Mode.valueOf(aggregation.toUpperCase(Locale.ROOT))));
+        }
+
+        stages.add(IndicatorEngine.create(symbolTable));
+        stages.add(OrderBookEngine.create(symbolTable));
+        stages.add(TradeFlowEngine.create(symbolTable));
+        stages.add(LiquidationEngine.create(symbolTable));
+        return stages;
+    }
+
+    private void recordConfirmed(final Klines klines) {
+        var count = 0;
+        for (final var kline : klines.klines()) {
+            if (kline.confirm()) {
+                count++;
+            }
+        }
+
+        if (count == 0) {
+            return;
+        }
+
+        final var confirmed = new Kline[count];
+        count = 0;
+        for (final var kline : klines.klines()) {
+            if (kline.confirm()) {
+                confirmed[count++] = kline;
+            }
+        }
+
+        // Any stage may run on the executor, and the histories belong to the owner's reactor
+        owner.reactor.execute(() -> owner.appendConfirmed(klines.symbol(), klines.interval(), confirmed));
+    }
+
+    private void appendConfirmed(final String symbol, final String interval, final Kline[] klines) {
+        final var history = switch (interval) {
+            case MINUTE_1 -> bybitKlines1m;
+            case MINUTE_5 -> bybitKlines5m;
+            case MINUTE_15 -> bybitKlines15m;
+            case MINUTE_60 -> bybitKlines60m;
+            case MINUTE_240 -> bybitKlines240m;
+            case DAY_1 -> bybitKlines1d;
+            case null, default -> null;
+        };
+        if (history == null) {
+            return;
+        }
+
+        for (final var kline : klines) {
+            history.append(symbol, kline.start(), kline.open(), kline.high(), kline.low(), kline.close(),
+                    kline.volume());
+        }
+    }
+
+    private <T extends BoundedHistory> T register(final String name, final Supplier<T> factory) {
+        // A fork is never fed collector responses, so it keeps no histories at all
+        if (enrichmentOnly) {
+            return null;
+        }
+
+        final var history = factory.get();
+        histories.put(name, history);
+        return history;
+    }
+
+    private static RetentionPolicy retentionOf(final String series) {
+        return RetentionPolicy.of(AnalystConfig.getRetentionMaxCount(series),
+                AnalystConfig.getRetentionMaxAgeMs(series), AnalystConfig.getRetentionMaxBytes(series));
+    }
+
+    private void restoreHistories(final long now) {
+        // Runs before the collector consumer delivers anything, so the histories are not shared yet
+        final var directory = Path.of(AnalystConfig.getHistoryDir());
+        for (final var entry : histories.entrySet()) {
+            if (entry.getValue() instanceof KlineHistory klines) {
+                KlineStore store = null;
+                try {
+                    store = KlineStore.open(directory.resolve(entry.getKey()));
+                    klines.restore(store, now);
+                    stores.add(store);
+                    LOGGER.info("Restored {} candles of {}", klines.size(), entry.getKey());
+                } catch (final IOException | RuntimeException ex) {
+                    if (store != null) {
+                        store.close();
+                    }
+
+                    klines.clear();
+                    LOGGER.error("Failed to restore {}, keeping it in memory only", entry.getKey(), ex);
                 }
             }
+        }
+    }
 
-            default -> LOGGER.debug("Unhandled message type: {}", command.type());
+    private void closeStores() {
+        for (final var store : stores) {
+            store.close();
         }
+
+        stores.clear();
     }
 
-    public Promise<Payload<Map<String, Object>>> processAsync(final Payload<Map<String, Object>> payload) {
-        return Promise.ofBlocking(executor, () -> enrichPayload(payload))
-                .whenException(error -> LOGGER.error("Failed to process payload: {}", error.getMessage(), error));
+    private void scheduleRetention(final long delayMs) {
+        retentionTask = reactor.delayBackground(delayMs, this::evictHistories);
+    }
+
+    private void evictHistories() {
+        // Bounded work per run keeps the reactor responsive; a spent budget continues on the next run right away
+        final var now = reactor.currentTimeMillis();
+        var budget = AnalystConfig.getRetentionBatchSize();
+        for (final var history : histories.values()) {
+            budget -= history.evict(now, budget);
+            if (budget == 0) {
+                break;
+            }
+        }
+
+        scheduleRetention(budget == 0 ? 0 : AnalystConfig.getRetentionIntervalMs());
     }
 
-    private Payload<Map<String, Object>> enrichPayload(final Payload<Map<String, Object>> payload) {
-        return payload;
+    private void registerBackfill() {
+        final var maxCandles = AnalystConfig.getBackfillMaxCandles();
+        final var day = TimeUnit.DAYS.toMillis(1);
+        // The crypto scout series go back to the first daily and weekly BTC/USDT candles
+        backfillScheduler.register(CRYPTO_SCOUT_GET_KLINE_1D, BTC_USDT, cryptoScoutKlines1d,
+                BackfillPlanner.create(day, maxCandles), epochMillisOf(LocalDate.of(2010, 7, 13)));
+        backfillScheduler.register(CRYPTO_SCOUT_GET_KLINE_1W, BTC_USDT, cryptoScoutKlines1w,
+                BackfillPlanner.create(7 * day, maxCandles), epochMillisOf(LocalDate.of(2013, 4, 22)));
+        // The bybit series cover a lookback window, extended to the future as time goes on
+        final var origin = reactor.currentTimeMillis() - AnalystConfig.getBackfillLookbackDays() * day;
+        final var minute = TimeUnit.MINUTES.toMillis(1);
+        for (final var symbol : AnalystConfig.getBackfillSymbols()) {
+            backfillScheduler.register(BYBIT_GET_KLINE_1M, symbol, bybitKlines1m,
+                    BackfillPlanner.create(minute, maxCandles), origin);
+            backfillScheduler.register(BYBIT_GET_KLINE_5M, symbol, bybitKlines5m,
+                    BackfillPlanner.create(5 * minute, maxCandles), origin);
+            backfillScheduler.register(BYBIT_GET_KLINE_15M, symbol, bybitKlines15m,
+                    BackfillPlanner.create(15 * minute, maxCandles), origin);
+            backfillScheduler.register(BYBIT_GET_KLINE_60M, symbol, bybitKlines60m,
+                    BackfillPlanner.create(60 * minute, maxCandles), origin);
+            backfillScheduler.register(BYBIT_GET_KLINE_240M, symbol, bybitKlines240m,
+                    BackfillPlanner.create(240 * minute, maxCandles), origin);
+            backfillScheduler.register(BYBIT_GET_KLINE_1D, symbol, bybitKlines1d,
+                    BackfillPlanner.create(day, maxCandles), origin);
+        }
     }
 
-    private void getCryptoScoutBtcUsdtKline1d(final OffsetDateTime to) {
-        // 2010-07-13 00:00:00+00
-        final var from = OffsetDateTime.of(LocalDateTime.of(2010, 7, 13, 0, 0),
-                ZoneOffset.UTC);
-        collectorPublisher.publish(AmqpConfig.getAmqpCryptoScoutExchange(), AmqpConfig.getAmqpCollectorRoutingKey(),
-                Message.of(Message.Command.of(Message.Type.REQUEST, ANALYST, CRYPTO_SCOUT_GET_KLINE_1D),
-                        new Object[]{BTC_USDT, from, to}));
+    private void pollBackfill() {
+        backfillScheduler.poll(reactor.currentTimeMillis());
+        backfillTask = reactor.delayBackground(AnalystConfig.getBackfillIntervalMs(), this::pollBackfill);
     }
 
-    private void getCryptoScoutBtcUsdtKline1w(final OffsetDateTime to) {
-        // 2013-04-22 00:00:00+00
-        final var from = OffsetDateTime.of(LocalDateTime.of(2013, 4, 22, 0, 0),
-                ZoneOffset.UTC);
+    private void requestKlines(final String method, final String symbol, final long from, final long to) {
         collectorPublisher.publish(AmqpConfig.getAmqpCryptoScoutExchange(), AmqpConfig.getAmqpCollectorRoutingKey(),
-                Message.of(Message.Command.of(Message.Type.REQUEST, ANALYST, CRYPTO_SCOUT_GET_KLINE_1W),
-                        new Object[]{BTC_USDT, from, to}));
+                Message.of(Message.Command.of(Message.Type.REQUEST, ANALYST, method),
+                        new Object[]{symbol, toOdt(from), toOdt(to)}));
+    }
+
+    private static long epochMillisOf(final LocalDate date) {
+        return date.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Feeds the confirmed candles of the bybit kline stream into the matching history, and through it into the kline
+     * store; open candles are left to the collector responses and the next confirmation. Payloads pass unchanged.
+     */
+    private final class StreamKlineRecorder implements EnrichmentStage {
+
+        @Override
+        public boolean accepts(final String topic) {
+            return Topics.isKline(topic);
+        }
+
+        @Override
+        public Payload<?> apply(final Payload<?> payload) {
+            if (payload.getData() instanceof Klines klines) {
+                recordConfirmed(klines);
+            }
+
+            return payload;
+        }
     }
 
     private final class InternalStreamConsumer extends AbstractStreamConsumer<byte[]> {
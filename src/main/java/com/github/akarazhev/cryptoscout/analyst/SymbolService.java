@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst;
+
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolTable;
+import com.github.akarazhev.cryptoscout.analyst.db.SymbolsRepository;
+import com.github.akarazhev.cryptoscout.config.AnalystConfig;
+import io.activej.async.service.ReactiveService;
+import io.activej.jmx.api.attribute.JmxAttribute;
+import io.activej.promise.Promise;
+import io.activej.reactor.AbstractReactive;
+import io.activej.reactor.jmx.ReactiveJmxBeanWithStats;
+import io.activej.reactor.nio.NioReactor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.akarazhev.cryptoscout.analyst.Constants.Symbols.CLAIM_RETRY_DELAY_MS;
+
+/**
+ * Owns the process-wide symbol dictionary: restores the persisted ids on start and claims the configured symbols, all
+ * before any stream is consumed, so ids stay stable across restarts and agree with the other instances sharing the
+ * database. A symbol first seen later gets a local id straight away, on whatever thread saw it, and is persisted in the
+ * background through the executor. If the database already stores it under another id, that id is reconciled into
+ * the dictionary for publishing; if the database cannot be reached, the claim is retried until it lands.
+ */
+public final class SymbolService extends AbstractReactive implements ReactiveService, ReactiveJmxBeanWithStats {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SymbolService.class);
+    private final SymbolTable symbolTable = SymbolTable.create();
+    private final Executor executor;
+    private final SymbolsRepository symbolsRepository;
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    public static SymbolService create(final NioReactor reactor, final Executor executor,
+                                       final SymbolsRepository symbolsRepository) {
+        return new SymbolService(reactor, executor, symbolsRepository);
+    }
+
+    private SymbolService(final NioReactor reactor, final Executor executor,
+                          final SymbolsRepository symbolsRepository) {
+        super(reactor);
+        this.executor = executor;
+        this.symbolsRepository = symbolsRepository;
+    }
+
+    @Override
+    public Promise<Void> start() {
+        return Promise.ofBlocking(executor, () -> {
+            final var symbols = symbolsRepository.getSymbols();
+            symbols.forEach(symbolTable::restore);
+            var claimed = 0;
+            for (final var symbol : AnalystConfig.getBackfillSymbols()) {
+                if (!symbolTable.contains(symbol)) {
+                    symbolTable.restore(symbolsRepository.claimSymbol(symbolTable.size(), symbol), symbol);
+                    claimed++;
+                }
+            }
+
+            symbolTable.setListener(this::persist);
+            LOGGER.info("Restored {} symbol ids, claimed {}", symbols.size(), claimed);
+        });
+    }
+
+    @Override
+    public Promise<Void> stop() {
+        symbolTable.setListener(null);
+        return Promise.complete();
+    }
+
+    public SymbolTable getSymbolTable() {
+        return symbolTable;
+    }
+
+    @JmxAttribute
+    public int getSymbolCount() {
+        return symbolTable.size();
+    }
+
+    @JmxAttribute
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    private void persist(final String symbol, final int id) {
+        // Called from the thread that first saw the symbol, possibly a shard reactor
+        pendingCount.incrementAndGet();
+        reactor.execute(() -> claim(symbol, id));
+    }
+
+    private void claim(final String symbol, final int id) {
+        Promise.ofBlocking(executor, () -> symbolsRepository.claimSymbol(id, symbol))
+                .whenComplete((stored, ex) -> {
+                    if (ex != null) {
+                        LOGGER.error("Failed to persist symbol id {} for {}, retrying", id, symbol, ex);
+                        reactor.delayBackground(CLAIM_RETRY_DELAY_MS, () -> claim(symbol, id));
+                        return;
+                    }
+
+                    pendingCount.decrementAndGet();
+                    if (stored != id) {
+                        LOGGER.warn("Symbol {} is already stored under id {}, publishing that instead of {}", symbol,
+                                stored, id);
+                        symbolTable.reconcile(symbol, stored);
+                    }
+                });
+    }
+}
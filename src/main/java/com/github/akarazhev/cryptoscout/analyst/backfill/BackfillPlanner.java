@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.backfill;
+
+import com.github.akarazhev.cryptoscout.analyst.history.KlineSeries;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the candle ranges a series misses and splits them into requests of a bounded size. An empty series misses
+ * everything from its origin; a filled one misses the holes between candles and, once its newest candle has closed,
+ * the tail from that candle on, which also refreshes the candle's final values. Candles before the oldest retained
+ * one are never planned again, so retention does not fight the backfill. Ranges the collector already answered
+ * without filling them are remembered as covered and skipped.
+ */
+public final class BackfillPlanner {
+    private final long intervalMs;
+    private final long maxRangeMs;
+    // Sorted, disjoint [from, to) ranges answered by the collector
+    private final List<Range> covered = new ArrayList<>();
+
+    public static BackfillPlanner create(final long intervalMs, final int maxCandles) {
+        return new BackfillPlanner(intervalMs, maxCandles);
+    }
+
+    private BackfillPlanner(final long intervalMs, final int maxCandles) {
+        this.intervalMs = intervalMs;
+        this.maxRangeMs = intervalMs * maxCandles;
+    }
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    /**
+     * Ranges to request, oldest first, for a series that should hold candles from {@code origin} up to {@code now}.
+     *
+     * @param series the series, {@code null} if none of its candles arrived yet
+     */
+    public List<Range> plan(final KlineSeries series, final long origin, final long now) {
+        final var gaps = new ArrayList<Range>();
+        final var size = series == null ? 0 : series.size();
+        if (size == 0) {
+            gaps.add(new Range(origin, now + intervalMs));
+        } else {
+            var previous = series.timestamp(0);
+            for (var i = 1; i < size; i++) {
+                final var time = series.timestamp(i);
+                if (time - previous > intervalMs) {
+                    gaps.add(new Range(previous + intervalMs, time));
+                }
+
+                previous = time;
+            }
+
+            if (previous + intervalMs <= now) {
+                gaps.add(new Range(previous, now + intervalMs));
+            }
+        }
+
+        final var ranges = new ArrayList<Range>();
+        for (final var gap : gaps) {
+            split(gap, ranges);
+        }
+
+        return ranges;
+    }
+
+    /**
+     * Records a range the collector answered. Only its closed part counts, the candles still open are asked again.
+     */
+    public void markCovered(final long from, final long to, final long now) {
+        // A candle starting at or before now - interval has closed
+        final var end = Math.min(to, now - intervalMs + 1);
+        if (from >= end) {
+            return;
+        }
+
+        var start = from;
+        var stop = end;
+        final var merged = new ArrayList<Range>(covered.size() + 1);
+        for (final var range : covered) {
+            if (range.to() < start || range.from() > stop) {
+                merged.add(range);
+            } else {
+                start = Math.min(start, range.from());
+                stop = Math.max(stop, range.to());
+            }
+        }
+
+        merged.add(new Range(start, stop));
+        merged.sort((left, right) -> Long.compare(left.from(), right.from()));
+        covered.clear();
+        covered.addAll(merged);
+    }
+
+    public void clear() {
+        covered.clear();
+    }
+
+    private void split(final Range gap, final List<Range> ranges) {
+        var from = gap.from();
+        for (final var range : covered) {
+            if (range.to() <= from) {
+                continue;
+            }
+
+            if (range.from() >= gap.to()) {
+                break;
+            }
+
+            chunk(from, Math.min(range.from(), gap.to()), ranges);
+            from = Math.max(from, range.to());
+        }
+
+        chunk(from, gap.to(), ranges);
+    }
+
+    private void chunk(final long from, final long to, final List<Range> ranges) {
+        for (var start = from; start < to; start += maxRangeMs) {
+            ranges.add(new Range(start, Math.min(to, start + maxRangeMs)));
+        }
+    }
+
+    public record Range(long from, long to) {
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.backfill;
+
+import com.github.akarazhev.cryptoscout.analyst.history.KlineHistory;
+import io.activej.jmx.api.attribute.JmxAttribute;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Keeps kline histories hole-free through collector range requests. Each registered series is planned by its own
+ * {@link BackfillPlanner}; requests are throttled to a number in flight and to one per collector method. A response
+ * that echoes its request {@link Key} settles only the request it names. One that names just its method is matched to
+ * the request in flight for that method, which is ambiguous for a while after a timeout: the late response of the
+ * expired request may still come. Such a settlement never marks the range covered, so a range is only skipped once a
+ * response surely answered it. A request not answered in time is dropped and its range planned again. Not
+ * thread-safe: the owning service drives it from its reactor.
+ */
+public final class BackfillScheduler {
+    private final List<Task> tasks = new ArrayList<>();
+    private final Map<String, Request> inFlight = new HashMap<>();
+    // Until when a late response to an expired request of the method may still arrive
+    private final Map<String, Long> lateUntil = new HashMap<>();
+    private final Requester requester;
+    private final int maxInFlight;
+    private final long timeoutMs;
+    private int cursor;
+    private long requestedCount;
+    private long completedCount;
+    private long timedOutCount;
+    private long lateCount;
+
+    public static BackfillScheduler create(final Requester requester, final int maxInFlight, final long timeoutMs) {
+        return new BackfillScheduler(requester, maxInFlight, timeoutMs);
+    }
+
+    private BackfillScheduler(final Requester requester, final int maxInFlight, final long timeoutMs) {
+        this.requester = requester;
+        this.maxInFlight = maxInFlight;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Registers the candles of one symbol, answered by the collector method into the history, from {@code origin}.
+     */
+    public void register(final String method, final String symbol, final KlineHistory history,
+                         final BackfillPlanner planner, final long origin) {
+        tasks.add(new Task(method, symbol, history, planner, origin));
+    }
+
+    /**
+     * Expires overdue requests, plans the series with nothing queued and dispatches what the limits allow.
+     */
+    public void poll(final long now) {
+        final var iterator = inFlight.values().iterator();
+        while (iterator.hasNext()) {
+            final var request = iterator.next();
+            if (request.deadline() <= now) {
+                iterator.remove();
+                lateUntil.put(request.task().method, now + timeoutMs);
+                timedOutCount++;
+            }
+        }
+
+        lateUntil.values().removeIf(until -> until <= now);
+
+        for (final var task : tasks) {
+            if (task.queue.isEmpty() && !inFlight.containsKey(task.method)) {
+                task.queue.addAll(task.planner.plan(task.history.series(task.symbol), task.origin, now));
+            }
+        }
+
+        dispatch(now);
+    }
+
+    /**
+     * Pushes back the deadline of the request in flight for the method while its response still arrives in chunks.
+     * The key, when the response echoes it, must name that request; without one an ambiguous request is left alone.
+     */
+    public void progress(final String method, final Key key, final long now) {
+        final var request = match(method, key);
+        if (request != null && (key != null || !request.ambiguous())) {
+            inFlight.put(method, new Request(request.task(), request.range(), now + timeoutMs, request.ambiguous()));
+        }
+    }
+
+    /**
+     * Settles the request in flight for the method once its response has been applied to the history. The range is
+     * marked covered only when the response was applied whole and surely answered that request; otherwise it is
+     * planned again, which costs at most a repeated request.
+     */
+    public void complete(final String method, final Key key, final boolean covered, final long now) {
+        final var request = match(method, key);
+        if (request == null) {
+            return;
+        }
+
+        inFlight.remove(method);
+        if (covered && (key != null || !request.ambiguous())) {
+            request.task().planner.markCovered(request.range().from(), request.range().to(), now);
+        }
+
+        completedCount++;
+        dispatch(now);
+    }
+
+    public void clear() {
+        for (final var task : tasks) {
+            task.queue.clear();
+            task.planner.clear();
+        }
+
+        inFlight.clear();
+        lateUntil.clear();
+    }
+
+    @JmxAttribute
+    public int getPendingCount() {
+        var pending = 0;
+        for (final var task : tasks) {
+            pending += task.queue.size();
+        }
+
+        return pending;
+    }
+
+    @JmxAttribute
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    @JmxAttribute
+    public long getRequestedCount() {
+        return requestedCount;
+    }
+
+    @JmxAttribute
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    @JmxAttribute
+    public long getTimedOutCount() {
+        return timedOutCount;
+    }
+
+    @JmxAttribute
+    public long getLateCount() {
+        return lateCount;
+    }
+
+    private Request match(final String method, final Key key) {
+        final var request = inFlight.get(method);
+        if (key != null && (request == null || !request.matches(key))) {
+            // Answers a request that already expired; its candles still count, its range does not
+            lateCount++;
+            return null;
+        }
+
+        return request;
+    }
+
+    private void dispatch(final long now) {
+        // Round-robin over the series so a long backfill does not hold back the others
+        var idle = 0;
+        while (inFlight.size() < maxInFlight && idle < tasks.size()) {
+            final var task = tasks.get(cursor);
+            cursor = (cursor + 1) % tasks.size();
+            if (task.queue.isEmpty() || inFlight.containsKey(task.method)) {
+                idle++;
+                continue;
+            }
+
+            final var range = task.queue.poll();
+            final var ambiguous = lateUntil.getOrDefault(task.method, Long.MIN_VALUE) > now;
+            inFlight.put(task.method, new Request(task, range, now + timeoutMs, ambiguous));
+            requestedCount++;
+            requester.request(task.method, task.symbol, range.from(), range.to());
+            idle = 0;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Requester {
+
+        void request(String method, String symbol, long from, long to);
+    }
+
+    private static final class Task {
+        private final String method;
+        private final String symbol;
+        private final KlineHistory history;
+        private final BackfillPlanner planner;
+        private final long origin;
+        private final Queue<BackfillPlanner.Range> queue = new ArrayDeque<>();
+
+        private Task(final String method, final String symbol, final KlineHistory history,
+                     final BackfillPlanner planner, final long origin) {
+            this.method = method;
+            this.symbol = symbol;
+            this.history = history;
+            this.planner = planner;
+            this.origin = origin;
+        }
+    }
+
+    /**
+     * Request a response names when it echoes it: the symbol and the range start and end in epoch millis.
+     */
+    public record Key(String symbol, long from, long to) {
+    }
+
+    private record Request(Task task, BackfillPlanner.Range range, long deadline, boolean ambiguous) {
+
+        private boolean matches(final Key key) {
+            return task.symbol.equals(key.symbol()) && range.from() == key.from() && range.to() == key.to();
+        }
+    }
+}
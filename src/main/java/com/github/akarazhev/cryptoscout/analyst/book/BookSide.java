@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.book;
+
+import java.util.Arrays;
+
+/**
+ * One side of a book as parallel primitive arrays sorted so that the best price sits at the highest index: bids
+ * ascending, asks stored as negated prices, also ascending. Levels are found by binary search, and since almost all
+ * activity is near the top of the book, inserts and deletes there shift only the few entries above them.
+ */
+final class BookSide {
+    private final boolean ask;
+    private double[] keys;
+    private double[] sizes;
+    private int size;
+    private double total;
+
+    BookSide(final boolean ask, final int capacity) {
+        this.ask = ask;
+        this.keys = new double[Math.max(1, capacity)];
+        this.sizes = new double[keys.length];
+    }
+
+    void clear() {
+        size = 0;
+        total = 0d;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Sets the size at a price level; a size of zero removes the level.
+     */
+    void set(final double price, final double quantity) {
+        final var key = ask ? -price : price;
+        final var index = Arrays.binarySearch(keys, 0, size, key);
+        if (index >= 0) {
+            total -= sizes[index];
+            if (quantity == 0d) {
+                System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+                System.arraycopy(sizes, index + 1, sizes, index, size - index - 1);
+                size--;
+            } else {
+                sizes[index] = quantity;
+                total += quantity;
+            }
+        } else if (quantity != 0d) {
+            final var insert = -index - 1;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size << 1);
+                sizes = Arrays.copyOf(sizes, size << 1);
+            }
+
+            System.arraycopy(keys, insert, keys, insert + 1, size - insert);
+            System.arraycopy(sizes, insert, sizes, insert + 1, size - insert);
+            keys[insert] = key;
+            sizes[insert] = quantity;
+            size++;
+            total += quantity;
+        }
+    }
+
+    /**
+     * Price at the given level, 0 being the best, or NaN past the end of the book.
+     */
+    double price(final int level) {
+        if (level >= size) {
+            return Double.NaN;
+        }
+
+        final var key = keys[size - 1 - level];
+        return ask ? -key : key;
+    }
+
+    double size(final int level) {
+        return level < size ? sizes[size - 1 - level] : 0d;
+    }
+
+    /**
+     * Total size of the best {@code levels} levels.
+     */
+    double depth(final int levels) {
+        var sum = 0d;
+        for (var i = size - 1; i >= 0 && i >= size - levels; i--) {
+            sum += sizes[i];
+        }
+
+        return sum;
+    }
+
+    double total() {
+        return total;
+    }
+}
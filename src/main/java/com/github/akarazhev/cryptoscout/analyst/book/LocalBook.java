@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.book;
+
+import com.github.akarazhev.cryptoscout.analyst.model.BookMetrics;
+import com.github.akarazhev.cryptoscout.analyst.model.OrderBook;
+
+import static com.github.akarazhev.cryptoscout.analyst.book.Constants.Metrics.DEPTH_LEVELS;
+import static com.github.akarazhev.cryptoscout.analyst.book.Constants.Metrics.RESTART_UPDATE_ID;
+
+/**
+ * Local copy of one Bybit book (symbol and depth). A snapshot replaces it; a delta must carry the next update id,
+ * otherwise the book is marked invalid and further deltas are dropped until a snapshot arrives.
+ */
+final class LocalBook {
+    private final BookSide bids;
+    private final BookSide asks;
+    private long updateId;
+    private boolean valid;
+    private long gapCount;
+
+    LocalBook(final int depth) {
+        this.bids = new BookSide(false, depth);
+        this.asks = new BookSide(true, depth);
+    }
+
+    BookMetrics apply(final OrderBook update) {
+        if (update.snapshot() || update.updateId() == RESTART_UPDATE_ID) {
+            bids.clear();
+            asks.clear();
+            valid = true;
+        } else if (!valid) {
+            return metrics();
+        } else if (update.updateId() == updateId) {
+            // Bybit repeats the last update id when it resends an unchanged level-1 book
+            return metrics();
+        } else if (update.updateId() != updateId + 1) {
+            valid = false;
+            gapCount++;
+            return metrics();
+        }
+
+        for (var i = 0; i < update.bidPrices().length; i++) {
+            bids.set(update.bidPrices()[i], update.bidSizes()[i]);
+        }
+
+        for (var i = 0; i < update.askPrices().length; i++) {
+            asks.set(update.askPrices()[i], update.askSizes()[i]);
+        }
+
+        updateId = update.updateId();
+        return metrics();
+    }
+
+    long gapCount() {
+        return gapCount;
+    }
+
+    boolean isValid() {
+        return valid;
+    }
+
+    private BookMetrics metrics() {
+        if (!valid) {
+            return new BookMetrics(false, Double.NaN, 0d, Double.NaN, 0d, Double.NaN, Double.NaN, Double.NaN, 0d, 0d,
+                    Double.NaN, 0d, 0d);
+        }
+
+        final var bid = bids.price(0);
+        final var bidSize = bids.size(0);
+        final var ask = asks.price(0);
+        final var askSize = asks.size(0);
+        final var bidDepth = bids.depth(DEPTH_LEVELS);
+        final var askDepth = asks.depth(DEPTH_LEVELS);
+        // Microprice leans towards the side with less resting size, where the next trade is more likely to move to
+        final var microprice = bidSize + askSize > 0d ? (bid * askSize + ask * bidSize) / (bidSize + askSize) :
+                Double.NaN;
+        final var imbalance = bidDepth + askDepth > 0d ? (bidDepth - askDepth) / (bidDepth + askDepth) : Double.NaN;
+        return new BookMetrics(true, bid, bidSize, ask, askSize, ask - bid, (bid + ask) / 2d, microprice, bidDepth,
+                askDepth, imbalance, bids.total(), asks.total());
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.book;
+
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolSlots;
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolTable;
+import com.github.akarazhev.cryptoscout.analyst.codec.Topics;
+import com.github.akarazhev.cryptoscout.analyst.enrich.EnrichmentStage;
+import com.github.akarazhev.cryptoscout.analyst.model.AnalyzedOrderBook;
+import com.github.akarazhev.cryptoscout.analyst.model.OrderBook;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Applies Bybit order book snapshots and deltas to local per-symbol, per-depth books and attaches spread, microprice,
+ * depth imbalance and cumulative depth to every update. Order book payloads leave the stage as
+ * {@link AnalyzedOrderBook}; everything else passes through. Not thread-safe: each pipeline owns its engine.
+ */
+public final class OrderBookEngine implements EnrichmentStage {
+    private final SymbolSlots<Map<Integer, LocalBook>> books;
+
+    public static OrderBookEngine create(final SymbolTable symbols) {
+        return new OrderBookEngine(symbols);
+    }
+
+    private OrderBookEngine(final SymbolTable symbols) {
+        this.books = SymbolSlots.create(symbols);
+    }
+
+    @Override
+    public boolean accepts(final String topic) {
+        return Topics.isOrderBook(topic);
+    }
+
+    @Override
+    public Payload<?> apply(final Payload<?> payload) {
+        if (!(payload.getData() instanceof OrderBook update)) {
+            return payload;
+        }
+
+        final var book = books.computeIfAbsent(update.symbol(), _ -> new HashMap<>())
+                .computeIfAbsent(update.depth(), LocalBook::new);
+        return Payload.of(payload.getProvider(), payload.getSource(),
+                new AnalyzedOrderBook(update.symbol(), update.timestamp(), update, book.apply(update)));
+    }
+
+    public long getGapCount() {
+        var count = 0L;
+        for (var id = 0; id < books.capacity(); id++) {
+            final var depths = books.get(id);
+            if (depths != null) {
+                for (final var book : depths.values()) {
+                    count += book.gapCount();
+                }
+            }
+        }
+
+        return count;
+    }
+
+    public int getInvalidBookCount() {
+        var count = 0;
+        for (var id = 0; id < books.capacity(); id++) {
+            final var depths = books.get(id);
+            if (depths != null) {
+                for (final var book : depths.values()) {
+                    if (!book.isValid()) {
+                        count++;
+                    }
+                }
+            }
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,403 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import com.github.akarazhev.cryptoscout.analyst.model.AnalyzedKlines;
+import com.github.akarazhev.cryptoscout.analyst.model.AnalyzedLiquidations;
+import com.github.akarazhev.cryptoscout.analyst.model.AnalyzedOrderBook;
+import com.github.akarazhev.cryptoscout.analyst.model.AnalyzedTrades;
+import com.github.akarazhev.cryptoscout.analyst.model.BookMetrics;
+import com.github.akarazhev.cryptoscout.analyst.model.Indicators;
+import com.github.akarazhev.cryptoscout.analyst.model.Kline;
+import com.github.akarazhev.cryptoscout.analyst.model.Klines;
+import com.github.akarazhev.cryptoscout.analyst.model.LiquidationClusters;
+import com.github.akarazhev.cryptoscout.analyst.model.Liquidations;
+import com.github.akarazhev.cryptoscout.analyst.model.MarketData;
+import com.github.akarazhev.cryptoscout.analyst.model.OrderBook;
+import com.github.akarazhev.cryptoscout.analyst.model.Ticker;
+import com.github.akarazhev.cryptoscout.analyst.model.Timeframes;
+import com.github.akarazhev.cryptoscout.analyst.model.Trade;
+import com.github.akarazhev.cryptoscout.analyst.model.Trades;
+
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import com.github.akarazhev.jcryptolib.stream.Source;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Output.BINARY_CONTENT_TYPE;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Output.BINARY_VERSION;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Output.MAX_BYTE;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Output.MAX_COUNT;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Output.NO_CODE;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Output.UNKNOWN_CODE;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Schema.ANALYZED_KLINES;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Schema.ANALYZED_LIQUIDATIONS;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Schema.ANALYZED_ORDER_BOOK;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Schema.ANALYZED_TRADES;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Schema.JSON_PAYLOAD;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Schema.KLINES;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Schema.LIQUIDATIONS;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Schema.ORDER_BOOK;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Schema.TICKER;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Schema.TIMEFRAMES;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Schema.TRADES;
+
+/**
+ * Fixed-layout big-endian encoding of typed market data. Every record starts with a 16-byte header: version, schema id,
+ * provider and source codes, stored dictionary id of the symbol and the timestamp. Provider and source codes are fixed
+ * per constant rather than taken from enum ordinals, so reordering the enums never changes the wire. Counts are
+ * unsigned 16-bit and strings are length-prefixed ASCII of at most 255 characters. Timeframes nest their series as a
+ * count followed by schema id and body of each. Payloads without typed data, or with more entries than the layout can
+ * count, fall back to JSON with the JSON schema id.
+ */
+public final class BinaryOutputCodec implements OutputCodec {
+    private static final int HEADER_SIZE = 16;
+    private final JsonOutputCodec fallback = JsonOutputCodec.createTyped();
+    private final SymbolTable symbols;
+
+    public static BinaryOutputCodec create(final SymbolTable symbols) {
+        return new BinaryOutputCodec(symbols);
+    }
+
+    private BinaryOutputCodec(final SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    @Override
+    public String contentType() {
+        return BINARY_CONTENT_TYPE;
+    }
+
+    @Override
+    public int version() {
+        return BINARY_VERSION;
+    }
+
+    @Override
+    public int schemaId(final PayloadView payload) {
+        return payload.getData() instanceof MarketData data && fits(data) ? schemaOf(data) : JSON_PAYLOAD;
+    }
+
+    @Override
+    public byte[] encode(final PayloadView payload) {
+        if (!(payload.getData() instanceof MarketData data) || !fits(data)) {
+            return fallback.encode(payload);
+        }
+
+        final var buffer = ByteBuffer.allocate(HEADER_SIZE + bodySize(data));
+        buffer.put(BINARY_VERSION)
+                .put((byte) schemaId(payload))
+                .put(codeOf(payload.getProvider()))
+                .put(codeOf(payload.getSource()))
+                .putInt(symbols.storedIdOf(data.symbol()))
+                .putLong(data.timestamp());
+        putBody(buffer, data);
+        return buffer.array();
+    }
+
+    private static void putBody(final ByteBuffer buffer, final MarketData data) {
+        switch (data) {
+            case Klines klines -> putKlines(buffer, klines.interval(), klines.klines());
+            case AnalyzedKlines klines -> {
+                putKlines(buffer, klines.interval(), klines.klines());
+                putIndicators(buffer, klines.indicators());
+            }
+
+            case Ticker ticker -> buffer.put((byte) (ticker.snapshot() ? 1 : 0))
+                    .putDouble(ticker.lastPrice())
+                    .putDouble(ticker.highPrice24h())
+                    .putDouble(ticker.lowPrice24h())
+                    .putDouble(ticker.prevPrice24h())
+                    .putDouble(ticker.volume24h())
+                    .putDouble(ticker.turnover24h())
+                    .putDouble(ticker.price24hPcnt())
+                    .putDouble(ticker.bid1Price())
+                    .putDouble(ticker.bid1Size())
+                    .putDouble(ticker.ask1Price())
+                    .putDouble(ticker.ask1Size())
+                    .putDouble(ticker.markPrice())
+                    .putDouble(ticker.indexPrice())
+                    .putDouble(ticker.openInterest())
+                    .putDouble(ticker.fundingRate());
+            case OrderBook book -> putOrderBook(buffer, book);
+            case AnalyzedOrderBook book -> {
+                putOrderBook(buffer, book.book());
+                putMetrics(buffer, book.metrics());
+            }
+
+            case Trades trades -> putTrades(buffer, trades.trades());
+            case AnalyzedTrades trades -> {
+                putTrades(buffer, trades.trades());
+                buffer.putDouble(trades.cumulativeDelta())
+                        .putShort((short) trades.largePrints())
+                        .put((byte) trades.flows().length);
+                for (final var flow : trades.flows()) {
+                    buffer.putLong(flow.windowMs())
+                            .putDouble(flow.buyVolume())
+                            .putDouble(flow.sellVolume())
+                            .putDouble(flow.volumeDelta())
+                            .putDouble(flow.imbalance())
+                            .putDouble(flow.intensity())
+                            .putLong(flow.largePrints());
+                }
+            }
+
+            case Timeframes timeframes -> {
+                buffer.putShort((short) timeframes.series().length);
+                for (final var series : timeframes.series()) {
+                    buffer.put((byte) schemaOf(series));
+                    putBody(buffer, series);
+                }
+            }
+
+            case Liquidations liquidations -> {
+                buffer.putShort((short) liquidations.liquidations().length);
+                for (final var liquidation : liquidations.liquidations()) {
+                    putFill(buffer, liquidation.time(), liquidation.longPosition(), liquidation.price(),
+                            liquidation.size());
+                }
+            }
+
+            case AnalyzedLiquidations liquidations -> {
+                buffer.putShort((short) liquidations.liquidations().length);
+                for (final var liquidation : liquidations.liquidations()) {
+                    putFill(buffer, liquidation.time(), liquidation.longPosition(), liquidation.price(),
+                            liquidation.size());
+                }
+
+                putClusters(buffer, liquidations.clusters());
+            }
+        }
+    }
+
+    private static int schemaOf(final Object data) {
+        return switch (data) {
+            case Klines _ -> KLINES;
+            case AnalyzedKlines _ -> ANALYZED_KLINES;
+            case Timeframes _ -> TIMEFRAMES;
+            case Ticker _ -> TICKER;
+            case OrderBook _ -> ORDER_BOOK;
+            case AnalyzedOrderBook _ -> ANALYZED_ORDER_BOOK;
+            case Trades _ -> TRADES;
+            case AnalyzedTrades _ -> ANALYZED_TRADES;
+            case Liquidations _ -> LIQUIDATIONS;
+            case AnalyzedLiquidations _ -> ANALYZED_LIQUIDATIONS;
+            case null, default -> JSON_PAYLOAD;
+        };
+    }
+
+    private static boolean fits(final MarketData data) {
+        return switch (data) {
+            case Klines klines -> fitsAscii(klines.interval()) && fitsCount(klines.klines().length);
+            case AnalyzedKlines klines -> fitsAscii(klines.interval()) && fitsCount(klines.klines().length);
+            case Ticker _ -> true;
+            case OrderBook book -> fitsOrderBook(book);
+            case AnalyzedOrderBook book -> fitsOrderBook(book.book());
+            case Trades trades -> fitsCount(trades.trades().length);
+            case AnalyzedTrades trades -> fitsCount(trades.trades().length) && fitsCount(trades.largePrints()) &&
+                    trades.flows().length <= MAX_BYTE;
+            case Liquidations liquidations -> fitsCount(liquidations.liquidations().length);
+            case AnalyzedLiquidations liquidations -> fitsCount(liquidations.liquidations().length) &&
+                    fitsCount(liquidations.clusters().bandPrices().length);
+            case Timeframes timeframes -> {
+                var fits = fitsCount(timeframes.series().length);
+                for (final var series : timeframes.series()) {
+                    fits &= fits(series);
+                }
+
+                yield fits;
+            }
+        };
+    }
+
+    private static boolean fitsOrderBook(final OrderBook book) {
+        return fitsCount(book.depth()) && fitsCount(book.bidPrices().length) && fitsCount(book.askPrices().length);
+    }
+
+    private static boolean fitsCount(final int count) {
+        return count >= 0 && count <= MAX_COUNT;
+    }
+
+    private static boolean fitsAscii(final String value) {
+        return value.length() <= MAX_BYTE;
+    }
+
+    private static int bodySize(final MarketData data) {
+        return switch (data) {
+            case Klines klines -> 1 + klines.interval().length() + 2 + klines.klines().length * 73;
+            case AnalyzedKlines klines -> 1 + klines.interval().length() + 2 + klines.klines().length * 73 +
+                    13 * Double.BYTES;
+            case Ticker _ -> 1 + 15 * Double.BYTES;
+            case OrderBook book -> orderBookSize(book);
+            case AnalyzedOrderBook book -> orderBookSize(book.book()) + 1 + 12 * Double.BYTES;
+            case Trades trades -> 2 + trades.trades().length * 25;
+            case AnalyzedTrades trades -> 2 + trades.trades().length * 25 + Double.BYTES + 2 + 1 +
+                    trades.flows().length * (2 * Long.BYTES + 5 * Double.BYTES);
+            case Liquidations liquidations -> 2 + liquidations.liquidations().length * 25;
+            case AnalyzedLiquidations liquidations -> 2 + liquidations.liquidations().length * 25 + Long.BYTES +
+                    7 * Double.BYTES + 2 + liquidations.clusters().bandPrices().length * 3 * Double.BYTES;
+            case Timeframes timeframes -> {
+                var size = 2;
+                for (final var series : timeframes.series()) {
+                    size += 1 + bodySize(series);
+                }
+
+                yield size;
+            }
+        };
+    }
+
+    private static int orderBookSize(final OrderBook book) {
+        return 2 + 1 + 2 * Long.BYTES + 2 * 2 + (book.bidPrices().length + book.askPrices().length) * 2 * Double.BYTES;
+    }
+
+    private static void putKlines(final ByteBuffer buffer, final String interval, final Kline[] klines) {
+        putAscii(buffer, interval);
+        buffer.putShort((short) klines.length);
+        for (final var kline : klines) {
+            buffer.putLong(kline.start())
+                    .putLong(kline.end())
+                    .putDouble(kline.open())
+                    .putDouble(kline.high())
+                    .putDouble(kline.low())
+                    .putDouble(kline.close())
+                    .putDouble(kline.volume())
+                    .putDouble(kline.turnover())
+                    .put((byte) (kline.confirm() ? 1 : 0))
+                    .putLong(kline.timestamp());
+        }
+    }
+
+    private static void putIndicators(final ByteBuffer buffer, final Indicators indicators) {
+        buffer.putDouble(indicators.sma())
+                .putDouble(indicators.ema())
+                .putDouble(indicators.rsi())
+                .putDouble(indicators.macd())
+                .putDouble(indicators.macdSignal())
+                .putDouble(indicators.macdHistogram())
+                .putDouble(indicators.bollingerUpper())
+                .putDouble(indicators.bollingerMiddle())
+                .putDouble(indicators.bollingerLower())
+                .putDouble(indicators.atr())
+                .putDouble(indicators.vwap())
+                .putDouble(indicators.stochasticK())
+                .putDouble(indicators.stochasticD());
+    }
+
+    private static void putOrderBook(final ByteBuffer buffer, final OrderBook book) {
+        buffer.putShort((short) book.depth())
+                .put((byte) (book.snapshot() ? 1 : 0))
+                .putLong(book.updateId())
+                .putLong(book.sequence());
+        putLevels(buffer, book.bidPrices(), book.bidSizes());
+        putLevels(buffer, book.askPrices(), book.askSizes());
+    }
+
+    private static void putMetrics(final ByteBuffer buffer, final BookMetrics metrics) {
+        buffer.put((byte) (metrics.valid() ? 1 : 0))
+                .putDouble(metrics.bestBid())
+                .putDouble(metrics.bestBidSize())
+                .putDouble(metrics.bestAsk())
+                .putDouble(metrics.bestAskSize())
+                .putDouble(metrics.spread())
+                .putDouble(metrics.mid())
+                .putDouble(metrics.microprice())
+                .putDouble(metrics.bidDepth())
+                .putDouble(metrics.askDepth())
+                .putDouble(metrics.imbalance())
+                .putDouble(metrics.bidTotal())
+                .putDouble(metrics.askTotal());
+    }
+
+    private static void putTrades(final ByteBuffer buffer, final Trade[] trades) {
+        buffer.putShort((short) trades.length);
+        for (final var trade : trades) {
+            putFill(buffer, trade.time(), trade.buy(), trade.price(), trade.size());
+        }
+    }
+
+    private static void putClusters(final ByteBuffer buffer, final LiquidationClusters clusters) {
+        buffer.putLong(clusters.windowMs())
+                .putDouble(clusters.bandWidth())
+                .putDouble(clusters.longVolume())
+                .putDouble(clusters.shortVolume())
+                .putDouble(clusters.topLongPrice())
+                .putDouble(clusters.topLongVolume())
+                .putDouble(clusters.topShortPrice())
+                .putDouble(clusters.topShortVolume())
+                .putShort((short) clusters.bandPrices().length);
+        for (var i = 0; i < clusters.bandPrices().length; i++) {
+            buffer.putDouble(clusters.bandPrices()[i])
+                    .putDouble(clusters.longVolumes()[i])
+                    .putDouble(clusters.shortVolumes()[i]);
+        }
+    }
+
+    private static void putLevels(final ByteBuffer buffer, final double[] prices, final double[] sizes) {
+        buffer.putShort((short) prices.length);
+        for (var i = 0; i < prices.length; i++) {
+            buffer.putDouble(prices[i]).putDouble(sizes[i]);
+        }
+    }
+
+    private static void putFill(final ByteBuffer buffer, final long time, final boolean flag, final double price,
+                                final double size) {
+        buffer.putLong(time)
+                .put((byte) (flag ? 1 : 0))
+                .putDouble(price)
+                .putDouble(size);
+    }
+
+    private static void putAscii(final ByteBuffer buffer, final String value) {
+        buffer.put((byte) value.length()).put(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte codeOf(final Provider provider) {
+        if (provider == null) {
+            return NO_CODE;
+        }
+        // Codes are never reused; a new constant gets the next free one
+        return switch (provider) {
+            case BYBIT -> 1;
+            case BYBIT_TA -> 2;
+            case CMC -> 3;
+            default -> UNKNOWN_CODE;
+        };
+    }
+
+    private static byte codeOf(final Source source) {
+        if (source == null) {
+            return NO_CODE;
+        }
+
+        return switch (source) {
+            case FGI -> 1;
+            case PMST -> 2;
+            case PML -> 3;
+            default -> UNKNOWN_CODE;
+        };
+    }
+}
@@ -0,0 +1,348 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import com.github.akarazhev.cryptoscout.analyst.model.Kline;
+import com.github.akarazhev.cryptoscout.analyst.model.Klines;
+import com.github.akarazhev.cryptoscout.analyst.model.Liquidation;
+import com.github.akarazhev.cryptoscout.analyst.model.Liquidations;
+import com.github.akarazhev.cryptoscout.analyst.model.OrderBook;
+import com.github.akarazhev.cryptoscout.analyst.model.Ticker;
+import com.github.akarazhev.cryptoscout.analyst.model.Trade;
+import com.github.akarazhev.cryptoscout.analyst.model.Trades;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Topic.SNAPSHOT;
+
+/**
+ * Decoders for Bybit v5 public stream messages: {@code {"topic":..,"type":..,"ts":..,"data":..}}. Member names are
+ * matched in place without allocating. A decoder returns {@code null} without reading anything for a topic it cannot
+ * take apart, leaving the message to the generic decode.
+ */
+final class BybitDecoders {
+    private static final String[] TICKER_FIELDS = {"lastPrice", "highPrice24h", "lowPrice24h", "prevPrice24h",
+            "volume24h", "turnover24h", "price24hPcnt", "bid1Price", "bid1Size", "ask1Price", "ask1Size", "markPrice",
+            "indexPrice", "openInterest", "fundingRate"};
+    // Bybit depths are at most four digits; the bound keeps the parse from overflowing
+    private static final int MAX_DEPTH_DIGITS = 9;
+
+    private BybitDecoders() {
+        throw new UnsupportedOperationException();
+    }
+
+    static Klines klines(final JsonReader reader, final String topic, final SymbolTable symbols) {
+        // kline.<interval>.<symbol>
+        final var first = topic.indexOf('.');
+        final var last = topic.lastIndexOf('.');
+        if (first <= 0 || last <= first + 1 || last == topic.length() - 1) {
+            return null;
+        }
+
+        final var klines = new ArrayList<Kline>(1);
+        final var ts = envelope(reader, r -> {
+            r.beginArray();
+            while (r.hasNext()) {
+                klines.add(kline(r));
+            }
+
+            r.endArray();
+        });
+        return new Klines(symbols.intern(topic, last + 1, topic.length()), topic.substring(first + 1, last), ts[0],
+                klines.toArray(new Kline[0]));
+    }
+
+    static Ticker ticker(final JsonReader reader, final String topic, final SymbolTable symbols) {
+        if (!hasSymbol(topic)) {
+            return null;
+        }
+
+        final var values = new double[TICKER_FIELDS.length];
+        Arrays.fill(values, Double.NaN);
+        final var ts = envelope(reader, r -> {
+            r.beginObject();
+            while (r.hasNext()) {
+                final var index = nextNameIndex(r, TICKER_FIELDS);
+                if (index < 0) {
+                    r.skipName();
+                    r.skipValue();
+                } else {
+                    values[index] = r.nextDouble();
+                }
+            }
+
+            r.endObject();
+        });
+        return new Ticker(symbolOf(topic, symbols), ts[0], ts[1] != 0, values[0], values[1], values[2], values[3],
+                values[4], values[5], values[6], values[7], values[8], values[9], values[10], values[11], values[12],
+                values[13], values[14]);
+    }
+
+    static OrderBook orderBook(final JsonReader reader, final String topic, final SymbolTable symbols) {
+        // orderbook.<depth>.<symbol>
+        final var depth = depthOf(topic);
+        if (depth < 0 || !hasSymbol(topic)) {
+            return null;
+        }
+
+        final var bids = new Levels();
+        final var asks = new Levels();
+        final var ids = new long[2];
+        final var ts = envelope(reader, r -> {
+            r.beginObject();
+            while (r.hasNext()) {
+                if (r.nextNameEquals("b")) {
+                    bids.read(r);
+                } else if (r.nextNameEquals("a")) {
+                    asks.read(r);
+                } else if (r.nextNameEquals("u")) {
+                    ids[0] = r.nextLong();
+                } else if (r.nextNameEquals("seq")) {
+                    ids[1] = r.nextLong();
+                } else {
+                    r.skipName();
+                    r.skipValue();
+                }
+            }
+
+            r.endObject();
+        });
+        return new OrderBook(symbolOf(topic, symbols), depth, ts[0], ts[1] != 0, ids[0], ids[1], bids.prices(),
+                bids.sizes(), asks.prices(), asks.sizes());
+    }
+
+    static Trades trades(final JsonReader reader, final String topic, final SymbolTable symbols) {
+        if (!hasSymbol(topic)) {
+            return null;
+        }
+
+        final var trades = new ArrayList<Trade>();
+        final var ts = envelope(reader, r -> {
+            r.beginArray();
+            while (r.hasNext()) {
+                final var fill = fill(r);
+                trades.add(new Trade((long) fill[0], fill[1] != 0, fill[2], fill[3]));
+            }
+
+            r.endArray();
+        });
+        return new Trades(symbolOf(topic, symbols), ts[0], trades.toArray(new Trade[0]));
+    }
+
+    static Liquidations liquidations(final JsonReader reader, final String topic, final SymbolTable symbols) {
+        if (!hasSymbol(topic)) {
+            return null;
+        }
+
+        final var liquidations = new ArrayList<Liquidation>();
+        final var ts = envelope(reader, r -> {
+            r.beginArray();
+            while (r.hasNext()) {
+                final var fill = fill(r);
+                liquidations.add(new Liquidation((long) fill[0], fill[1] != 0, fill[2], fill[3]));
+            }
+
+            r.endArray();
+        });
+        return new Liquidations(symbolOf(topic, symbols), ts[0], liquidations.toArray(new Liquidation[0]));
+    }
+
+    /**
+     * Walks the message envelope, handing the {@code data} member to the body reader. Returns the message timestamp
+     * and a snapshot flag (1 for snapshot, 0 for delta).
+     */
+    private static long[] envelope(final JsonReader reader, final BodyReader body) {
+        final var result = new long[2];
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextNameEquals("ts")) {
+                result[0] = reader.nextLong();
+            } else if (reader.nextNameEquals("type")) {
+                result[1] = reader.nextStringEquals(SNAPSHOT) ? 1 : 0;
+            } else if (reader.nextNameEquals("data")) {
+                body.read(reader);
+            } else {
+                reader.skipName();
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+        return result;
+    }
+
+    private static Kline kline(final JsonReader reader) {
+        long start = 0;
+        long end = 0;
+        long timestamp = 0;
+        double open = Double.NaN;
+        double high = Double.NaN;
+        double low = Double.NaN;
+        double close = Double.NaN;
+        double volume = Double.NaN;
+        double turnover = Double.NaN;
+        var confirm = false;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextNameEquals("start")) {
+                start = reader.nextLong();
+            } else if (reader.nextNameEquals("end")) {
+                end = reader.nextLong();
+            } else if (reader.nextNameEquals("open")) {
+                open = reader.nextDouble();
+            } else if (reader.nextNameEquals("high")) {
+                high = reader.nextDouble();
+            } else if (reader.nextNameEquals("low")) {
+                low = reader.nextDouble();
+            } else if (reader.nextNameEquals("close")) {
+                close = reader.nextDouble();
+            } else if (reader.nextNameEquals("volume")) {
+                volume = reader.nextDouble();
+            } else if (reader.nextNameEquals("turnover")) {
+                turnover = reader.nextDouble();
+            } else if (reader.nextNameEquals("confirm")) {
+                confirm = reader.nextBoolean();
+            } else if (reader.nextNameEquals("timestamp")) {
+                timestamp = reader.nextLong();
+            } else {
+                reader.skipName();
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+        return new Kline(start, end, open, high, low, close, volume, turnover, confirm, timestamp);
+    }
+
+    /**
+     * Reads a trade-like entry {@code {"T":..,"S":"Buy"|"Sell","p":..,"v":..}} as time, buy flag, price and size.
+     */
+    private static double[] fill(final JsonReader reader) {
+        final var fill = new double[]{0d, 0d, Double.NaN, Double.NaN};
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextNameEquals("T")) {
+                fill[0] = reader.nextLong();
+            } else if (reader.nextNameEquals("S")) {
+                fill[1] = reader.nextStringEquals("Buy") ? 1d : 0d;
+            } else if (reader.nextNameEquals("p")) {
+                fill[2] = reader.nextDouble();
+            } else if (reader.nextNameEquals("v")) {
+                fill[3] = reader.nextDouble();
+            } else {
+                reader.skipName();
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+        return fill;
+    }
+
+    private static int nextNameIndex(final JsonReader reader, final String[] names) {
+        for (var i = 0; i < names.length; i++) {
+            if (reader.nextNameEquals(names[i])) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Depth of an {@code orderbook.<depth>.<symbol>} topic, or -1 if it has none.
+     */
+    private static int depthOf(final String topic) {
+        final var first = topic.indexOf('.');
+        final var last = topic.lastIndexOf('.');
+        if (last <= first + 1 || last - first - 1 > MAX_DEPTH_DIGITS) {
+            return -1;
+        }
+
+        var depth = 0;
+        for (var i = first + 1; i < last; i++) {
+            final var c = topic.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+
+            depth = depth * 10 + (c - '0');
+        }
+
+        return depth;
+    }
+
+    private static boolean hasSymbol(final String topic) {
+        final var last = topic.lastIndexOf('.');
+        return last >= 0 && last < topic.length() - 1;
+    }
+
+    private static String symbolOf(final String topic, final SymbolTable symbols) {
+        return symbols.intern(topic, topic.lastIndexOf('.') + 1, topic.length());
+    }
+
+    @FunctionalInterface
+    private interface BodyReader {
+
+        void read(JsonReader reader);
+    }
+
+    /**
+     * Growable parallel arrays for {@code [["price","size"],...]} levels.
+     */
+    private static final class Levels {
+        private double[] prices = new double[0];
+        private double[] sizes = new double[0];
+        private int size;
+
+        private void read(final JsonReader reader) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (size == prices.length) {
+                    final var capacity = Math.max(16, size << 1);
+                    prices = Arrays.copyOf(prices, capacity);
+                    sizes = Arrays.copyOf(sizes, capacity);
+                }
+
+                reader.beginArray();
+                prices[size] = reader.nextDouble();
+                sizes[size] = reader.nextDouble();
+                reader.endArray();
+                size++;
+            }
+
+            reader.endArray();
+        }
+
+        private double[] prices() {
+            return prices.length == size ? prices : Arrays.copyOf(prices, size);
+        }
+
+        private double[] sizes() {
+            return sizes.length == size ? sizes : Arrays.copyOf(sizes, size);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+final class Constants {
+    private Constants() {
+        throw new UnsupportedOperationException();
+    }
+
+    final static class Amqp {
+        private Amqp() {
+            throw new UnsupportedOperationException();
+        }
+
+        // AMQP 1.0 constructors needed to walk the section list; everything else is skipped by its width category
+        static final int DESCRIBED = 0x00;
+        static final int SMALL_ULONG = 0x53;
+        static final int ULONG = 0x80;
+        static final int VBIN8 = 0xa0;
+        static final int VBIN32 = 0xb0;
+        // Descriptor code of the data section
+        static final long DATA = 0x75L;
+    }
+
+    final static class Json {
+        private Json() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Largest mantissa that converts to double exactly, and the matching exact powers of ten
+        static final long MAX_EXACT_MANTISSA = 1L << 53;
+        static final double[] POWERS_OF_TEN = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+                1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+        };
+    }
+
+    final static class Fields {
+        private Fields() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Payload envelope members
+        static final String PROVIDER = "provider";
+        static final String SOURCE = "source";
+        static final String DATA = "data";
+        // Enrichment result published next to the received data by the default JSON layout
+        static final String ANALYSIS = "analysis";
+    }
+
+    final static class Response {
+        private Response() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Collector message members; page and last are optional and split one response into chunks
+        static final String COMMAND = "command";
+        static final String TYPE = "type";
+        static final String SOURCE = "source";
+        static final String METHOD = "method";
+        static final String VALUE = "value";
+        static final String PAGE = "page";
+        static final String LAST = "last";
+        // Optional echo of the request value: symbol, then range start and end as epoch millis or ISO-8601
+        static final String REQUEST = "request";
+    }
+
+    final static class Topic {
+        private Topic() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Bybit topic families
+        static final String KLINE = "kline";
+        static final String TICKERS = "tickers";
+        static final String ORDER_BOOK = "orderbook";
+        static final String PUBLIC_TRADE = "publicTrade";
+        static final String ALL_LIQUIDATION = "allLiquidation";
+        static final String TOPIC = "topic";
+        static final String SNAPSHOT = "snapshot";
+    }
+
+    final static class Output {
+        private Output() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final String JSON = "json";
+        static final String TYPED_JSON = "typed-json";
+        static final String BINARY = "binary";
+        static final String JSON_CONTENT_TYPE = "application/json";
+        static final String BINARY_CONTENT_TYPE = "application/octet-stream";
+        // Layout versions published with every message: the received bybit data, and the typed records
+        static final int JSON_VERSION = 1;
+        static final int TYPED_JSON_VERSION = 2;
+        // Leading byte of every binary record, bumped on incompatible layout changes
+        static final byte BINARY_VERSION = 2;
+        // Largest values of the unsigned 16-bit count and 8-bit length fields of the binary layout
+        static final int MAX_COUNT = 0xFFFF;
+        static final int MAX_BYTE = 0xFF;
+        // Provider and source codes for a missing and an unrecognized constant
+        static final byte NO_CODE = 0;
+        static final byte UNKNOWN_CODE = (byte) 0xFF;
+    }
+
+    final static class Schema {
+        private Schema() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final int JSON_PAYLOAD = 0;
+        static final int KLINES = 1;
+        static final int TICKER = 2;
+        static final int ORDER_BOOK = 3;
+        static final int TRADES = 4;
+        static final int LIQUIDATIONS = 5;
+        static final int ANALYZED_KLINES = 6;
+        static final int TIMEFRAMES = 7;
+        static final int ANALYZED_ORDER_BOOK = 8;
+        static final int ANALYZED_TRADES = 9;
+        static final int ANALYZED_LIQUIDATIONS = 10;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import java.util.Arrays;
+
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Topic.ALL_LIQUIDATION;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Topic.KLINE;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Topic.ORDER_BOOK;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Topic.PUBLIC_TRADE;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Topic.TICKERS;
+
+/**
+ * Typed decoders keyed by topic family, the part of the topic before the first dot. Lookups compare the family in
+ * place so the decode path does not allocate a substring per message.
+ */
+public final class DecoderRegistry {
+    private String[] families = new String[0];
+    private MarketDataDecoder[] decoders = new MarketDataDecoder[0];
+
+    public static DecoderRegistry create() {
+        return new DecoderRegistry();
+    }
+
+    /**
+     * Bybit decoders that intern the symbol of every topic in the given dictionary.
+     */
+    public static DecoderRegistry createForBybit(final SymbolTable symbols) {
+        return create()
+                .register(KLINE, (reader, topic) -> BybitDecoders.klines(reader, topic, symbols))
+                .register(TICKERS, (reader, topic) -> BybitDecoders.ticker(reader, topic, symbols))
+                .register(ORDER_BOOK, (reader, topic) -> BybitDecoders.orderBook(reader, topic, symbols))
+                .register(PUBLIC_TRADE, (reader, topic) -> BybitDecoders.trades(reader, topic, symbols))
+                .register(ALL_LIQUIDATION, (reader, topic) -> BybitDecoders.liquidations(reader, topic, symbols));
+    }
+
+    private DecoderRegistry() {
+    }
+
+    public DecoderRegistry register(final String family, final MarketDataDecoder decoder) {
+        for (var i = 0; i < families.length; i++) {
+            if (families[i].equals(family)) {
+                decoders[i] = decoder;
+                return this;
+            }
+        }
+
+        families = Arrays.copyOf(families, families.length + 1);
+        decoders = Arrays.copyOf(decoders, decoders.length + 1);
+        families[families.length - 1] = family;
+        decoders[decoders.length - 1] = decoder;
+        return this;
+    }
+
+    public MarketDataDecoder find(final String topic) {
+        if (topic == null) {
+            return null;
+        }
+
+        final var dot = topic.indexOf('.');
+        final var length = dot < 0 ? topic.length() : dot;
+        for (var i = 0; i < families.length; i++) {
+            final var family = families[i];
+            if (family.length() == length && topic.regionMatches(0, family, 0, length)) {
+                return decoders[i];
+            }
+        }
+
+        return null;
+    }
+}
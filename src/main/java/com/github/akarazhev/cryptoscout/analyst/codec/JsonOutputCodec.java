@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import com.github.akarazhev.jcryptolib.util.JsonUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Fields.ANALYSIS;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Fields.DATA;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Fields.PROVIDER;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Fields.SOURCE;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Output.JSON_CONTENT_TYPE;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Output.JSON_VERSION;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Output.TYPED_JSON_VERSION;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Schema.JSON_PAYLOAD;
+
+/**
+ * Payload JSON as produced by {@link JsonUtils}; payloads still matching their received bytes are forwarded as is.
+ * The default layout (version 1) is the one consumers have always read: the received bybit data under the payload
+ * envelope, copied from the message bytes without being read again, with the enrichment result, if any, added as an
+ * {@code analysis} member next to it. The typed layout (version 2) writes the typed records, analysis included, in
+ * place of the received data and is opted into through the {@code typed-json} codec.
+ */
+public final class JsonOutputCodec implements OutputCodec {
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private final boolean typed;
+
+    public static JsonOutputCodec create() {
+        return new JsonOutputCodec(false);
+    }
+
+    public static JsonOutputCodec createTyped() {
+        return new JsonOutputCodec(true);
+    }
+
+    private JsonOutputCodec(final boolean typed) {
+        this.typed = typed;
+    }
+
+    @Override
+    public String contentType() {
+        return JSON_CONTENT_TYPE;
+    }
+
+    @Override
+    public int version() {
+        return typed ? TYPED_JSON_VERSION : JSON_VERSION;
+    }
+
+    @Override
+    public int schemaId(final PayloadView payload) {
+        return JSON_PAYLOAD;
+    }
+
+    @Override
+    public byte[] encode(final PayloadView payload) {
+        final var raw = payload.getRaw();
+        if (raw == null) {
+            return typed || !payload.hasReceivedData() ?
+                    JsonUtils.object2Bytes(payload.toPayload()) :
+                    encodeReceived(payload);
+        }
+        // The producer only takes whole arrays, so a slice costs one copy but never a decode and re-encode
+        return raw.offset() == 0 && raw.length() == raw.array().length ?
+                raw.array() :
+                Arrays.copyOfRange(raw.array(), raw.offset(), raw.offset() + raw.length());
+    }
+
+    private static byte[] encodeReceived(final PayloadView payload) {
+        final var out = new ByteArrayOutputStream();
+        out.write('{');
+        writeMember(out, PROVIDER, payload.getProvider());
+        out.write(',');
+        writeMember(out, SOURCE, payload.getSource());
+        out.write(',');
+        writeName(out, DATA);
+        payload.writeReceivedData(out);
+        if (payload.isEnriched()) {
+            out.write(',');
+            writeName(out, ANALYSIS);
+            out.writeBytes(JsonUtils.object2Bytes(payload.getData()));
+        }
+
+        out.write('}');
+        return out.toByteArray();
+    }
+
+    private static void writeMember(final ByteArrayOutputStream out, final String name, final Enum<?> value) {
+        writeName(out, name);
+        // Constant names are plain ASCII identifiers, so they need no escaping
+        out.writeBytes(value != null ? ('"' + value.name() + '"').getBytes(StandardCharsets.US_ASCII) : NULL);
+    }
+
+    private static void writeName(final ByteArrayOutputStream out, final String name) {
+        out.writeBytes(('"' + name + "\":").getBytes(StandardCharsets.US_ASCII));
+    }
+}
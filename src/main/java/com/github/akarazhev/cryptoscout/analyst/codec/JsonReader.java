@@ -0,0 +1,592 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Json.MAX_EXACT_MANTISSA;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Json.POWERS_OF_TEN;
+
+/**
+ * Minimal pull parser over a UTF-8 slice of a byte array. It never copies the input; strings are only materialized
+ * when asked for, and numbers can be read as primitives straight from the bytes, quoted or not. Input is expected to
+ * be well-formed: separators are consumed leniently and malformed input fails with {@link IllegalStateException}.
+ */
+public final class JsonReader {
+    private byte[] buffer;
+    private int position;
+    private int limit;
+
+    public static JsonReader create(final byte[] buffer, final int offset, final int length) {
+        final var reader = new JsonReader();
+        reader.reset(buffer, offset, length);
+        return reader;
+    }
+
+    private JsonReader() {
+    }
+
+    public void reset(final byte[] buffer, final int offset, final int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * Position of the next significant byte, useful to remember where a value starts before skipping it.
+     */
+    public int position() {
+        skipWhitespace();
+        return position;
+    }
+
+    /**
+     * Moves back (or forward) to a position previously returned by {@link #position()}.
+     */
+    public void seek(final int position) {
+        this.position = position;
+    }
+
+    public JsonType peek() {
+        skipSeparators();
+        if (position >= limit) {
+            return JsonType.END;
+        }
+
+        return switch (buffer[position]) {
+            case '{' -> JsonType.OBJECT;
+            case '[' -> JsonType.ARRAY;
+            case '"' -> JsonType.STRING;
+            case 't', 'f' -> JsonType.BOOLEAN;
+            case 'n' -> JsonType.NULL;
+            case '}', ']' -> JsonType.END;
+            default -> JsonType.NUMBER;
+        };
+    }
+
+    public void beginObject() {
+        expect('{');
+    }
+
+    public void endObject() {
+        expect('}');
+    }
+
+    public void beginArray() {
+        expect('[');
+    }
+
+    public void endArray() {
+        expect(']');
+    }
+
+    /**
+     * Returns {@code true} while the current object or array has more members.
+     */
+    public boolean hasNext() {
+        skipSeparators();
+        return position < limit && buffer[position] != '}' && buffer[position] != ']';
+    }
+
+    public String nextName() {
+        final var name = nextString();
+        expect(':');
+        return name;
+    }
+
+    /**
+     * Consumes the next member name if it is the given ASCII name, without allocating.
+     */
+    public boolean nextNameEquals(final String name) {
+        skipSeparators();
+        final var length = name.length();
+        final var end = position + length + 1;
+        if (end >= limit || buffer[position] != '"' || buffer[end] != '"') {
+            return false;
+        }
+
+        for (var i = 0; i < length; i++) {
+            if (buffer[position + 1 + i] != name.charAt(i)) {
+                return false;
+            }
+        }
+
+        position = end + 1;
+        expect(':');
+        return true;
+    }
+
+    /**
+     * Consumes the next member name without reading it.
+     */
+    public void skipName() {
+        skipSeparators();
+        if (position >= limit || buffer[position] != '"') {
+            throw error("Expected '\"'");
+        }
+
+        skipString();
+        expect(':');
+    }
+
+    /**
+     * Consumes the next string value and tells whether it is the given ASCII value, without allocating. A value
+     * written with escapes never matches.
+     */
+    public boolean nextStringEquals(final String value) {
+        skipSeparators();
+        if (position >= limit || buffer[position] != '"') {
+            throw error("Expected '\"'");
+        }
+
+        final var start = position + 1;
+        skipString();
+        final var length = value.length();
+        if (position - 1 - start != length) {
+            return false;
+        }
+
+        for (var i = 0; i < length; i++) {
+            if (buffer[start + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public String nextString() {
+        skipSeparators();
+        if (position < limit && buffer[position] == 'n') {
+            skipLiteral("null");
+            return null;
+        }
+
+        expect('"');
+        final var start = position;
+        while (position < limit) {
+            final var b = buffer[position];
+            if (b == '"') {
+                final var value = new String(buffer, start, position - start, StandardCharsets.UTF_8);
+                position++;
+                return value;
+            }
+
+            if (b == '\\') {
+                return nextEscapedString(start);
+            }
+
+            position++;
+        }
+
+        throw error("Unterminated string");
+    }
+
+    public boolean nextBoolean() {
+        skipSeparators();
+        if (position < limit && buffer[position] == 't') {
+            skipLiteral("true");
+            return true;
+        }
+
+        skipLiteral("false");
+        return false;
+    }
+
+    public void nextNull() {
+        skipSeparators();
+        skipLiteral("null");
+    }
+
+    /**
+     * Reads a number that may be quoted, as exchanges often send decimals as strings. An empty string or null reads
+     * as zero.
+     */
+    public long nextLong() {
+        skipSeparators();
+        final var quoted = openNumber();
+        if (quoted < 0) {
+            return 0L;
+        }
+
+        final var negative = position < limit && buffer[position] == '-';
+        if (negative) {
+            position++;
+        }
+
+        var value = 0L;
+        final var start = position;
+        while (position < limit && isDigit(buffer[position])) {
+            value = value * 10 + (buffer[position++] - '0');
+        }
+
+        if (position == start) {
+            throw error("Expected digit");
+        }
+        // Tolerate a fractional part by truncating it
+        if (position < limit && (buffer[position] == '.' || buffer[position] == 'e' || buffer[position] == 'E')) {
+            position = start - (negative ? 1 : 0);
+            return (long) nextDoubleUnquoted(quoted);
+        }
+
+        closeNumber(quoted);
+        return negative ? -value : value;
+    }
+
+    /**
+     * Reads a number that may be quoted. Plain decimals with up to 15 significant digits convert exactly without
+     * going through a string; anything else falls back to {@link Double#parseDouble(String)}.
+     */
+    public double nextDouble() {
+        skipSeparators();
+        final var quoted = openNumber();
+        if (quoted < 0) {
+            return 0d;
+        }
+
+        return nextDoubleUnquoted(quoted);
+    }
+
+    public void skipValue() {
+        skipSeparators();
+        if (position >= limit) {
+            throw error("Unexpected end of input");
+        }
+
+        switch (buffer[position]) {
+            case '{', '[' -> skipContainer();
+            case '"' -> skipString();
+            case 't' -> skipLiteral("true");
+            case 'f' -> skipLiteral("false");
+            case 'n' -> skipLiteral("null");
+            default -> {
+                while (position < limit && isNumberByte(buffer[position])) {
+                    position++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads any value into the same shapes a default object mapper produces: {@link LinkedHashMap}, {@link ArrayList},
+     * {@link String}, {@link Integer}/{@link Long}/{@link BigInteger}, {@link Double}, {@link Boolean} or null.
+     */
+    public Object readValue() {
+        return switch (peek()) {
+            case OBJECT -> readObject();
+            case ARRAY -> readArray();
+            case STRING -> nextString();
+            case BOOLEAN -> nextBoolean();
+            case NULL -> {
+                nextNull();
+                yield null;
+            }
+
+            case NUMBER -> readNumber();
+            case END -> throw error("Unexpected end of value");
+        };
+    }
+
+    public Map<String, Object> readObject() {
+        final var map = new LinkedHashMap<String, Object>();
+        beginObject();
+        while (hasNext()) {
+            final var name = nextName();
+            map.put(name, readValue());
+        }
+
+        endObject();
+        return map;
+    }
+
+    public List<Object> readArray() {
+        final var list = new ArrayList<>();
+        beginArray();
+        while (hasNext()) {
+            list.add(readValue());
+        }
+
+        endArray();
+        return list;
+    }
+
+    private Object readNumber() {
+        final var start = position;
+        var integral = true;
+        while (position < limit && isNumberByte(buffer[position])) {
+            final var b = buffer[position++];
+            if (b == '.' || b == 'e' || b == 'E') {
+                integral = false;
+            }
+        }
+
+        final var text = new String(buffer, start, position - start, StandardCharsets.US_ASCII);
+        if (!integral) {
+            return Double.parseDouble(text);
+        }
+
+        final var digits = text.charAt(0) == '-' ? text.length() - 1 : text.length();
+        if (digits <= 18) {
+            final var value = Long.parseLong(text);
+            return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? (Object) (int) value : (Object) value;
+        }
+
+        final var value = new BigInteger(text);
+        return value.bitLength() < 64 ? (Object) value.longValue() : value;
+    }
+
+    private double nextDoubleUnquoted(final int quoted) {
+        final var start = position;
+        final var negative = position < limit && buffer[position] == '-';
+        if (negative) {
+            position++;
+        }
+
+        var mantissa = 0L;
+        var digits = 0;
+        var scale = 0;
+        var fraction = false;
+        while (position < limit) {
+            final var b = buffer[position];
+            if (isDigit(b)) {
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+
+                    if (fraction) {
+                        scale++;
+                    }
+                } else if (!fraction) {
+                    scale--;
+                }
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+
+            position++;
+        }
+
+        final var exponent = position < limit && (buffer[position] == 'e' || buffer[position] == 'E');
+        if (!exponent && digits <= 15 && mantissa < MAX_EXACT_MANTISSA && scale >= -22 && scale < POWERS_OF_TEN.length) {
+            final var value = scale >= 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa * POWERS_OF_TEN[-scale];
+            closeNumber(quoted);
+            return negative ? -value : value;
+        }
+
+        while (position < limit && isNumberByte(buffer[position])) {
+            position++;
+        }
+
+        final var value = Double.parseDouble(new String(buffer, start, position - start, StandardCharsets.US_ASCII));
+        closeNumber(quoted);
+        return value;
+    }
+
+    /**
+     * Returns 1 for a quoted number, 0 for a bare one and -1 for an empty string or null, which are fully consumed.
+     */
+    private int openNumber() {
+        if (position >= limit) {
+            throw error("Unexpected end of input");
+        }
+
+        if (buffer[position] == 'n') {
+            skipLiteral("null");
+            return -1;
+        }
+
+        if (buffer[position] != '"') {
+            return 0;
+        }
+
+        position++;
+        if (position < limit && buffer[position] == '"') {
+            position++;
+            return -1;
+        }
+
+        return 1;
+    }
+
+    private void closeNumber(final int quoted) {
+        if (quoted > 0) {
+            expect('"');
+        }
+    }
+
+    private String nextEscapedString(final int start) {
+        final var builder = new StringBuilder(position - start + 16);
+        builder.append(new String(buffer, start, position - start, StandardCharsets.UTF_8));
+        var chunk = position;
+        while (position < limit) {
+            final var b = buffer[position];
+            if (b == '"') {
+                builder.append(new String(buffer, chunk, position - chunk, StandardCharsets.UTF_8));
+                position++;
+                return builder.toString();
+            }
+
+            if (b != '\\') {
+                position++;
+                continue;
+            }
+
+            builder.append(new String(buffer, chunk, position - chunk, StandardCharsets.UTF_8));
+            if (position + 1 >= limit) {
+                break;
+            }
+
+            final var escaped = buffer[position + 1];
+            position += 2;
+            switch (escaped) {
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 't' -> builder.append('\t');
+                case 'u' -> {
+                    if (position + 4 > limit) {
+                        throw error("Truncated unicode escape");
+                    }
+
+                    builder.append((char) Integer.parseInt(
+                            new String(buffer, position, 4, StandardCharsets.US_ASCII), 16));
+                    position += 4;
+                }
+
+                default -> builder.append((char) escaped);
+            }
+
+            chunk = position;
+        }
+
+        throw error("Unterminated string");
+    }
+
+    private void skipString() {
+        position++;
+        while (position < limit) {
+            final var b = buffer[position++];
+            if (b == '\\') {
+                position++;
+            } else if (b == '"') {
+                return;
+            }
+        }
+
+        throw error("Unterminated string");
+    }
+
+    private void skipContainer() {
+        var depth = 0;
+        while (position < limit) {
+            final var b = buffer[position];
+            if (b == '"') {
+                skipString();
+                continue;
+            }
+
+            position++;
+            if (b == '{' || b == '[') {
+                depth++;
+            } else if ((b == '}' || b == ']') && --depth == 0) {
+                return;
+            }
+        }
+
+        throw error("Unterminated container");
+    }
+
+    private void skipLiteral(final String literal) {
+        final var length = literal.length();
+        if (position + length > limit) {
+            throw error("Expected " + literal);
+        }
+
+        for (var i = 0; i < length; i++) {
+            if (buffer[position + i] != literal.charAt(i)) {
+                throw error("Expected " + literal);
+            }
+        }
+
+        position += length;
+    }
+
+    private void expect(final char c) {
+        skipWhitespace();
+        if (position >= limit || buffer[position] != c) {
+            throw error("Expected '" + c + "'");
+        }
+
+        position++;
+    }
+
+    private void skipWhitespace() {
+        while (position < limit) {
+            final var b = buffer[position];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return;
+            }
+
+            position++;
+        }
+    }
+
+    private void skipSeparators() {
+        while (position < limit) {
+            final var b = buffer[position];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t' && b != ',') {
+                return;
+            }
+
+            position++;
+        }
+    }
+
+    private IllegalStateException error(final String message) {
+        return new IllegalStateException(message + " at position " + position);
+    }
+
+    private static boolean isDigit(final byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isNumberByte(final byte b) {
+        return isDigit(b) || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E';
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Output.BINARY;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Output.JSON;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Output.TYPED_JSON;
+
+/**
+ * Wire encoding of published payloads. The schema id and the layout version travel in the message properties so
+ * consumers can pick the matching decoder without looking into the body.
+ */
+public interface OutputCodec {
+
+    /**
+     * Codec whose binary symbol ids come from the given dictionary, so they match the persisted ids.
+     */
+    static OutputCodec of(final String name, final SymbolTable symbols) {
+        return switch (name) {
+            case JSON -> JsonOutputCodec.create();
+            case TYPED_JSON -> JsonOutputCodec.createTyped();
+            case BINARY -> BinaryOutputCodec.create(symbols);
+            default -> throw new IllegalArgumentException("Unknown output codec: " + name);
+        };
+    }
+
+    String contentType();
+
+    /**
+     * Version of the body layout; it changes whenever the same data would be encoded differently.
+     */
+    int version();
+
+    int schemaId(PayloadView payload);
+
+    byte[] encode(PayloadView payload);
+}
@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import com.github.akarazhev.jcryptolib.stream.Source;
+
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Fields.DATA;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Fields.PROVIDER;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Fields.SOURCE;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Topic.TOPIC;
+
+/**
+ * Decodes a payload envelope directly from a byte slice. When the data object carries a topic with a registered
+ * decoder, the data is decoded into typed market data; otherwise it is read into plain maps and lists. Instances
+ * reuse one reader and are not thread-safe.
+ */
+public final class PayloadDecoder {
+    private final JsonReader reader = JsonReader.create(new byte[0], 0, 0);
+    private final DecoderRegistry registry;
+
+    public static PayloadDecoder create() {
+        return new PayloadDecoder(DecoderRegistry.create());
+    }
+
+    public static PayloadDecoder create(final DecoderRegistry registry) {
+        return new PayloadDecoder(registry);
+    }
+
+    private PayloadDecoder(final DecoderRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Payload<?> decode(final byte[] buffer, final int offset, final int length) {
+        Provider provider = null;
+        Source source = null;
+        Object data = null;
+        reader.reset(buffer, offset, length);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextNameEquals(PROVIDER)) {
+                provider = Provider.valueOf(reader.nextString());
+            } else if (reader.nextNameEquals(SOURCE)) {
+                source = Source.valueOf(reader.nextString());
+            } else if (reader.nextNameEquals(DATA)) {
+                data = readData();
+            } else {
+                reader.nextName();
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+        // Drop the reference so the client buffer can be collected as soon as the caller is done
+        reader.reset(null, 0, 0);
+        return Payload.of(provider, source, data);
+    }
+
+    /**
+     * Decodes only the envelope. The data member is located and its topic peeked at, but it is decoded only when
+     * the returned view is asked for it.
+     */
+    public PayloadView decodeView(final byte[] buffer, final int offset, final int length) {
+        Provider provider = null;
+        Source source = null;
+        String topic = null;
+        var dataOffset = 0;
+        var dataLength = 0;
+        reader.reset(buffer, offset, length);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextNameEquals(PROVIDER)) {
+                provider = Provider.valueOf(reader.nextString());
+            } else if (reader.nextNameEquals(SOURCE)) {
+                source = Source.valueOf(reader.nextString());
+            } else if (reader.nextNameEquals(DATA)) {
+                topic = reader.peek() == JsonType.OBJECT ? findTopic(reader) : null;
+                dataOffset = reader.position();
+                reader.skipValue();
+                dataLength = reader.position() - dataOffset;
+            } else {
+                reader.nextName();
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+        reader.reset(null, 0, 0);
+        return PayloadView.lazy(provider, source, topic, buffer, dataOffset, dataLength, registry,
+                new Slice(buffer, offset, length));
+    }
+
+    static Object readData(final JsonReader reader, final DecoderRegistry registry, final String topic) {
+        final var decoder = reader.peek() == JsonType.OBJECT ? registry.find(topic) : null;
+        final var data = decoder != null ? decoder.decode(reader, topic) : null;
+        return data != null ? data : reader.readValue();
+    }
+
+    private Object readData() {
+        return readData(reader, registry, reader.peek() == JsonType.OBJECT ? findTopic(reader) : null);
+    }
+
+    private static String findTopic(final JsonReader reader) {
+        final var start = reader.position();
+        String topic = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextNameEquals(TOPIC)) {
+                topic = reader.nextString();
+                break;
+            }
+
+            reader.nextName();
+            reader.skipValue();
+        }
+
+        reader.seek(start);
+        return topic;
+    }
+
+    private record Slice(byte[] array, int offset, int length) implements BodySlice {
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import com.github.akarazhev.jcryptolib.stream.Source;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Payload whose envelope is decoded up front while the data member stays undecoded in the source buffer until
+ * {@link #getData()} is first called. A view is not thread-safe; it is expected to be handed between threads only
+ * through the reactor queues of the pipeline.
+ */
+public final class PayloadView {
+    private final Provider provider;
+    private final Source source;
+    private final String topic;
+    private final byte[] buffer;
+    private final int dataOffset;
+    private final int dataLength;
+    private final DecoderRegistry registry;
+    private final BodySlice raw;
+    private final boolean enriched;
+    private Object data;
+    private boolean decoded;
+
+    public static PayloadView of(final Payload<?> payload) {
+        return new PayloadView(payload.getProvider(), payload.getSource(), null, null, 0, 0, null, null,
+                payload.getData(), true, false);
+    }
+
+    static PayloadView lazy(final Provider provider, final Source source, final String topic, final byte[] buffer,
+                            final int dataOffset, final int dataLength, final DecoderRegistry registry,
+                            final BodySlice raw) {
+        return new PayloadView(provider, source, topic, buffer, dataOffset, dataLength, registry, raw, null,
+                dataLength == 0, false);
+    }
+
+    private PayloadView(final Provider provider, final Source source, final String topic, final byte[] buffer,
+                        final int dataOffset, final int dataLength, final DecoderRegistry registry,
+                        final BodySlice raw, final Object data, final boolean decoded, final boolean enriched) {
+        this.provider = provider;
+        this.source = source;
+        this.topic = topic;
+        this.buffer = buffer;
+        this.dataOffset = dataOffset;
+        this.dataLength = dataLength;
+        this.registry = registry;
+        this.raw = raw;
+        this.enriched = enriched;
+        this.data = data;
+        this.decoded = decoded;
+    }
+
+    public Provider getProvider() {
+        return provider;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    /**
+     * Topic of the data object if it had one, known without decoding the data.
+     */
+    public String getTopic() {
+        return topic;
+    }
+
+    public boolean isDecoded() {
+        return decoded;
+    }
+
+    /**
+     * Whether the data is an enrichment result rather than the data as it was received.
+     */
+    public boolean isEnriched() {
+        return enriched;
+    }
+
+    /**
+     * Encoded form of exactly this payload as it was received, or null once the view no longer matches it.
+     */
+    public BodySlice getRaw() {
+        return raw;
+    }
+
+    /**
+     * Data as it was received, read into maps and lists whatever typed decoding or enrichment made of it, or null for
+     * a view that was not read from a message.
+     */
+    public Object getReceivedData() {
+        return buffer == null || dataLength == 0 ? null : JsonReader.create(buffer, dataOffset, dataLength).readValue();
+    }
+
+    boolean hasReceivedData() {
+        return buffer != null && dataLength > 0;
+    }
+
+    /**
+     * Copies the data bytes as they were received, without reading them.
+     */
+    void writeReceivedData(final ByteArrayOutputStream out) {
+        out.write(buffer, dataOffset, dataLength);
+    }
+
+    public Object getData() {
+        if (!decoded) {
+            data = PayloadDecoder.readData(JsonReader.create(buffer, dataOffset, dataLength), registry, topic);
+            decoded = true;
+        }
+
+        return data;
+    }
+
+    /**
+     * Same data under another provider; the data is not decoded by this call.
+     */
+    public PayloadView withProvider(final Provider provider) {
+        return new PayloadView(provider, source, topic, buffer, dataOffset, dataLength, registry,
+                provider == this.provider ? raw : null, data, decoded, enriched);
+    }
+
+    /**
+     * View of an enrichment result that still knows the data it was computed from.
+     */
+    public PayloadView withResult(final Payload<?> result) {
+        return new PayloadView(result.getProvider(), result.getSource(), topic, buffer, dataOffset, dataLength,
+                registry, null, result.getData(), true, true);
+    }
+
+    public Payload<?> toPayload() {
+        return Payload.of(provider, source, getData());
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Follows the chunks of the responses in progress, one per method, to tell whether a response arrived whole. A page
+ * out of sequence means chunks were lost, and a chunk its history failed to apply spoils the response as well; either
+ * way the candles that did arrive are kept, but the response no longer proves its range complete. Page 0 always starts
+ * a new response, ending one whose last chunk never came. Not thread-safe: the owning service uses it from its reactor.
+ */
+public final class ResponseChunks {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResponseChunks.class);
+    private final Map<String, Sequence> sequences = new HashMap<>();
+    private long chunkCount;
+    private long gapCount;
+
+    public static ResponseChunks create() {
+        return new ResponseChunks();
+    }
+
+    private ResponseChunks() {
+    }
+
+    /**
+     * Records a chunk and whether it was applied; returns whether the response is whole so far. The last chunk ends
+     * the response.
+     */
+    public boolean accept(final ResponseReader.Chunk chunk, final boolean applied) {
+        final var method = chunk.method();
+        var sequence = sequences.get(method);
+        if (sequence == null || chunk.page() == 0) {
+            if (sequence != null) {
+                gapCount++;
+                LOGGER.warn("A {} response ended without its last chunk after chunk {}", method,
+                        sequence.nextPage - 1);
+            }
+
+            sequence = new Sequence();
+            sequences.put(method, sequence);
+        }
+
+        chunkCount++;
+        if (chunk.page() != sequence.nextPage) {
+            gapCount++;
+            sequence.whole = false;
+            LOGGER.warn("Chunk {} of a {} response arrived while chunk {} was expected", chunk.page(), method,
+                    sequence.nextPage);
+        }
+
+        sequence.whole &= applied;
+        sequence.nextPage = chunk.page() + 1;
+        if (chunk.last()) {
+            sequences.remove(method);
+        }
+
+        return sequence.whole;
+    }
+
+    public long getChunkCount() {
+        return chunkCount;
+    }
+
+    public long getGapCount() {
+        return gapCount;
+    }
+
+    public void clear() {
+        sequences.clear();
+    }
+
+    private static final class Sequence {
+        private int nextPage;
+        private boolean whole = true;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import com.github.akarazhev.jcryptolib.stream.Message;
+
+import java.time.OffsetDateTime;
+
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Response.COMMAND;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Response.LAST;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Response.METHOD;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Response.PAGE;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Response.REQUEST;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Response.SOURCE;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Response.TYPE;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Response.VALUE;
+
+/**
+ * Streams collector messages out of their body. The envelope is read first while the value array is only located,
+ * then the sink gets the reader positioned on that array and decodes its elements one at a time, so a response is
+ * never materialized as a whole. A collector may split one response into chunks that repeat its command: {@code page}
+ * numbers them from 0 and {@code last} flags the final one; a message without them is a single, last chunk. A
+ * response may also echo the value of its request as {@code request}, so it can be told apart from the late answer
+ * to an earlier request of the same method.
+ * Instances reuse one reader and are not thread-safe.
+ */
+public final class ResponseReader {
+    private final JsonReader reader = JsonReader.create(new byte[0], 0, 0);
+
+    public static ResponseReader create() {
+        return new ResponseReader();
+    }
+
+    private ResponseReader() {
+    }
+
+    /**
+     * Reads the envelope and, when the value is an array, passes it to the sink to decode or leave unread.
+     */
+    public Chunk read(final byte[] body, final ValueSink sink) {
+        Message.Type type = null;
+        String source = null;
+        String method = null;
+        var page = 0;
+        var last = true;
+        Request request = null;
+        var value = -1;
+        reader.reset(body, 0, body.length);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextNameEquals(COMMAND)) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (reader.nextNameEquals(TYPE)) {
+                        type = Message.Type.valueOf(reader.nextString());
+                    } else if (reader.nextNameEquals(SOURCE)) {
+                        source = reader.nextString();
+                    } else if (reader.nextNameEquals(METHOD)) {
+                        method = reader.nextString();
+                    } else {
+                        reader.nextName();
+                        reader.skipValue();
+                    }
+                }
+
+                reader.endObject();
+            } else if (reader.nextNameEquals(VALUE)) {
+                // Only located here: the chunk members may follow it
+                value = reader.peek() == JsonType.ARRAY ? reader.position() : -1;
+                reader.skipValue();
+            } else if (reader.nextNameEquals(PAGE)) {
+                page = (int) reader.nextLong();
+            } else if (reader.nextNameEquals(LAST)) {
+                last = reader.nextBoolean();
+            } else if (reader.nextNameEquals(REQUEST)) {
+                request = readRequest();
+            } else {
+                reader.nextName();
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+        final var chunk = new Chunk(type, source, method, page, last, request);
+        try {
+            if (value >= 0) {
+                reader.seek(value);
+                sink.accept(chunk, reader);
+            }
+        } finally {
+            // Drop the reference so the client buffer can be collected as soon as the caller is done
+            reader.reset(null, 0, 0);
+        }
+
+        return chunk;
+    }
+
+    private Request readRequest() {
+        if (reader.peek() != JsonType.ARRAY) {
+            reader.skipValue();
+            return null;
+        }
+
+        reader.beginArray();
+        final var symbol = reader.nextString();
+        final var from = readTime();
+        final var to = readTime();
+        while (reader.hasNext()) {
+            reader.skipValue();
+        }
+
+        reader.endArray();
+        return new Request(symbol, from, to);
+    }
+
+    private long readTime() {
+        if (reader.peek() != JsonType.STRING) {
+            return reader.nextLong();
+        }
+
+        final var text = reader.nextString();
+        return text.indexOf('T') < 0 ? Long.parseLong(text) : OffsetDateTime.parse(text).toInstant().toEpochMilli();
+    }
+
+    @FunctionalInterface
+    public interface ValueSink {
+
+        void accept(Chunk chunk, JsonReader values);
+    }
+
+    /**
+     * Envelope of one chunk; {@code request} is {@code null} unless the response echoes it.
+     */
+    public record Chunk(Message.Type type, String source, String method, int page, boolean last, Request request) {
+    }
+
+    public record Request(String symbol, long from, long to) {
+    }
+}
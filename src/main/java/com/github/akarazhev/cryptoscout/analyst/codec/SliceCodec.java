@@ -0,0 +1,232 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import com.rabbitmq.stream.Codec;
+import com.rabbitmq.stream.Message;
+import com.rabbitmq.stream.MessageBuilder;
+import com.rabbitmq.stream.Properties;
+import com.rabbitmq.stream.codec.QpidProtonCodec;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Amqp.DATA;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Amqp.DESCRIBED;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Amqp.SMALL_ULONG;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Amqp.ULONG;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Amqp.VBIN32;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Amqp.VBIN8;
+
+/**
+ * Stream codec that does not materialize the AMQP message on the consume path. Decoding only walks the section list
+ * to find the single data section and returns a message exposing it as a {@link BodySlice} over the array the client
+ * already allocated for the message. Properties and annotations are decoded by the regular codec on first access;
+ * encoding is always delegated to it.
+ */
+public final class SliceCodec implements Codec {
+    private final Codec delegate;
+
+    public static SliceCodec create() {
+        return new SliceCodec(new QpidProtonCodec());
+    }
+
+    private SliceCodec(final Codec delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public EncodedMessage encode(final Message message) {
+        return delegate.encode(message);
+    }
+
+    @Override
+    public Message decode(final byte[] data) {
+        var bodyOffset = -1;
+        var bodyLength = 0;
+        var position = 0;
+        try {
+            while (position < data.length) {
+                if ((data[position] & 0xff) != DESCRIBED) {
+                    return delegate.decode(data);
+                }
+
+                final var descriptor = data[position + 1] & 0xff;
+                long code;
+                if (descriptor == SMALL_ULONG) {
+                    code = data[position + 2] & 0xff;
+                    position += 3;
+                } else if (descriptor == ULONG) {
+                    code = readLong(data, position + 2);
+                    position += 10;
+                } else {
+                    return delegate.decode(data);
+                }
+
+                if (code != DATA) {
+                    position = skipValue(data, position);
+                    continue;
+                }
+                // Bodies split over several data sections are rare enough to leave to the regular codec
+                if (bodyOffset >= 0) {
+                    return delegate.decode(data);
+                }
+
+                final var constructor = data[position] & 0xff;
+                if (constructor == VBIN8) {
+                    bodyLength = data[position + 1] & 0xff;
+                    bodyOffset = position + 2;
+                } else if (constructor == VBIN32) {
+                    bodyLength = readInt(data, position + 1);
+                    bodyOffset = position + 5;
+                } else {
+                    return delegate.decode(data);
+                }
+
+                position = bodyOffset + bodyLength;
+            }
+        } catch (final ArrayIndexOutOfBoundsException ex) {
+            return delegate.decode(data);
+        }
+
+        return bodyOffset >= 0 && position == data.length ?
+                new SlicedMessage(data, bodyOffset, bodyLength) :
+                delegate.decode(data);
+    }
+
+    @Override
+    public MessageBuilder messageBuilder() {
+        return delegate.messageBuilder();
+    }
+
+    private static int skipValue(final byte[] data, final int position) {
+        final var constructor = data[position] & 0xff;
+        if (constructor == DESCRIBED) {
+            return skipValue(data, skipValue(data, position + 1));
+        }
+        // The high nibble of a constructor defines how many bytes the encoded value occupies
+        return switch (constructor >>> 4) {
+            case 0x4 -> position + 1;
+            case 0x5 -> position + 2;
+            case 0x6 -> position + 3;
+            case 0x7 -> position + 5;
+            case 0x8 -> position + 9;
+            case 0x9 -> position + 17;
+            case 0xa, 0xc, 0xe -> position + 2 + (data[position + 1] & 0xff);
+            case 0xb, 0xd, 0xf -> position + 5 + readInt(data, position + 1);
+            default -> throw new ArrayIndexOutOfBoundsException("Unknown AMQP constructor: " + constructor);
+        };
+    }
+
+    private static int readInt(final byte[] data, final int position) {
+        return (data[position] & 0xff) << 24 | (data[position + 1] & 0xff) << 16 |
+                (data[position + 2] & 0xff) << 8 | data[position + 3] & 0xff;
+    }
+
+    private static long readLong(final byte[] data, final int position) {
+        return (long) readInt(data, position) << 32 | readInt(data, position + 4) & 0xffffffffL;
+    }
+
+    private final class SlicedMessage implements Message, BodySlice {
+        private final byte[] array;
+        private final int offset;
+        private final int length;
+        private Message decoded;
+
+        private SlicedMessage(final byte[] array, final int offset, final int length) {
+            this.array = array;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public byte[] array() {
+            return array;
+        }
+
+        @Override
+        public int offset() {
+            return offset;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public boolean hasPublishingId() {
+            return decoded().hasPublishingId();
+        }
+
+        @Override
+        public long getPublishingId() {
+            return decoded().getPublishingId();
+        }
+
+        @Override
+        public byte[] getBodyAsBinary() {
+            return Arrays.copyOfRange(array, offset, offset + length);
+        }
+
+        @Override
+        public Object getBody() {
+            return getBodyAsBinary();
+        }
+
+        @Override
+        public Properties getProperties() {
+            return decoded().getProperties();
+        }
+
+        @Override
+        public Map<String, Object> getApplicationProperties() {
+            return decoded().getApplicationProperties();
+        }
+
+        @Override
+        public Map<String, Object> getMessageAnnotations() {
+            return decoded().getMessageAnnotations();
+        }
+
+        @Override
+        public Message annotate(final String key, final Object value) {
+            return decoded().annotate(key, value);
+        }
+
+        @Override
+        public Message copy() {
+            return decoded().copy();
+        }
+
+        private Message decoded() {
+            if (decoded == null) {
+                decoded = delegate.decode(array);
+            }
+
+            return decoded;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Per-symbol state stored in an array indexed by the dictionary id of the symbol, growing with the dictionary. Not
+ * thread-safe: each stage owns its slots.
+ */
+public final class SymbolSlots<T> {
+    private static final int INITIAL_CAPACITY = 16;
+    private final SymbolTable symbols;
+    private Object[] slots = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    public static <T> SymbolSlots<T> create(final SymbolTable symbols) {
+        return new SymbolSlots<>(symbols);
+    }
+
+    private SymbolSlots(final SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    public T get(final String symbol) {
+        return get(symbols.idOf(symbol));
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(final int id) {
+        return id < slots.length ? (T) slots[id] : null;
+    }
+
+    public T computeIfAbsent(final String symbol, final Function<String, T> factory) {
+        final var id = symbols.idOf(symbol);
+        var value = get(id);
+        if (value == null) {
+            value = factory.apply(symbol);
+            if (id >= slots.length) {
+                slots = Arrays.copyOf(slots, Math.max(slots.length << 1, id + 1));
+            }
+
+            slots[id] = value;
+            size++;
+        }
+
+        return value;
+    }
+
+    public void remove(final int id) {
+        if (id < slots.length && slots[id] != null) {
+            slots[id] = null;
+            size--;
+        }
+    }
+
+    /**
+     * Upper bound of the ids in use, for iterating with {@link #get(int)}.
+     */
+    public int capacity() {
+        return slots.length;
+    }
+
+    public int size() {
+        return size;
+    }
+}
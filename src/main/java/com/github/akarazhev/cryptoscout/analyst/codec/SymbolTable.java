@@ -0,0 +1,246 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import java.util.Arrays;
+
+/**
+ * Dictionary of symbols to dense integer ids, shared by the decoders, the per-symbol analytic state and the binary
+ * output codec. Lookups are lock-free and, for a symbol embedded in a longer string such as a topic, allocation-free:
+ * every known symbol has one canonical {@link String} instance, so its hash is computed once and later map lookups
+ * compare by identity. New symbols get the next local id under a short lock that never blocks, and the
+ * {@link Listener} is told afterwards so it can persist the id off the calling thread. {@link #restore} loads
+ * persisted ids back before any new assignment; {@link #reconcile} records the id a symbol turned out to be stored
+ * under, which {@link #storedIdOf} then reports while the local id keeps addressing the per-symbol state.
+ */
+public final class SymbolTable {
+    private static final int INITIAL_CAPACITY = 64;
+    private final Object lock = new Object();
+    private volatile Index index = new Index(new String[INITIAL_CAPACITY], new int[INITIAL_CAPACITY]);
+    private volatile String[] symbols = new String[INITIAL_CAPACITY];
+    private volatile int[] storedIds = new int[INITIAL_CAPACITY];
+    private volatile Listener listener;
+    private int next;
+
+    public static SymbolTable create() {
+        return new SymbolTable();
+    }
+
+    private SymbolTable() {
+    }
+
+    public int idOf(final String symbol) {
+        final var id = find(symbol, 0, symbol.length(), symbol.hashCode());
+        return id >= 0 ? id : assign(symbol, 0, symbol.length(), symbol.hashCode());
+    }
+
+    /**
+     * Returns the canonical instance of the symbol {@code value[from, to)}, registering it on first sight.
+     */
+    public String intern(final String value, final int from, final int to) {
+        final var hash = hash(value, from, to);
+        var id = find(value, from, to, hash);
+        if (id < 0) {
+            id = assign(value, from, to, hash);
+        }
+
+        return symbols[id];
+    }
+
+    public boolean contains(final String symbol) {
+        return find(symbol, 0, symbol.length(), symbol.hashCode()) >= 0;
+    }
+
+    /**
+     * Id the symbol is persisted under, which differs from {@link #idOf} only after a {@link #reconcile}.
+     */
+    public int storedIdOf(final String symbol) {
+        final var id = idOf(symbol);
+        return storedIds[id];
+    }
+
+    public String symbolOf(final int id) {
+        final var snapshot = symbols;
+        return id >= 0 && id < snapshot.length ? snapshot[id] : null;
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return next;
+        }
+    }
+
+    /**
+     * Registers a persisted mapping. Ids assigned afterwards continue above the highest restored id.
+     */
+    public void restore(final int id, final String symbol) {
+        synchronized (lock) {
+            final var known = find(symbol, 0, symbol.length(), symbol.hashCode());
+            if (known == id) {
+                return;
+            }
+
+            if (known >= 0 || symbolOf(id) != null) {
+                throw new IllegalStateException("Conflicting symbol id " + id + " for " + symbol);
+            }
+
+            put(symbol, id);
+            next = Math.max(next, id + 1);
+        }
+    }
+
+    /**
+     * Records that the locally assigned symbol is persisted under another id. The local id stays in use, so per-symbol
+     * state is kept; the stored one is reported by {@link #storedIdOf} until a restart restores it as the local id.
+     */
+    public void reconcile(final String symbol, final int storedId) {
+        synchronized (lock) {
+            final var id = find(symbol, 0, symbol.length(), symbol.hashCode());
+            if (id < 0) {
+                throw new IllegalStateException("Unknown symbol " + symbol);
+            }
+
+            final var stored = storedIds.clone();
+            stored[id] = storedId;
+            storedIds = stored;
+        }
+    }
+
+    /**
+     * Sets who is told about new assignments; {@code null} keeps them local.
+     */
+    public void setListener(final Listener listener) {
+        this.listener = listener;
+    }
+
+    private int find(final String value, final int from, final int to, final int hash) {
+        final var snapshot = index;
+        final var mask = snapshot.keys.length - 1;
+        final var length = to - from;
+        for (var slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            final var key = snapshot.keys[slot];
+            if (key == null) {
+                return -1;
+            }
+
+            // Canonical instances, as handed out by the decoders, match by identity
+            if (key == value || key.length() == length && key.hashCode() == hash &&
+                    key.regionMatches(0, value, from, length)) {
+                return snapshot.ids[slot];
+            }
+        }
+    }
+
+    private int assign(final String value, final int from, final int to, final int hash) {
+        final String symbol;
+        final int id;
+        synchronized (lock) {
+            // Another thread may have registered it since the lock-free miss
+            final var known = find(value, from, to, hash);
+            if (known >= 0) {
+                return known;
+            }
+
+            symbol = from == 0 && to == value.length() ? value : value.substring(from, to);
+            id = next++;
+            put(symbol, id);
+        }
+
+        // Outside the lock: the listener may hand the id over to another thread
+        final var current = listener;
+        if (current != null) {
+            current.assigned(symbol, id);
+        }
+
+        return id;
+    }
+
+    private void put(final String symbol, final int id) {
+        // Copy-on-write: symbols are few and rarely added, readers never lock
+        var names = symbols;
+        if (id >= names.length) {
+            names = Arrays.copyOf(names, Math.max(names.length << 1, id + 1));
+        } else {
+            names = names.clone();
+        }
+
+        names[id] = symbol;
+        var stored = storedIds;
+        stored = id >= stored.length ? Arrays.copyOf(stored, names.length) : stored.clone();
+        stored[id] = id;
+        final var current = index;
+        final var capacity = (id + 1) * 2 > current.keys.length ? current.keys.length << 1 : current.keys.length;
+        final var keys = new String[capacity];
+        final var ids = new int[capacity];
+        for (var i = 0; i < current.keys.length; i++) {
+            if (current.keys[i] != null) {
+                insert(keys, ids, current.keys[i], current.ids[i]);
+            }
+        }
+
+        insert(keys, ids, symbol, id);
+        symbols = names;
+        // Published before the index, so whoever finds the symbol also sees its stored id
+        storedIds = stored;
+        index = new Index(keys, ids);
+    }
+
+    private static void insert(final String[] keys, final int[] ids, final String symbol, final int id) {
+        final var mask = keys.length - 1;
+        var slot = spread(symbol.hashCode()) & mask;
+        while (keys[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = symbol;
+        ids[slot] = id;
+    }
+
+    private static int hash(final String value, final int from, final int to) {
+        // Same as String#hashCode of the region, so it matches the cached hash of the canonical instance
+        var hash = 0;
+        for (var i = from; i < to; i++) {
+            hash = 31 * hash + value.charAt(i);
+        }
+
+        return hash;
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Called once per new symbol, on the thread that first saw it and outside the table lock; must not block.
+         */
+        void assigned(String symbol, int id);
+    }
+
+    private record Index(String[] keys, int[] ids) {
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Topic.ALL_LIQUIDATION;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Topic.KLINE;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Topic.ORDER_BOOK;
+import static com.github.akarazhev.cryptoscout.analyst.codec.Constants.Topic.PUBLIC_TRADE;
+
+/**
+ * Topic family checks on the topic read from the envelope, so callers can decide about a message without decoding
+ * its data. A {@code null} topic belongs to no family.
+ */
+public final class Topics {
+    private Topics() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static boolean isKline(final String topic) {
+        return hasFamily(topic, KLINE);
+    }
+
+    public static boolean isOrderBook(final String topic) {
+        return hasFamily(topic, ORDER_BOOK);
+    }
+
+    public static boolean isPublicTrade(final String topic) {
+        return hasFamily(topic, PUBLIC_TRADE);
+    }
+
+    public static boolean isAllLiquidation(final String topic) {
+        return hasFamily(topic, ALL_LIQUIDATION);
+    }
+
+    private static boolean hasFamily(final String topic, final String family) {
+        return topic != null && topic.startsWith(family) &&
+                (topic.length() == family.length() || topic.charAt(family.length()) == '.');
+    }
+}
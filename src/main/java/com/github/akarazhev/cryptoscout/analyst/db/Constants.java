@@ -46,4 +46,24 @@ public final class Constants {
         static final int STREAM = 1;
         static final int LAST_OFFSET = 2;
     }
+
+    public final static class Symbols {
+        private Symbols() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Symbol dictionary table
+        public static final String SYMBOLS_TABLE = "crypto_scout.symbols";
+
+        // Symbol dictionary
+        static final String SYMBOLS_SELECT = "SELECT id, symbol FROM " + SYMBOLS_TABLE + " ORDER BY id";
+        static final String SYMBOLS_INSERT = "INSERT INTO " + SYMBOLS_TABLE + "(id, symbol) VALUES (?, ?) " +
+                "ON CONFLICT DO NOTHING";
+        static final String SYMBOLS_SELECT_ID = "SELECT id FROM " + SYMBOLS_TABLE + " WHERE symbol = ?";
+        static final String SYMBOLS_SELECT_NEXT_ID = "SELECT COALESCE(MAX(id) + 1, 0) FROM " + SYMBOLS_TABLE;
+        static final int ID = 1;
+        static final int SYMBOL = 2;
+        // Ids tried when other instances keep taking the proposed one for their own symbols
+        static final int CLAIM_ATTEMPTS = 8;
+    }
 }
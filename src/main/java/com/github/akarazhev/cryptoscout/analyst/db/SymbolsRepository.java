@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.db;
+
+import io.activej.async.service.ReactiveService;
+import io.activej.promise.Promise;
+import io.activej.reactor.AbstractReactive;
+import io.activej.reactor.nio.NioReactor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.analyst.db.Constants.Symbols.CLAIM_ATTEMPTS;
+import static com.github.akarazhev.cryptoscout.analyst.db.Constants.Symbols.ID;
+import static com.github.akarazhev.cryptoscout.analyst.db.Constants.Symbols.SYMBOL;
+import static com.github.akarazhev.cryptoscout.analyst.db.Constants.Symbols.SYMBOLS_INSERT;
+import static com.github.akarazhev.cryptoscout.analyst.db.Constants.Symbols.SYMBOLS_SELECT;
+import static com.github.akarazhev.cryptoscout.analyst.db.Constants.Symbols.SYMBOLS_SELECT_ID;
+import static com.github.akarazhev.cryptoscout.analyst.db.Constants.Symbols.SYMBOLS_SELECT_NEXT_ID;
+
+public final class SymbolsRepository extends AbstractReactive implements ReactiveService {
+    private final AnalystDataSource analystDataSource;
+
+    private SymbolsRepository(final NioReactor reactor, final AnalystDataSource analystDataSource) {
+        super(reactor);
+        this.analystDataSource = analystDataSource;
+    }
+
+    public static SymbolsRepository create(final NioReactor reactor, final AnalystDataSource analystDataSource) {
+        return new SymbolsRepository(reactor, analystDataSource);
+    }
+
+    @Override
+    public Promise<Void> start() {
+        return Promise.complete();
+    }
+
+    @Override
+    public Promise<Void> stop() {
+        return Promise.complete();
+    }
+
+    public Map<Integer, String> getSymbols() throws SQLException {
+        final var symbols = new LinkedHashMap<Integer, String>();
+        try (final var c = analystDataSource.getDataSource().getConnection();
+             final var ps = c.prepareStatement(SYMBOLS_SELECT);
+             final var rs = ps.executeQuery()) {
+            while (rs.next()) {
+                symbols.put(rs.getInt(ID), rs.getString(SYMBOL));
+            }
+        }
+
+        return symbols;
+    }
+
+    public int insertSymbol(final int id, final String symbol) throws SQLException {
+        try (final var c = analystDataSource.getDataSource().getConnection()) {
+            return insertSymbol(c, id, symbol);
+        }
+    }
+
+    /**
+     * Stores the symbol under the proposed id unless it is stored already, and returns the id it is stored under. When
+     * another instance took the proposed id for a different symbol, the next free id is tried instead.
+     */
+    public int claimSymbol(final int id, final String symbol) throws SQLException {
+        try (final var c = analystDataSource.getDataSource().getConnection()) {
+            var proposed = id;
+            for (var attempt = 0; attempt < CLAIM_ATTEMPTS; attempt++) {
+                if (insertSymbol(c, proposed, symbol) == 1) {
+                    return proposed;
+                }
+
+                final var stored = getSymbolId(c, symbol);
+                if (stored >= 0) {
+                    return stored;
+                }
+
+                proposed = getNextSymbolId(c);
+            }
+        }
+
+        throw new SQLException("Failed to claim an id for symbol " + symbol);
+    }
+
+    private static int insertSymbol(final Connection c, final int id, final String symbol) throws SQLException {
+        try (final var ps = c.prepareStatement(SYMBOLS_INSERT)) {
+            ps.setInt(ID, id);
+            ps.setString(SYMBOL, symbol);
+            return ps.executeUpdate();
+        }
+    }
+
+    private static int getSymbolId(final Connection c, final String symbol) throws SQLException {
+        try (final var ps = c.prepareStatement(SYMBOLS_SELECT_ID)) {
+            ps.setString(1, symbol);
+            try (final var rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(ID) : -1;
+            }
+        }
+    }
+
+    private static int getNextSymbolId(final Connection c) throws SQLException {
+        try (final var ps = c.prepareStatement(SYMBOLS_SELECT_NEXT_ID);
+             final var rs = ps.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
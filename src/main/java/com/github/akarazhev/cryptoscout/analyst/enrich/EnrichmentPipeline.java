@@ -0,0 +1,183 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.enrich;
+
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import io.activej.promise.Promise;
+import io.activej.promise.SettablePromise;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Runs enrichment stages in order. The leading non-blocking stages run synchronously on the calling reactor as long as
+ * they stay within the per-message CPU budget; the first blocking stage, or the first stage after the budget is spent,
+ * hands the rest of the chain to the executor. A chain that finishes inline costs no thread hop at all.
+ * Stages keep state and are not thread-safe, so offloaded chains run one at a time, and while one is running every
+ * later payload queues behind it on the executor instead of running inline: a stage never runs on two threads at once
+ * and sees payloads in the order they came in. Must be called from one reactor thread.
+ */
+public final class EnrichmentPipeline {
+    private final EnrichmentStage[] stages;
+    private final boolean inline;
+    private final long inlineBudgetNanos;
+    private long inlineCount;
+    private long offloadCount;
+    private long budgetOverrunCount;
+    private Promise<Void> offloaded = Promise.complete();
+
+    public static EnrichmentPipeline create(final List<EnrichmentStage> stages, final boolean inline,
+                                            final long inlineBudgetNanos) {
+        return new EnrichmentPipeline(stages, inline, inlineBudgetNanos);
+    }
+
+    private EnrichmentPipeline(final List<EnrichmentStage> stages, final boolean inline,
+                               final long inlineBudgetNanos) {
+        this.stages = stages.toArray(EnrichmentStage[]::new);
+        this.inline = inline;
+        this.inlineBudgetNanos = inlineBudgetNanos;
+    }
+
+    public boolean isEmpty() {
+        return stages.length == 0;
+    }
+
+    /**
+     * Whether any stage may change a payload of the topic; every other payload leaves the pipeline as it came in.
+     */
+    public boolean accepts(final String topic) {
+        for (final var stage : stages) {
+            if (stage.accepts(topic)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public long getInlineCount() {
+        return inlineCount;
+    }
+
+    public long getOffloadCount() {
+        return offloadCount;
+    }
+
+    public long getBudgetOverrunCount() {
+        return budgetOverrunCount;
+    }
+
+    public Promise<Payload<?>> process(final Payload<?> payload, final Executor executor) {
+        if (!offloaded.isComplete()) {
+            return offload(() -> Promise.ofBlocking(executor, () -> applyFrom(0, payload)));
+        }
+
+        var current = payload;
+        var next = 0;
+        if (inline) {
+            final var start = System.nanoTime();
+            while (next < stages.length && !stages[next].isBlocking()) {
+                current = stages[next++].apply(current);
+                if (current == null) {
+                    break;
+                }
+
+                if (next < stages.length && System.nanoTime() - start > inlineBudgetNanos) {
+                    budgetOverrunCount++;
+                    break;
+                }
+            }
+        }
+
+        if (current == null || next == stages.length) {
+            inlineCount++;
+            return Promise.of(current);
+        }
+
+        final var from = next;
+        final var in = current;
+        return offload(() -> Promise.ofBlocking(executor, () -> applyFrom(from, in)));
+    }
+
+    /**
+     * Batch counterpart of {@link #process}: the same inline and offload rules, applied to the whole micro-batch.
+     */
+    public Promise<List<Payload<?>>> processBatch(final List<Payload<?>> payloads, final Executor executor) {
+        if (!offloaded.isComplete()) {
+            return offload(() -> Promise.ofBlocking(executor, () -> applyBatchFrom(0, payloads)));
+        }
+
+        var current = payloads;
+        var next = 0;
+        if (inline) {
+            final var start = System.nanoTime();
+            while (next < stages.length && !stages[next].isBlocking()) {
+                current = stages[next++].applyBatch(current);
+                if (next < stages.length && System.nanoTime() - start > inlineBudgetNanos) {
+                    budgetOverrunCount++;
+                    break;
+                }
+            }
+        }
+
+        if (next == stages.length) {
+            inlineCount++;
+            return Promise.of(current);
+        }
+
+        final var from = next;
+        final var in = current;
+        return offload(() -> Promise.ofBlocking(executor, () -> applyBatchFrom(from, in)));
+    }
+
+    private <T> Promise<T> offload(final Supplier<Promise<T>> chain) {
+        // Started only once the previous offloaded chain is done, failed or not
+        offloadCount++;
+        final var previous = offloaded;
+        final var done = new SettablePromise<Void>();
+        offloaded = done;
+        return previous.then(() -> chain.get())
+                .whenComplete((_, _) -> done.set(null));
+    }
+
+    private Payload<?> applyFrom(final int from, final Payload<?> payload) {
+        var current = payload;
+        for (var i = from; i < stages.length && current != null; i++) {
+            current = stages[i].apply(current);
+        }
+
+        return current;
+    }
+
+    private List<Payload<?>> applyBatchFrom(final int from, final List<Payload<?>> payloads) {
+        var current = payloads;
+        for (var i = from; i < stages.length; i++) {
+            current = stages[i].applyBatch(current);
+        }
+
+        return current;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.enrich;
+
+import com.github.akarazhev.jcryptolib.stream.Payload;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One step of payload enrichment. Stages are non-blocking by default and then run on the reactor thread; a stage that
+ * does I/O or waits on anything must report {@link #isBlocking()} so it and every stage after it run on the executor.
+ */
+@FunctionalInterface
+public interface EnrichmentStage {
+
+    /**
+     * Returns the enriched payload, or {@code null} to drop it.
+     */
+    Payload<?> apply(Payload<?> payload);
+
+    /**
+     * Enriches a micro-batch and returns one result per input, in input order, with {@code null} for dropped entries.
+     * Stages whose work amortizes over many payloads (shared lookups, vectorizable math) should override this.
+     */
+    default List<Payload<?>> applyBatch(final List<Payload<?>> payloads) {
+        final var results = new ArrayList<Payload<?>>(payloads.size());
+        for (final var payload : payloads) {
+            results.add(payload != null ? apply(payload) : null);
+        }
+
+        return results;
+    }
+
+    default boolean isBlocking() {
+        return false;
+    }
+
+    /**
+     * Whether the stage may change or needs to see a payload of the topic, as read from the envelope; {@code null} for
+     * data without one. Payloads that no stage accepts skip decoding and enrichment, so a stage that cannot tell
+     * accepts all.
+     */
+    default boolean accepts(final String topic) {
+        return true;
+    }
+}
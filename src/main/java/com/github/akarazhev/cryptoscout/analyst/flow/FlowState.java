@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.flow;
+
+import com.github.akarazhev.cryptoscout.analyst.model.AnalyzedTrades;
+import com.github.akarazhev.cryptoscout.analyst.model.TradeFlow;
+import com.github.akarazhev.cryptoscout.analyst.model.Trades;
+
+import static com.github.akarazhev.cryptoscout.analyst.flow.Constants.LargePrint.FACTOR;
+import static com.github.akarazhev.cryptoscout.analyst.flow.Constants.LargePrint.MIN_TRADES;
+
+/**
+ * Trade flow of one symbol: cumulative volume delta since start plus one {@link TimeWindow} per horizon. The longest
+ * window also provides the mean trade size that large prints are judged against, taken before each trade is added.
+ */
+final class FlowState {
+    private final TimeWindow[] windows;
+    private final TimeWindow longest;
+    private double cumulativeDelta;
+
+    FlowState(final long[] windowsMs, final long bucketMs) {
+        this.windows = new TimeWindow[windowsMs.length];
+        var longest = 0;
+        for (var i = 0; i < windowsMs.length; i++) {
+            windows[i] = new TimeWindow(windowsMs[i], bucketMs);
+            if (windowsMs[i] > windowsMs[longest]) {
+                longest = i;
+            }
+        }
+
+        this.longest = windows[longest];
+    }
+
+    AnalyzedTrades apply(final Trades trades) {
+        var large = 0;
+        for (final var trade : trades.trades()) {
+            longest.advance(trade.time());
+            final var count = longest.trades();
+            final var isLarge = count >= MIN_TRADES &&
+                    trade.size() >= FACTOR * (longest.buyVolume() + longest.sellVolume()) / count;
+            if (isLarge) {
+                large++;
+            }
+
+            for (final var window : windows) {
+                window.add(trade.time(), trade.buy(), trade.size(), isLarge);
+            }
+
+            cumulativeDelta += trade.buy() ? trade.size() : -trade.size();
+        }
+
+        final var flows = new TradeFlow[windows.length];
+        for (var i = 0; i < windows.length; i++) {
+            final var window = windows[i];
+            window.advance(trades.timestamp());
+            final var buy = window.buyVolume();
+            final var sell = window.sellVolume();
+            final var total = buy + sell;
+            flows[i] = new TradeFlow(window.windowMs(), buy, sell, buy - sell, total > 0d ? (buy - sell) / total :
+                    Double.NaN, window.trades() * 1000d / window.windowMs(), window.largePrints());
+        }
+
+        return new AnalyzedTrades(trades.symbol(), trades.timestamp(), trades.trades(), cumulativeDelta, large, flows);
+    }
+}
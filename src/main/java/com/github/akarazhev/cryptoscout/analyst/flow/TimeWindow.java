@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.flow;
+
+/**
+ * Sliding event-time window over fixed buckets in primitive arrays. A bucket's slot is its id modulo the bucket count,
+ * so moving the window forward clears exactly the slots that fall out of it and subtracts them from the running sums.
+ * The sums are rebuilt each time the head passes slot zero to keep floating-point drift bounded. Trades older than the
+ * window are ignored.
+ */
+final class TimeWindow {
+    private final long windowMs;
+    private final long bucketMs;
+    private final double[] buyVolume;
+    private final double[] sellVolume;
+    private final int[] trades;
+    private final int[] largePrints;
+    private long head = Long.MIN_VALUE;
+    private double buySum;
+    private double sellSum;
+    private long tradeSum;
+    private long largeSum;
+
+    TimeWindow(final long windowMs, final long bucketMs) {
+        this.windowMs = windowMs;
+        this.bucketMs = bucketMs;
+        final var buckets = (int) (windowMs / bucketMs);
+        this.buyVolume = new double[buckets];
+        this.sellVolume = new double[buckets];
+        this.trades = new int[buckets];
+        this.largePrints = new int[buckets];
+    }
+
+    long windowMs() {
+        return windowMs;
+    }
+
+    /**
+     * Moves the window so that it ends at {@code time}; earlier times are a no-op.
+     */
+    void advance(final long time) {
+        final var id = Math.floorDiv(time, bucketMs);
+        if (head == Long.MIN_VALUE) {
+            head = id;
+            return;
+        }
+
+        if (id <= head) {
+            return;
+        }
+
+        final var steps = Math.min(id - head, buyVolume.length);
+        var wrapped = false;
+        for (var step = 1; step <= steps; step++) {
+            final var slot = slot(head + step);
+            buySum -= buyVolume[slot];
+            sellSum -= sellVolume[slot];
+            tradeSum -= trades[slot];
+            largeSum -= largePrints[slot];
+            buyVolume[slot] = 0d;
+            sellVolume[slot] = 0d;
+            trades[slot] = 0;
+            largePrints[slot] = 0;
+            wrapped |= slot == 0;
+        }
+
+        head = id;
+        if (wrapped) {
+            resum();
+        }
+    }
+
+    void add(final long time, final boolean buy, final double size, final boolean largePrint) {
+        advance(time);
+        final var id = Math.floorDiv(time, bucketMs);
+        if (id <= head - buyVolume.length) {
+            return;
+        }
+
+        final var slot = slot(id);
+        if (buy) {
+            buyVolume[slot] += size;
+            buySum += size;
+        } else {
+            sellVolume[slot] += size;
+            sellSum += size;
+        }
+
+        trades[slot]++;
+        tradeSum++;
+        if (largePrint) {
+            largePrints[slot]++;
+            largeSum++;
+        }
+    }
+
+    double buyVolume() {
+        return buySum;
+    }
+
+    double sellVolume() {
+        return sellSum;
+    }
+
+    long trades() {
+        return tradeSum;
+    }
+
+    long largePrints() {
+        return largeSum;
+    }
+
+    private int slot(final long id) {
+        return (int) Math.floorMod(id, (long) buyVolume.length);
+    }
+
+    private void resum() {
+        var buy = 0d;
+        var sell = 0d;
+        for (var i = 0; i < buyVolume.length; i++) {
+            buy += buyVolume[i];
+            sell += sellVolume[i];
+        }
+
+        buySum = buy;
+        sellSum = sell;
+    }
+}
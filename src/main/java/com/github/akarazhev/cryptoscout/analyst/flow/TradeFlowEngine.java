@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.flow;
+
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolSlots;
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolTable;
+import com.github.akarazhev.cryptoscout.analyst.codec.Topics;
+import com.github.akarazhev.cryptoscout.analyst.enrich.EnrichmentStage;
+import com.github.akarazhev.cryptoscout.analyst.model.AnalyzedTrades;
+import com.github.akarazhev.cryptoscout.analyst.model.MarketData;
+import com.github.akarazhev.cryptoscout.analyst.model.Timeframes;
+import com.github.akarazhev.cryptoscout.analyst.model.Trades;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+
+import static com.github.akarazhev.cryptoscout.analyst.flow.Constants.Window.BUCKET_MS;
+import static com.github.akarazhev.cryptoscout.analyst.flow.Constants.Window.WINDOWS_MS;
+
+/**
+ * Per-symbol trade flow: cumulative volume delta, aggressor imbalance, trade intensity and large prints over sliding
+ * event-time windows. Public trades leave the stage as {@link AnalyzedTrades}, also when they head a
+ * {@link Timeframes} built by trade-based kline aggregation, so flow and kline indicators travel together.
+ * Not thread-safe: each pipeline owns its engine.
+ */
+public final class TradeFlowEngine implements EnrichmentStage {
+    private final SymbolSlots<FlowState> states;
+
+    public static TradeFlowEngine create(final SymbolTable symbols) {
+        return new TradeFlowEngine(symbols);
+    }
+
+    private TradeFlowEngine(final SymbolTable symbols) {
+        this.states = SymbolSlots.create(symbols);
+    }
+
+    @Override
+    public boolean accepts(final String topic) {
+        return Topics.isPublicTrade(topic);
+    }
+
+    @Override
+    public Payload<?> apply(final Payload<?> payload) {
+        final MarketData data = switch (payload.getData()) {
+            case Trades trades when trades.trades().length > 0 -> analyze(trades);
+            case Timeframes timeframes when timeframes.series()[0] instanceof Trades trades &&
+                    trades.trades().length > 0 -> {
+                final var series = timeframes.series().clone();
+                series[0] = analyze(trades);
+                yield new Timeframes(timeframes.symbol(), timeframes.timestamp(), series);
+            }
+
+            case null, default -> null;
+        };
+
+        return data != null ? Payload.of(payload.getProvider(), payload.getSource(), data) : payload;
+    }
+
+    public int getSymbolCount() {
+        return states.size();
+    }
+
+    private AnalyzedTrades analyze(final Trades trades) {
+        return states.computeIfAbsent(trades.symbol(), _ -> new FlowState(WINDOWS_MS, BUCKET_MS)).apply(trades);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.history;
+
+/**
+ * In-memory history trimmed by a {@link RetentionPolicy}. Eviction is incremental: each call drops at most a budget of
+ * the oldest entries, so the owning reactor can spread a large cleanup over several ticks.
+ */
+public interface BoundedHistory {
+
+    int size();
+
+    /**
+     * Estimated heap footprint of the retained entries.
+     */
+    long estimatedBytes();
+
+    long getEvictedCount();
+
+    /**
+     * Drops up to {@code budget} of the oldest entries that breach the policy at {@code now}.
+     *
+     * @return the number of entries dropped, less than {@code budget} once the history is within its bounds
+     */
+    int evict(long now, int budget);
+
+    void clear();
+}
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.history;
+
+final class Constants {
+    private Constants() {
+        throw new UnsupportedOperationException();
+    }
+
+    final static class Storage {
+        private Storage() {
+            throw new UnsupportedOperationException();
+        }
+
+        // 1024 candles per chunk: 48 KiB across the six columns
+        static final int CHUNK_SHIFT = 10;
+        // Ring capacity of row histories, a power of two
+        static final int INITIAL_CAPACITY = 16;
+        // Candles a kline history stages per response chunk before its columns grow: 52 KiB
+        static final int BATCH_CAPACITY = 1 << 10;
+    }
+
+    final static class Segment {
+        private Segment() {
+            throw new UnsupportedOperationException();
+        }
+
+        // "KLN2" followed by the record count and the newest start time, then fixed-size records: start time and OHLCV
+        static final int MAGIC = 0x4B4C4E32;
+        static final int MAGIC_OFFSET = 0;
+        static final int COUNT_OFFSET = 4;
+        static final int MAX_TIME_OFFSET = 8;
+        static final int HEADER_BYTES = 16;
+        static final int RECORD_BYTES = Long.BYTES + 5 * Double.BYTES;
+        // 16384 candles per segment: 768 KiB of records
+        static final int SEGMENT_CANDLES = 1 << 14;
+        static final String SUFFIX = ".seg";
+        static final String NAME_FORMAT = "%08d" + SUFFIX;
+        // Directory of the empty symbol, never produced by URL encoding
+        static final String EMPTY_SYMBOL = "%";
+    }
+
+    final static class Heap {
+        private Heap() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Rough sizes on a 64-bit JVM with compressed references, used to estimate parsed collector rows
+        static final int OBJECT_BYTES = 16;
+        static final int BOXED_BYTES = 16;
+        static final int REFERENCE_BYTES = 4;
+        static final int STRING_BYTES = 40;
+        static final int MAP_BYTES = 48;
+        static final int ENTRY_BYTES = 32;
+        static final int LIST_BYTES = 40;
+        // Ring slot of a row history: row reference, arrival time and estimated size
+        static final int SLOT_BYTES = REFERENCE_BYTES + Long.BYTES + Integer.BYTES;
+    }
+
+    final static class Row {
+        private Row() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Collector rows carry the candle start under one of these names, first match wins
+        static final String[] TIMESTAMP = {"start", "timestamp", "time", "ts"};
+        static final String SYMBOL = "symbol";
+        static final String OPEN = "open";
+        static final String HIGH = "high";
+        static final String LOW = "low";
+        static final String CLOSE = "close";
+        static final String VOLUME = "volume";
+        static final String NO_SYMBOL = "";
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.history;
+
+import java.util.Arrays;
+
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Storage.BATCH_CAPACITY;
+
+/**
+ * Staging columns for the candles of one response chunk, so a newest-first chunk can still be appended oldest first.
+ * The columns grow with the chunk and fall back to their initial capacity when cleared, keeping what a history
+ * retains between chunks bounded whatever size the collector sends.
+ */
+final class KlineBatch {
+    private String[] symbols = new String[BATCH_CAPACITY];
+    private long[] times = new long[BATCH_CAPACITY];
+    private double[] opens = new double[BATCH_CAPACITY];
+    private double[] highs = new double[BATCH_CAPACITY];
+    private double[] lows = new double[BATCH_CAPACITY];
+    private double[] closes = new double[BATCH_CAPACITY];
+    private double[] volumes = new double[BATCH_CAPACITY];
+    private int size;
+
+    void add(final String symbol, final long time, final double open, final double high, final double low,
+             final double close, final double volume) {
+        if (size == times.length) {
+            resize(size << 1);
+        }
+
+        symbols[size] = symbol;
+        times[size] = time;
+        opens[size] = open;
+        highs[size] = high;
+        lows[size] = low;
+        closes[size] = close;
+        volumes[size] = volume;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    String symbol(final int index) {
+        return symbols[index];
+    }
+
+    long time(final int index) {
+        return times[index];
+    }
+
+    double open(final int index) {
+        return opens[index];
+    }
+
+    double high(final int index) {
+        return highs[index];
+    }
+
+    double low(final int index) {
+        return lows[index];
+    }
+
+    double close(final int index) {
+        return closes[index];
+    }
+
+    double volume(final int index) {
+        return volumes[index];
+    }
+
+    void clear() {
+        if (times.length > BATCH_CAPACITY) {
+            resize(BATCH_CAPACITY);
+        }
+
+        Arrays.fill(symbols, 0, Math.min(size, symbols.length), null);
+        size = 0;
+    }
+
+    private void resize(final int capacity) {
+        symbols = Arrays.copyOf(symbols, capacity);
+        times = Arrays.copyOf(times, capacity);
+        opens = Arrays.copyOf(opens, capacity);
+        highs = Arrays.copyOf(highs, capacity);
+        lows = Arrays.copyOf(lows, capacity);
+        closes = Arrays.copyOf(closes, capacity);
+        volumes = Arrays.copyOf(volumes, capacity);
+    }
+}
@@ -0,0 +1,456 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.history;
+
+import com.github.akarazhev.cryptoscout.analyst.codec.JsonReader;
+import com.github.akarazhev.cryptoscout.analyst.codec.JsonType;
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolSlots;
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Row.CLOSE;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Row.HIGH;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Row.LOW;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Row.NO_SYMBOL;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Row.OPEN;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Row.SYMBOL;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Row.TIMESTAMP;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Row.VOLUME;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Storage.CHUNK_SHIFT;
+
+/**
+ * Candle history of one series type, such as Bybit 1m klines, with a columnar {@link KlineSeries} per symbol.
+ * Collector rows are parsed once on arrival, either from maps that are then dropped or straight from the response
+ * bytes; rows without a start time are skipped and counted. Confirmed candles of the kline stream are appended as
+ * primitives.
+ * The count and age bounds of the retention policy apply to each symbol, ages by candle start time; the byte bound
+ * applies to the whole history and trims the longest series first. With a {@link KlineStore} attached every candle
+ * is also written through to disk; eviction trims memory only. Not thread-safe: the owning service touches it from
+ * its reactor only.
+ */
+public final class KlineHistory implements BoundedHistory {
+    private static final Logger LOGGER = LoggerFactory.getLogger(KlineHistory.class);
+    private final SymbolTable symbols;
+    private final RetentionPolicy policy;
+    private final KlineBatch batch = new KlineBatch();
+    private SymbolSlots<KlineSeries> series;
+    private int size;
+    private long skippedCount;
+    private long evictedCount;
+    private KlineStore store;
+
+    public static KlineHistory create(final SymbolTable symbols) {
+        return new KlineHistory(symbols, RetentionPolicy.unbounded());
+    }
+
+    public static KlineHistory create(final SymbolTable symbols, final RetentionPolicy policy) {
+        return new KlineHistory(symbols, policy);
+    }
+
+    private KlineHistory(final SymbolTable symbols, final RetentionPolicy policy) {
+        this.symbols = symbols;
+        this.policy = policy;
+        this.series = SymbolSlots.create(symbols);
+    }
+
+    /**
+     * Appends collector rows. A newest-first response is walked backwards so candles still arrive in time order and
+     * take the append fast path.
+     */
+    public void appendAll(final List<Map<String, Object>> rows) {
+        final var times = new long[rows.size()];
+        for (var i = 0; i < times.length; i++) {
+            times[i] = timestampOf(rows.get(i));
+        }
+
+        final var descending = times.length > 1 && times[0] > times[times.length - 1];
+        for (var i = 0; i < times.length; i++) {
+            final var index = descending ? times.length - 1 - i : i;
+            if (times[index] == Long.MIN_VALUE) {
+                skippedCount++;
+            } else {
+                append(rows.get(index), times[index]);
+            }
+        }
+    }
+
+    /**
+     * Appends collector rows read straight from the value array of a response chunk, consuming it. Each row is
+     * decoded into primitives without building a map, and the chunk is staged so a newest-first chunk is appended in
+     * time order as well.
+     */
+    public void appendAll(final JsonReader values) {
+        try {
+            values.beginArray();
+            while (values.hasNext()) {
+                if (values.peek() == JsonType.OBJECT) {
+                    readRow(values);
+                } else {
+                    values.skipValue();
+                    skippedCount++;
+                }
+            }
+
+            values.endArray();
+            final var count = batch.size();
+            final var descending = count > 1 && batch.time(0) > batch.time(count - 1);
+            for (var i = 0; i < count; i++) {
+                final var index = descending ? count - 1 - i : i;
+                append(batch.symbol(index), batch.time(index), batch.open(index), batch.high(index),
+                        batch.low(index), batch.close(index), batch.volume(index));
+            }
+        } finally {
+            // A malformed chunk is dropped whole rather than leaking its first candles into the next one
+            batch.clear();
+        }
+    }
+
+    /**
+     * Appends one candle, such as a confirmed one from the kline stream; a known start time is replaced.
+     */
+    public void append(final String symbol, final long time, final double open, final double high,
+                       final double low, final double close, final double volume) {
+        put(symbol, time, open, high, low, close, volume);
+        if (store != null) {
+            try {
+                store.append(symbol, time, open, high, low, close, volume);
+            } catch (final IOException ex) {
+                // Keep serving from memory; the next start requests whatever did not reach the disk
+                LOGGER.error("Failed to persist candle of {}, detaching the kline store", symbol, ex);
+                store = null;
+            }
+        }
+    }
+
+    /**
+     * Loads the candles persisted in the store, then writes every later candle through to it. Must run before the
+     * history takes live data. The count and age bounds apply as at {@code now} while replaying, so a store that has
+     * outgrown them is never loaded whole, and segments before the age bound are not read at all; the byte bound is
+     * left to the next eviction. A store holding far more than was kept is then compacted to the kept candles.
+     */
+    public void restore(final KlineStore store, final long now) throws IOException {
+        final var oldest = policy.maxAgeMs() > 0 ? now - policy.maxAgeMs() : Long.MIN_VALUE;
+        final var maxCount = policy.maxCount();
+        store.replay(oldest, (symbol, time, open, high, low, close, volume) -> {
+            if (time < oldest) {
+                return;
+            }
+
+            // Trimmed a chunk at a time to keep replay linear
+            final var target = put(symbol, time, open, high, low, close, volume);
+            if (maxCount > 0 && target.size() >= maxCount + (1 << CHUNK_SHIFT)) {
+                size -= target.evictFirst((int) (target.size() - maxCount));
+            }
+        });
+        for (var id = 0; id < series.capacity(); id++) {
+            final var target = series.get(id);
+            if (target != null) {
+                size -= evict(target, now, Integer.MAX_VALUE);
+            }
+        }
+
+        // A symbol whose candles were all skipped is not looked up, which would assign it an id
+        store.compact(symbol -> symbols.contains(symbol) ? series.get(symbol) : null);
+        this.store = store;
+    }
+
+    /**
+     * Stops writing candles through to the store, leaving it to be closed by whoever opened it.
+     */
+    public void detach() {
+        store = null;
+    }
+
+    /**
+     * Start time of the newest candle of the symbol, {@link Long#MIN_VALUE} if none.
+     */
+    public long lastTimestamp(final String symbol) {
+        final var target = series.get(symbol);
+        return target == null || target.size() == 0 ? Long.MIN_VALUE : target.timestamp(target.size() - 1);
+    }
+
+    /**
+     * Start time of the newest candle of any symbol, {@link Long#MIN_VALUE} if empty.
+     */
+    public long lastTimestamp() {
+        var last = Long.MIN_VALUE;
+        for (var id = 0; id < series.capacity(); id++) {
+            final var target = series.get(id);
+            if (target != null && target.size() > 0) {
+                last = Math.max(last, target.timestamp(target.size() - 1));
+            }
+        }
+
+        return last;
+    }
+
+    /**
+     * Series of the symbol, or {@code null} if none of its candles arrived yet.
+     */
+    public KlineSeries series(final String symbol) {
+        return series.get(symbol);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    @Override
+    public long estimatedBytes() {
+        var bytes = 0L;
+        for (var id = 0; id < series.capacity(); id++) {
+            final var target = series.get(id);
+            if (target != null) {
+                bytes += target.allocatedBytes();
+            }
+        }
+
+        return bytes;
+    }
+
+    @Override
+    public long getEvictedCount() {
+        return evictedCount;
+    }
+
+    @Override
+    public int evict(final long now, final int budget) {
+        var evicted = 0;
+        for (var id = 0; id < series.capacity() && evicted < budget; id++) {
+            final var target = series.get(id);
+            if (target != null) {
+                evicted += evict(target, now, budget - evicted);
+            }
+        }
+
+        final var maxBytes = policy.maxBytes();
+        while (maxBytes > 0 && evicted < budget && estimatedBytes() > maxBytes) {
+            // A full chunk of candles always releases at least one chunk
+            final var longest = longest();
+            if (longest == null) {
+                break;
+            }
+
+            evicted += longest.evictFirst(Math.min(budget - evicted, 1 << CHUNK_SHIFT));
+        }
+
+        size -= evicted;
+        evictedCount += evicted;
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        series = SymbolSlots.create(symbols);
+        size = 0;
+    }
+
+    private int evict(final KlineSeries target, final long now, final int budget) {
+        var excess = policy.maxCount() > 0 ? target.size() - policy.maxCount() : 0L;
+        if (policy.maxAgeMs() > 0) {
+            excess = Math.max(excess, target.lowerBound(now - policy.maxAgeMs()));
+        }
+
+        return excess > 0 ? target.evictFirst((int) Math.min(excess, budget)) : 0;
+    }
+
+    private KlineSeries longest() {
+        KlineSeries longest = null;
+        for (var id = 0; id < series.capacity(); id++) {
+            final var target = series.get(id);
+            if (target != null && target.size() > 0 && (longest == null || target.size() > longest.size())) {
+                longest = target;
+            }
+        }
+
+        return longest;
+    }
+
+    private void append(final Map<String, Object> row, final long time) {
+        append(row.get(SYMBOL) instanceof String value ? value : NO_SYMBOL, time, doubleOf(row.get(OPEN)),
+                doubleOf(row.get(HIGH)), doubleOf(row.get(LOW)), doubleOf(row.get(CLOSE)), doubleOf(row.get(VOLUME)));
+    }
+
+    private KlineSeries put(final String symbol, final long time, final double open, final double high,
+                            final double low, final double close, final double volume) {
+        final var target = series.computeIfAbsent(symbol, _ -> KlineSeries.create());
+        final var before = target.size();
+        target.append(time, open, high, low, close, volume);
+        size += target.size() - before;
+        return target;
+    }
+
+    private void readRow(final JsonReader values) {
+        var symbol = NO_SYMBOL;
+        var time = Long.MIN_VALUE;
+        // Rank of the start time name read so far, the same precedence as for maps
+        var rank = TIMESTAMP.length;
+        var open = Double.NaN;
+        var high = Double.NaN;
+        var low = Double.NaN;
+        var close = Double.NaN;
+        var volume = Double.NaN;
+        values.beginObject();
+        while (values.hasNext()) {
+            if (values.nextNameEquals(SYMBOL)) {
+                symbol = symbolOf(values);
+            } else if (values.nextNameEquals(OPEN)) {
+                open = doubleOf(values);
+            } else if (values.nextNameEquals(HIGH)) {
+                high = doubleOf(values);
+            } else if (values.nextNameEquals(LOW)) {
+                low = doubleOf(values);
+            } else if (values.nextNameEquals(CLOSE)) {
+                close = doubleOf(values);
+            } else if (values.nextNameEquals(VOLUME)) {
+                volume = doubleOf(values);
+            } else {
+                final var index = nextTimestampName(values);
+                if (index < 0) {
+                    values.nextName();
+                    values.skipValue();
+                } else if (index < rank && values.peek() != JsonType.NULL) {
+                    // An unreadable start time leaves the way open for a lower-precedence one
+                    final var parsed = epochMillisOf(values);
+                    if (parsed != Long.MIN_VALUE) {
+                        time = parsed;
+                        rank = index;
+                    }
+                } else {
+                    values.skipValue();
+                }
+            }
+        }
+
+        values.endObject();
+        if (time == Long.MIN_VALUE) {
+            skippedCount++;
+        } else {
+            batch.add(symbol, time, open, high, low, close, volume);
+        }
+    }
+
+    private static int nextTimestampName(final JsonReader values) {
+        for (var i = 0; i < TIMESTAMP.length; i++) {
+            if (values.nextNameEquals(TIMESTAMP[i])) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static long epochMillisOf(final JsonReader values) {
+        return switch (values.peek()) {
+            case NUMBER -> values.nextLong();
+            case STRING -> epochMillisOf(values.nextString());
+            default -> {
+                values.skipValue();
+                yield Long.MIN_VALUE;
+            }
+        };
+    }
+
+    private static double doubleOf(final JsonReader values) {
+        return switch (values.peek()) {
+            case NUMBER, STRING -> values.nextDouble();
+            default -> {
+                values.skipValue();
+                yield Double.NaN;
+            }
+        };
+    }
+
+    private static String symbolOf(final JsonReader values) {
+        if (values.peek() == JsonType.STRING) {
+            return values.nextString();
+        }
+
+        values.skipValue();
+        return NO_SYMBOL;
+    }
+
+    private static long timestampOf(final Map<String, Object> row) {
+        for (final var key : TIMESTAMP) {
+            final var value = row.get(key);
+            final var time = value == null ? Long.MIN_VALUE : epochMillisOf(value);
+            if (time != Long.MIN_VALUE) {
+                return time;
+            }
+        }
+
+        return Long.MIN_VALUE;
+    }
+
+    private static long epochMillisOf(final Object value) {
+        try {
+            return switch (value) {
+                case Number number -> number.longValue();
+                case String text -> parseEpochMillis(text);
+                case TemporalAccessor temporal -> Instant.from(temporal).toEpochMilli();
+                default -> Long.MIN_VALUE;
+            };
+        } catch (final RuntimeException ex) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private static long parseEpochMillis(final String text) {
+        try {
+            return Long.parseLong(text);
+        } catch (final NumberFormatException ex) {
+            return OffsetDateTime.parse(text).toInstant().toEpochMilli();
+        }
+    }
+
+    private static double doubleOf(final Object value) {
+        return switch (value) {
+            case Number number -> number.doubleValue();
+            case String text -> parseDouble(text);
+            case null, default -> Double.NaN;
+        };
+    }
+
+    private static double parseDouble(final String text) {
+        try {
+            return Double.parseDouble(text);
+        } catch (final NumberFormatException ex) {
+            return Double.NaN;
+        }
+    }
+}
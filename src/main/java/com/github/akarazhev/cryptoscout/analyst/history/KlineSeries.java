@@ -0,0 +1,241 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.history;
+
+import java.util.Arrays;
+
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Storage.CHUNK_SHIFT;
+
+/**
+ * Columnar candle history of one symbol and interval: parallel {@code long} start times and {@code double} OHLCV
+ * columns, 48 bytes per candle, kept sorted by start time. Columns grow in fixed-size chunks, so appending never
+ * copies existing candles and evicting the oldest ones releases whole chunks. Lookups by time are binary searches.
+ * Not thread-safe: the owning service touches it from its reactor only.
+ */
+public final class KlineSeries {
+    private final int chunkShift;
+    private final int chunkSize;
+    private final int chunkMask;
+    private long[][] times = new long[1][];
+    private double[][] opens = new double[1][];
+    private double[][] highs = new double[1][];
+    private double[][] lows = new double[1][];
+    private double[][] closes = new double[1][];
+    private double[][] volumes = new double[1][];
+    // Offset of the oldest candle within the first chunk
+    private int head;
+    private int size;
+    private int chunks;
+
+    public static KlineSeries create() {
+        return new KlineSeries(CHUNK_SHIFT);
+    }
+
+    KlineSeries(final int chunkShift) {
+        this.chunkShift = chunkShift;
+        this.chunkSize = 1 << chunkShift;
+        this.chunkMask = chunkSize - 1;
+    }
+
+    /**
+     * Adds a candle; a candle with a known start time replaces it, as when an open candle is updated.
+     */
+    public void append(final long time, final double open, final double high, final double low, final double close,
+                       final double volume) {
+        if (size == 0 || time > timestamp(size - 1)) {
+            grow();
+            set(size++, time, open, high, low, close, volume);
+            return;
+        }
+
+        final var index = lowerBound(time);
+        if (index < size && timestamp(index) == time) {
+            set(index, time, open, high, low, close, volume);
+            return;
+        }
+        // Out of order: shift the newer candles up by one, which only late backfills pay for
+        grow();
+        for (var i = size; i > index; i--) {
+            copy(i - 1, i);
+        }
+
+        size++;
+        set(index, time, open, high, low, close, volume);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long timestamp(final int index) {
+        final var slot = head + index;
+        return times[slot >>> chunkShift][slot & chunkMask];
+    }
+
+    public double open(final int index) {
+        final var slot = head + index;
+        return opens[slot >>> chunkShift][slot & chunkMask];
+    }
+
+    public double high(final int index) {
+        final var slot = head + index;
+        return highs[slot >>> chunkShift][slot & chunkMask];
+    }
+
+    public double low(final int index) {
+        final var slot = head + index;
+        return lows[slot >>> chunkShift][slot & chunkMask];
+    }
+
+    public double close(final int index) {
+        final var slot = head + index;
+        return closes[slot >>> chunkShift][slot & chunkMask];
+    }
+
+    public double volume(final int index) {
+        final var slot = head + index;
+        return volumes[slot >>> chunkShift][slot & chunkMask];
+    }
+
+    /**
+     * Index of the first candle starting at or after {@code time}, {@link #size()} if none.
+     */
+    public int lowerBound(final long time) {
+        var low = 0;
+        var high = size;
+        while (low < high) {
+            final var mid = (low + high) >>> 1;
+            if (timestamp(mid) < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Zero-copy view of the candles starting in {@code [from, to)}; valid until the series is next modified.
+     */
+    public KlineView range(final long from, final long to) {
+        final var start = lowerBound(from);
+        return new KlineView(this, start, Math.max(start, lowerBound(to)));
+    }
+
+    public KlineView all() {
+        return new KlineView(this, 0, size);
+    }
+
+    /**
+     * Drops up to {@code count} oldest candles and releases every chunk left empty.
+     *
+     * @return the number of candles dropped
+     */
+    public int evictFirst(final int count) {
+        final var evicted = Math.min(count, size);
+        head += evicted;
+        size -= evicted;
+        final var released = head >>> chunkShift;
+        if (released > 0) {
+            // Only the chunk directory moves, the surviving chunks stay where they are
+            final var length = times.length;
+            shift(times, released, length);
+            shift(opens, released, length);
+            shift(highs, released, length);
+            shift(lows, released, length);
+            shift(closes, released, length);
+            shift(volumes, released, length);
+            head &= chunkMask;
+            chunks -= released;
+        }
+
+        return evicted;
+    }
+
+    /**
+     * Bytes held by allocated chunks, including the unused ends of the first and last ones.
+     */
+    public long allocatedBytes() {
+        return (long) chunks * chunkSize * (Long.BYTES + 5 * Double.BYTES);
+    }
+
+    public void clear() {
+        times = new long[1][];
+        opens = new double[1][];
+        highs = new double[1][];
+        lows = new double[1][];
+        closes = new double[1][];
+        volumes = new double[1][];
+        head = 0;
+        size = 0;
+        chunks = 0;
+    }
+
+    private void grow() {
+        final var chunk = (head + size) >>> chunkShift;
+        if (chunk == times.length) {
+            final var length = times.length << 1;
+            times = Arrays.copyOf(times, length);
+            opens = Arrays.copyOf(opens, length);
+            highs = Arrays.copyOf(highs, length);
+            lows = Arrays.copyOf(lows, length);
+            closes = Arrays.copyOf(closes, length);
+            volumes = Arrays.copyOf(volumes, length);
+        }
+
+        if (times[chunk] == null) {
+            times[chunk] = new long[chunkSize];
+            opens[chunk] = new double[chunkSize];
+            highs[chunk] = new double[chunkSize];
+            lows[chunk] = new double[chunkSize];
+            closes[chunk] = new double[chunkSize];
+            volumes[chunk] = new double[chunkSize];
+            chunks++;
+        }
+    }
+
+    private void set(final int index, final long time, final double open, final double high, final double low,
+                     final double close, final double volume) {
+        final var slot = head + index;
+        final var chunk = slot >>> chunkShift;
+        final var offset = slot & chunkMask;
+        times[chunk][offset] = time;
+        opens[chunk][offset] = open;
+        highs[chunk][offset] = high;
+        lows[chunk][offset] = low;
+        closes[chunk][offset] = close;
+        volumes[chunk][offset] = volume;
+    }
+
+    private static void shift(final Object[] directory, final int released, final int length) {
+        System.arraycopy(directory, released, directory, 0, length - released);
+        Arrays.fill(directory, length - released, length, null);
+    }
+
+    private void copy(final int from, final int to) {
+        set(to, timestamp(from), open(from), high(from), low(from), close(from), volume(from));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.history;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Segment.EMPTY_SYMBOL;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Segment.SEGMENT_CANDLES;
+
+/**
+ * Persistent candles of one {@link KlineHistory}: a directory per symbol holding its {@link SegmentLog}. Written from
+ * the owning reactor only; opening and replaying happen before the history takes live data.
+ */
+public final class KlineStore {
+    private final Path directory;
+    private final int segmentCandles;
+    private final Map<String, SegmentLog> logs = new HashMap<>();
+
+    public static KlineStore open(final Path directory) throws IOException {
+        return open(directory, SEGMENT_CANDLES);
+    }
+
+    static KlineStore open(final Path directory, final int segmentCandles) throws IOException {
+        final var store = new KlineStore(directory, segmentCandles);
+        Files.createDirectories(directory);
+        try (final var paths = Files.list(directory)) {
+            for (final var path : paths.filter(Files::isDirectory).toList()) {
+                store.logs.put(symbolOf(path.getFileName().toString()), SegmentLog.open(path, segmentCandles));
+            }
+        }
+
+        return store;
+    }
+
+    private KlineStore(final Path directory, final int segmentCandles) {
+        this.directory = directory;
+        this.segmentCandles = segmentCandles;
+    }
+
+    public void append(final String symbol, final long time, final double open, final double high, final double low,
+                       final double close, final double volume) throws IOException {
+        var log = logs.get(symbol);
+        if (log == null) {
+            log = SegmentLog.open(directory.resolve(nameOf(symbol)), segmentCandles);
+            logs.put(symbol, log);
+        }
+
+        log.append(time, open, high, low, close, volume);
+    }
+
+    /**
+     * Start time of the last candle written for the symbol, {@link Long#MIN_VALUE} if none.
+     */
+    public long lastTimestamp(final String symbol) {
+        final var log = logs.get(symbol);
+        return log != null ? log.lastTimestamp() : Long.MIN_VALUE;
+    }
+
+    /**
+     * Feeds the stored candles to the sink, symbol by symbol in write order. Segments holding only candles that start
+     * before {@code oldest} are skipped whole, so some older candles may still come through.
+     */
+    public void replay(final long oldest, final CandleSink sink) throws IOException {
+        for (final var entry : logs.entrySet()) {
+            entry.getValue().replay(entry.getKey(), oldest, sink);
+        }
+    }
+
+    /**
+     * Rewrites the log of every symbol that holds at least a segment's worth of records beyond the candles the
+     * history retains, as after a replay, so the store stays about the size of the retained history.
+     */
+    public void compact(final Function<String, KlineSeries> retained) throws IOException {
+        for (final var entry : logs.entrySet()) {
+            final var series = retained.apply(entry.getKey());
+            final var log = entry.getValue();
+            if (log.recordCount() - (series != null ? series.size() : 0) >= segmentCandles) {
+                log.compact(series);
+            }
+        }
+    }
+
+    /**
+     * Forces written candles to disk; the mappings themselves go with the store.
+     */
+    public void close() {
+        for (final var log : logs.values()) {
+            log.force();
+        }
+
+        logs.clear();
+    }
+
+    private static String nameOf(final String symbol) {
+        return symbol.isEmpty() ? EMPTY_SYMBOL : URLEncoder.encode(symbol, StandardCharsets.UTF_8);
+    }
+
+    private static String symbolOf(final String name) {
+        return EMPTY_SYMBOL.equals(name) ? "" : URLDecoder.decode(name, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    public interface CandleSink {
+
+        void accept(String symbol, long time, double open, double high, double low, double close, double volume);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.history;
+
+/**
+ * Read-only window onto a contiguous run of candles of a {@link KlineSeries}, indexed from zero. It reads through to
+ * the series columns without copying and is valid until the series is next modified.
+ */
+public final class KlineView {
+    private final KlineSeries series;
+    private final int from;
+    private final int to;
+
+    KlineView(final KlineSeries series, final int from, final int to) {
+        this.series = series;
+        this.from = from;
+        this.to = to;
+    }
+
+    public int size() {
+        return to - from;
+    }
+
+    public boolean isEmpty() {
+        return to == from;
+    }
+
+    public long timestamp(final int index) {
+        return series.timestamp(from + index);
+    }
+
+    public double open(final int index) {
+        return series.open(from + index);
+    }
+
+    public double high(final int index) {
+        return series.high(from + index);
+    }
+
+    public double low(final int index) {
+        return series.low(from + index);
+    }
+
+    public double close(final int index) {
+        return series.close(from + index);
+    }
+
+    public double volume(final int index) {
+        return series.volume(from + index);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.history;
+
+/**
+ * Bounds of an in-memory history; a zero limit is unlimited. The oldest entries go first once any bound is exceeded.
+ */
+public record RetentionPolicy(long maxCount, long maxAgeMs, long maxBytes) {
+
+    public RetentionPolicy {
+        if (maxCount < 0 || maxAgeMs < 0 || maxBytes < 0) {
+            throw new IllegalArgumentException("Invalid retention count " + maxCount + ", age " + maxAgeMs +
+                    " and bytes " + maxBytes);
+        }
+    }
+
+    public static RetentionPolicy of(final long maxCount, final long maxAgeMs, final long maxBytes) {
+        return new RetentionPolicy(maxCount, maxAgeMs, maxBytes);
+    }
+
+    public static RetentionPolicy unbounded() {
+        return new RetentionPolicy(0, 0, 0);
+    }
+
+    public boolean isBounded() {
+        return maxCount > 0 || maxAgeMs > 0 || maxBytes > 0;
+    }
+}
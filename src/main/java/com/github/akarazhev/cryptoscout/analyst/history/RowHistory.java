@@ -0,0 +1,213 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.history;
+
+import com.github.akarazhev.cryptoscout.analyst.codec.JsonReader;
+import com.github.akarazhev.cryptoscout.analyst.codec.JsonType;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Heap.BOXED_BYTES;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Heap.ENTRY_BYTES;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Heap.LIST_BYTES;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Heap.MAP_BYTES;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Heap.OBJECT_BYTES;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Heap.REFERENCE_BYTES;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Heap.SLOT_BYTES;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Heap.STRING_BYTES;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Storage.INITIAL_CAPACITY;
+
+/**
+ * Arrival-ordered history of collector rows that have no columnar layout, such as tickers, order books and trades.
+ * Rows sit in a ring with their arrival time and estimated size alongside, so the age and byte bounds are checked
+ * without touching the rows; the ring shrinks again once eviction leaves it mostly empty. Not thread-safe: the owning
+ * service touches it from its reactor only.
+ */
+public final class RowHistory implements BoundedHistory {
+    private final RetentionPolicy policy;
+    private Object[] rows = new Object[INITIAL_CAPACITY];
+    private long[] times = new long[INITIAL_CAPACITY];
+    private int[] sizes = new int[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+    private long bytes;
+    private long evictedCount;
+
+    public static RowHistory create(final RetentionPolicy policy) {
+        return new RowHistory(policy);
+    }
+
+    private RowHistory(final RetentionPolicy policy) {
+        this.policy = policy;
+    }
+
+    public void appendAll(final List<Map<String, Object>> values, final long now) {
+        for (final var row : values) {
+            append(row, now);
+        }
+    }
+
+    /**
+     * Appends the rows of the value array of a response chunk one at a time as they are read, consuming it. Elements
+     * that are not objects are skipped.
+     */
+    public void appendAll(final JsonReader values, final long now) {
+        values.beginArray();
+        while (values.hasNext()) {
+            if (values.peek() == JsonType.OBJECT) {
+                append(values.readObject(), now);
+            } else {
+                values.skipValue();
+            }
+        }
+
+        values.endArray();
+    }
+
+    /**
+     * Oldest retained row, or {@code null} if empty.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> peek() {
+        return size == 0 ? null : (Map<String, Object>) rows[head];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return bytes + (long) rows.length * SLOT_BYTES;
+    }
+
+    @Override
+    public long getEvictedCount() {
+        return evictedCount;
+    }
+
+    @Override
+    public int evict(final long now, final int budget) {
+        // Ages are measured from arrival: backfilled rows are kept as long as live ones
+        final var maxCount = policy.maxCount();
+        final var expiry = policy.maxAgeMs() > 0 ? now - policy.maxAgeMs() : Long.MIN_VALUE;
+        final var maxBytes = policy.maxBytes();
+        var evicted = 0;
+        while (evicted < budget && size > 0 && ((maxCount > 0 && size > maxCount) || times[head] < expiry ||
+                (maxBytes > 0 && bytes > maxBytes))) {
+            bytes -= sizes[head];
+            rows[head] = null;
+            head = (head + 1) & (rows.length - 1);
+            size--;
+            evicted++;
+        }
+
+        var capacity = rows.length;
+        while (capacity > INITIAL_CAPACITY && size < capacity >>> 2) {
+            capacity >>>= 1;
+        }
+
+        if (capacity < rows.length) {
+            resize(capacity);
+        }
+
+        evictedCount += evicted;
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        rows = new Object[INITIAL_CAPACITY];
+        times = new long[INITIAL_CAPACITY];
+        sizes = new int[INITIAL_CAPACITY];
+        head = 0;
+        size = 0;
+        bytes = 0;
+    }
+
+    private void append(final Map<String, Object> row, final long now) {
+        if (size == rows.length) {
+            resize(rows.length << 1);
+        }
+
+        final var slot = (head + size++) & (rows.length - 1);
+        final var estimate = (int) Math.min(Integer.MAX_VALUE, estimate(row));
+        rows[slot] = row;
+        times[slot] = now;
+        sizes[slot] = estimate;
+        bytes += estimate;
+    }
+
+    private void resize(final int capacity) {
+        final var newRows = new Object[capacity];
+        final var newTimes = new long[capacity];
+        final var newSizes = new int[capacity];
+        final var first = Math.min(size, rows.length - head);
+        System.arraycopy(rows, head, newRows, 0, first);
+        System.arraycopy(rows, 0, newRows, first, size - first);
+        System.arraycopy(times, head, newTimes, 0, first);
+        System.arraycopy(times, 0, newTimes, first, size - first);
+        System.arraycopy(sizes, head, newSizes, 0, first);
+        System.arraycopy(sizes, 0, newSizes, first, size - first);
+        rows = newRows;
+        times = newTimes;
+        sizes = newSizes;
+        head = 0;
+    }
+
+    /**
+     * Rough retained size of a parsed JSON value, computed once per row on arrival.
+     */
+    static long estimate(final Object value) {
+        return switch (value) {
+            case null -> 0;
+            case String text -> STRING_BYTES + text.length();
+            case Number _ -> BOXED_BYTES;
+            case Boolean _ -> 0;
+            case Map<?, ?> map -> {
+                var total = MAP_BYTES + (long) map.size() * ENTRY_BYTES;
+                for (final var entry : map.entrySet()) {
+                    total += estimate(entry.getKey()) + estimate(entry.getValue());
+                }
+
+                yield total;
+            }
+            case Collection<?> collection -> {
+                var total = LIST_BYTES + (long) collection.size() * REFERENCE_BYTES;
+                for (final var element : collection) {
+                    total += estimate(element);
+                }
+
+                yield total;
+            }
+            case Object[] array -> estimate(Arrays.asList(array));
+            default -> OBJECT_BYTES;
+        };
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.history;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Segment.COUNT_OFFSET;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Segment.HEADER_BYTES;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Segment.MAGIC;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Segment.MAGIC_OFFSET;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Segment.MAX_TIME_OFFSET;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Segment.NAME_FORMAT;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Segment.RECORD_BYTES;
+import static com.github.akarazhev.cryptoscout.analyst.history.Constants.Segment.SUFFIX;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only candle log of one symbol: numbered segment files of a fixed capacity, each memory-mapped. Only the last
+ * segment stays mapped for writing; the record count in its header is bumped after the record itself, so a crash
+ * never exposes a half-appended candle. An update of the newest candle overwrites its record in place, any other
+ * candle is appended and replays resolve repeated start times by last write. Each segment header also keeps the newest
+ * start time in the segment, so a replay skips segments that lie wholly before the retention bound, and a log that
+ * has piled up more records than the history retains is compacted into fresh segments.
+ * <p>
+ * The in-place update is not crash-safe. A process crash loses nothing, because the mapping lives in the page cache.
+ * A power loss or kernel crash during the rewrite can leave the newest record with fields of both versions, since a
+ * record may span two pages. Appending every update instead would grow the log by one record per live tick of an
+ * open candle. A torn record is corrected only by a later update of the same candle.
+ */
+final class SegmentLog {
+    private final Path directory;
+    private final int segmentCandles;
+    private int segmentIndex = -1;
+    private MappedByteBuffer tail;
+    private int tailCount;
+    private long tailMaxTime = Long.MIN_VALUE;
+    private long lastTime = Long.MIN_VALUE;
+    private long recordCount;
+
+    static SegmentLog open(final Path directory, final int segmentCandles) throws IOException {
+        final var log = new SegmentLog(directory, segmentCandles);
+        Files.createDirectories(directory);
+        final var segments = segments(directory);
+        if (!segments.isEmpty()) {
+            log.mapTail(segments.size() - 1);
+        }
+
+        return log;
+    }
+
+    private SegmentLog(final Path directory, final int segmentCandles) {
+        this.directory = directory;
+        this.segmentCandles = segmentCandles;
+    }
+
+    void append(final long time, final double open, final double high, final double low, final double close,
+                final double volume) throws IOException {
+        if (tailCount > 0 && time == lastTime) {
+            put(tailCount - 1, time, open, high, low, close, volume);
+            return;
+        }
+
+        if (tail == null || tailCount == segmentCandles) {
+            mapTail(segmentIndex + 1);
+        }
+
+        put(tailCount, time, open, high, low, close, volume);
+        if (time > tailMaxTime) {
+            // Raised before the count, so the header never claims less than the records it counts
+            tailMaxTime = time;
+            tail.putLong(MAX_TIME_OFFSET, time);
+        }
+
+        tail.putInt(COUNT_OFFSET, ++tailCount);
+        lastTime = time;
+        recordCount++;
+    }
+
+    /**
+     * Start time of the last written candle, {@link Long#MIN_VALUE} if none.
+     */
+    long lastTimestamp() {
+        return lastTime;
+    }
+
+    /**
+     * Records in all segments as of the last replay and the appends since, superseded ones included.
+     */
+    long recordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Feeds the records in write order, leaving out the segments whose candles all start before {@code oldest}.
+     */
+    void replay(final String symbol, final long oldest, final KlineStore.CandleSink sink) throws IOException {
+        recordCount = 0;
+        for (final var path : segments(directory)) {
+            final var buffer = map(path, FileChannel.MapMode.READ_ONLY);
+            final var count = buffer.getInt(COUNT_OFFSET);
+            recordCount += count;
+            if (buffer.getLong(MAX_TIME_OFFSET) < oldest) {
+                continue;
+            }
+
+            for (var i = 0; i < count; i++) {
+                final var offset = HEADER_BYTES + i * RECORD_BYTES;
+                sink.accept(symbol, buffer.getLong(offset), buffer.getDouble(offset + 8),
+                        buffer.getDouble(offset + 16), buffer.getDouble(offset + 24), buffer.getDouble(offset + 32),
+                        buffer.getDouble(offset + 40));
+            }
+        }
+    }
+
+    /**
+     * Rewrites the log as the given candles, or as nothing for {@code null}. They go to fresh segments, forced to disk
+     * before the older segments are deleted; a crash in between leaves both, and replay resolves the repeated candles
+     * by last write.
+     */
+    void compact(final KlineSeries series) throws IOException {
+        final var stale = segments(directory);
+        force();
+        tail = null;
+        tailCount = 0;
+        tailMaxTime = Long.MIN_VALUE;
+        lastTime = Long.MIN_VALUE;
+        recordCount = 0;
+        final var size = series != null ? series.size() : 0;
+        for (var i = 0; i < size; i++) {
+            append(series.timestamp(i), series.open(i), series.high(i), series.low(i), series.close(i),
+                    series.volume(i));
+        }
+
+        force();
+        for (final var path : stale) {
+            Files.delete(path);
+        }
+    }
+
+    void force() {
+        if (tail != null) {
+            tail.force();
+        }
+    }
+
+    private void put(final int index, final long time, final double open, final double high, final double low,
+                     final double close, final double volume) {
+        final var offset = HEADER_BYTES + index * RECORD_BYTES;
+        tail.putLong(offset, time)
+                .putDouble(offset + 8, open)
+                .putDouble(offset + 16, high)
+                .putDouble(offset + 24, low)
+                .putDouble(offset + 32, close)
+                .putDouble(offset + 40, volume);
+    }
+
+    private void mapTail(final int index) throws IOException {
+        force();
+        final var buffer = map(directory.resolve(String.format(NAME_FORMAT, index)), FileChannel.MapMode.READ_WRITE);
+        if (buffer.getInt(MAGIC_OFFSET) != MAGIC) {
+            buffer.putInt(COUNT_OFFSET, 0).putLong(MAX_TIME_OFFSET, Long.MIN_VALUE).putInt(MAGIC_OFFSET, MAGIC);
+        }
+
+        segmentIndex = index;
+        tail = buffer;
+        tailCount = buffer.getInt(COUNT_OFFSET);
+        tailMaxTime = buffer.getLong(MAX_TIME_OFFSET);
+        if (tailCount > 0) {
+            lastTime = buffer.getLong(HEADER_BYTES + (tailCount - 1) * RECORD_BYTES);
+        }
+    }
+
+    private MappedByteBuffer map(final Path path, final FileChannel.MapMode mode) throws IOException {
+        final var size = HEADER_BYTES + (long) segmentCandles * RECORD_BYTES;
+        final var writable = mode == FileChannel.MapMode.READ_WRITE;
+        try (final var channel = writable ? FileChannel.open(path, CREATE, READ, WRITE) :
+                FileChannel.open(path, READ)) {
+            if (!writable && channel.size() != size) {
+                throw new IOException("Unexpected kline segment size " + channel.size() + " of " + path);
+            }
+
+            final var buffer = channel.map(mode, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            // A fresh segment reads as zeros and gets its header on first write
+            final var magic = buffer.getInt(MAGIC_OFFSET);
+            if ((magic != MAGIC && !(writable && magic == 0)) || buffer.getInt(COUNT_OFFSET) > segmentCandles) {
+                throw new IOException("Not a kline segment " + path);
+            }
+
+            return buffer;
+        }
+    }
+
+    private static List<Path> segments(final Path directory) throws IOException {
+        try (final var files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.liquidation;
+
+import com.github.akarazhev.cryptoscout.analyst.model.LiquidationClusters;
+
+import java.util.Arrays;
+
+/**
+ * Pre-sized liquidation heatmap of one symbol: a ring of time buckets, each a row of price bands per side, plus the
+ * running totals of every band over the whole ring. Bands are fixed-width around a reference price; when a price falls
+ * outside them the rows are shifted just far enough to cover it, dropping the bands that leave the range. Memory per
+ * symbol is constant and old buckets are cleared as event time moves past them.
+ */
+final class Heatmap {
+    private final long bucketMs;
+    private final int buckets;
+    private final int bands;
+    private final double bandWidth;
+    private final double[] longRows;
+    private final double[] shortRows;
+    private final double[] longTotals;
+    private final double[] shortTotals;
+    private double bandSize = Double.NaN;
+    private double base;
+    private long head = Long.MIN_VALUE;
+    private long lastEvent;
+
+    Heatmap(final long bucketMs, final int buckets, final int bands, final double bandWidth) {
+        this.bucketMs = bucketMs;
+        this.buckets = buckets;
+        this.bands = bands;
+        this.bandWidth = bandWidth;
+        this.longRows = new double[buckets * bands];
+        this.shortRows = new double[buckets * bands];
+        this.longTotals = new double[bands];
+        this.shortTotals = new double[bands];
+    }
+
+    long lastEvent() {
+        return lastEvent;
+    }
+
+    void add(final long time, final boolean longPosition, final double price, final double size) {
+        advance(time);
+        final var id = Math.floorDiv(time, bucketMs);
+        if (id <= head - buckets || !(price > 0d)) {
+            return;
+        }
+
+        if (Double.isNaN(bandSize)) {
+            // The first price fixes the band size and is centered in the range
+            bandSize = price * bandWidth;
+            base = price - bands / 2d * bandSize;
+        }
+
+        // Kept in double until the range is known to cover it, so a far-off price cannot overflow the band index
+        final var position = Math.floor((price - base) / bandSize);
+        if (position < 0d || position >= bands) {
+            // Slide just far enough to cover the price, keeping as much of the map as possible
+            slide(position < 0d ? position : position - bands + 1);
+        }
+        // Rounding after a slide can put a price just past either edge of the range
+        final var band = Math.clamp((long) Math.floor((price - base) / bandSize), 0, bands - 1);
+
+        final var notional = price * size;
+        final var cell = slot(id) * bands + band;
+        if (longPosition) {
+            longRows[cell] += notional;
+            longTotals[band] += notional;
+        } else {
+            shortRows[cell] += notional;
+            shortTotals[band] += notional;
+        }
+
+        lastEvent = Math.max(lastEvent, time);
+    }
+
+    void advance(final long time) {
+        final var id = Math.floorDiv(time, bucketMs);
+        if (head == Long.MIN_VALUE) {
+            head = id;
+            return;
+        }
+
+        if (id <= head) {
+            return;
+        }
+
+        final var steps = Math.min(id - head, buckets);
+        for (var step = 1; step <= steps; step++) {
+            final var row = slot(head + step) * bands;
+            for (var band = 0; band < bands; band++) {
+                longTotals[band] -= longRows[row + band];
+                shortTotals[band] -= shortRows[row + band];
+            }
+
+            Arrays.fill(longRows, row, row + bands, 0d);
+            Arrays.fill(shortRows, row, row + bands, 0d);
+        }
+
+        head = id;
+        if (steps == buckets) {
+            // Everything expired; clear any rounding left in the totals
+            Arrays.fill(longTotals, 0d);
+            Arrays.fill(shortTotals, 0d);
+        }
+    }
+
+    LiquidationClusters clusters() {
+        var count = 0;
+        var longVolume = 0d;
+        var shortVolume = 0d;
+        var topLong = -1;
+        var topShort = -1;
+        for (var band = 0; band < bands; band++) {
+            if (longTotals[band] > 0d || shortTotals[band] > 0d) {
+                count++;
+            }
+
+            longVolume += longTotals[band];
+            shortVolume += shortTotals[band];
+            if (longTotals[band] > 0d && (topLong < 0 || longTotals[band] > longTotals[topLong])) {
+                topLong = band;
+            }
+
+            if (shortTotals[band] > 0d && (topShort < 0 || shortTotals[band] > shortTotals[topShort])) {
+                topShort = band;
+            }
+        }
+
+        final var prices = new double[count];
+        final var longs = new double[count];
+        final var shorts = new double[count];
+        var i = 0;
+        for (var band = 0; band < bands; band++) {
+            if (longTotals[band] > 0d || shortTotals[band] > 0d) {
+                prices[i] = price(band);
+                longs[i] = longTotals[band];
+                shorts[i] = shortTotals[band];
+                i++;
+            }
+        }
+
+        return new LiquidationClusters(bucketMs * buckets, bandSize, longVolume, shortVolume,
+                topLong >= 0 ? price(topLong) : Double.NaN, topLong >= 0 ? longTotals[topLong] : 0d,
+                topShort >= 0 ? price(topShort) : Double.NaN, topShort >= 0 ? shortTotals[topShort] : 0d, prices,
+                longs, shorts);
+    }
+
+    private double price(final int band) {
+        return base + band * bandSize;
+    }
+
+    private int slot(final long id) {
+        return (int) Math.floorMod(id, (long) buckets);
+    }
+
+    private void slide(final double shift) {
+        base += shift * bandSize;
+        // Any shift of a whole range or more clears the rows alike
+        final var rows = (int) Math.clamp(shift, -bands, bands);
+        for (var bucket = 0; bucket < buckets; bucket++) {
+            shift(longRows, bucket * bands, rows);
+            shift(shortRows, bucket * bands, rows);
+        }
+
+        shift(longTotals, 0, rows);
+        shift(shortTotals, 0, rows);
+    }
+
+    private void shift(final double[] values, final int from, final int shift) {
+        // Band b moves to b - shift; whatever would land outside the row is dropped
+        if (Math.abs(shift) >= bands) {
+            Arrays.fill(values, from, from + bands, 0d);
+        } else if (shift > 0) {
+            System.arraycopy(values, from + shift, values, from, bands - shift);
+            Arrays.fill(values, from + bands - shift, from + bands, 0d);
+        } else if (shift < 0) {
+            System.arraycopy(values, from, values, from - shift, bands + shift);
+            Arrays.fill(values, from, from - shift, 0d);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.liquidation;
+
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolSlots;
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolTable;
+import com.github.akarazhev.cryptoscout.analyst.codec.Topics;
+import com.github.akarazhev.cryptoscout.analyst.enrich.EnrichmentStage;
+import com.github.akarazhev.cryptoscout.analyst.model.AnalyzedLiquidations;
+import com.github.akarazhev.cryptoscout.analyst.model.Liquidations;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+
+import static com.github.akarazhev.cryptoscout.analyst.liquidation.Constants.Heatmap.BAND_WIDTH;
+import static com.github.akarazhev.cryptoscout.analyst.liquidation.Constants.Heatmap.EMIT_INTERVAL_MS;
+import static com.github.akarazhev.cryptoscout.analyst.liquidation.Constants.Heatmap.PRICE_BANDS;
+import static com.github.akarazhev.cryptoscout.analyst.liquidation.Constants.Heatmap.TIME_BUCKETS;
+import static com.github.akarazhev.cryptoscout.analyst.liquidation.Constants.Heatmap.TIME_BUCKET_MS;
+
+/**
+ * Buckets liquidations by symbol, side, price band and time into fixed-size heatmaps and attaches the cluster features
+ * to a symbol's liquidations at most once per emission interval of event time; in between, liquidations pass through
+ * unchanged. Symbols without a liquidation for a whole window are dropped on the next sweep, so memory follows the
+ * set of active symbols. Not thread-safe: each pipeline owns its engine.
+ */
+public final class LiquidationEngine implements EnrichmentStage {
+    private final SymbolSlots<State> states;
+    private final long windowMs = TIME_BUCKET_MS * TIME_BUCKETS;
+    private long lastSweep;
+
+    public static LiquidationEngine create(final SymbolTable symbols) {
+        return new LiquidationEngine(symbols);
+    }
+
+    private LiquidationEngine(final SymbolTable symbols) {
+        this.states = SymbolSlots.create(symbols);
+    }
+
+    @Override
+    public boolean accepts(final String topic) {
+        return Topics.isAllLiquidation(topic);
+    }
+
+    @Override
+    public Payload<?> apply(final Payload<?> payload) {
+        if (!(payload.getData() instanceof Liquidations liquidations) || liquidations.liquidations().length == 0) {
+            return payload;
+        }
+
+        final var symbol = liquidations.symbol();
+        final var state = states.computeIfAbsent(symbol, _ -> new State());
+        final var heatmap = state.heatmap;
+        for (final var liquidation : liquidations.liquidations()) {
+            heatmap.add(liquidation.time(), liquidation.longPosition(), liquidation.price(), liquidation.size());
+        }
+
+        final var now = liquidations.timestamp();
+        sweep(now);
+        if (state.lastEmit != Long.MIN_VALUE && now - state.lastEmit < EMIT_INTERVAL_MS) {
+            return payload;
+        }
+
+        state.lastEmit = now;
+        heatmap.advance(now);
+        return Payload.of(payload.getProvider(), payload.getSource(), new AnalyzedLiquidations(symbol, now,
+                liquidations.liquidations(), heatmap.clusters()));
+    }
+
+    public int getSymbolCount() {
+        return states.size();
+    }
+
+    private void sweep(final long now) {
+        if (now - lastSweep < windowMs) {
+            return;
+        }
+
+        lastSweep = now;
+        for (var id = 0; id < states.capacity(); id++) {
+            final var state = states.get(id);
+            if (state != null && now - state.heatmap.lastEvent() >= windowMs) {
+                states.remove(id);
+            }
+        }
+    }
+
+    private static final class State {
+        private final Heatmap heatmap = new Heatmap(TIME_BUCKET_MS, TIME_BUCKETS, PRICE_BANDS, BAND_WIDTH);
+        private long lastEmit = Long.MIN_VALUE;
+    }
+}
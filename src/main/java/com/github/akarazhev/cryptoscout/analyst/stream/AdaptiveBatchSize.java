@@ -0,0 +1,52 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+/**
+ * Micro-batch size that follows the observed backlog: a batch that fills up before its linger deadline means messages
+ * are queueing, so the target doubles; a batch released by the deadline shows how many actually arrived, and the target
+ * falls back towards that depth. Halving instead of resetting keeps a single quiet tick from undoing the ramp-up.
+ */
+final class AdaptiveBatchSize {
+    private final int max;
+    private int current;
+
+    AdaptiveBatchSize(final int max) {
+        this.max = Math.max(1, max);
+        this.current = 1;
+    }
+
+    int current() {
+        return current;
+    }
+
+    void onFull() {
+        current = Math.min(max, current << 1);
+    }
+
+    void onLinger(final int filled) {
+        current = Math.max(1, Math.max(filled, current >> 1));
+    }
+}
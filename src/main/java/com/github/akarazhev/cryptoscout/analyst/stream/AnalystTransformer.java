@@ -25,20 +25,47 @@
 package com.github.akarazhev.cryptoscout.analyst.stream;
 
 import com.github.akarazhev.cryptoscout.analyst.DataService;
+import com.github.akarazhev.cryptoscout.analyst.codec.PayloadView;
+import com.github.akarazhev.cryptoscout.config.AnalystConfig;
 import com.github.akarazhev.jcryptolib.stream.Payload;
 import com.github.akarazhev.jcryptolib.stream.Provider;
-import io.activej.datastream.processor.transformer.AbstractStreamTransformer;
-import io.activej.datastream.supplier.StreamDataAcceptor;
+import io.activej.datastream.consumer.AbstractStreamConsumer;
+import io.activej.datastream.consumer.StreamConsumer;
+import io.activej.datastream.processor.transformer.StreamTransformer;
+import io.activej.datastream.supplier.AbstractStreamSupplier;
+import io.activej.datastream.supplier.StreamSupplier;
+import io.activej.promise.Promise;
+import io.activej.reactor.ImplicitlyReactive;
+import io.activej.reactor.schedule.ScheduledRunnable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
-public final class AnalystTransformer extends AbstractStreamTransformer<StreamPayload, StreamPayload> {
+/**
+ * Runs up to {@code analyst.enrichment.max.in.flight} enrichments concurrently and emits their results strictly in
+ * source-offset order. Upstream is suspended while the window is full, so parallel enrichment never lets an offset be
+ * committed ahead of an earlier message that is still being processed. With {@code analyst.enrichment.batch.max.size}
+ * above one, payloads are grouped into micro-batches for {@link DataService#processBatchAsync}, capped at the window
+ * size; a batch is released when it reaches the adaptive target size, when the window is full or when its linger time
+ * runs out (at the end of the reactor tick for zero).
+ */
+public final class AnalystTransformer extends ImplicitlyReactive
+        implements StreamTransformer<StreamPayload, StreamPayload> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AnalystTransformer.class);
+    private final Input input = new Input();
+    private final Output output = new Output();
     private final DataService dataService;
-    private final Function<Payload<Map<String, Object>>, Payload<Map<String, Object>>> preprocessor;
+    private final Function<PayloadView, PayloadView> preprocessor;
+    private final Resequencer<StreamPayload> resequencer;
+    private final int maxInFlight;
+    private final AdaptiveBatchSize batchSize;
+    private final long batchLingerMs;
+    private List<StreamPayload> batch = new ArrayList<>();
+    private ScheduledRunnable lingerTimer;
+    private boolean lingerPosted;
 
     public static AnalystTransformer createForBybit(final DataService dataService) {
         return new AnalystTransformer(dataService, AnalystTransformer::bybitPreprocessor);
@@ -49,63 +76,252 @@ public final class AnalystTransformer extends AbstractStreamTransformer<StreamPa
     }
 
     private AnalystTransformer(final DataService dataService,
-                               final Function<Payload<Map<String, Object>>, Payload<Map<String, Object>>> preprocessor) {
-        super();
+                               final Function<PayloadView, PayloadView> preprocessor) {
         this.dataService = dataService;
         this.preprocessor = preprocessor;
+        this.maxInFlight = AnalystConfig.getEnrichmentMaxInFlight();
+        this.resequencer = new Resequencer<>(maxInFlight);
+        // A batch never outgrows the window: the window filling up is what releases it
+        final var maxBatchSize = Math.min(AnalystConfig.getEnrichmentBatchMaxSize(), maxInFlight);
+        this.batchSize = maxBatchSize > 1 ? new AdaptiveBatchSize(maxBatchSize) : null;
+        this.batchLingerMs = AnalystConfig.getEnrichmentBatchLingerMs();
     }
 
     @Override
-    protected StreamDataAcceptor<StreamPayload> onResumed(final StreamDataAcceptor<StreamPayload> output) {
-        return in -> {
-            try {
-                final var payload = in.payload();
-                if (payload == null) {
-                    output.accept(new StreamPayload(in.stream(), in.offset(), null));
-                    return;
-                }
-
-                final var preprocessed = preprocessor.apply(payload);
-                if (preprocessed == null) {
-                    output.accept(new StreamPayload(in.stream(), in.offset(), null));
-                    return;
-                }
-
-                dataService.processAsync(preprocessed)
-                        .whenResult(result -> {
-                            if (reactor.inReactorThread()) {
-                                output.accept(new StreamPayload(in.stream(), in.offset(), result));
-                            } else {
-                                reactor.execute(() -> output.accept(new StreamPayload(in.stream(), in.offset(), result)));
-                            }
-                        })
+    public StreamConsumer<StreamPayload> getInput() {
+        return input;
+    }
+
+    @Override
+    public StreamSupplier<StreamPayload> getOutput() {
+        return output;
+    }
+
+    public int getInFlightCount() {
+        return resequencer.size();
+    }
+
+    private void process(final StreamPayload in) {
+        resequencer.register(in.offset());
+        try {
+            final var payload = in.payload();
+            if (payload == null) {
+                complete(new StreamPayload(in.stream(), in.offset(), null));
+                return;
+            }
+
+            final var preprocessed = preprocessor.apply(payload);
+            if (preprocessed == null) {
+                complete(new StreamPayload(in.stream(), in.offset(), null));
+                return;
+            }
+            // No enrichment stage takes this topic, so forward it undecoded; an unchanged view keeps its raw bytes
+            if (dataService.isPassthrough(preprocessed)) {
+                complete(preprocessed == payload ? in : new StreamPayload(in.stream(), in.offset(), preprocessed));
+                return;
+            }
+
+            if (batchSize != null) {
+                addToBatch(new StreamPayload(in.stream(), in.offset(), preprocessed));
+            } else {
+                final var input = preprocessed.toPayload();
+                dataService.processAsync(input)
+                        .whenResult(result -> onReactor(() -> complete(new StreamPayload(in.stream(), in.offset(),
+                                viewOf(result, input, preprocessed)))))
                         .whenException(error -> {
                             LOGGER.error("DataService processing error at offset {} for stream {}: {}",
                                     in.offset(), in.stream(), error.getMessage(), error);
-                            if (reactor.inReactorThread()) {
-                                output.accept(new StreamPayload(in.stream(), in.offset(), null));
-                            } else {
-                                reactor.execute(() -> output.accept(new StreamPayload(in.stream(), in.offset(), null)));
-                            }
+                            onReactor(() -> complete(new StreamPayload(in.stream(), in.offset(), null)));
                         });
-            } catch (final Exception ex) {
-                LOGGER.error("AnalystTransformer failed at offset {} for stream {}: {}",
-                        in.offset(), in.stream(), ex.getMessage(), ex);
-                output.accept(new StreamPayload(in.stream(), in.offset(), null));
             }
-        };
+        } catch (final Exception ex) {
+            LOGGER.error("AnalystTransformer failed at offset {} for stream {}: {}",
+                    in.offset(), in.stream(), ex.getMessage(), ex);
+            complete(new StreamPayload(in.stream(), in.offset(), null));
+            return;
+        }
+
+        if (resequencer.size() >= maxInFlight) {
+            // Nothing more can arrive to fill the batch, so waiting for the linger time would only add latency
+            sendBatch();
+            // A batch enriched inline has already drained the window and resumed the input
+            if (resequencer.size() >= maxInFlight) {
+                input.suspend();
+            }
+        }
+    }
+
+    private void addToBatch(final StreamPayload entry) {
+        batch.add(entry);
+        if (batch.size() >= batchSize.current()) {
+            batchSize.onFull();
+            sendBatch();
+        } else if (batch.size() == 1) {
+            if (batchLingerMs > 0) {
+                lingerTimer = reactor.delay(batchLingerMs, this::onLinger);
+            } else if (!lingerPosted) {
+                lingerPosted = true;
+                reactor.post(this::onLinger);
+            }
+        }
+    }
+
+    private void onLinger() {
+        lingerTimer = null;
+        lingerPosted = false;
+        if (!batch.isEmpty()) {
+            batchSize.onLinger(batch.size());
+            sendBatch();
+        }
+    }
+
+    private void sendBatch() {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        if (lingerTimer != null) {
+            lingerTimer.cancel();
+            lingerTimer = null;
+        }
+
+        final var entries = batch;
+        batch = new ArrayList<>(batchSize.current());
+        final var payloads = new ArrayList<Payload<?>>(entries.size());
+        for (final var entry : entries) {
+            // Every entry is already in the resequencer, so one that fails to decode goes through as dropped
+            payloads.add(decode(entry));
+        }
+
+        Promise<List<Payload<?>>> enriched;
+        try {
+            enriched = dataService.processBatchAsync(payloads);
+        } catch (final RuntimeException ex) {
+            // A stage failing inline throws rather than failing the promise; the batch is completed all the same
+            enriched = Promise.ofException(ex);
+        }
+
+        enriched.whenResult(results -> onReactor(() -> completeBatch(entries, payloads, results)))
+                .whenException(error -> {
+                    LOGGER.error("DataService batch error at offsets {}..{} for stream {}: {}",
+                            entries.getFirst().offset(), entries.getLast().offset(), entries.getFirst().stream(),
+                            error.getMessage(), error);
+                    onReactor(() -> completeBatch(entries, payloads, null));
+                });
+    }
+
+    private static Payload<?> decode(final StreamPayload entry) {
+        try {
+            return entry.payload().toPayload();
+        } catch (final RuntimeException ex) {
+            LOGGER.error("Failed to decode payload at offset {} for stream {}: {}", entry.offset(), entry.stream(),
+                    ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    private void completeBatch(final List<StreamPayload> entries, final List<Payload<?>> payloads,
+                               final List<Payload<?>> results) {
+        for (var i = 0; i < entries.size(); i++) {
+            final var entry = entries.get(i);
+            final var result = results != null ? results.get(i) : null;
+            resequencer.complete(entry.offset(), new StreamPayload(entry.stream(), entry.offset(),
+                    viewOf(result, payloads.get(i), entry.payload())));
+        }
+
+        flush();
+    }
+
+    private void onReactor(final Runnable runnable) {
+        if (reactor.inReactorThread()) {
+            runnable.run();
+        } else {
+            reactor.execute(runnable);
+        }
+    }
+
+    private void complete(final StreamPayload result) {
+        resequencer.complete(result.offset(), result);
+        flush();
+    }
+
+    private void flush() {
+        while (output.isReady()) {
+            final var ready = resequencer.pollReady();
+            if (ready == null) {
+                break;
+            }
+
+            output.send(ready);
+        }
+
+        if (input.isEndOfStream()) {
+            if (resequencer.size() == 0) {
+                output.sendEndOfStream();
+            }
+        } else if (output.isReady() && resequencer.size() < maxInFlight) {
+            input.resume(this::process);
+        }
     }
 
+    private static PayloadView viewOf(final Payload<?> result, final Payload<?> input, final PayloadView view) {
+        if (result == null) {
+            return null;
+        }
+        // A stage that left the payload alone keeps the view, and with it any raw bytes the publisher can forward
+        return result == input ? view : view.withResult(result);
+    }
 
-    private static Payload<Map<String, Object>> bybitPreprocessor(final Payload<Map<String, Object>> payload) {
+    private static PayloadView bybitPreprocessor(final PayloadView payload) {
+        // Filtering looks at the envelope only, so rejected messages never have their data decoded
         if (!Provider.BYBIT.equals(payload.getProvider())) {
             return null;
         }
 
-        return Payload.of(Provider.BYBIT_TA, payload.getSource(), payload.getData());
+        return payload.withProvider(Provider.BYBIT_TA);
     }
 
-    private static Payload<Map<String, Object>> cryptoScoutPreprocessor(final Payload<Map<String, Object>> payload) {
+    private static PayloadView cryptoScoutPreprocessor(final PayloadView payload) {
         return payload;
     }
+
+    private final class Input extends AbstractStreamConsumer<StreamPayload> {
+
+        @Override
+        protected void onEndOfStream() {
+            if (batchSize != null) {
+                sendBatch();
+            }
+
+            flush();
+        }
+
+        @Override
+        protected void onError(final Exception e) {
+            output.closeEx(e);
+        }
+    }
+
+    private final class Output extends AbstractStreamSupplier<StreamPayload> {
+
+        @Override
+        protected void onResumed() {
+            flush();
+        }
+
+        @Override
+        protected void onSuspended() {
+            input.suspend();
+        }
+
+        @Override
+        protected void onAcknowledge() {
+            input.acknowledge();
+        }
+
+        @Override
+        protected void onError(final Exception e) {
+            input.closeEx(e);
+        }
+    }
 }
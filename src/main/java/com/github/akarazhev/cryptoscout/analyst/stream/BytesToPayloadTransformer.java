@@ -24,32 +24,36 @@
 
 package com.github.akarazhev.cryptoscout.analyst.stream;
 
-import com.github.akarazhev.jcryptolib.stream.Payload;
-import com.github.akarazhev.jcryptolib.util.JsonUtils;
+import com.github.akarazhev.cryptoscout.analyst.codec.DecoderRegistry;
+import com.github.akarazhev.cryptoscout.analyst.codec.PayloadDecoder;
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolTable;
 import io.activej.datastream.processor.transformer.AbstractStreamTransformer;
 import io.activej.datastream.supplier.StreamDataAcceptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
-
-@SuppressWarnings("unchecked")
 public final class BytesToPayloadTransformer extends AbstractStreamTransformer<StreamIn, StreamPayload> {
     private static final Logger LOGGER = LoggerFactory.getLogger(BytesToPayloadTransformer.class);
+    private final PayloadDecoder decoder;
 
     public static BytesToPayloadTransformer create() {
-        return new BytesToPayloadTransformer();
+        return new BytesToPayloadTransformer(PayloadDecoder.create());
+    }
+
+    public static BytesToPayloadTransformer createForBybit(final SymbolTable symbols) {
+        return new BytesToPayloadTransformer(PayloadDecoder.create(DecoderRegistry.createForBybit(symbols)));
     }
 
-    private BytesToPayloadTransformer() {
+    private BytesToPayloadTransformer(final PayloadDecoder decoder) {
         super();
+        this.decoder = decoder;
     }
 
     @Override
     protected StreamDataAcceptor<StreamIn> onResumed(final StreamDataAcceptor<StreamPayload> output) {
         return in -> {
             try {
-                final var payload = (Payload<Map<String, Object>>) JsonUtils.bytes2Object(in.body(), Payload.class);
+                final var payload = decoder.decodeView(in.body(), in.bodyOffset(), in.bodyLength());
                 output.accept(new StreamPayload(in.stream(), in.offset(), payload));
             } catch (final Exception ex) {
                 // Skip malformed messages but log for observability
@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+import com.rabbitmq.stream.compression.Compression;
+import com.rabbitmq.stream.compression.CompressionCodec;
+import com.rabbitmq.stream.compression.CompressionCodecFactory;
+import com.rabbitmq.stream.compression.DefaultCompressionCodecFactory;
+import io.activej.jmx.api.attribute.JmxAttribute;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compression codec factory for the stream environment that measures the bytes going into and out of sub-entry
+ * compression. Codecs are the client's defaults; counting happens on the client I/O threads.
+ */
+public final class CompressionStats implements CompressionCodecFactory {
+    private final CompressionCodecFactory delegate = new DefaultCompressionCodecFactory();
+    private final LongAdder uncompressedBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+
+    public static CompressionStats create() {
+        return new CompressionStats();
+    }
+
+    private CompressionStats() {
+    }
+
+    @Override
+    public CompressionCodec get(final Compression compression) {
+        final var codec = delegate.get(compression);
+        return codec != null ? new MeteredCodec(codec) : null;
+    }
+
+    @JmxAttribute
+    public long getUncompressedBytes() {
+        return uncompressedBytes.sum();
+    }
+
+    @JmxAttribute
+    public long getCompressedBytes() {
+        return compressedBytes.sum();
+    }
+
+    @JmxAttribute
+    public double getCompressionRatio() {
+        final var compressed = compressedBytes.sum();
+        return compressed > 0 ? (double) uncompressedBytes.sum() / compressed : 0d;
+    }
+
+    private final class MeteredCodec implements CompressionCodec {
+        private final CompressionCodec codec;
+
+        private MeteredCodec(final CompressionCodec codec) {
+            this.codec = codec;
+        }
+
+        @Override
+        public int maxCompressedLength(final int sourceLength) {
+            return codec.maxCompressedLength(sourceLength);
+        }
+
+        @Override
+        public OutputStream compress(final OutputStream outputStream) {
+            final var sink = new CountingStream(outputStream);
+            return new CountingStream(codec.compress(sink)) {
+
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    uncompressedBytes.add(count);
+                    compressedBytes.add(sink.count);
+                }
+            };
+        }
+
+        @Override
+        public InputStream decompress(final InputStream inputStream) {
+            return codec.decompress(inputStream);
+        }
+
+        @Override
+        public byte code() {
+            return codec.code();
+        }
+    }
+
+    private static class CountingStream extends FilterOutputStream {
+        long count;
+
+        private CountingStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+import java.time.Duration;
+
+final class Constants {
+    private Constants() {
+        throw new UnsupportedOperationException();
+    }
+
+    final static class Buffer {
+        private Buffer() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Back-off of a producer spinning on a full ring buffer
+        static final long FULL_PARK_NANOS = 50_000L;
+    }
+
+    final static class Stats {
+        private Stats() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final Duration SMOOTHING_WINDOW = Duration.ofMinutes(1);
+    }
+
+    final static class Routing {
+        private Routing() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final String TOPIC = "topic";
+        static final String SYMBOL = "symbol";
+        static final String SCHEMA = "schema";
+        static final String VERSION = "version";
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+import io.activej.jmx.api.attribute.JmxAttribute;
+import io.activej.jmx.stats.ValueStats;
+
+import static com.github.akarazhev.cryptoscout.analyst.stream.Constants.Stats.SMOOTHING_WINDOW;
+
+/**
+ * Handoff metrics of a {@link MessageSupplier}: the number of messages pushed downstream per drain and the time
+ * between scheduling a drain and running it on the reactor.
+ */
+public final class HandoffStats {
+    private final ValueStats batchSize = ValueStats.builder(SMOOTHING_WINDOW)
+            .withUnit("messages")
+            .withRate()
+            .build();
+    private final ValueStats drainLatency = ValueStats.builder(SMOOTHING_WINDOW)
+            .withUnit("microseconds")
+            .build();
+
+    public static HandoffStats create() {
+        return new HandoffStats();
+    }
+
+    private HandoffStats() {
+    }
+
+    void recordDrain(final int count, final long latencyNanos) {
+        batchSize.recordValue(count);
+        drainLatency.recordValue(latencyNanos / 1_000d);
+    }
+
+    @JmxAttribute
+    public ValueStats getBatchSize() {
+        return batchSize;
+    }
+
+    @JmxAttribute
+    public ValueStats getDrainLatency() {
+        return drainLatency;
+    }
+}
@@ -24,27 +24,104 @@
 
 package com.github.akarazhev.cryptoscout.analyst.stream;
 
+import com.github.akarazhev.cryptoscout.analyst.codec.BodySlice;
+import com.rabbitmq.stream.Message;
+import com.rabbitmq.stream.MessageHandler;
 import io.activej.datastream.supplier.AbstractStreamSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.github.akarazhev.cryptoscout.analyst.stream.Constants.Buffer.FULL_PARK_NANOS;
+
+/**
+ * Bounded handoff between the stream client thread and the reactor. Messages are parked in a lock-free ring buffer
+ * and drained in batches by a single scheduled task on the reactor, only while the downstream is ready. The message
+ * is reported as processed to the stream consumer once it leaves the buffer, so with a manual flow strategy the
+ * broker stops granting credits as soon as the pipeline is saturated.
+ */
 public final class MessageSupplier extends AbstractStreamSupplier<StreamIn> {
     private static final Logger LOGGER = LoggerFactory.getLogger(MessageSupplier.class);
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private final MpscRingBuffer<Pending> buffer;
+    private final int maxBatchSize;
+    private final HandoffStats stats;
+    private volatile long drainScheduledAt;
+    private volatile boolean closed;
 
-    public static MessageSupplier create() {
-        return new MessageSupplier();
+    public static MessageSupplier create(final int capacity, final int maxBatchSize, final HandoffStats stats) {
+        return new MessageSupplier(capacity, maxBatchSize, stats);
     }
 
-    private MessageSupplier() {
+    private MessageSupplier(final int capacity, final int maxBatchSize, final HandoffStats stats) {
         super();
+        this.buffer = new MpscRingBuffer<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.stats = stats;
+    }
+
+    public void enqueue(final MessageHandler.Context context, final Message message) throws InterruptedException {
+        // A sliced body is passed on as is; it stays reachable only until the payload has been decoded
+        final var in = message instanceof BodySlice slice ?
+                new StreamIn(context.stream(), context.offset(), slice.array(), slice.offset(), slice.length()) :
+                new StreamIn(context.stream(), context.offset(), message.getBodyAsBinary());
+        final var pending = new Pending(in, context);
+        // Spins on the stream client thread only if the broker outpaces the credits granted so far
+        while (!buffer.offer(pending)) {
+            if (closed) {
+                return;
+            }
+
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+
+        scheduleDrain();
+    }
+
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            drainScheduledAt = System.nanoTime();
+            reactor.execute(this::drain);
+        }
     }
 
-    public void enqueue(final String stream, final long offset, final byte[] body) {
-        // Ensure we schedule send on reactor thread
-        if (reactor.inReactorThread()) {
-            send(new StreamIn(stream, offset, body));
-        } else {
-            reactor.execute(() -> send(new StreamIn(stream, offset, body)));
+    private void drain() {
+        final var latency = System.nanoTime() - drainScheduledAt;
+        drainScheduled.set(false);
+        var count = 0;
+        while (count < maxBatchSize && isReady()) {
+            final var pending = buffer.poll();
+            if (pending == null) {
+                break;
+            }
+
+            send(pending.in());
+            pending.context().processed();
+            count++;
+        }
+
+        if (count > 0) {
+            stats.recordDrain(count, latency);
+        }
+        // Leave the rest to the next tick so a large backlog does not starve other reactor tasks
+        if (isReady() && !buffer.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    @Override
+    protected void onResumed() {
+        if (!buffer.isEmpty()) {
+            scheduleDrain();
         }
     }
 
@@ -52,4 +129,13 @@ public final class MessageSupplier extends AbstractStreamSupplier<StreamIn> {
     protected void onError(final Exception e) {
         LOGGER.error("RabbitMessageSupplier error: {}", e.getMessage(), e);
     }
+
+    @Override
+    protected void onCleanup() {
+        closed = true;
+        buffer.clear();
+    }
+
+    private record Pending(StreamIn in, MessageHandler.Context context) {
+    }
 }
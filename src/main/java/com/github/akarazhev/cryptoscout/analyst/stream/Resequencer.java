@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+/**
+ * Restores registration order of results that complete out of order. Keys are registered in arrival order and may
+ * repeat; a completion is matched to the oldest pending slot with the same key. Results are released strictly from
+ * the head, so nothing overtakes an earlier message that is still in flight.
+ */
+final class Resequencer<T> {
+    private long[] keys;
+    private Object[] values;
+    private int head;
+    private int size;
+
+    Resequencer(final int initialCapacity) {
+        final var capacity = Integer.highestOneBit(Math.max(2, initialCapacity) - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+    }
+
+    void register(final long key) {
+        if (size == keys.length) {
+            grow();
+        }
+
+        final var index = (head + size) & (keys.length - 1);
+        keys[index] = key;
+        values[index] = null;
+        size++;
+    }
+
+    boolean complete(final long key, final T value) {
+        final var mask = keys.length - 1;
+        // Completions mostly arrive close to the head, so a forward scan is cheaper than any index structure
+        for (var i = 0; i < size; i++) {
+            final var index = (head + i) & mask;
+            if (keys[index] == key && values[index] == null) {
+                values[index] = value;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    T pollReady() {
+        if (size == 0 || values[head] == null) {
+            return null;
+        }
+
+        final var value = (T) values[head];
+        values[head] = null;
+        head = (head + 1) & (keys.length - 1);
+        size--;
+        return value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        final var capacity = keys.length << 1;
+        final var newKeys = new long[capacity];
+        final var newValues = new Object[capacity];
+        for (var i = 0; i < size; i++) {
+            final var index = (head + i) & (keys.length - 1);
+            newKeys[i] = keys[index];
+            newValues[i] = values[index];
+        }
+
+        keys = newKeys;
+        values = newValues;
+        head = 0;
+    }
+}
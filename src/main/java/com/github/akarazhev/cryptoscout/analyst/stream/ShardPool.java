@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+import io.activej.eventloop.Eventloop;
+import io.activej.reactor.nio.NioReactor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed set of worker reactors, each running its own eventloop on a dedicated thread. The reactors outlive a stop,
+ * so the pool can be started again with the same reactors on new threads.
+ */
+public final class ShardPool {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardPool.class);
+    private final List<Eventloop> eventloops = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private final String name;
+
+    public static ShardPool create(final String name, final int size) {
+        return new ShardPool(name, size);
+    }
+
+    private ShardPool(final String name, final int size) {
+        this.name = name;
+        for (var i = 0; i < size; i++) {
+            eventloops.add(Eventloop.builder()
+                    .withThreadName(name + "-" + i)
+                    .build());
+        }
+    }
+
+    public List<NioReactor> getReactors() {
+        return List.copyOf(eventloops);
+    }
+
+    public int size() {
+        return eventloops.size();
+    }
+
+    public void start() {
+        if (!threads.isEmpty()) {
+            return;
+        }
+
+        // A stopped thread cannot run again, so every start runs the eventloops on fresh threads
+        for (var i = 0; i < eventloops.size(); i++) {
+            final var eventloop = eventloops.get(i);
+            eventloop.keepAlive(true);
+            final var thread = new Thread(eventloop, name + "-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+
+        LOGGER.info("Started {} shard reactors", threads.size());
+    }
+
+    public void stop() throws InterruptedException {
+        if (threads.isEmpty()) {
+            // A break queued on an idle eventloop would end its next run as soon as it starts
+            return;
+        }
+
+        for (final var eventloop : eventloops) {
+            eventloop.execute(() -> {
+                eventloop.keepAlive(false);
+                eventloop.breakEventloop();
+            });
+        }
+
+        for (final var thread : threads) {
+            thread.join();
+        }
+
+        LOGGER.info("Stopped {} shard reactors", threads.size());
+        threads.clear();
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+import io.activej.datastream.consumer.AbstractStreamConsumer;
+import io.activej.datastream.consumer.StreamConsumer;
+import io.activej.datastream.processor.transformer.StreamTransformer;
+import io.activej.datastream.supplier.AbstractStreamSupplier;
+import io.activej.datastream.supplier.StreamSupplier;
+import io.activej.reactor.ImplicitlyReactive;
+import io.activej.reactor.nio.NioReactor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Routes payloads by symbol to a fixed set of shard reactors, each running its own transformer, and merges the results
+ * back in source-offset order so the downstream publisher commits offsets monotonically.
+ */
+public final class ShardedTransformer extends ImplicitlyReactive
+        implements StreamTransformer<StreamPayload, StreamPayload> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardedTransformer.class);
+    private final Input input = new Input();
+    private final Output output = new Output();
+    private final Shard[] shards;
+    private final Resequencer<StreamPayload> resequencer;
+    private final int maxInFlight;
+
+    public static ShardedTransformer create(final List<NioReactor> reactors, final int maxInFlight,
+                                            final Function<NioReactor, StreamTransformer<StreamPayload, StreamPayload>> factory) {
+        return new ShardedTransformer(reactors, maxInFlight, factory);
+    }
+
+    private ShardedTransformer(final List<NioReactor> reactors, final int maxInFlight,
+                               final Function<NioReactor, StreamTransformer<StreamPayload, StreamPayload>> factory) {
+        this.maxInFlight = maxInFlight;
+        this.resequencer = new Resequencer<>(Math.min(maxInFlight, 1024));
+        this.shards = new Shard[reactors.size()];
+        for (var i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(reactors.get(i), factory);
+        }
+    }
+
+    @Override
+    public StreamConsumer<StreamPayload> getInput() {
+        return input;
+    }
+
+    @Override
+    public StreamSupplier<StreamPayload> getOutput() {
+        return output;
+    }
+
+    public int getInFlightCount() {
+        return resequencer.size();
+    }
+
+    private void route(final StreamPayload in) {
+        resequencer.register(in.offset());
+        if (in.payload() == null) {
+            resequencer.complete(in.offset(), in);
+            flush();
+            return;
+        }
+
+        shards[Math.floorMod(Symbols.of(in.payload()).hashCode(), shards.length)].send(in);
+        if (resequencer.size() >= maxInFlight) {
+            input.suspend();
+        }
+    }
+
+    private void onShardResult(final StreamPayload result) {
+        if (!resequencer.complete(result.offset(), result)) {
+            LOGGER.warn("Unexpected shard result at offset {} for stream {}", result.offset(), result.stream());
+            return;
+        }
+
+        flush();
+    }
+
+    private void flush() {
+        while (output.isReady()) {
+            final var ready = resequencer.pollReady();
+            if (ready == null) {
+                break;
+            }
+
+            output.send(ready);
+        }
+
+        if (input.isEndOfStream()) {
+            if (resequencer.size() == 0) {
+                output.sendEndOfStream();
+            }
+        } else if (output.isReady() && resequencer.size() < maxInFlight) {
+            input.resume(this::route);
+        }
+    }
+
+    private final class Input extends AbstractStreamConsumer<StreamPayload> {
+
+        @Override
+        protected void onEndOfStream() {
+            for (final var shard : shards) {
+                shard.end();
+            }
+
+            flush();
+        }
+
+        @Override
+        protected void onError(final Exception e) {
+            for (final var shard : shards) {
+                shard.close(e);
+            }
+
+            output.closeEx(e);
+        }
+    }
+
+    private final class Output extends AbstractStreamSupplier<StreamPayload> {
+
+        @Override
+        protected void onResumed() {
+            flush();
+        }
+
+        @Override
+        protected void onSuspended() {
+            input.suspend();
+        }
+
+        @Override
+        protected void onAcknowledge() {
+            input.acknowledge();
+        }
+
+        @Override
+        protected void onError(final Exception e) {
+            input.closeEx(e);
+        }
+    }
+
+    /**
+     * Shard-side pipeline; every field below {@code reactor} is touched only on the shard reactor thread.
+     */
+    private final class Shard {
+        private final NioReactor reactor;
+        private ShardSupplier supplier;
+
+        private Shard(final NioReactor reactor,
+                      final Function<NioReactor, StreamTransformer<StreamPayload, StreamPayload>> factory) {
+            this.reactor = reactor;
+            reactor.execute(() -> {
+                supplier = new ShardSupplier();
+                supplier.transformWith(factory.apply(reactor))
+                        .streamTo(new ShardConsumer());
+            });
+        }
+
+        private void send(final StreamPayload in) {
+            reactor.execute(() -> supplier.send(in));
+        }
+
+        private void end() {
+            reactor.execute(() -> supplier.sendEndOfStream());
+        }
+
+        private void close(final Exception e) {
+            reactor.execute(() -> supplier.closeEx(e));
+        }
+    }
+
+    private static final class ShardSupplier extends AbstractStreamSupplier<StreamPayload> {
+    }
+
+    private final class ShardConsumer extends AbstractStreamConsumer<StreamPayload> {
+
+        @Override
+        protected void onStarted() {
+            resume(result -> ShardedTransformer.this.reactor.execute(() -> onShardResult(result)));
+        }
+
+        @Override
+        protected void onEndOfStream() {
+            acknowledge();
+        }
+
+        @Override
+        protected void onError(final Exception e) {
+            LOGGER.error("Shard pipeline error", e);
+        }
+    }
+}
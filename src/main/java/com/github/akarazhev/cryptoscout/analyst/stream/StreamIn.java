@@ -24,5 +24,16 @@
 
 package com.github.akarazhev.cryptoscout.analyst.stream;
 
-public record StreamIn(String stream, long offset, byte[] body) {
+/**
+ * Source message as handed over by the stream client. The body may be a slice of a larger buffer.
+ */
+public record StreamIn(String stream, long offset, byte[] body, int bodyOffset, int bodyLength) {
+
+    public StreamIn(final String stream, final long offset, final byte[] body) {
+        this(stream, offset, body, 0, body.length);
+    }
+
+    public boolean isSlice() {
+        return bodyOffset != 0 || bodyLength != body.length;
+    }
 }
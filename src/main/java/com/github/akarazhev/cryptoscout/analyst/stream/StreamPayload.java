@@ -24,9 +24,10 @@
 
 package com.github.akarazhev.cryptoscout.analyst.stream;
 
-import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.cryptoscout.analyst.codec.PayloadView;
 
-import java.util.Map;
-
-public record StreamPayload(String stream, long offset, Payload<Map<String, Object>> payload) {
+/**
+ * Message with its envelope decoded; the payload data is decoded on first access.
+ */
+public record StreamPayload(String stream, long offset, PayloadView payload) {
 }
@@ -24,8 +24,11 @@
 
 package com.github.akarazhev.cryptoscout.analyst.stream;
 
+import com.github.akarazhev.cryptoscout.analyst.codec.JsonOutputCodec;
+import com.github.akarazhev.cryptoscout.analyst.codec.OutputCodec;
 import com.github.akarazhev.cryptoscout.analyst.db.StreamOffsetsRepository;
-import com.github.akarazhev.jcryptolib.util.JsonUtils;
+import com.github.akarazhev.cryptoscout.config.AmqpConfig;
+import com.rabbitmq.stream.Message;
 import com.rabbitmq.stream.Producer;
 import io.activej.datastream.consumer.AbstractStreamConsumer;
 import io.activej.datastream.supplier.StreamDataAcceptor;
@@ -33,25 +36,78 @@ import io.activej.promise.Promise;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
 import java.util.concurrent.Executor;
 
+import static com.github.akarazhev.cryptoscout.analyst.stream.Constants.Routing.SCHEMA;
+import static com.github.akarazhev.cryptoscout.analyst.stream.Constants.Routing.SYMBOL;
+import static com.github.akarazhev.cryptoscout.analyst.stream.Constants.Routing.VERSION;
+
+/**
+ * Publishes payloads without waiting for each confirm, up to the producer's unconfirmed limit, so the client can
+ * batch and compress them. Source offsets are committed in order: only the highest offset below which everything is
+ * confirmed is written, at most one write at a time, so a burst of confirms costs a single upsert. In flush-per-tick
+ * mode payloads accepted during one reactor tick are handed to the producer together at the end of the tick.
+ */
 public final class StreamPublisher extends AbstractStreamConsumer<StreamPayload> {
     private static final Logger LOGGER = LoggerFactory.getLogger(StreamPublisher.class);
+    private final ArrayDeque<StreamPayload> tick = new ArrayDeque<>();
     private final Producer producer;
-    private final StreamOffsetsRepository offsetsRepository;
+    private final OffsetWriter offsetWriter;
     private final Executor executor;
+    private final OutputCodec codec;
+    private final int maxUnconfirmed;
+    private final boolean flushPerTick;
+    private final Resequencer<StreamPayload> unconfirmed;
     private StreamDataAcceptor<StreamPayload> acceptor;
+    private String stream;
+    private long confirmedOffset = -1L;
+    private long committedOffset = -1L;
+    private boolean committing;
+    private boolean flushScheduled;
 
     public static StreamPublisher create(final Producer producer, final StreamOffsetsRepository offsetsRepository,
                                          final Executor executor) {
-        return new StreamPublisher(producer, offsetsRepository, executor);
+        return create(producer, offsetsRepository, executor, JsonOutputCodec.create());
+    }
+
+    public static StreamPublisher create(final Producer producer, final StreamOffsetsRepository offsetsRepository,
+                                         final Executor executor, final OutputCodec codec) {
+        return create(producer, offsetsRepository, executor, codec, AmqpConfig.getAmqpStreamProducerMaxUnconfirmed());
+    }
+
+    /**
+     * Publisher holding at most {@code maxUnconfirmed} messages in flight, for publishers that share a producer and
+     * so split its unconfirmed window between them.
+     */
+    public static StreamPublisher create(final Producer producer, final StreamOffsetsRepository offsetsRepository,
+                                         final Executor executor, final OutputCodec codec, final int maxUnconfirmed) {
+        return new StreamPublisher(producer, offsetsRepository::upsertOffset, executor, codec, maxUnconfirmed,
+                AmqpConfig.isAmqpStreamProducerFlushPerTick());
+    }
+
+    static StreamPublisher create(final Producer producer, final OffsetWriter offsetWriter, final Executor executor,
+                                  final OutputCodec codec, final int maxUnconfirmed, final boolean flushPerTick) {
+        return new StreamPublisher(producer, offsetWriter, executor, codec, maxUnconfirmed, flushPerTick);
     }
 
-    private StreamPublisher(final Producer producer, final StreamOffsetsRepository offsetsRepository,
-                           final Executor executor) {
+    private StreamPublisher(final Producer producer, final OffsetWriter offsetWriter, final Executor executor,
+                           final OutputCodec codec, final int maxUnconfirmed, final boolean flushPerTick) {
         this.producer = producer;
-        this.offsetsRepository = offsetsRepository;
+        this.offsetWriter = offsetWriter;
         this.executor = executor;
+        this.codec = codec;
+        this.maxUnconfirmed = maxUnconfirmed;
+        this.flushPerTick = flushPerTick;
+        this.unconfirmed = new Resequencer<>(Math.min(maxUnconfirmed, 1024));
+    }
+
+    /**
+     * Routing key for super stream producers, so every message of one symbol lands in the same partition.
+     */
+    public static String routingKey(final Message message) {
+        final var properties = message.getApplicationProperties();
+        return properties != null && properties.get(SYMBOL) instanceof String symbol ? symbol : "";
     }
 
     @Override
@@ -60,36 +116,117 @@ public final class StreamPublisher extends AbstractStreamConsumer<StreamPayload>
         resume(acceptor);
     }
 
+    @Override
+    protected void onEndOfStream() {
+        flush();
+        acknowledgeIfDone();
+    }
+
     private void handle(final StreamPayload in) {
-        // Ensure one-at-a-time processing to respect backpressure and commit per message
-        suspend();
-        try {
-            if (in.payload() == null) {
-                // No publish, only commit offset
-                Promise.ofBlocking(executor, () -> offsetsRepository.upsertOffset(in.stream(), in.offset()))
-                        .whenException(ex -> LOGGER.warn("Failed to upsert offset for stream {} at {}: {}",
-                                in.stream(), in.offset(), ex.getMessage(), ex))
-                        .whenResult(() -> resume(acceptor));
-                return;
+        stream = in.stream();
+        unconfirmed.register(in.offset());
+        if (in.payload() == null) {
+            // No publish, only commit offset
+            confirm(in);
+        } else if (flushPerTick) {
+            tick.add(in);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                reactor.post(this::flush);
             }
+        } else {
+            publish(in);
+        }
+
+        if (unconfirmed.size() >= maxUnconfirmed) {
+            suspend();
+        }
+    }
 
+    private void flush() {
+        flushScheduled = false;
+        StreamPayload in;
+        while ((in = tick.poll()) != null) {
+            publish(in);
+        }
+    }
+
+    private void publish(final StreamPayload in) {
+        try {
+            final var payload = in.payload();
             final var message = producer.messageBuilder()
-                    .addData(JsonUtils.object2Bytes(in.payload()))
+                    .addData(codec.encode(payload))
+                    .properties()
+                    .contentType(codec.contentType())
+                    .messageBuilder()
+                    .applicationProperties()
+                    .entry(SYMBOL, Symbols.of(payload))
+                    .entry(SCHEMA, codec.schemaId(payload))
+                    .entry(VERSION, codec.version())
+                    .messageBuilder()
                     .build();
             producer.send(message, status -> reactor.execute(() -> {
                 if (!status.isConfirmed()) {
                     closeEx(new RuntimeException("Publish not confirmed: " + status));
                     return;
                 }
-                // Update offset for the SOURCE stream after successful publish
-                Promise.ofBlocking(executor, () -> offsetsRepository.upsertOffset(in.stream(), in.offset()))
-                        .whenException(ex -> LOGGER.warn("Failed to upsert offset for stream {} at {}: {}",
-                                in.stream(), in.offset(), ex.getMessage(), ex))
-                        .whenResult(() -> resume(acceptor));
+
+                confirm(in);
             }));
         } catch (final Exception ex) {
             LOGGER.error("Failed to publish payload: {}", ex.getMessage(), ex);
             closeEx(ex);
         }
     }
+
+    private void confirm(final StreamPayload in) {
+        unconfirmed.complete(in.offset(), in);
+        StreamPayload done;
+        while ((done = unconfirmed.pollReady()) != null) {
+            confirmedOffset = done.offset();
+        }
+
+        commit();
+        if (unconfirmed.size() < maxUnconfirmed && !isEndOfStream()) {
+            resume(acceptor);
+        }
+    }
+
+    private void commit() {
+        if (committing || confirmedOffset <= committedOffset) {
+            acknowledgeIfDone();
+            return;
+        }
+        // Update offset for the SOURCE stream after successful publish
+        final var offset = confirmedOffset;
+        committing = true;
+        Promise.ofBlocking(executor, () -> offsetWriter.write(stream, offset))
+                .whenComplete((_, ex) -> {
+                    committing = false;
+                    if (ex != null) {
+                        LOGGER.warn("Failed to upsert offset for stream {} at {}: {}", stream, offset,
+                                ex.getMessage(), ex);
+                        acknowledgeIfDone();
+                        return;
+                    }
+
+                    committedOffset = offset;
+                    commit();
+                });
+    }
+
+    private void acknowledgeIfDone() {
+        if (isEndOfStream() && tick.isEmpty() && unconfirmed.size() == 0 && !committing) {
+            acknowledge();
+        }
+    }
+
+    /**
+     * Writes the committed offset of a source stream; the repository in production.
+     */
+    @FunctionalInterface
+    interface OffsetWriter {
+
+        void write(String stream, long offset) throws Exception;
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+import com.github.akarazhev.cryptoscout.analyst.codec.PayloadView;
+import com.github.akarazhev.cryptoscout.analyst.model.MarketData;
+
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.analyst.stream.Constants.Routing.SYMBOL;
+import static com.github.akarazhev.cryptoscout.analyst.stream.Constants.Routing.TOPIC;
+
+final class Symbols {
+    private Symbols() {
+        throw new UnsupportedOperationException();
+    }
+
+    static String of(final PayloadView payload) {
+        // The topic is known from the envelope scan, so routing does not force the data to be decoded
+        final var topic = payload.getTopic();
+        if (topic != null) {
+            return topic.substring(topic.lastIndexOf('.') + 1);
+        }
+
+        // Without a topic, only data that is already decoded is looked into
+        return payload.isDecoded() ? of(payload.getData()) : "";
+    }
+
+    private static String of(final Object data) {
+        if (data instanceof MarketData marketData) {
+            return marketData.symbol();
+        }
+
+        if (!(data instanceof Map<?, ?> map)) {
+            return "";
+        }
+        // Bybit topics end with the symbol, e.g. "kline.1.BTCUSDT" or "orderbook.50.ETHUSDT"
+        if (map.get(TOPIC) instanceof String topic) {
+            return topic.substring(topic.lastIndexOf('.') + 1);
+        }
+
+        return map.get(SYMBOL) instanceof String symbol ? symbol : "";
+    }
+}
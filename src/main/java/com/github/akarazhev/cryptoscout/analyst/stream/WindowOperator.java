@@ -0,0 +1,269 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Event-time windowing core of {@link WindowTransformer}, free of any reactor so it can be driven directly.
+ * <p>
+ * The watermark trails the highest event time seen by the allowed out-of-orderness and states that no event at or
+ * before it is still expected. A window fires once the watermark reaches its last millisecond and is kept for the
+ * allowed lateness after that: late events in that period update it and fire it again, later ones are dropped and
+ * counted. Firing and eviction are driven by a timer queue ordered by time, so advancing the watermark touches only
+ * the windows that are due. Not thread-safe.
+ */
+final class WindowOperator<T, K, A, R> {
+    private final WindowSpec spec;
+    private final Function<T, K> keyOf;
+    private final ToLongFunction<T> timeOf;
+    private final WindowAggregator<T, K, A, R> aggregator;
+    private final SessionAggregator<T, K, A, R> sessions;
+    private final long outOfOrdernessMs;
+    private final long allowedLatenessMs;
+    private final Map<K, TreeMap<Long, Window<A>>> windows = new HashMap<>();
+    private final PriorityQueue<Timer<K>> timers = new PriorityQueue<>((a, b) -> Long.compare(a.time(), b.time()));
+    private long maxEventTime = Long.MIN_VALUE;
+    private long watermark = Long.MIN_VALUE;
+    private int openCount;
+    private long lateUpdateCount;
+    private long lateDropCount;
+
+    WindowOperator(final WindowSpec spec, final Function<T, K> keyOf, final ToLongFunction<T> timeOf,
+                   final WindowAggregator<T, K, A, R> aggregator, final long outOfOrdernessMs,
+                   final long allowedLatenessMs) {
+        this.spec = spec;
+        this.keyOf = keyOf;
+        this.timeOf = timeOf;
+        if (spec.kind() == WindowSpec.Kind.SESSION) {
+            if (!(aggregator instanceof SessionAggregator<T, K, A, R> mergeable)) {
+                throw new IllegalArgumentException("Session windows need a session aggregator");
+            }
+
+            this.sessions = mergeable;
+        } else {
+            this.sessions = null;
+        }
+
+        this.aggregator = aggregator;
+        this.outOfOrdernessMs = outOfOrdernessMs;
+        this.allowedLatenessMs = allowedLatenessMs;
+    }
+
+    void add(final T event, final Consumer<R> out) {
+        final var time = timeOf.applyAsLong(event);
+        final var key = keyOf.apply(event);
+        var keyed = windows.get(key);
+        if (keyed == null) {
+            keyed = new TreeMap<>();
+            windows.put(key, keyed);
+        }
+
+        final var accepted = spec.kind() == WindowSpec.Kind.SESSION ?
+                addToSession(key, keyed, time, event, out) :
+                addToAligned(key, keyed, time, event, out);
+        if (!accepted) {
+            lateDropCount++;
+            if (keyed.isEmpty()) {
+                windows.remove(key);
+            }
+        }
+
+        if (time > maxEventTime) {
+            maxEventTime = time;
+            advance(time - outOfOrdernessMs, out);
+        }
+    }
+
+    void advance(final long to, final Consumer<R> out) {
+        if (to <= watermark) {
+            return;
+        }
+
+        watermark = to;
+        while (!timers.isEmpty() && timers.peek().time() <= watermark) {
+            onTimer(timers.poll(), out);
+        }
+    }
+
+    long watermark() {
+        return watermark;
+    }
+
+    int openCount() {
+        return openCount;
+    }
+
+    long lateUpdateCount() {
+        return lateUpdateCount;
+    }
+
+    long lateDropCount() {
+        return lateDropCount;
+    }
+
+    private boolean addToAligned(final K key, final TreeMap<Long, Window<A>> keyed, final long time, final T event,
+                                 final Consumer<R> out) {
+        final var size = spec.sizeMs();
+        final var slide = spec.slideMs();
+        var accepted = false;
+        // Every window covering the event, newest first; once one is past lateness all older ones are too
+        for (var start = Math.floorDiv(time, slide) * slide; start > time - size; start -= slide) {
+            final var end = start + size;
+            if (isExpired(end)) {
+                break;
+            }
+
+            accepted = true;
+            final var window = keyed.get(start);
+            if (window == null) {
+                final var created = new Window<>(start, end, aggregator.add(aggregator.create(), event));
+                keyed.put(start, created);
+                open(key, created, out);
+            } else {
+                update(key, window, event, out);
+            }
+        }
+
+        return accepted;
+    }
+
+    private boolean addToSession(final K key, final TreeMap<Long, Window<A>> keyed, final long time, final T event,
+                                 final Consumer<R> out) {
+        var start = time;
+        var end = time + spec.sizeMs();
+        final var covering = keyed.floorEntry(time);
+        if (covering != null && covering.getValue().end >= end) {
+            // The session already spans the event's gap, so its bounds and timers stay as they are
+            update(key, covering.getValue(), event, out);
+            return true;
+        }
+
+        var accumulator = aggregator.add(aggregator.create(), event);
+        var merged = false;
+        // Sessions of a key never overlap, so their ends grow with their starts
+        final var iterator = keyed.headMap(end, false).descendingMap().values().iterator();
+        while (iterator.hasNext()) {
+            final var window = iterator.next();
+            if (window.end <= time) {
+                break;
+            }
+
+            start = Math.min(start, window.start);
+            end = Math.max(end, window.end);
+            accumulator = sessions.merge(window.accumulator, accumulator);
+            iterator.remove();
+            openCount--;
+            merged = true;
+        }
+
+        if (!merged && isExpired(end)) {
+            return false;
+        }
+
+        final var window = new Window<>(start, end, accumulator);
+        keyed.put(start, window);
+        open(key, window, out);
+        return true;
+    }
+
+    private void update(final K key, final Window<A> window, final T event, final Consumer<R> out) {
+        window.accumulator = aggregator.add(window.accumulator, event);
+        if (window.fired) {
+            lateUpdateCount++;
+            out.accept(result(key, window));
+        }
+    }
+
+    private void open(final K key, final Window<A> window, final Consumer<R> out) {
+        openCount++;
+        if (window.end - 1 > watermark) {
+            timers.add(new Timer<>(window.end - 1, key, window.start));
+            return;
+        }
+        // Already behind the watermark but within lateness: fire right away and only schedule eviction
+        lateUpdateCount++;
+        window.fired = true;
+        out.accept(result(key, window));
+        timers.add(new Timer<>(window.end - 1 + allowedLatenessMs, key, window.start));
+    }
+
+    private void onTimer(final Timer<K> timer, final Consumer<R> out) {
+        final var keyed = windows.get(timer.key());
+        final var window = keyed != null ? keyed.get(timer.start()) : null;
+        if (window == null) {
+            return;
+        }
+
+        final var fireTime = window.end - 1;
+        if (!window.fired && timer.time() == fireTime) {
+            window.fired = true;
+            out.accept(result(timer.key(), window));
+            if (allowedLatenessMs > 0) {
+                timers.add(new Timer<>(fireTime + allowedLatenessMs, timer.key(), window.start));
+                return;
+            }
+        } else if (!window.fired || timer.time() != fireTime + allowedLatenessMs) {
+            // Stale timer of a session that has since been merged into a longer one
+            return;
+        }
+
+        keyed.remove(window.start);
+        openCount--;
+        if (keyed.isEmpty()) {
+            windows.remove(timer.key());
+        }
+    }
+
+    private boolean isExpired(final long end) {
+        return end - 1 + allowedLatenessMs <= watermark;
+    }
+
+    private R result(final K key, final Window<A> window) {
+        return aggregator.result(key, window.start, window.end, window.accumulator);
+    }
+
+    private static final class Window<A> {
+        private final long start;
+        private final long end;
+        private A accumulator;
+        private boolean fired;
+
+        private Window(final long start, final long end, final A accumulator) {
+            this.start = start;
+            this.end = end;
+            this.accumulator = accumulator;
+        }
+    }
+
+    private record Timer<K>(long time, K key, long start) {
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+/**
+ * Shape of event-time windows: tumbling and sliding windows are aligned to the epoch, session windows close after a
+ * gap without events for their key. Windows are half-open, {@code [start, end)}.
+ */
+public record WindowSpec(Kind kind, long sizeMs, long slideMs) {
+
+    public WindowSpec {
+        if (sizeMs <= 0 || slideMs <= 0 || slideMs > sizeMs) {
+            throw new IllegalArgumentException("Invalid window size " + sizeMs + " and slide " + slideMs);
+        }
+    }
+
+    public static WindowSpec tumbling(final long sizeMs) {
+        return new WindowSpec(Kind.TUMBLING, sizeMs, sizeMs);
+    }
+
+    public static WindowSpec sliding(final long sizeMs, final long slideMs) {
+        return new WindowSpec(Kind.SLIDING, sizeMs, slideMs);
+    }
+
+    public static WindowSpec session(final long gapMs) {
+        return new WindowSpec(Kind.SESSION, gapMs, gapMs);
+    }
+
+    public enum Kind {
+        TUMBLING,
+        SLIDING,
+        SESSION
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+import io.activej.datastream.consumer.AbstractStreamConsumer;
+import io.activej.datastream.consumer.StreamConsumer;
+import io.activej.datastream.processor.transformer.StreamTransformer;
+import io.activej.datastream.supplier.AbstractStreamSupplier;
+import io.activej.datastream.supplier.StreamSupplier;
+import io.activej.reactor.ImplicitlyReactive;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Groups a stream into tumbling, sliding or session windows by key and event time and emits one incremental aggregate
+ * per window as the watermark passes it, plus an updated aggregate for every late event within the allowed lateness.
+ * The input is suspended while fired results wait for downstream, and the end of stream fires every open window.
+ * Session windows are only accepted with a {@link SessionAggregator}.
+ */
+public final class WindowTransformer<T, K, A, R> extends ImplicitlyReactive implements StreamTransformer<T, R> {
+    private final Input input = new Input();
+    private final Output output = new Output();
+    private final ArrayDeque<R> pending = new ArrayDeque<>();
+    private final Consumer<R> sink = pending::add;
+    private final WindowOperator<T, K, A, R> operator;
+
+    public static <T, K, A, R> WindowTransformer<T, K, A, R> create(final WindowSpec spec,
+                                                                   final Function<T, K> keyOf,
+                                                                   final ToLongFunction<T> timeOf,
+                                                                   final WindowAggregator<T, K, A, R> aggregator,
+                                                                   final long outOfOrdernessMs,
+                                                                   final long allowedLatenessMs) {
+        return new WindowTransformer<>(new WindowOperator<>(spec, keyOf, timeOf, aggregator, outOfOrdernessMs,
+                allowedLatenessMs));
+    }
+
+    private WindowTransformer(final WindowOperator<T, K, A, R> operator) {
+        this.operator = operator;
+    }
+
+    @Override
+    public StreamConsumer<T> getInput() {
+        return input;
+    }
+
+    @Override
+    public StreamSupplier<R> getOutput() {
+        return output;
+    }
+
+    public long getWatermark() {
+        return operator.watermark();
+    }
+
+    public int getOpenWindowCount() {
+        return operator.openCount();
+    }
+
+    public long getLateUpdateCount() {
+        return operator.lateUpdateCount();
+    }
+
+    public long getLateDropCount() {
+        return operator.lateDropCount();
+    }
+
+    private void accept(final T item) {
+        operator.add(item, sink);
+        if (!pending.isEmpty()) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        while (output.isReady() && !pending.isEmpty()) {
+            output.send(pending.poll());
+        }
+
+        if (input.isEndOfStream()) {
+            if (pending.isEmpty()) {
+                output.sendEndOfStream();
+            }
+        } else if (output.isReady() && pending.isEmpty()) {
+            input.resume(this::accept);
+        } else {
+            input.suspend();
+        }
+    }
+
+    private final class Input extends AbstractStreamConsumer<T> {
+
+        @Override
+        protected void onEndOfStream() {
+            operator.advance(Long.MAX_VALUE, sink);
+            flush();
+        }
+
+        @Override
+        protected void onError(final Exception e) {
+            output.closeEx(e);
+        }
+    }
+
+    private final class Output extends AbstractStreamSupplier<R> {
+
+        @Override
+        protected void onResumed() {
+            flush();
+        }
+
+        @Override
+        protected void onSuspended() {
+            input.suspend();
+        }
+
+        @Override
+        protected void onAcknowledge() {
+            input.acknowledge();
+        }
+
+        @Override
+        protected void onError(final Exception e) {
+            input.closeEx(e);
+        }
+    }
+}
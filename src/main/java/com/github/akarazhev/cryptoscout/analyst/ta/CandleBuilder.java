@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.ta;
+
+import com.github.akarazhev.cryptoscout.analyst.model.Kline;
+
+import java.util.List;
+
+/**
+ * Candle of one higher timeframe built from base klines or from trades. From klines, the committed part of the candle
+ * holds only confirmed base klines; an open base kline is merged into a copy for the returned candle, so repeated
+ * updates of the open minute never accumulate. The candle is confirmed with the base kline that closes its bucket.
+ */
+final class CandleBuilder {
+    private final String interval;
+    private final long durationMs;
+    private long start = Long.MIN_VALUE;
+    private boolean open;
+    private double openPrice;
+    private double high;
+    private double low;
+    private double close;
+    private double volume;
+    private double turnover;
+    private long timestamp;
+    private long lastBaseStart = Long.MIN_VALUE;
+    private Kline last;
+    private boolean direct;
+
+    CandleBuilder(final String interval, final long durationMs) {
+        this.interval = interval;
+        this.durationMs = durationMs;
+    }
+
+    String interval() {
+        return interval;
+    }
+
+    /**
+     * Whether the interval also arrives as a stream of its own, in which case the builder is no longer fed.
+     */
+    boolean isDirect() {
+        return direct;
+    }
+
+    void markDirect() {
+        direct = true;
+    }
+
+    /**
+     * Candle after the base kline, or null for a kline older than the candle being built.
+     */
+    Kline onKline(final Kline base) {
+        final var bucket = Math.floorDiv(base.start(), durationMs) * durationMs;
+        if (bucket < start) {
+            return null;
+        }
+
+        if (base.start() <= lastBaseStart) {
+            // Redelivery of a committed minute
+            return last != null && last.start() == bucket ? last : null;
+        }
+
+        if (bucket > start) {
+            reset(bucket);
+        }
+
+        final var o = open ? openPrice : base.open();
+        final var h = open ? Math.max(high, base.high()) : base.high();
+        final var l = open ? Math.min(low, base.low()) : base.low();
+        final var v = volume + base.volume();
+        final var t = turnover + base.turnover();
+        final var closes = base.confirm() && base.end() + 1 >= bucket + durationMs;
+        final var kline = new Kline(bucket, bucket + durationMs - 1, o, h, l, base.close(), v, t, closes,
+                base.timestamp());
+        if (base.confirm()) {
+            open = true;
+            openPrice = o;
+            high = h;
+            low = l;
+            close = base.close();
+            volume = v;
+            turnover = t;
+            timestamp = base.timestamp();
+            lastBaseStart = base.start();
+            last = kline;
+        }
+
+        return kline;
+    }
+
+    /**
+     * Adds a trade to the candle; a trade in a later bucket first closes the current candle into {@code closed}.
+     * Trades older than the current bucket are ignored.
+     */
+    void onTrade(final long time, final double price, final double size, final List<Kline> closed) {
+        final var bucket = Math.floorDiv(time, durationMs) * durationMs;
+        if (bucket < start) {
+            return;
+        }
+
+        if (bucket > start) {
+            if (open) {
+                closed.add(candle(true));
+            }
+
+            reset(bucket);
+        }
+
+        if (!open) {
+            open = true;
+            openPrice = price;
+            high = price;
+            low = price;
+        } else {
+            high = Math.max(high, price);
+            low = Math.min(low, price);
+        }
+
+        close = price;
+        volume += size;
+        turnover += price * size;
+        timestamp = Math.max(timestamp, time);
+    }
+
+    /**
+     * The candle being built from trades, or null before the first trade.
+     */
+    Kline current() {
+        return open ? candle(false) : null;
+    }
+
+    private Kline candle(final boolean confirm) {
+        return new Kline(start, start + durationMs - 1, openPrice, high, low, close, volume, turnover, confirm,
+                timestamp);
+    }
+
+    private void reset(final long bucket) {
+        start = bucket;
+        open = false;
+        volume = 0d;
+        turnover = 0d;
+        timestamp = 0L;
+    }
+}
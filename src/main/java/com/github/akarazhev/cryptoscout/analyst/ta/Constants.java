@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.ta;
+
+final class Constants {
+    private Constants() {
+        throw new UnsupportedOperationException();
+    }
+
+    final static class Period {
+        private Period() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final int SMA = 20;
+        static final int EMA = 20;
+        static final int RSI = 14;
+        static final int MACD_FAST = 12;
+        static final int MACD_SLOW = 26;
+        static final int MACD_SIGNAL = 9;
+        static final int BOLLINGER = 20;
+        static final double BOLLINGER_WIDTH = 2d;
+        static final int ATR = 14;
+        static final int STOCHASTIC_K = 14;
+        static final int STOCHASTIC_D = 3;
+    }
+
+    final static class Timeframe {
+        private Timeframe() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final long MINUTE_MS = 60_000L;
+        // Bybit interval names and their length in minutes
+        static final String BASE_INTERVAL = "1";
+        static final String[] INTERVALS = {"5", "15", "60", "240", "D"};
+        static final int[] MINUTES = {5, 15, 60, 240, 1440};
+    }
+
+    final static class Session {
+        private Session() {
+            throw new UnsupportedOperationException();
+        }
+
+        // VWAP restarts at every UTC day boundary
+        static final long VWAP_SESSION_MS = 24L * 60 * 60 * 1000;
+    }
+}
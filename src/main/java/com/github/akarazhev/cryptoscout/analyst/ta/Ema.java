@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.ta;
+
+/**
+ * Exponential moving average seeded with the simple average of its first {@code period} values. Wilder's smoothing
+ * used by RSI and ATR is the same recurrence with {@code alpha = 1 / period}.
+ * <p>
+ * {@link #update} returns the value the average would have with {@code x} appended; the state only moves when
+ * {@code commit} is set, so an open kline can be evaluated on every tick and committed once when it closes.
+ */
+final class Ema {
+    private final int period;
+    private final double alpha;
+    private double sum;
+    private double value = Double.NaN;
+    private int count;
+
+    static Ema exponential(final int period) {
+        return new Ema(period, 2d / (period + 1));
+    }
+
+    static Ema wilder(final int period) {
+        return new Ema(period, 1d / period);
+    }
+
+    private Ema(final int period, final double alpha) {
+        this.period = period;
+        this.alpha = alpha;
+    }
+
+    double update(final double x, final boolean commit) {
+        final double next;
+        if (count + 1 < period) {
+            next = Double.NaN;
+        } else if (count + 1 == period) {
+            next = (sum + x) / period;
+        } else {
+            next = value + alpha * (x - value);
+        }
+
+        if (commit) {
+            if (count < period) {
+                sum += x;
+            }
+
+            count++;
+            value = next;
+        }
+
+        return next;
+    }
+}
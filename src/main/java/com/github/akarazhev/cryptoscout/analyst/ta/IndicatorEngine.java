@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.ta;
+
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolSlots;
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolTable;
+import com.github.akarazhev.cryptoscout.analyst.codec.Topics;
+import com.github.akarazhev.cryptoscout.analyst.enrich.EnrichmentStage;
+import com.github.akarazhev.cryptoscout.analyst.model.AnalyzedKlines;
+import com.github.akarazhev.cryptoscout.analyst.model.Klines;
+import com.github.akarazhev.cryptoscout.analyst.model.MarketData;
+import com.github.akarazhev.cryptoscout.analyst.model.Timeframes;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming technical indicators: SMA, EMA, RSI, MACD, Bollinger bands, ATR, session VWAP and stochastic, kept per
+ * symbol and interval and updated in constant time per kline. Klines, including each kline series inside
+ * {@link Timeframes}, leave the stage as {@link AnalyzedKlines}; every other payload passes through untouched.
+ * Not thread-safe: each pipeline owns its engine.
+ */
+public final class IndicatorEngine implements EnrichmentStage {
+    private final SymbolSlots<Map<String, IndicatorSet>> sets;
+
+    public static IndicatorEngine create(final SymbolTable symbols) {
+        return new IndicatorEngine(symbols);
+    }
+
+    private IndicatorEngine(final SymbolTable symbols) {
+        this.sets = SymbolSlots.create(symbols);
+    }
+
+    @Override
+    public boolean accepts(final String topic) {
+        // Timeframes built from trades carry kline series too
+        return Topics.isKline(topic) || Topics.isPublicTrade(topic);
+    }
+
+    @Override
+    public Payload<?> apply(final Payload<?> payload) {
+        final var data = switch (payload.getData()) {
+            case Klines klines when klines.klines().length > 0 -> analyze(klines);
+            case Timeframes timeframes -> analyze(timeframes);
+            case null, default -> null;
+        };
+
+        return data != null ? Payload.of(payload.getProvider(), payload.getSource(), data) : payload;
+    }
+
+    public int getSeriesCount() {
+        var count = 0;
+        for (var id = 0; id < sets.capacity(); id++) {
+            final var intervals = sets.get(id);
+            if (intervals != null) {
+                count += intervals.size();
+            }
+        }
+
+        return count;
+    }
+
+    private Timeframes analyze(final Timeframes timeframes) {
+        final var series = new MarketData[timeframes.series().length];
+        for (var i = 0; i < series.length; i++) {
+            series[i] = timeframes.series()[i] instanceof Klines klines && klines.klines().length > 0 ?
+                    analyze(klines) : timeframes.series()[i];
+        }
+
+        return new Timeframes(timeframes.symbol(), timeframes.timestamp(), series);
+    }
+
+    private AnalyzedKlines analyze(final Klines klines) {
+        // Symbol slot, then a small per-interval map: no composite-key allocation
+        final var set = sets.computeIfAbsent(klines.symbol(), _ -> new HashMap<>())
+                .computeIfAbsent(klines.interval(), _ -> new IndicatorSet());
+        var indicators = set.update(klines.klines()[0]);
+        for (var i = 1; i < klines.klines().length; i++) {
+            indicators = set.update(klines.klines()[i]);
+        }
+
+        return new AnalyzedKlines(klines.symbol(), klines.interval(), klines.timestamp(), klines.klines(), indicators);
+    }
+}
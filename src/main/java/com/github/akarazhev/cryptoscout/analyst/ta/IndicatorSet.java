@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.ta;
+
+import com.github.akarazhev.cryptoscout.analyst.model.Indicators;
+import com.github.akarazhev.cryptoscout.analyst.model.Kline;
+
+import static com.github.akarazhev.cryptoscout.analyst.ta.Constants.Period.ATR;
+import static com.github.akarazhev.cryptoscout.analyst.ta.Constants.Period.BOLLINGER;
+import static com.github.akarazhev.cryptoscout.analyst.ta.Constants.Period.BOLLINGER_WIDTH;
+import static com.github.akarazhev.cryptoscout.analyst.ta.Constants.Period.EMA;
+import static com.github.akarazhev.cryptoscout.analyst.ta.Constants.Period.MACD_FAST;
+import static com.github.akarazhev.cryptoscout.analyst.ta.Constants.Period.MACD_SIGNAL;
+import static com.github.akarazhev.cryptoscout.analyst.ta.Constants.Period.MACD_SLOW;
+import static com.github.akarazhev.cryptoscout.analyst.ta.Constants.Period.RSI;
+import static com.github.akarazhev.cryptoscout.analyst.ta.Constants.Period.SMA;
+import static com.github.akarazhev.cryptoscout.analyst.ta.Constants.Period.STOCHASTIC_D;
+import static com.github.akarazhev.cryptoscout.analyst.ta.Constants.Period.STOCHASTIC_K;
+import static com.github.akarazhev.cryptoscout.analyst.ta.Constants.Session.VWAP_SESSION_MS;
+
+/**
+ * Indicator state of one symbol and interval. Every kline is evaluated against the committed state; only a confirmed
+ * kline newer than the last committed one advances it, so repeated updates of the open kline and redelivered closed
+ * klines cost one evaluation each and never skew the averages.
+ */
+final class IndicatorSet {
+    private final RollingWindow sma = new RollingWindow(SMA);
+    private final Ema ema = Ema.exponential(EMA);
+    private final Ema rsiGain = Ema.wilder(RSI);
+    private final Ema rsiLoss = Ema.wilder(RSI);
+    private final Ema macdFast = Ema.exponential(MACD_FAST);
+    private final Ema macdSlow = Ema.exponential(MACD_SLOW);
+    private final Ema macdSignal = Ema.exponential(MACD_SIGNAL);
+    private final RollingWindow bollinger = new RollingWindow(BOLLINGER);
+    private final Ema atr = Ema.wilder(ATR);
+    private final RollingExtremum highest = RollingExtremum.max(STOCHASTIC_K);
+    private final RollingExtremum lowest = RollingExtremum.min(STOCHASTIC_K);
+    private final RollingWindow stochasticD = new RollingWindow(STOCHASTIC_D);
+    private double prevClose = Double.NaN;
+    private long vwapSession = Long.MIN_VALUE;
+    private double vwapPriceVolume;
+    private double vwapVolume;
+    private long lastStart = Long.MIN_VALUE;
+    private Indicators last;
+
+    Indicators update(final Kline kline) {
+        if (kline.start() <= lastStart && last != null) {
+            return last;
+        }
+
+        final var commit = kline.confirm();
+        final var close = kline.close();
+        final var high = kline.high();
+        final var low = kline.low();
+
+        sma.update(close, commit);
+        final var emaValue = ema.update(close, commit);
+
+        var rsi = Double.NaN;
+        var trueRange = high - low;
+        if (!Double.isNaN(prevClose)) {
+            final var change = close - prevClose;
+            final var avgGain = rsiGain.update(Math.max(change, 0d), commit);
+            final var avgLoss = rsiLoss.update(Math.max(-change, 0d), commit);
+            rsi = avgLoss == 0d ? (avgGain == 0d ? 50d : 100d) : 100d - 100d / (1d + avgGain / avgLoss);
+            trueRange = Math.max(trueRange, Math.max(Math.abs(high - prevClose), Math.abs(low - prevClose)));
+        }
+
+        final var macd = macdFast.update(close, commit) - macdSlow.update(close, commit);
+        final var signal = Double.isNaN(macd) ? Double.NaN : macdSignal.update(macd, commit);
+
+        bollinger.update(close, commit);
+        final var middle = bollinger.mean();
+        final var width = BOLLINGER_WIDTH * bollinger.stdDev();
+
+        final var atrValue = atr.update(trueRange, commit);
+
+        final var session = Math.floorDiv(kline.start(), VWAP_SESSION_MS);
+        if (session != vwapSession) {
+            // Only a committed kline may reset the session, an evaluation works on a copy of the sums
+            if (commit) {
+                vwapSession = session;
+                vwapPriceVolume = 0d;
+                vwapVolume = 0d;
+            }
+        }
+
+        final var sameSession = session == vwapSession;
+        final var typicalVolume = (high + low + close) / 3d * kline.volume();
+        final var priceVolume = (sameSession ? vwapPriceVolume : 0d) + typicalVolume;
+        final var volume = (sameSession ? vwapVolume : 0d) + kline.volume();
+        final var vwap = volume > 0d ? priceVolume / volume : Double.NaN;
+
+        final var hh = highest.update(high, commit);
+        final var ll = lowest.update(low, commit);
+        var stochasticK = Double.NaN;
+        if (!Double.isNaN(hh) && !Double.isNaN(ll)) {
+            stochasticK = hh > ll ? 100d * (close - ll) / (hh - ll) : 50d;
+            stochasticD.update(stochasticK, commit);
+        }
+
+        final var indicators = new Indicators(sma.mean(), emaValue, Double.isNaN(prevClose) ? Double.NaN : rsi, macd,
+                signal, macd - signal, middle + width, middle, middle - width, atrValue, vwap, stochasticK,
+                Double.isNaN(stochasticK) ? Double.NaN : stochasticD.mean());
+        if (commit) {
+            prevClose = close;
+            vwapPriceVolume = priceVolume;
+            vwapVolume = volume;
+            lastStart = kline.start();
+            last = indicators;
+        }
+
+        return indicators;
+    }
+}
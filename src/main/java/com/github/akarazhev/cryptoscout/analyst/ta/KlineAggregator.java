@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.ta;
+
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolSlots;
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolTable;
+import com.github.akarazhev.cryptoscout.analyst.codec.Topics;
+import com.github.akarazhev.cryptoscout.analyst.enrich.EnrichmentStage;
+import com.github.akarazhev.cryptoscout.analyst.model.Kline;
+import com.github.akarazhev.cryptoscout.analyst.model.Klines;
+import com.github.akarazhev.cryptoscout.analyst.model.MarketData;
+import com.github.akarazhev.cryptoscout.analyst.model.Timeframes;
+import com.github.akarazhev.cryptoscout.analyst.model.Trades;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+
+import java.util.ArrayList;
+
+import static com.github.akarazhev.cryptoscout.analyst.ta.Constants.Timeframe.BASE_INTERVAL;
+import static com.github.akarazhev.cryptoscout.analyst.ta.Constants.Timeframe.INTERVALS;
+import static com.github.akarazhev.cryptoscout.analyst.ta.Constants.Timeframe.MINUTES;
+import static com.github.akarazhev.cryptoscout.analyst.ta.Constants.Timeframe.MINUTE_MS;
+
+/**
+ * Builds 5m, 15m, 1h, 4h and 1d candles incrementally from the 1m kline stream, or 1m and up from public trades, so the
+ * higher timeframes need no subscriptions of their own and always agree with the base series. The source payload
+ * leaves the stage as {@link Timeframes}: the source data first, then one {@link Klines} per timeframe it touched,
+ * holding at most one candle per bucket. An interval that also arrives as klines of its own for a symbol is no longer
+ * aggregated for it, so the indicators of that interval are fed by one series only. Not thread-safe: each pipeline owns
+ * its aggregator.
+ */
+public final class KlineAggregator implements EnrichmentStage {
+    private final SymbolSlots<CandleBuilder[]> builders;
+    private final Mode mode;
+
+    public static KlineAggregator create(final SymbolTable symbols, final Mode mode) {
+        return new KlineAggregator(symbols, mode);
+    }
+
+    private KlineAggregator(final SymbolTable symbols, final Mode mode) {
+        this.builders = SymbolSlots.create(symbols);
+        this.mode = mode;
+    }
+
+    @Override
+    public boolean accepts(final String topic) {
+        return Topics.isKline(topic) || mode == Mode.TRADE && Topics.isPublicTrade(topic);
+    }
+
+    @Override
+    public Payload<?> apply(final Payload<?> payload) {
+        final var timeframes = switch (payload.getData()) {
+            case Klines klines when mode == Mode.KLINE && BASE_INTERVAL.equals(klines.interval()) ->
+                    klines.klines().length > 0 ? fromKlines(klines) : null;
+            case Klines klines -> {
+                // Klines of any other interval come from a subscription of their own
+                markDirect(klines);
+                yield null;
+            }
+
+            case Trades trades when mode == Mode.TRADE && trades.trades().length > 0 -> fromTrades(trades);
+            case null, default -> null;
+        };
+
+        return timeframes != null ? Payload.of(payload.getProvider(), payload.getSource(), timeframes) : payload;
+    }
+
+    private Timeframes fromKlines(final Klines klines) {
+        final var series = new ArrayList<MarketData>(INTERVALS.length + 1);
+        series.add(klines);
+        final var candles = new ArrayList<Kline>(klines.klines().length);
+        for (final var builder : builders(klines.symbol(), false)) {
+            if (builder.isDirect()) {
+                continue;
+            }
+
+            for (final var base : klines.klines()) {
+                final var candle = builder.onKline(base);
+                if (candle == null) {
+                    continue;
+                }
+                // Base klines of one bucket each return its candle so far; only the latest state is emitted
+                if (!candles.isEmpty() && candles.getLast().start() == candle.start()) {
+                    candles.set(candles.size() - 1, candle);
+                } else {
+                    candles.add(candle);
+                }
+            }
+
+            addSeries(series, klines.symbol(), builder.interval(), klines.timestamp(), candles);
+        }
+
+        return new Timeframes(klines.symbol(), klines.timestamp(), series.toArray(MarketData[]::new));
+    }
+
+    private Timeframes fromTrades(final Trades trades) {
+        final var series = new ArrayList<MarketData>(INTERVALS.length + 2);
+        series.add(trades);
+        final var candles = new ArrayList<Kline>(2);
+        for (final var builder : builders(trades.symbol(), true)) {
+            if (builder.isDirect()) {
+                continue;
+            }
+
+            for (final var trade : trades.trades()) {
+                builder.onTrade(trade.time(), trade.price(), trade.size(), candles);
+            }
+
+            final var current = builder.current();
+            if (current != null) {
+                candles.add(current);
+            }
+
+            addSeries(series, trades.symbol(), builder.interval(), trades.timestamp(), candles);
+        }
+
+        return new Timeframes(trades.symbol(), trades.timestamp(), series.toArray(MarketData[]::new));
+    }
+
+    private void markDirect(final Klines klines) {
+        for (final var builder : builders(klines.symbol(), mode == Mode.TRADE)) {
+            if (!builder.isDirect() && builder.interval().equals(klines.interval())) {
+                builder.markDirect();
+            }
+        }
+    }
+
+    private CandleBuilder[] builders(final String symbol, final boolean withBase) {
+        return builders.computeIfAbsent(symbol, _ -> {
+            final var offset = withBase ? 1 : 0;
+            final var created = new CandleBuilder[INTERVALS.length + offset];
+            if (withBase) {
+                created[0] = new CandleBuilder(BASE_INTERVAL, MINUTE_MS);
+            }
+
+            for (var i = 0; i < INTERVALS.length; i++) {
+                created[i + offset] = new CandleBuilder(INTERVALS[i], MINUTES[i] * MINUTE_MS);
+            }
+
+            return created;
+        });
+    }
+
+    private static void addSeries(final ArrayList<MarketData> series, final String symbol, final String interval,
+                                  final long timestamp, final ArrayList<Kline> candles) {
+        if (!candles.isEmpty()) {
+            series.add(new Klines(symbol, interval, timestamp, candles.toArray(Kline[]::new)));
+            candles.clear();
+        }
+    }
+
+    public enum Mode {
+        KLINE,
+        TRADE
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.ta;
+
+/**
+ * Rolling maximum or minimum over the last {@code period} values, kept as a monotonic deque in primitive arrays. Each
+ * value enters and leaves the deque once, so updates are amortized constant time.
+ */
+final class RollingExtremum {
+    private final int period;
+    private final boolean max;
+    private final long[] indexes;
+    private final double[] values;
+    private int head;
+    private int size;
+    private long count;
+
+    static RollingExtremum max(final int period) {
+        return new RollingExtremum(period, true);
+    }
+
+    static RollingExtremum min(final int period) {
+        return new RollingExtremum(period, false);
+    }
+
+    private RollingExtremum(final int period, final boolean max) {
+        this.period = period;
+        this.max = max;
+        this.indexes = new long[period];
+        this.values = new double[period];
+    }
+
+    /**
+     * Extremum of the window with {@code x} appended, or NaN until the window is full.
+     */
+    double update(final double x, final boolean commit) {
+        final var low = count - period + 1;
+        final var ready = count + 1 >= period;
+        if (!commit) {
+            // The front is the extremum of the deque; if it is about to leave, the next element takes over
+            var i = head;
+            var n = size;
+            while (n > 0 && indexes[i] < low) {
+                i = next(i);
+                n--;
+            }
+
+            return ready ? (n > 0 && !dominates(x, values[i]) ? values[i] : x) : Double.NaN;
+        }
+
+        while (size > 0 && indexes[head] < low) {
+            head = next(head);
+            size--;
+        }
+
+        while (size > 0 && dominates(x, values[last()])) {
+            size--;
+        }
+
+        final var tail = (head + size) % period;
+        indexes[tail] = count++;
+        values[tail] = x;
+        size++;
+        return ready ? values[head] : Double.NaN;
+    }
+
+    private boolean dominates(final double x, final double other) {
+        return max ? x >= other : x <= other;
+    }
+
+    private int last() {
+        return (head + size - 1) % period;
+    }
+
+    private int next(final int index) {
+        return index + 1 == period ? 0 : index + 1;
+    }
+}
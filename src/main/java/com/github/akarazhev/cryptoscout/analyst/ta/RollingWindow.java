@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.ta;
+
+/**
+ * Fixed-size window over a primitive ring with running sum and sum of squares, giving the mean and population standard
+ * deviation in constant time. The sums are rebuilt from the ring each time it wraps, which bounds floating-point drift
+ * at an amortized cost of one addition per update.
+ */
+final class RollingWindow {
+    private final double[] values;
+    private int head;
+    private int size;
+    private double sum;
+    private double sumSq;
+    private double mean = Double.NaN;
+    private double stdDev = Double.NaN;
+
+    RollingWindow(final int period) {
+        this.values = new double[period];
+    }
+
+    /**
+     * Evaluates the window with {@code x} appended, moving the window only when {@code commit} is set.
+     */
+    void update(final double x, final boolean commit) {
+        final var full = size == values.length;
+        final var evicted = full ? values[head] : 0d;
+        final var nextSum = sum - evicted + x;
+        final var nextSumSq = sumSq - evicted * evicted + x * x;
+        if (full || size + 1 == values.length) {
+            final var n = values.length;
+            mean = nextSum / n;
+            stdDev = Math.sqrt(Math.max(0d, nextSumSq / n - mean * mean));
+        } else {
+            mean = Double.NaN;
+            stdDev = Double.NaN;
+        }
+
+        if (commit) {
+            values[head] = x;
+            head = head + 1 == values.length ? 0 : head + 1;
+            if (!full) {
+                size++;
+            }
+
+            if (head == 0) {
+                resum();
+            } else {
+                sum = nextSum;
+                sumSq = nextSumSq;
+            }
+        }
+    }
+
+    double mean() {
+        return mean;
+    }
+
+    double stdDev() {
+        return stdDev;
+    }
+
+    private void resum() {
+        var s = 0d;
+        var sq = 0d;
+        for (var i = 0; i < size; i++) {
+            s += values[i];
+            sq += values[i] * values[i];
+        }
+
+        sum = s;
+        sumSq = sq;
+    }
+}
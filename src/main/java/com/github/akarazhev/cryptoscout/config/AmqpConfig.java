@@ -26,12 +26,22 @@ package com.github.akarazhev.cryptoscout.config;
 
 import com.github.akarazhev.jcryptolib.config.AppConfig;
 import com.rabbitmq.client.ConnectionFactory;
+import com.rabbitmq.stream.Codec;
 import com.rabbitmq.stream.Environment;
+import com.rabbitmq.stream.ProducerBuilder;
+import com.rabbitmq.stream.compression.Compression;
+import com.rabbitmq.stream.compression.CompressionCodecFactory;
+
+import java.time.Duration;
+import java.util.Locale;
 
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_ANALYST_QUEUE;
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_ANALYST_ROUTING_KEY;
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_BYBIT_STREAM;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_BYBIT_STREAM_PARTITIONS;
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_BYBIT_TA_STREAM;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_BYBIT_TA_STREAM_CODEC;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_BYBIT_TA_STREAM_PARTITIONS;
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_CHATBOT_QUEUE;
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_CHATBOT_ROUTING_KEY;
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_COLLECTOR_QUEUE;
@@ -42,7 +52,17 @@ import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_RABBITMQ_PASSWORD;
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_RABBITMQ_PORT;
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_RABBITMQ_USERNAME;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_BUFFER_CAPACITY;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_DRAIN_BATCH_SIZE;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_INITIAL_CREDITS;
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_PORT;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_PRODUCER_SUB_ENTRY_SIZE;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_PRODUCER_COMPRESSION;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_PRODUCER_BATCH_SIZE;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_PRODUCER_BATCH_DELAY_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_PRODUCER_MAX_UNCONFIRMED;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_PRODUCER_FLUSH_PER_TICK;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_ZERO_COPY;
 
 public final class AmqpConfig {
     private AmqpConfig() {
@@ -73,6 +93,10 @@ public final class AmqpConfig {
         return AppConfig.getAsString(AMQP_BYBIT_TA_STREAM);
     }
 
+    public static String getAmqpBybitTaStreamCodec() {
+        return AppConfig.getAsString(AMQP_BYBIT_TA_STREAM_CODEC).strip().toLowerCase(Locale.ROOT);
+    }
+
     public static String getAmqpCryptoScoutStream() {
         return AppConfig.getAsString(AMQP_CRYPTO_SCOUT_STREAM);
     }
@@ -105,6 +129,54 @@ public final class AmqpConfig {
         return AppConfig.getAsString(AMQP_ANALYST_ROUTING_KEY);
     }
 
+    public static int getAmqpStreamInitialCredits() {
+        return AppConfig.getAsInt(AMQP_STREAM_INITIAL_CREDITS);
+    }
+
+    public static int getAmqpStreamBufferCapacity() {
+        return AppConfig.getAsInt(AMQP_STREAM_BUFFER_CAPACITY);
+    }
+
+    public static int getAmqpStreamDrainBatchSize() {
+        return AppConfig.getAsInt(AMQP_STREAM_DRAIN_BATCH_SIZE);
+    }
+
+    public static int getAmqpBybitStreamPartitions() {
+        return AppConfig.getAsInt(AMQP_BYBIT_STREAM_PARTITIONS);
+    }
+
+    public static int getAmqpBybitTaStreamPartitions() {
+        return AppConfig.getAsInt(AMQP_BYBIT_TA_STREAM_PARTITIONS);
+    }
+
+    public static boolean isAmqpStreamZeroCopy() {
+        return AppConfig.getAsBoolean(AMQP_STREAM_ZERO_COPY);
+    }
+
+    public static int getAmqpStreamProducerSubEntrySize() {
+        return AppConfig.getAsInt(AMQP_STREAM_PRODUCER_SUB_ENTRY_SIZE);
+    }
+
+    public static String getAmqpStreamProducerCompression() {
+        return AppConfig.getAsString(AMQP_STREAM_PRODUCER_COMPRESSION).strip().toLowerCase(Locale.ROOT);
+    }
+
+    public static int getAmqpStreamProducerBatchSize() {
+        return AppConfig.getAsInt(AMQP_STREAM_PRODUCER_BATCH_SIZE);
+    }
+
+    public static int getAmqpStreamProducerBatchDelayMs() {
+        return AppConfig.getAsInt(AMQP_STREAM_PRODUCER_BATCH_DELAY_MS);
+    }
+
+    public static int getAmqpStreamProducerMaxUnconfirmed() {
+        return AppConfig.getAsInt(AMQP_STREAM_PRODUCER_MAX_UNCONFIRMED);
+    }
+
+    public static boolean isAmqpStreamProducerFlushPerTick() {
+        return AppConfig.getAsBoolean(AMQP_STREAM_PRODUCER_FLUSH_PER_TICK);
+    }
+
     private static int getAmqpRabbitmqPort() {
         return AppConfig.getAsInt(AMQP_RABBITMQ_PORT);
     }
@@ -119,11 +191,49 @@ public final class AmqpConfig {
     }
 
     public static Environment getEnvironment() {
-        return Environment.builder()
+        return getEnvironment(null, null);
+    }
+
+    /**
+     * Builds the stream environment with the given message codec, the client default for {@code null}. Callers pass
+     * theirs when {@link #isAmqpStreamZeroCopy()} is on.
+     */
+    public static Environment getEnvironment(final Codec codec, final CompressionCodecFactory compressionCodecFactory) {
+        final var builder = Environment.builder()
                 .host(AmqpConfig.getAmqpRabbitmqHost())
                 .port(AmqpConfig.getAmqpStreamPort())
                 .username(AmqpConfig.getAmqpRabbitmqUsername())
-                .password(AmqpConfig.getAmqpRabbitmqPassword())
-                .build();
+                .password(AmqpConfig.getAmqpRabbitmqPassword());
+        if (codec != null) {
+            builder.codec(codec);
+        }
+
+        if (compressionCodecFactory != null) {
+            builder.compressionCodecFactory(compressionCodecFactory);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Applies the producer batching settings. Compression only takes effect with sub-entries, so it is set only when
+     * the sub-entry size is above one. Flush-per-tick publishing relies on dynamic batching, which sends as soon as
+     * the producer has nothing more queued instead of waiting for the publishing delay.
+     */
+    public static ProducerBuilder configureProducer(final ProducerBuilder builder) {
+        final var subEntrySize = getAmqpStreamProducerSubEntrySize();
+        builder.batchSize(getAmqpStreamProducerBatchSize())
+                .batchPublishingDelay(Duration.ofMillis(getAmqpStreamProducerBatchDelayMs()))
+                .maxUnconfirmedMessages(getAmqpStreamProducerMaxUnconfirmed());
+        if (subEntrySize > 1) {
+            builder.subEntrySize(subEntrySize)
+                    .compression(Compression.valueOf(getAmqpStreamProducerCompression().toUpperCase(Locale.ROOT)));
+        }
+
+        if (isAmqpStreamProducerFlushPerTick()) {
+            builder.dynamicBatch(true);
+        }
+
+        return builder;
     }
 }
@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.config;
+
+import com.github.akarazhev.jcryptolib.config.AppConfig;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_BACKFILL_INTERVAL_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_BACKFILL_LOOKBACK_DAYS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_BACKFILL_MAX_CANDLES;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_BACKFILL_MAX_IN_FLIGHT;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_BACKFILL_SYMBOLS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_BACKFILL_TIMEOUT_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_BYBIT_SHARDS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_ENRICHMENT_BATCH_LINGER_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_ENRICHMENT_BATCH_MAX_SIZE;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_ENRICHMENT_INLINE;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_ENRICHMENT_INLINE_BUDGET_MICROS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_ENRICHMENT_MAX_IN_FLIGHT;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_HISTORY_DIR;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_HISTORY_PERSISTENT;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_KLINE_AGGREGATION;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_RETENTION_BATCH_SIZE;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_RETENTION_INTERVAL_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_RETENTION_MAX_AGE_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_RETENTION_MAX_BYTES;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_RETENTION_MAX_COUNT;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_RETENTION_PREFIX;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_SHARD_MAX_IN_FLIGHT;
+
+public final class AnalystConfig {
+    private AnalystConfig() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static int getBybitShards() {
+        return AppConfig.getAsInt(ANALYST_BYBIT_SHARDS);
+    }
+
+    public static int getShardMaxInFlight() {
+        return AppConfig.getAsInt(ANALYST_SHARD_MAX_IN_FLIGHT);
+    }
+
+    public static int getEnrichmentMaxInFlight() {
+        return AppConfig.getAsInt(ANALYST_ENRICHMENT_MAX_IN_FLIGHT);
+    }
+
+    public static boolean isEnrichmentInline() {
+        return AppConfig.getAsBoolean(ANALYST_ENRICHMENT_INLINE);
+    }
+
+    public static int getEnrichmentInlineBudgetMicros() {
+        return AppConfig.getAsInt(ANALYST_ENRICHMENT_INLINE_BUDGET_MICROS);
+    }
+
+    public static int getEnrichmentBatchMaxSize() {
+        return AppConfig.getAsInt(ANALYST_ENRICHMENT_BATCH_MAX_SIZE);
+    }
+
+    public static int getEnrichmentBatchLingerMs() {
+        return AppConfig.getAsInt(ANALYST_ENRICHMENT_BATCH_LINGER_MS);
+    }
+
+    public static String getKlineAggregation() {
+        return AppConfig.getAsString(ANALYST_KLINE_AGGREGATION).strip().toLowerCase(Locale.ROOT);
+    }
+
+    public static boolean isHistoryPersistent() {
+        return AppConfig.getAsBoolean(ANALYST_HISTORY_PERSISTENT);
+    }
+
+    public static String getHistoryDir() {
+        return AppConfig.getAsString(ANALYST_HISTORY_DIR);
+    }
+
+    public static List<String> getBackfillSymbols() {
+        return Arrays.stream(AppConfig.getAsString(ANALYST_BACKFILL_SYMBOLS).split(","))
+                .map(String::trim)
+                .filter(symbol -> !symbol.isEmpty())
+                .toList();
+    }
+
+    public static int getBackfillLookbackDays() {
+        return AppConfig.getAsInt(ANALYST_BACKFILL_LOOKBACK_DAYS);
+    }
+
+    public static int getBackfillMaxCandles() {
+        return AppConfig.getAsInt(ANALYST_BACKFILL_MAX_CANDLES);
+    }
+
+    public static int getBackfillMaxInFlight() {
+        return AppConfig.getAsInt(ANALYST_BACKFILL_MAX_IN_FLIGHT);
+    }
+
+    public static int getBackfillTimeoutMs() {
+        return AppConfig.getAsInt(ANALYST_BACKFILL_TIMEOUT_MS);
+    }
+
+    public static int getBackfillIntervalMs() {
+        return AppConfig.getAsInt(ANALYST_BACKFILL_INTERVAL_MS);
+    }
+
+    public static int getRetentionIntervalMs() {
+        return AppConfig.getAsInt(ANALYST_RETENTION_INTERVAL_MS);
+    }
+
+    public static int getRetentionBatchSize() {
+        return AppConfig.getAsInt(ANALYST_RETENTION_BATCH_SIZE);
+    }
+
+    public static long getRetentionMaxCount(final String series) {
+        return AppConfig.getAsLong(ANALYST_RETENTION_PREFIX + series + ANALYST_RETENTION_MAX_COUNT);
+    }
+
+    public static long getRetentionMaxAgeMs(final String series) {
+        return AppConfig.getAsLong(ANALYST_RETENTION_PREFIX + series + ANALYST_RETENTION_MAX_AGE_MS);
+    }
+
+    public static long getRetentionMaxBytes(final String series) {
+        return AppConfig.getAsLong(ANALYST_RETENTION_PREFIX + series + ANALYST_RETENTION_MAX_BYTES);
+    }
+}
@@ -29,11 +29,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Map;
 
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_ANALYST_QUEUE;
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_ANALYST_ROUTING_KEY;
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_BYBIT_STREAM;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_BYBIT_STREAM_PARTITIONS;
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_BYBIT_TA_STREAM;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_BYBIT_TA_STREAM_CODEC;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_BYBIT_TA_STREAM_CODECS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_BYBIT_TA_STREAM_PARTITIONS;
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_CHATBOT_QUEUE;
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_CHATBOT_ROUTING_KEY;
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_COLLECTOR_QUEUE;
@@ -43,7 +48,42 @@ import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_RABBITMQ_HOST;
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_RABBITMQ_PORT;
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_RABBITMQ_USERNAME;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_BUFFER_CAPACITY;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_DRAIN_BATCH_SIZE;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_INITIAL_CREDITS;
 import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_PORT;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_PRODUCER_BATCH_DELAY_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_PRODUCER_BATCH_SIZE;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_PRODUCER_COMPRESSION;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_PRODUCER_COMPRESSIONS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_PRODUCER_FLUSH_PER_TICK;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_PRODUCER_MAX_UNCONFIRMED;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_PRODUCER_SUB_ENTRY_SIZE;
+import static com.github.akarazhev.cryptoscout.config.Constants.AmqpConfig.AMQP_STREAM_ZERO_COPY;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_BACKFILL_INTERVAL_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_BACKFILL_LOOKBACK_DAYS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_BACKFILL_MAX_CANDLES;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_BACKFILL_MAX_IN_FLIGHT;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_BACKFILL_SYMBOLS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_BACKFILL_TIMEOUT_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_BYBIT_SHARDS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_ENRICHMENT_BATCH_LINGER_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_ENRICHMENT_BATCH_MAX_SIZE;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_ENRICHMENT_INLINE;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_ENRICHMENT_INLINE_BUDGET_MICROS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_ENRICHMENT_MAX_IN_FLIGHT;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_HISTORY_DIR;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_HISTORY_PERSISTENT;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_KLINE_AGGREGATION;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_KLINE_AGGREGATIONS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_RETENTION_BATCH_SIZE;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_RETENTION_INTERVAL_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_RETENTION_MAX_AGE_MS;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_RETENTION_MAX_BYTES;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_RETENTION_MAX_COUNT;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_RETENTION_PREFIX;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_RETENTION_SERIES;
+import static com.github.akarazhev.cryptoscout.config.Constants.AnalystConfig.ANALYST_SHARD_MAX_IN_FLIGHT;
 import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_URL;
 import static com.github.akarazhev.cryptoscout.config.Constants.JdbcConfig.JDBC_USERNAME;
 import static com.github.akarazhev.cryptoscout.config.Constants.ServerConfig.SERVER_PORT;
@@ -65,15 +105,55 @@ public final class ConfigValidator {
             AMQP_ANALYST_QUEUE,
             AMQP_ANALYST_ROUTING_KEY,
             JDBC_URL,
+            ANALYST_HISTORY_DIR,
+            ANALYST_BACKFILL_SYMBOLS,
             JDBC_USERNAME
     };
 
     private static final String[] REQUIRED_INT_PROPERTIES = {
             AMQP_RABBITMQ_PORT,
             AMQP_STREAM_PORT,
+            AMQP_STREAM_INITIAL_CREDITS,
+            AMQP_STREAM_BUFFER_CAPACITY,
+            AMQP_STREAM_DRAIN_BATCH_SIZE,
+            AMQP_BYBIT_STREAM_PARTITIONS,
+            AMQP_BYBIT_TA_STREAM_PARTITIONS,
+            AMQP_STREAM_PRODUCER_SUB_ENTRY_SIZE,
+            AMQP_STREAM_PRODUCER_BATCH_SIZE,
+            AMQP_STREAM_PRODUCER_BATCH_DELAY_MS,
+            AMQP_STREAM_PRODUCER_MAX_UNCONFIRMED,
+            ANALYST_BYBIT_SHARDS,
+            ANALYST_SHARD_MAX_IN_FLIGHT,
+            ANALYST_ENRICHMENT_MAX_IN_FLIGHT,
+            ANALYST_ENRICHMENT_INLINE_BUDGET_MICROS,
+            ANALYST_ENRICHMENT_BATCH_MAX_SIZE,
+            ANALYST_BACKFILL_LOOKBACK_DAYS,
+            ANALYST_BACKFILL_MAX_CANDLES,
+            ANALYST_BACKFILL_MAX_IN_FLIGHT,
+            ANALYST_BACKFILL_TIMEOUT_MS,
+            ANALYST_BACKFILL_INTERVAL_MS,
+            ANALYST_RETENTION_INTERVAL_MS,
+            ANALYST_RETENTION_BATCH_SIZE,
             SERVER_PORT
     };
 
+    private static final String[] REQUIRED_NON_NEGATIVE_INT_PROPERTIES = {
+            ANALYST_ENRICHMENT_BATCH_LINGER_MS
+    };
+
+    private static final String[] REQUIRED_BOOLEAN_PROPERTIES = {
+            AMQP_STREAM_ZERO_COPY,
+            AMQP_STREAM_PRODUCER_FLUSH_PER_TICK,
+            ANALYST_ENRICHMENT_INLINE,
+            ANALYST_HISTORY_PERSISTENT
+    };
+
+    private static final Map<String, String[]> REQUIRED_ENUM_PROPERTIES = Map.of(
+            AMQP_BYBIT_TA_STREAM_CODEC, AMQP_BYBIT_TA_STREAM_CODECS,
+            AMQP_STREAM_PRODUCER_COMPRESSION, AMQP_STREAM_PRODUCER_COMPRESSIONS,
+            ANALYST_KLINE_AGGREGATION, ANALYST_KLINE_AGGREGATIONS
+    );
+
     private ConfigValidator() {
         throw new UnsupportedOperationException();
     }
@@ -104,6 +184,55 @@ public final class ConfigValidator {
             }
         }
 
+        for (final var property : REQUIRED_NON_NEGATIVE_INT_PROPERTIES) {
+            try {
+                if (AppConfig.getAsInt(property) < 0) {
+                    errors.add("Required property '" + property + "' must be zero or a positive integer");
+                }
+            } catch (final Exception ex) {
+                errors.add("Required property '" + property + "' is missing or invalid: " + ex.getMessage());
+            }
+        }
+
+        for (final var property : REQUIRED_BOOLEAN_PROPERTIES) {
+            try {
+                final var value = AppConfig.getAsString(property);
+                if (value == null || !(value.strip().equalsIgnoreCase("true") ||
+                        value.strip().equalsIgnoreCase("false"))) {
+                    errors.add("Required property '" + property + "' must be true or false");
+                }
+            } catch (final Exception ex) {
+                errors.add("Required property '" + property + "' is missing: " + ex.getMessage());
+            }
+        }
+
+        for (final var property : REQUIRED_ENUM_PROPERTIES.entrySet()) {
+            final var allowed = property.getValue();
+            try {
+                final var value = AppConfig.getAsString(property.getKey());
+                if (!isOneOf(value, allowed)) {
+                    errors.add("Required property '" + property.getKey() + "' must be one of " +
+                            String.join(", ", allowed));
+                }
+            } catch (final Exception ex) {
+                errors.add("Required property '" + property.getKey() + "' is missing: " + ex.getMessage());
+            }
+        }
+
+        for (final var series : ANALYST_RETENTION_SERIES) {
+            for (final var bound : new String[]{ANALYST_RETENTION_MAX_COUNT, ANALYST_RETENTION_MAX_AGE_MS,
+                    ANALYST_RETENTION_MAX_BYTES}) {
+                final var property = ANALYST_RETENTION_PREFIX + series + bound;
+                try {
+                    if (AppConfig.getAsLong(property) < 0) {
+                        errors.add("Required property '" + property + "' must be zero or a positive integer");
+                    }
+                } catch (final Exception ex) {
+                    errors.add("Required property '" + property + "' is missing or invalid: " + ex.getMessage());
+                }
+            }
+        }
+
         if (!errors.isEmpty()) {
             LOGGER.error("Configuration validation failed with {} error(s):", errors.size());
             for (final var error : errors) {
@@ -115,4 +244,16 @@ public final class ConfigValidator {
 
         LOGGER.info("Configuration validation passed successfully");
     }
+
+    private static boolean isOneOf(final String value, final String[] allowed) {
+        if (value != null) {
+            for (final var candidate : allowed) {
+                if (candidate.equalsIgnoreCase(value.strip())) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
 }
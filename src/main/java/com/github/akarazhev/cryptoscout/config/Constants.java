@@ -49,6 +49,23 @@ final class Constants {
         static final String AMQP_ANALYST_QUEUE = "amqp.analyst.queue";
         static final String AMQP_ANALYST_ROUTING_KEY = "amqp.analyst.routing.key";
         static final String AMQP_RABBITMQ_PORT = "amqp.rabbitmq.port";
+        // Stream consumer flow control
+        static final String AMQP_STREAM_INITIAL_CREDITS = "amqp.stream.initial.credits";
+        static final String AMQP_STREAM_BUFFER_CAPACITY = "amqp.stream.buffer.capacity";
+        static final String AMQP_STREAM_DRAIN_BATCH_SIZE = "amqp.stream.drain.batch.size";
+        static final String AMQP_BYBIT_STREAM_PARTITIONS = "amqp.bybit.stream.partitions";
+        static final String AMQP_BYBIT_TA_STREAM_PARTITIONS = "amqp.bybit.ta.stream.partitions";
+        static final String AMQP_STREAM_ZERO_COPY = "amqp.stream.zero.copy";
+        static final String AMQP_BYBIT_TA_STREAM_CODEC = "amqp.bybit.ta.stream.codec";
+        static final String[] AMQP_BYBIT_TA_STREAM_CODECS = {"json", "typed-json", "binary"};
+        // Stream producer batching and compression
+        static final String AMQP_STREAM_PRODUCER_SUB_ENTRY_SIZE = "amqp.stream.producer.sub.entry.size";
+        static final String AMQP_STREAM_PRODUCER_COMPRESSION = "amqp.stream.producer.compression";
+        static final String[] AMQP_STREAM_PRODUCER_COMPRESSIONS = {"none", "gzip", "snappy", "lz4", "zstd"};
+        static final String AMQP_STREAM_PRODUCER_BATCH_SIZE = "amqp.stream.producer.batch.size";
+        static final String AMQP_STREAM_PRODUCER_BATCH_DELAY_MS = "amqp.stream.producer.batch.delay.ms";
+        static final String AMQP_STREAM_PRODUCER_MAX_UNCONFIRMED = "amqp.stream.producer.max.unconfirmed";
+        static final String AMQP_STREAM_PRODUCER_FLUSH_PER_TICK = "amqp.stream.producer.flush.per.tick";
     }
 
     final static class JdbcConfig {
@@ -69,6 +86,42 @@ final class Constants {
         static final String HIKARI_REGISTER_MBEANS = "jdbc.hikari.register-mbeans";
     }
 
+    final static class AnalystConfig {
+        private AnalystConfig() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Symbol-sharded bybit pipeline
+        static final String ANALYST_BYBIT_SHARDS = "analyst.bybit.shards";
+        static final String ANALYST_SHARD_MAX_IN_FLIGHT = "analyst.shard.max.in.flight";
+        static final String ANALYST_ENRICHMENT_MAX_IN_FLIGHT = "analyst.enrichment.max.in.flight";
+        static final String ANALYST_ENRICHMENT_INLINE = "analyst.enrichment.inline";
+        static final String ANALYST_ENRICHMENT_INLINE_BUDGET_MICROS = "analyst.enrichment.inline.budget.micros";
+        static final String ANALYST_ENRICHMENT_BATCH_MAX_SIZE = "analyst.enrichment.batch.max.size";
+        static final String ANALYST_ENRICHMENT_BATCH_LINGER_MS = "analyst.enrichment.batch.linger.ms";
+        static final String ANALYST_KLINE_AGGREGATION = "analyst.kline.aggregation";
+        static final String[] ANALYST_KLINE_AGGREGATIONS = {"none", "kline", "trade"};
+        // Memory-mapped kline store, one directory per history under analyst.history.dir
+        static final String ANALYST_HISTORY_PERSISTENT = "analyst.history.persistent";
+        static final String ANALYST_HISTORY_DIR = "analyst.history.dir";
+        // Gap-aware kline backfill through the collector
+        static final String ANALYST_BACKFILL_SYMBOLS = "analyst.backfill.symbols";
+        static final String ANALYST_BACKFILL_LOOKBACK_DAYS = "analyst.backfill.lookback.days";
+        static final String ANALYST_BACKFILL_MAX_CANDLES = "analyst.backfill.max.candles";
+        static final String ANALYST_BACKFILL_MAX_IN_FLIGHT = "analyst.backfill.max.in.flight";
+        static final String ANALYST_BACKFILL_TIMEOUT_MS = "analyst.backfill.timeout.ms";
+        static final String ANALYST_BACKFILL_INTERVAL_MS = "analyst.backfill.interval.ms";
+        // In-memory history retention, "analyst.retention.<series>.max.*" with 0 as unlimited
+        static final String ANALYST_RETENTION_INTERVAL_MS = "analyst.retention.interval.ms";
+        static final String ANALYST_RETENTION_BATCH_SIZE = "analyst.retention.batch.size";
+        static final String ANALYST_RETENTION_PREFIX = "analyst.retention.";
+        static final String ANALYST_RETENTION_MAX_COUNT = ".max.count";
+        static final String ANALYST_RETENTION_MAX_AGE_MS = ".max.age.ms";
+        static final String ANALYST_RETENTION_MAX_BYTES = ".max.bytes";
+        static final String[] ANALYST_RETENTION_SERIES = {"klines", "tickers", "order.books", "public.trades",
+                "liquidations"};
+    }
+
     final static class ServerConfig {
         private ServerConfig() {
             throw new UnsupportedOperationException();
@@ -30,8 +30,10 @@ import com.github.akarazhev.cryptoscout.analyst.BybitStreamService;
 import com.github.akarazhev.cryptoscout.analyst.CryptoScoutService;
 import com.github.akarazhev.cryptoscout.analyst.DataService;
 import com.github.akarazhev.cryptoscout.analyst.StreamService;
+import com.github.akarazhev.cryptoscout.analyst.SymbolService;
 import com.github.akarazhev.cryptoscout.analyst.db.AnalystDataSource;
 import com.github.akarazhev.cryptoscout.analyst.db.StreamOffsetsRepository;
+import com.github.akarazhev.cryptoscout.analyst.db.SymbolsRepository;
 import com.github.akarazhev.cryptoscout.config.AmqpConfig;
 import io.activej.inject.annotation.Eager;
 import io.activej.inject.annotation.Named;
@@ -97,6 +99,17 @@ public final class AnalystModule extends AbstractModule {
         return StreamOffsetsRepository.create(reactor, analystDataSource);
     }
 
+    @Provides
+    private SymbolsRepository symbolsRepository(final NioReactor reactor, final AnalystDataSource analystDataSource) {
+        return SymbolsRepository.create(reactor, analystDataSource);
+    }
+
+    @Provides
+    private SymbolService symbolService(final NioReactor reactor, final Executor executor,
+                                        final SymbolsRepository symbolsRepository) {
+        return SymbolService.create(reactor, executor, symbolsRepository);
+    }
+
     @Provides
     private BybitStreamService bybitStreamService(final NioReactor reactor, final Executor executor,
                                                   final StreamOffsetsRepository streamOffsetsRepository,
@@ -119,8 +132,11 @@ public final class AnalystModule extends AbstractModule {
 
     @Provides
     private DataService dataService(final NioReactor reactor, final Executor executor,
+                                    final SymbolService symbolService,
                                     @Named(CHATBOT_PUBLISHER) final AmqpPublisher chatbotPublisher,
                                     @Named(COLLECTOR_PUBLISHER) final AmqpPublisher collectorPublisher) {
-        return DataService.create(reactor, executor, chatbotPublisher, collectorPublisher);
+        // Depending on the symbol service makes the persisted ids load before any payload is processed
+        return DataService.create(reactor, executor, symbolService.getSymbolTable(), chatbotPublisher,
+                collectorPublisher);
     }
 }
@@ -24,6 +24,8 @@
 
 package com.github.akarazhev.cryptoscout.analyst;
 
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolTable;
+import com.github.akarazhev.cryptoscout.analyst.history.KlineHistory;
 import com.github.akarazhev.cryptoscout.config.AmqpConfig;
 import com.github.akarazhev.cryptoscout.test.AmqpTestConsumer;
 import com.github.akarazhev.cryptoscout.test.AmqpTestPublisher;
@@ -92,7 +94,8 @@ final class DataServiceTest {
                 CHATBOT_PUBLISHER_CLIENT_NAME, AmqpConfig.getAmqpChatbotQueue());
         collectorPublisher = AmqpPublisher.create(reactor, executor, AmqpConfig.getConnectionFactory(),
                 COLLECTOR_PUBLISHER_CLIENT_NAME, AmqpConfig.getAmqpCollectorQueue());
-        dataService = DataService.create(reactor, executor, chatbotPublisher, collectorPublisher);
+        dataService = DataService.create(reactor, executor, SymbolTable.create(), chatbotPublisher,
+                collectorPublisher);
         analystConsumer = AmqpConsumer.create(reactor, executor, AmqpConfig.getConnectionFactory(),
                 ANALYST_CONSUMER_CLIENT_NAME, AmqpConfig.getAmqpAnalystQueue());
         analystConsumer.getStreamSupplier().streamTo(dataService.getStreamConsumer());
@@ -118,6 +121,23 @@ final class DataServiceTest {
         reactor.run();
     }
 
+    private static void assertStoredKline(final Map<String, Object> kline, final KlineHistory klines) {
+        final var series = klines.series(kline.get("symbol") instanceof String symbol ? symbol : "");
+        assertNotNull(series);
+        assertEquals(1, series.size());
+        assertEquals(((Number) kline.get("start")).longValue(), series.timestamp(0));
+        assertEquals(doubleOf(kline.get("open")), series.open(0));
+        assertEquals(doubleOf(kline.get("high")), series.high(0));
+        assertEquals(doubleOf(kline.get("low")), series.low(0));
+        assertEquals(doubleOf(kline.get("close")), series.close(0));
+        assertEquals(doubleOf(kline.get("volume")), series.volume(0));
+    }
+
+    private static double doubleOf(final Object value) {
+        assertNotNull(value);
+        return value instanceof Number number ? number.doubleValue() : Double.parseDouble(value.toString());
+    }
+
     @Test
     void serviceStartPublishesInitialRequests() {
         TestUtils.await(dataService.start().whenComplete(collectorTestConsumer::start));
@@ -150,7 +170,8 @@ final class DataServiceTest {
         final var klines = dataService.getCryptoScoutKlines1d();
         assertNotNull(klines);
         assertEquals(1, klines.size());
-        assertEquals(kline, klines.peek());
+        assertEquals(0, klines.getSkippedCount());
+        assertStoredKline(kline, klines);
     }
 
     @Test
@@ -166,7 +187,8 @@ final class DataServiceTest {
         final var klines = dataService.getCryptoScoutKlines1w();
         assertNotNull(klines);
         assertEquals(1, klines.size());
-        assertEquals(kline, klines.peek());
+        assertEquals(0, klines.getSkippedCount());
+        assertStoredKline(kline, klines);
     }
 
     @Test
@@ -182,7 +204,8 @@ final class DataServiceTest {
         final var klines = dataService.getBybitKlines1m();
         assertNotNull(klines);
         assertEquals(1, klines.size());
-        assertEquals(kline, klines.peek());
+        assertEquals(0, klines.getSkippedCount());
+        assertStoredKline(kline, klines);
     }
 
     @Test
@@ -198,7 +221,8 @@ final class DataServiceTest {
         final var klines = dataService.getBybitKlines5m();
         assertNotNull(klines);
         assertEquals(1, klines.size());
-        assertEquals(kline, klines.peek());
+        assertEquals(0, klines.getSkippedCount());
+        assertStoredKline(kline, klines);
     }
 
     @Test
@@ -214,7 +238,8 @@ final class DataServiceTest {
         final var klines = dataService.getBybitKlines15m();
         assertNotNull(klines);
         assertEquals(1, klines.size());
-        assertEquals(kline, klines.peek());
+        assertEquals(0, klines.getSkippedCount());
+        assertStoredKline(kline, klines);
     }
 
     @Test
@@ -230,7 +255,8 @@ final class DataServiceTest {
         final var klines = dataService.getBybitKlines60m();
         assertNotNull(klines);
         assertEquals(1, klines.size());
-        assertEquals(kline, klines.peek());
+        assertEquals(0, klines.getSkippedCount());
+        assertStoredKline(kline, klines);
     }
 
     @Test
@@ -246,7 +272,8 @@ final class DataServiceTest {
         final var klines = dataService.getBybitKlines240m();
         assertNotNull(klines);
         assertEquals(1, klines.size());
-        assertEquals(kline, klines.peek());
+        assertEquals(0, klines.getSkippedCount());
+        assertStoredKline(kline, klines);
     }
 
     @Test
@@ -262,7 +289,8 @@ final class DataServiceTest {
         final var klines = dataService.getBybitKlines1d();
         assertNotNull(klines);
         assertEquals(1, klines.size());
-        assertEquals(kline, klines.peek());
+        assertEquals(0, klines.getSkippedCount());
+        assertStoredKline(kline, klines);
     }
 
     @Test
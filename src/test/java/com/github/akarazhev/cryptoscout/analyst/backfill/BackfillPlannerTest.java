@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.backfill;
+
+import com.github.akarazhev.cryptoscout.analyst.history.KlineSeries;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class BackfillPlannerTest {
+
+    @Test
+    void shouldPlanWholeRangeOfEmptySeriesInBoundedRequests() {
+        final var planner = BackfillPlanner.create(10L, 5);
+        assertEquals(List.of(new BackfillPlanner.Range(0L, 50L), new BackfillPlanner.Range(50L, 100L),
+                new BackfillPlanner.Range(100L, 105L)), planner.plan(null, 0L, 95L));
+    }
+
+    @Test
+    void shouldPlanHolesAndClosedTailOnly() {
+        final var planner = BackfillPlanner.create(10L, 100);
+        final var series = KlineSeries.create();
+        for (final var time : new long[]{100L, 110L, 140L, 150L, 200L}) {
+            series.append(time, 1d, 1d, 1d, 1d, 1d);
+        }
+
+        // The newest candle is still open: only the holes are missing
+        assertEquals(List.of(new BackfillPlanner.Range(120L, 140L), new BackfillPlanner.Range(160L, 200L)),
+                planner.plan(series, 0L, 205L));
+        // Once it closes the tail is requested from it on
+        assertEquals(new BackfillPlanner.Range(200L, 220L), planner.plan(series, 0L, 210L).getLast());
+    }
+
+    @Test
+    void shouldSkipRangesAnsweredWithoutCandles() {
+        final var planner = BackfillPlanner.create(10L, 100);
+        final var series = KlineSeries.create();
+        series.append(100L, 1d, 1d, 1d, 1d, 1d);
+        series.append(200L, 1d, 1d, 1d, 1d, 1d);
+        planner.markCovered(110L, 150L, 205L);
+
+        assertEquals(List.of(new BackfillPlanner.Range(150L, 200L)), planner.plan(series, 0L, 205L));
+        // Only the closed part of an answered range counts as covered
+        planner.markCovered(150L, 215L, 209L);
+        assertTrue(planner.plan(series, 0L, 205L).isEmpty());
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.backfill;
+
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolTable;
+import com.github.akarazhev.cryptoscout.analyst.history.KlineHistory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class BackfillSchedulerTest {
+    private final List<String> requests = new ArrayList<>();
+
+    @Test
+    void shouldThrottleRequestsPerMethodAndRetryTimeouts() {
+        final var scheduler = scheduler(2);
+        final var history = KlineHistory.create(SymbolTable.create());
+        scheduler.register("m1", "BTCUSDT", history, BackfillPlanner.create(10L, 5), 0L);
+        scheduler.register("m1", "ETHUSDT", history, BackfillPlanner.create(10L, 5), 0L);
+        scheduler.register("m2", "BTCUSDT", KlineHistory.create(SymbolTable.create()),
+                BackfillPlanner.create(10L, 100), 0L);
+
+        scheduler.poll(95L);
+        assertEquals(List.of("m1:BTCUSDT:0-50", "m2:BTCUSDT:0-105"), requests);
+        assertEquals(2, scheduler.getInFlightCount());
+        assertEquals(3 + 2, scheduler.getPendingCount());
+
+        history.appendAll(List.of(Map.of("symbol", "BTCUSDT", "start", 0L, "close", 1d)));
+        scheduler.complete("m1", null, true, 95L);
+        assertEquals("m1:BTCUSDT:50-100", requests.getLast());
+        scheduler.complete("m1", null, true, 95L);
+        assertEquals("m1:ETHUSDT:0-50", requests.getLast());
+        // The unanswered requests expire and the idle series is planned again
+        scheduler.poll(2_000L);
+        assertEquals(2, scheduler.getTimedOutCount());
+        assertEquals(2, scheduler.getCompletedCount());
+        assertEquals(List.of("m2:BTCUSDT:0-1000", "m1:BTCUSDT:100-105"), requests.subList(4, 6));
+    }
+
+    @Test
+    void shouldRotateOverSeriesWithinTheLimit() {
+        final var scheduler = scheduler(1);
+        scheduler.register("a", "BTCUSDT", KlineHistory.create(SymbolTable.create()),
+                BackfillPlanner.create(10L, 5), 0L);
+        scheduler.register("b", "BTCUSDT", KlineHistory.create(SymbolTable.create()),
+                BackfillPlanner.create(10L, 5), 0L);
+
+        scheduler.poll(95L);
+        for (var i = 0; i < 3; i++) {
+            scheduler.complete(i % 2 == 0 ? "a" : "b", null, true, 95L);
+        }
+
+        assertEquals(List.of("a:BTCUSDT:0-50", "b:BTCUSDT:0-50", "a:BTCUSDT:50-100", "b:BTCUSDT:50-100"), requests);
+        assertEquals(1, scheduler.getInFlightCount());
+        assertEquals(2, scheduler.getPendingCount());
+    }
+
+    @Test
+    void shouldIgnoreLateResponseOfExpiredRequest() {
+        final var scheduler = scheduler(1);
+        scheduler.register("m", "BTCUSDT", KlineHistory.create(SymbolTable.create()),
+                BackfillPlanner.create(10L, 5), 0L);
+
+        scheduler.poll(95L);
+        scheduler.poll(1_095L);
+        assertEquals("m:BTCUSDT:50-100", requests.getLast());
+        // The expired request is answered after its successor went out
+        scheduler.complete("m", new BackfillScheduler.Key("BTCUSDT", 0L, 50L), true, 1_100L);
+        assertEquals(1, scheduler.getLateCount());
+        assertEquals(0, scheduler.getCompletedCount());
+        assertEquals(1, scheduler.getInFlightCount());
+
+        scheduler.complete("m", new BackfillScheduler.Key("BTCUSDT", 50L, 100L), true, 1_100L);
+        assertEquals(1, scheduler.getCompletedCount());
+        assertEquals("m:BTCUSDT:100-105", requests.getLast());
+    }
+
+    @Test
+    void shouldCoverRangesOnlyWhenSurelyAnsweredWhole() {
+        final var scheduler = scheduler(1);
+        scheduler.register("m", "BTCUSDT", KlineHistory.create(SymbolTable.create()),
+                BackfillPlanner.create(10L, 100), 0L);
+
+        scheduler.poll(95L);
+        scheduler.poll(1_095L);
+        assertEquals("m:BTCUSDT:0-1000", requests.getLast());
+        // Right after a timeout a response naming only its method may belong to the expired request
+        scheduler.complete("m", null, true, 1_100L);
+        scheduler.complete("m", null, true, 1_100L);
+        assertEquals(2, scheduler.getCompletedCount());
+
+        scheduler.poll(2_100L);
+        assertEquals("m:BTCUSDT:0-1000", requests.getLast());
+        scheduler.complete("m", null, true, 2_100L);
+        assertEquals("m:BTCUSDT:1000-2000", requests.getLast());
+        // A response with lost chunks settles its request without covering it
+        scheduler.complete("m", null, false, 2_100L);
+        scheduler.complete("m", null, true, 2_100L);
+        scheduler.poll(2_100L);
+        assertEquals("m:BTCUSDT:1000-2000", requests.getLast());
+        assertEquals(0, scheduler.getLateCount());
+    }
+
+    private BackfillScheduler scheduler(final int maxInFlight) {
+        return BackfillScheduler.create((method, symbol, from, to) ->
+                requests.add(method + ":" + symbol + ":" + from + "-" + to), maxInFlight, 1_000L);
+    }
+}
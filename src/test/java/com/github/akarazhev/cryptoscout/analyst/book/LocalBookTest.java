@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.book;
+
+import com.github.akarazhev.cryptoscout.analyst.model.OrderBook;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class LocalBookTest {
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void shouldApplySnapshotAndDeltas() {
+        final var book = new LocalBook(50);
+        book.apply(update(true, 10, new double[]{100, 99, 98}, new double[]{1, 2, 3},
+                new double[]{101, 102}, new double[]{4, 5}));
+        // Remove the best bid, add a better ask and change a deeper level
+        final var metrics = book.apply(update(false, 11, new double[]{100, 98}, new double[]{0, 6},
+                new double[]{100.5}, new double[]{1}));
+        assertTrue(metrics.valid());
+        assertEquals(99d, metrics.bestBid());
+        assertEquals(2d, metrics.bestBidSize());
+        assertEquals(100.5, metrics.bestAsk());
+        assertEquals(1.5, metrics.spread(), EPSILON);
+        assertEquals((99d * 1d + 100.5 * 2d) / 3d, metrics.microprice(), EPSILON);
+        assertEquals(8d, metrics.bidDepth());
+        assertEquals(10d, metrics.askDepth());
+        assertEquals(-2d / 18d, metrics.imbalance(), EPSILON);
+    }
+
+    @Test
+    void shouldInvalidateOnGapUntilSnapshot() {
+        final var book = new LocalBook(50);
+        book.apply(update(true, 10, new double[]{100}, new double[]{1}, new double[]{101}, new double[]{1}));
+        assertFalse(book.apply(update(false, 12, new double[]{99}, new double[]{1}, new double[0], new double[0]))
+                .valid());
+        assertEquals(1, book.gapCount());
+        assertFalse(book.apply(update(false, 13, new double[]{99}, new double[]{1}, new double[0], new double[0]))
+                .valid());
+        final var metrics = book.apply(update(true, 20, new double[]{98}, new double[]{1}, new double[]{99},
+                new double[]{1}));
+        assertTrue(metrics.valid());
+        assertEquals(98d, metrics.bestBid());
+    }
+
+    @Test
+    void shouldKeepSidesSortedUnderRandomUpdates() {
+        final var side = new BookSide(true, 4);
+        final var random = new Random(42);
+        final var reference = new TreeMap<Double, Double>();
+        for (var i = 0; i < 5_000; i++) {
+            final var price = 1_000d + random.nextInt(300) * 0.5;
+            final var size = random.nextInt(4) == 0 ? 0d : 1d + random.nextInt(10);
+            side.set(price, size);
+            if (size == 0d) {
+                reference.remove(price);
+            } else {
+                reference.put(price, size);
+            }
+        }
+
+        assertEquals(reference.size(), side.size());
+        var level = 0;
+        for (final var entry : reference.entrySet()) {
+            assertEquals(entry.getKey(), side.price(level));
+            assertEquals(entry.getValue(), side.size(level));
+            level++;
+        }
+
+        assertEquals(reference.values().stream().mapToDouble(Double::doubleValue).sum(), side.total(), EPSILON);
+    }
+
+    private static OrderBook update(final boolean snapshot, final long updateId, final double[] bidPrices,
+                                    final double[] bidSizes, final double[] askPrices, final double[] askSizes) {
+        return new OrderBook("BTCUSDT", 50, updateId, snapshot, updateId, updateId, bidPrices, bidSizes, askPrices,
+                askSizes);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import com.github.akarazhev.cryptoscout.analyst.model.Kline;
+import com.github.akarazhev.cryptoscout.analyst.model.Klines;
+import com.github.akarazhev.cryptoscout.analyst.model.OrderBook;
+import com.github.akarazhev.cryptoscout.analyst.model.Trade;
+import com.github.akarazhev.cryptoscout.analyst.model.Trades;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import com.github.akarazhev.jcryptolib.stream.Source;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class BinaryOutputCodecTest {
+    private final BinaryOutputCodec codec = BinaryOutputCodec.create(SymbolTable.create());
+
+    @Test
+    void encodesTradesWithHeader() {
+        final var payload = PayloadView.of(Payload.of(Provider.BYBIT_TA, Source.PMST, new Trades("ETHUSDT",
+                1672304486868L, new Trade[]{new Trade(1672304486865L, true, 1578.5, 0.25)})));
+        final var buffer = ByteBuffer.wrap(codec.encode(payload));
+        assertEquals(16 + 2 + 25, buffer.remaining());
+        assertEquals(2, buffer.get());
+        assertEquals(codec.schemaId(payload), buffer.get());
+        assertEquals(2, buffer.get());
+        assertEquals(2, buffer.get());
+        assertEquals(0, buffer.getInt());
+        assertEquals(1672304486868L, buffer.getLong());
+        assertEquals(1, buffer.getShort());
+        assertEquals(1672304486865L, buffer.getLong());
+        assertEquals(1, buffer.get());
+        assertEquals(1578.5, buffer.getDouble());
+        assertEquals(0.25, buffer.getDouble());
+    }
+
+    @Test
+    void encodesSymbolsByDictionaryId() {
+        final var first = book("BTCUSDT");
+        final var second = book("ETHUSDT");
+        assertEquals(0, ByteBuffer.wrap(codec.encode(first)).getInt(4));
+        assertEquals(1, ByteBuffer.wrap(codec.encode(second)).getInt(4));
+        assertEquals(0, ByteBuffer.wrap(codec.encode(first)).getInt(4));
+        assertEquals(16 + 2 + 1 + 16 + 4 + 3 * 16, codec.encode(first).length);
+    }
+
+    @Test
+    void fallsBackToJsonBeyondTheCountFields() {
+        final var trades = new Trade[0x10000];
+        Arrays.fill(trades, new Trade(1L, false, 1d, 1d));
+        final var payload = PayloadView.of(Payload.of(Provider.BYBIT_TA, Source.PMST, new Trades("ETHUSDT", 1L,
+                trades)));
+        assertEquals(0, codec.schemaId(payload));
+        assertArrayEquals(JsonOutputCodec.create().encode(payload), codec.encode(payload));
+        final var fitting = PayloadView.of(Payload.of(Provider.BYBIT_TA, Source.PMST, new Trades("ETHUSDT", 1L,
+                Arrays.copyOf(trades, 0xFFFF))));
+        final var buffer = ByteBuffer.wrap(codec.encode(fitting));
+        assertEquals(codec.schemaId(fitting), buffer.get(1));
+        assertEquals(0xFFFF, Short.toUnsignedInt(buffer.getShort(16)));
+    }
+
+    @Test
+    void fallsBackToJsonForIntervalsBeyondTheLengthPrefix() {
+        final var kline = new Kline(1L, 2L, 1d, 1d, 1d, 1d, 1d, 1d, true, 2L);
+        final var fitting = PayloadView.of(Payload.of(Provider.BYBIT_TA, Source.PMST, new Klines("BTCUSDT", "1", 1L,
+                new Kline[]{kline})));
+        assertEquals(codec.schemaId(fitting), ByteBuffer.wrap(codec.encode(fitting)).get(1));
+        final var payload = PayloadView.of(Payload.of(Provider.BYBIT_TA, Source.PMST, new Klines("BTCUSDT",
+                "1".repeat(256), 1L, new Kline[]{kline})));
+        assertEquals(0, codec.schemaId(payload));
+        assertArrayEquals(JsonOutputCodec.create().encode(payload), codec.encode(payload));
+    }
+
+    private static PayloadView book(final String symbol) {
+        return PayloadView.of(Payload.of(Provider.BYBIT_TA, Source.PML, new OrderBook(symbol, 50, 1L, true, 2L, 3L,
+                new double[]{2, 1}, new double[]{1, 1}, new double[]{3}, new double[]{1})));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import com.github.akarazhev.cryptoscout.analyst.model.AnalyzedKlines;
+import com.github.akarazhev.cryptoscout.analyst.model.Indicators;
+import com.github.akarazhev.cryptoscout.analyst.model.Kline;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import com.github.akarazhev.jcryptolib.stream.Source;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+final class JsonOutputCodecTest {
+    private final PayloadDecoder decoder = PayloadDecoder.create(DecoderRegistry.createForBybit(SymbolTable.create()));
+    private final JsonOutputCodec codec = JsonOutputCodec.create();
+
+    @Test
+    void forwardsUnchangedPayloadsAsReceived() {
+        final var bytes = Samples.of("kline");
+        assertArrayEquals(bytes, codec.encode(decoder.decodeView(bytes, 0, bytes.length)));
+    }
+
+    @Test
+    void keepsReceivedDataWithoutAnalysisWhenNotEnriched() {
+        final var bytes = Samples.of("kline");
+        final var view = decoder.decodeView(bytes, 0, bytes.length).withProvider(Provider.BYBIT_TA);
+        final var json = read(codec.encode(view));
+        assertEquals("BYBIT_TA", json.get("provider"));
+        assertEquals("PML", json.get("source"));
+        assertEquals(view.getReceivedData(), json.get("data"));
+        assertFalse(json.containsKey("analysis"));
+        assertFalse(view.isDecoded());
+    }
+
+    @Test
+    void publishesAnalysisNextToReceivedData() {
+        final var bytes = Samples.of("kline");
+        final var view = decoder.decodeView(bytes, 0, bytes.length);
+        final var kline = new Kline(1672324800000L, 1672325099999L, 16649.5, 16677, 16608, 16677, 2.081,
+                34666.4005, false, 1672324988882L);
+        final var indicators = new Indicators(16650.5, 16651.5, 55.5, 1.5, 0.5, 1.0, 16700.5, 16650.5, 16600.5,
+                20.5, 16655.5, 80.5, 75.5);
+        final var enriched = view.withResult(Payload.of(Provider.BYBIT_TA, Source.PML,
+                new AnalyzedKlines("BTCUSDT", "5", 1672324988882L, new Kline[]{kline}, indicators)));
+
+        final var json = read(codec.encode(enriched));
+        assertEquals("BYBIT_TA", json.get("provider"));
+        assertEquals(view.getReceivedData(), json.get("data"));
+        final var analysis = assertInstanceOf(Map.class, json.get("analysis"));
+        assertEquals("BTCUSDT", analysis.get("symbol"));
+        final var published = assertInstanceOf(Map.class, analysis.get("indicators"));
+        assertEquals(55.5, published.get("rsi"));
+        assertEquals(16655.5, published.get("vwap"));
+    }
+
+    private static Map<?, ?> read(final byte[] bytes) {
+        return assertInstanceOf(Map.class, JsonReader.create(bytes, 0, bytes.length).readValue());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class JsonReaderTest {
+
+    @Test
+    void readsQuotedAndBareNumbers() {
+        final var reader = reader("[\"0.1\", 123.456, \"-0.00001234\", 1e-3, \"\", null, \"1700000000123\"]");
+        reader.beginArray();
+        assertEquals(0.1, reader.nextDouble());
+        assertEquals(123.456, reader.nextDouble());
+        assertEquals(-0.00001234, reader.nextDouble());
+        assertEquals(0.001, reader.nextDouble());
+        assertEquals(0d, reader.nextDouble());
+        assertEquals(0d, reader.nextDouble());
+        assertEquals(1700000000123L, reader.nextLong());
+        assertFalse(reader.hasNext());
+        reader.endArray();
+    }
+
+    @Test
+    void readsNestedValues() {
+        final var value = reader("{\"s\":\"BTC\\nUSDT\",\"n\":[1,2.5,true,null],\"o\":{\"big\":12345678901}}").readValue();
+        assertEquals(Map.of("s", "BTC\nUSDT", "n", Arrays.asList(1, 2.5, true, null),
+                "o", Map.of("big", 12345678901L)), value);
+    }
+
+    @Test
+    void matchesAndSkipsNames() {
+        final var reader = reader("{\"skip\":{\"a\":[1,\"]\"]},\"data\":\"x\"}");
+        reader.beginObject();
+        assertFalse(reader.nextNameEquals("data"));
+        assertEquals("skip", reader.nextName());
+        reader.skipValue();
+        assertTrue(reader.nextNameEquals("data"));
+        assertEquals("x", reader.nextString());
+        reader.endObject();
+
+        final var other = reader("{\"a\\\"b\":1,\"c\":2}");
+        other.beginObject();
+        other.skipName();
+        other.skipValue();
+        assertTrue(other.nextNameEquals("c"));
+        assertEquals(2L, other.nextLong());
+        other.endObject();
+    }
+
+    @Test
+    void matchesStringValues() {
+        final var reader = reader("[\"snapshot\",\"snap\",\"snapshots\",\"Buy\"]");
+        reader.beginArray();
+        assertTrue(reader.nextStringEquals("snapshot"));
+        assertFalse(reader.nextStringEquals("snapshot"));
+        assertFalse(reader.nextStringEquals("snapshot"));
+        assertTrue(reader.nextStringEquals("Buy"));
+        assertFalse(reader.hasNext());
+        reader.endArray();
+    }
+
+    @Test
+    void readsFromSlice() {
+        final var bytes = "xx[\"a\",\"b\"]yy".getBytes(StandardCharsets.UTF_8);
+        assertEquals(List.of("a", "b"), JsonReader.create(bytes, 2, bytes.length - 4).readValue());
+    }
+
+    private static JsonReader reader(final String json) {
+        final var bytes = json.getBytes(StandardCharsets.UTF_8);
+        return JsonReader.create(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import com.github.akarazhev.cryptoscout.analyst.model.Klines;
+import com.github.akarazhev.cryptoscout.analyst.model.OrderBook;
+import com.github.akarazhev.cryptoscout.analyst.model.Trades;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import com.github.akarazhev.jcryptolib.stream.Source;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class PayloadDecoderTest {
+    private final PayloadDecoder decoder = PayloadDecoder.create(DecoderRegistry.createForBybit(SymbolTable.create()));
+
+    @Test
+    void decodesKline() {
+        final var payload = decode("{\"provider\":\"BYBIT\",\"source\":\"PML\",\"data\":{\"type\":\"snapshot\"," +
+                "\"ts\":1672324988882,\"topic\":\"kline.5.BTCUSDT\",\"data\":[{\"start\":1672324800000," +
+                "\"end\":1672325099999,\"interval\":\"5\",\"open\":\"16649.5\",\"close\":\"16677\",\"high\":\"16677\"," +
+                "\"low\":\"16608\",\"volume\":\"2.081\",\"turnover\":\"34666.4005\",\"confirm\":true," +
+                "\"timestamp\":1672324988882}]}}");
+        assertEquals(Provider.BYBIT, payload.getProvider());
+        assertEquals(Source.PML, payload.getSource());
+        final var klines = assertInstanceOf(Klines.class, payload.getData());
+        assertEquals("BTCUSDT", klines.symbol());
+        assertEquals("5", klines.interval());
+        assertEquals(1672324988882L, klines.timestamp());
+        assertEquals(1, klines.klines().length);
+        final var kline = klines.klines()[0];
+        assertEquals(1672324800000L, kline.start());
+        assertEquals(16649.5, kline.open());
+        assertEquals(16608, kline.low());
+        assertEquals(34666.4005, kline.turnover());
+        assertTrue(kline.confirm());
+    }
+
+    @Test
+    void decodesOrderBook() {
+        final var payload = decode("{\"provider\":\"BYBIT\",\"source\":\"PML\",\"data\":{\"topic\":\"orderbook.50.BTCUSDT\"," +
+                "\"type\":\"delta\",\"ts\":1672304484978,\"data\":{\"s\":\"BTCUSDT\",\"b\":[[\"16493.50\",\"0.006\"]," +
+                "[\"16493.00\",\"0\"]],\"a\":[[\"16611.00\",\"0.029\"]],\"u\":18521288,\"seq\":7961638724}}}");
+        final var book = assertInstanceOf(OrderBook.class, payload.getData());
+        assertEquals(50, book.depth());
+        assertFalse(book.snapshot());
+        assertEquals(18521288L, book.updateId());
+        assertEquals(7961638724L, book.sequence());
+        assertArrayEquals(new double[]{16493.5, 16493.0}, book.bidPrices());
+        assertArrayEquals(new double[]{0.006, 0}, book.bidSizes());
+        assertArrayEquals(new double[]{16611.0}, book.askPrices());
+    }
+
+    @Test
+    void decodesTrades() {
+        final var payload = decode("{\"provider\":\"BYBIT\",\"source\":\"PMST\",\"data\":{\"topic\":\"publicTrade.ETHUSDT\"," +
+                "\"type\":\"snapshot\",\"ts\":1672304486868,\"data\":[{\"T\":1672304486865,\"s\":\"ETHUSDT\",\"S\":\"Buy\"," +
+                "\"v\":\"0.001\",\"p\":\"1578.50\",\"L\":\"PlusTick\",\"i\":\"20f43950\",\"BT\":false}]}}");
+        final var trades = assertInstanceOf(Trades.class, payload.getData());
+        assertEquals("ETHUSDT", trades.symbol());
+        assertTrue(trades.trades()[0].buy());
+        assertEquals(1578.5, trades.trades()[0].price());
+    }
+
+    @Test
+    void decodesViewDataOnDemand() {
+        final var bytes = ("{\"provider\":\"BYBIT\",\"source\":\"PMST\",\"data\":{\"ts\":1672304486868," +
+                "\"topic\":\"publicTrade.ETHUSDT\",\"data\":[{\"T\":1672304486865,\"S\":\"Sell\",\"v\":\"2\"," +
+                "\"p\":\"1578.5\"}]}}").getBytes(StandardCharsets.UTF_8);
+        final var view = decoder.decodeView(bytes, 0, bytes.length);
+        assertEquals(Provider.BYBIT, view.getProvider());
+        assertEquals("publicTrade.ETHUSDT", view.getTopic());
+        assertFalse(view.isDecoded());
+
+        final var retagged = view.withProvider(Provider.BYBIT_TA);
+        assertFalse(retagged.isDecoded());
+        final var trades = assertInstanceOf(Trades.class, retagged.getData());
+        assertFalse(trades.trades()[0].buy());
+        assertEquals(2, trades.trades()[0].size());
+        assertTrue(retagged.isDecoded());
+    }
+
+    @Test
+    void keepsReceivedDataThroughEnrichment() {
+        final var bytes = ("{\"provider\":\"BYBIT\",\"source\":\"PMST\",\"data\":{\"ts\":1672304486868," +
+                "\"topic\":\"publicTrade.ETHUSDT\",\"data\":[{\"T\":1672304486865,\"p\":\"1578.5\"}]}}")
+                .getBytes(StandardCharsets.UTF_8);
+        final var view = decoder.decodeView(bytes, 0, bytes.length).withProvider(Provider.BYBIT_TA);
+        final var received = Map.of("ts", 1672304486868L, "topic", "publicTrade.ETHUSDT",
+                "data", List.of(Map.of("T", 1672304486865L, "p", "1578.5")));
+        assertEquals(received, view.getReceivedData());
+        final var enriched = view.withResult(Payload.of(Provider.BYBIT_TA, Source.PMST, "analyzed"));
+        assertEquals("analyzed", enriched.getData());
+        assertEquals(received, enriched.getReceivedData());
+        assertNull(enriched.getRaw());
+        assertNull(PayloadView.of(Payload.of(Provider.BYBIT_TA, Source.PMST, "analyzed")).getReceivedData());
+    }
+
+    @Test
+    void fallsBackToMapsForUnknownTopics() {
+        final var payload = decode("{\"provider\":\"CMC\",\"source\":\"FGI\",\"data\":{\"value\":\"42\",\"n\":[1,2]}}");
+        assertEquals(Map.of("value", "42", "n", List.of(1, 2)), payload.getData());
+    }
+
+    @Test
+    void fallsBackToMapsForMalformedTopics() {
+        for (final var topic : List.of("kline.BTCUSDT", "kline..BTCUSDT", "kline.1.", "orderbook.x.BTCUSDT",
+                "orderbook.BTCUSDT", "orderbook.99999999999.BTCUSDT", "tickers.", "publicTrade")) {
+            final var payload = decode("{\"provider\":\"BYBIT\",\"source\":\"PML\",\"data\":{\"topic\":\"" +
+                    topic + "\",\"ts\":1,\"data\":[]}}");
+            assertEquals(Map.of("topic", topic, "ts", 1, "data", List.of()), payload.getData(), topic);
+        }
+    }
+
+    @Test
+    void findsDecodersByTopicFamily() {
+        final MarketDataDecoder kline = (reader, topic) -> null;
+        final MarketDataDecoder tickers = (reader, topic) -> null;
+        final var registry = DecoderRegistry.create().register("kline", kline).register("tickers", tickers);
+        assertSame(kline, registry.find("kline.1.BTCUSDT"));
+        assertSame(tickers, registry.find("tickers"));
+        assertNull(registry.find("klines.1.BTCUSDT"));
+        assertNull(registry.find("klinex.1"));
+        assertNull(registry.find(null));
+        final MarketDataDecoder replaced = (reader, topic) -> null;
+        assertSame(replaced, registry.register("kline", replaced).find("kline.5.ETHUSDT"));
+    }
+
+    private Payload<?> decode(final String json) {
+        final var bytes = json.getBytes(StandardCharsets.UTF_8);
+        return decoder.decode(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import com.github.akarazhev.jcryptolib.stream.Message;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ResponseChunksTest {
+
+    @Test
+    void shouldTreatSingleMessagesAndCompleteSequencesAsWhole() {
+        final var chunks = ResponseChunks.create();
+        assertTrue(chunks.accept(chunk("a", 0, true), true));
+        assertTrue(chunks.accept(chunk("b", 0, false), true));
+        assertTrue(chunks.accept(chunk("a", 0, true), true));
+        assertTrue(chunks.accept(chunk("b", 1, false), true));
+        assertTrue(chunks.accept(chunk("b", 2, true), true));
+        assertEquals(5, chunks.getChunkCount());
+        assertEquals(0, chunks.getGapCount());
+    }
+
+    @Test
+    void shouldSpoilResponseWithMissingPage() {
+        final var chunks = ResponseChunks.create();
+        assertTrue(chunks.accept(chunk("m", 0, false), true));
+        assertFalse(chunks.accept(chunk("m", 2, false), true));
+        assertFalse(chunks.accept(chunk("m", 3, true), true));
+        assertEquals(1, chunks.getGapCount());
+        // The next response starts over
+        assertTrue(chunks.accept(chunk("m", 0, true), true));
+    }
+
+    @Test
+    void shouldSpoilResponseWithFailedChunk() {
+        final var chunks = ResponseChunks.create();
+        assertTrue(chunks.accept(chunk("m", 0, false), true));
+        assertFalse(chunks.accept(chunk("m", 1, false), false));
+        assertFalse(chunks.accept(chunk("m", 2, true), true));
+        assertEquals(0, chunks.getGapCount());
+    }
+
+    @Test
+    void shouldEndResponseWhoseLastChunkNeverCame() {
+        final var chunks = ResponseChunks.create();
+        chunks.accept(chunk("m", 0, false), true);
+        chunks.accept(chunk("m", 1, false), true);
+        assertTrue(chunks.accept(chunk("m", 0, false), true));
+        assertTrue(chunks.accept(chunk("m", 1, true), true));
+        assertEquals(1, chunks.getGapCount());
+    }
+
+    private static ResponseReader.Chunk chunk(final String method, final int page, final boolean last) {
+        return new ResponseReader.Chunk(Message.Type.RESPONSE, "collector", method, page, last, null);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import com.github.akarazhev.jcryptolib.stream.Message;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ResponseReaderTest {
+
+    @Test
+    void shouldStreamValueOfSingleResponse() {
+        final var elements = new ArrayList<>();
+        final var chunk = ResponseReader.create().read(bytes("{\"command\":{\"type\":\"RESPONSE\"," +
+                "\"source\":\"collector\",\"method\":\"m\"},\"value\":[{\"a\":1},\"b\"]}"), (_, values) -> {
+            values.beginArray();
+            while (values.hasNext()) {
+                elements.add(values.readValue());
+            }
+
+            values.endArray();
+        });
+
+        assertEquals(new ResponseReader.Chunk(Message.Type.RESPONSE, "collector", "m", 0, true, null), chunk);
+        assertEquals(List.of(Map.of("a", 1), "b"), elements);
+    }
+
+    @Test
+    void shouldReadChunkMembersAfterValue() {
+        final var seen = new ArrayList<ResponseReader.Chunk>();
+        final var chunk = ResponseReader.create().read(bytes("{\"value\":[1,2,3],\"extra\":{\"x\":[]}," +
+                "\"command\":{\"method\":\"m\",\"type\":\"RESPONSE\"},\"page\":2,\"last\":false}"), (c, values) -> {
+            seen.add(c);
+            values.beginArray();
+            assertEquals(1L, values.nextLong());
+        });
+
+        assertEquals(2, chunk.page());
+        assertFalse(chunk.last());
+        assertEquals(List.of(chunk), seen);
+    }
+
+    @Test
+    void shouldReadEchoedRequest() {
+        final var reader = ResponseReader.create();
+        assertEquals(new ResponseReader.Request("BTCUSDT", 60_000L, 120_000L), reader.read(bytes("{\"command\":" +
+                "{\"method\":\"m\"},\"request\":[\"BTCUSDT\",\"1970-01-01T00:01:00Z\",120000]}"), (_, _) -> {
+        }).request());
+        assertEquals(new ResponseReader.Request("ETHUSDT", 1L, 2L), reader.read(bytes("{\"request\":" +
+                "[\"ETHUSDT\",\"1\",2,\"extra\"],\"command\":{\"method\":\"m\"}}"), (_, _) -> {
+        }).request());
+    }
+
+    @Test
+    void shouldSkipSinkWithoutArrayValue() {
+        final var called = new boolean[1];
+        final var chunk = ResponseReader.create().read(bytes("{\"command\":{\"type\":\"REQUEST\",\"method\":\"m\"}," +
+                "\"value\":null}"), (_, _) -> called[0] = true);
+        assertEquals(Message.Type.REQUEST, chunk.type());
+        assertTrue(chunk.last());
+        assertFalse(called[0]);
+    }
+
+    private static byte[] bytes(final String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
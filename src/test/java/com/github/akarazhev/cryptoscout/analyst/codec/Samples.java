@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bybit stream messages wrapped in a payload envelope, shared by the codec benchmarks.
+ */
+final class Samples {
+    private Samples() {
+        throw new UnsupportedOperationException();
+    }
+
+    static byte[] of(final String topic) {
+        return ("kline".equals(topic) ? kline() : orderBook(200)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String kline() {
+        return "{\"provider\":\"BYBIT\",\"source\":\"PML\",\"data\":{\"topic\":\"kline.5.BTCUSDT\",\"type\":\"snapshot\"," +
+                "\"ts\":1672324988882,\"data\":[{\"start\":1672324800000,\"end\":1672325099999,\"interval\":\"5\"," +
+                "\"open\":\"16649.5\",\"close\":\"16677\",\"high\":\"16677\",\"low\":\"16608\",\"volume\":\"2.081\"," +
+                "\"turnover\":\"34666.4005\",\"confirm\":false,\"timestamp\":1672324988882}]}}";
+    }
+
+    static String orderBook(final int depth) {
+        final var json = new StringBuilder("{\"provider\":\"BYBIT\",\"source\":\"PML\",\"data\":{\"topic\":\"orderbook.")
+                .append(depth).append(".BTCUSDT\",\"type\":\"snapshot\",\"ts\":1672304484978,\"data\":{\"s\":\"BTCUSDT\",\"b\":[");
+        for (var i = 0; i < depth; i++) {
+            json.append(i == 0 ? "" : ",").append("[\"").append(16493.5 - i * 0.5).append("\",\"0.").append(i + 6).append("\"]");
+        }
+
+        json.append("],\"a\":[");
+        for (var i = 0; i < depth; i++) {
+            json.append(i == 0 ? "" : ",").append("[\"").append(16494.0 + i * 0.5).append("\",\"1.").append(i).append("\"]");
+        }
+
+        return json.append("],\"u\":18521288,\"seq\":7961638724},\"cts\":1672304484976}}").toString();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class SymbolTableTest {
+
+    @Test
+    void shouldInternSymbolsOfTopicsToDenseIds() {
+        final var symbols = SymbolTable.create();
+        final var btc = symbols.intern("kline.1.BTCUSDT", 8, 15);
+        assertEquals("BTCUSDT", btc);
+        assertSame(btc, symbols.intern("orderbook.50.BTCUSDT", 13, 20));
+        assertEquals(0, symbols.idOf(btc));
+        assertEquals(0, symbols.idOf(new String("BTCUSDT")));
+        assertEquals(1, symbols.idOf("ETHUSDT"));
+        assertEquals("ETHUSDT", symbols.symbolOf(1));
+        assertNull(symbols.symbolOf(2));
+        for (var i = 0; i < 200; i++) {
+            assertEquals(i + 2, symbols.idOf("SYM" + i));
+        }
+
+        assertEquals(0, symbols.idOf("BTCUSDT"));
+        assertEquals(202, symbols.size());
+    }
+
+    @Test
+    void shouldContinueAfterRestoredIdsAndReportNewOnes() {
+        final var symbols = SymbolTable.create();
+        symbols.restore(0, "BTCUSDT");
+        symbols.restore(5, "ETHUSDT");
+        symbols.restore(5, "ETHUSDT");
+        assertThrows(IllegalStateException.class, () -> symbols.restore(5, "SOLUSDT"));
+        final var assigned = new ArrayList<String>();
+        symbols.setListener((symbol, id) -> assigned.add(symbol + "=" + id));
+        assertEquals(5, symbols.idOf("ETHUSDT"));
+        assertEquals(6, symbols.idOf("SOLUSDT"));
+        assertEquals("XRPUSDT", symbols.intern("kline.1.XRPUSDT", 8, 15));
+        assertEquals(6, symbols.idOf("SOLUSDT"));
+        assertEquals(List.of("SOLUSDT=6", "XRPUSDT=7"), assigned);
+        assertTrue(symbols.contains("XRPUSDT"));
+        assertFalse(symbols.contains("ADAUSDT"));
+    }
+
+    @Test
+    void shouldPublishTheStoredIdOfAReconciledSymbol() {
+        final var symbols = SymbolTable.create();
+        symbols.restore(0, "BTCUSDT");
+        assertEquals(1, symbols.idOf("XRPUSDT"));
+        assertEquals(1, symbols.storedIdOf("XRPUSDT"));
+        symbols.reconcile("XRPUSDT", 9);
+        assertEquals(1, symbols.idOf("XRPUSDT"));
+        assertEquals(9, symbols.storedIdOf("XRPUSDT"));
+        assertEquals(0, symbols.storedIdOf("BTCUSDT"));
+        assertEquals("XRPUSDT", symbols.symbolOf(1));
+        assertEquals(2, symbols.idOf("SOLUSDT"));
+        assertEquals(2, symbols.storedIdOf("SOLUSDT"));
+        for (var i = 0; i < 100; i++) {
+            symbols.idOf("SYM" + i);
+        }
+
+        assertEquals(9, symbols.storedIdOf("XRPUSDT"));
+        assertEquals(102, symbols.storedIdOf("SYM99"));
+        assertThrows(IllegalStateException.class, () -> symbols.reconcile("ADAUSDT", 3));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.db;
+
+import com.github.akarazhev.cryptoscout.test.DBUtils;
+import com.github.akarazhev.cryptoscout.test.PodmanCompose;
+import io.activej.eventloop.Eventloop;
+import io.activej.promise.TestUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.github.akarazhev.cryptoscout.analyst.db.Constants.Symbols.SYMBOLS_TABLE;
+import static com.github.akarazhev.cryptoscout.test.Assertions.assertTableCount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class SymbolsRepositoryTest {
+    private static ExecutorService executor;
+    private static Eventloop reactor;
+    private static AnalystDataSource collectorDataSource;
+    private static SymbolsRepository repository;
+
+    @BeforeAll
+    static void setup() {
+        PodmanCompose.up();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        reactor = Eventloop.builder()
+                .withCurrentThread()
+                .build();
+        collectorDataSource = AnalystDataSource.create(reactor, executor);
+        repository = SymbolsRepository.create(reactor, collectorDataSource);
+        TestUtils.await(collectorDataSource.start());
+    }
+
+    @BeforeEach
+    void resetState() {
+        DBUtils.deleteFromTables(collectorDataSource.getDataSource(), SYMBOLS_TABLE);
+    }
+
+    @AfterAll
+    static void cleanup() {
+        reactor.post(() -> collectorDataSource.stop()
+                .whenComplete(() -> reactor.breakEventloop()));
+        reactor.run();
+        executor.shutdown();
+        PodmanCompose.down();
+    }
+
+    @Test
+    void insertSymbol() throws Exception {
+        assertEquals(1, repository.insertSymbol(0, "BTCUSDT"));
+        assertEquals(0, repository.insertSymbol(0, "BTCUSDT"));
+        assertTableCount(SYMBOLS_TABLE, 1);
+    }
+
+    @Test
+    void getSymbols() throws Exception {
+        assertEquals(1, repository.insertSymbol(1, "ETHUSDT"));
+        assertEquals(1, repository.insertSymbol(0, "BTCUSDT"));
+        assertEquals(Map.of(0, "BTCUSDT", 1, "ETHUSDT"), repository.getSymbols());
+    }
+
+    @Test
+    void claimSymbol() throws Exception {
+        assertEquals(0, repository.claimSymbol(0, "BTCUSDT"));
+        assertEquals(0, repository.claimSymbol(3, "BTCUSDT"));
+        assertEquals(1, repository.claimSymbol(0, "ETHUSDT"));
+        assertEquals(Map.of(0, "BTCUSDT", 1, "ETHUSDT"), repository.getSymbols());
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.enrich;
+
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import com.github.akarazhev.jcryptolib.stream.Source;
+import io.activej.eventloop.Eventloop;
+import io.activej.promise.Promise;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class EnrichmentPipelineTest {
+    private static final Payload<?> PAYLOAD = Payload.of(Provider.BYBIT, Source.PML, Map.of("topic", "kline.1.BTCUSDT"));
+    private static final long NO_LIMIT = Long.MAX_VALUE;
+
+    @Test
+    void shouldRunNonBlockingStagesInline() {
+        final var bybitTa = Payload.of(Provider.BYBIT_TA, Source.PML, PAYLOAD.getData());
+        final var pipeline = EnrichmentPipeline.create(List.of(_ -> bybitTa, p -> p), true, NO_LIMIT);
+        final var promise = pipeline.process(PAYLOAD, Runnable::run);
+        assertTrue(promise.isResult());
+        assertSame(bybitTa, promise.getResult());
+        assertEquals(1, pipeline.getInlineCount());
+        assertEquals(0, pipeline.getOffloadCount());
+    }
+
+    @Test
+    void shouldStopOnDroppedPayload() {
+        final var pipeline = EnrichmentPipeline.create(List.of(_ -> null, _ -> PAYLOAD), true, NO_LIMIT);
+        final var promise = pipeline.process(PAYLOAD, Runnable::run);
+        assertTrue(promise.isResult());
+        assertNull(promise.getResult());
+    }
+
+    @Test
+    void shouldKeepBatchOrderAndDroppedEntries() {
+        final var bybitTa = Payload.of(Provider.BYBIT_TA, Source.PML, PAYLOAD.getData());
+        final EnrichmentStage dropTa = p -> Provider.BYBIT_TA.equals(p.getProvider()) ? null : p;
+        final var pipeline = EnrichmentPipeline.create(List.of(dropTa, p -> p), true, NO_LIMIT);
+        final var promise = pipeline.processBatch(Arrays.asList(PAYLOAD, bybitTa, PAYLOAD), Runnable::run);
+        assertTrue(promise.isResult());
+        assertEquals(Arrays.asList(PAYLOAD, null, PAYLOAD), promise.getResult());
+    }
+
+    @Test
+    void shouldOffloadFromFirstBlockingStage() throws Exception {
+        final var reactorThread = Thread.currentThread();
+        final var threads = new Thread[2];
+        final var blocking = new EnrichmentStage() {
+
+            @Override
+            public Payload<?> apply(final Payload<?> payload) {
+                threads[1] = Thread.currentThread();
+                return payload;
+            }
+
+            @Override
+            public boolean isBlocking() {
+                return true;
+            }
+        };
+
+        final var executor = Executors.newSingleThreadExecutor();
+        try {
+            final var eventloop = Eventloop.builder().withCurrentThread().build();
+            final var pipeline = EnrichmentPipeline.create(List.of(p -> {
+                threads[0] = Thread.currentThread();
+                return p;
+            }, blocking), true, NO_LIMIT);
+            final var promise = pipeline.process(PAYLOAD, executor);
+            eventloop.run();
+            assertSame(PAYLOAD, promise.getResult());
+            assertSame(reactorThread, threads[0]);
+            assertTrue(threads[1] != reactorThread);
+            assertEquals(1, pipeline.getOffloadCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldOffloadRemainingStagesWhenBudgetIsSpent() {
+        final var eventloop = Eventloop.builder().withCurrentThread().build();
+        final var pipeline = EnrichmentPipeline.create(List.of(p -> p, p -> p), true, -1L);
+        final var promise = pipeline.process(PAYLOAD, Runnable::run);
+        eventloop.run();
+        assertSame(PAYLOAD, promise.getResult());
+        assertEquals(1, pipeline.getBudgetOverrunCount());
+        assertEquals(1, pipeline.getOffloadCount());
+    }
+
+    @Test
+    void shouldRunStatefulStagesOneThreadAtATimeWhenTheBudgetIsSpent() {
+        // One stage instance twice over, so an overrun splits its own chain; its state is deliberately unguarded
+        final var seen = new ArrayList<Object>();
+        final var busy = new AtomicBoolean();
+        final var overlaps = new AtomicInteger();
+        final EnrichmentStage stateful = p -> {
+            if (!busy.compareAndSet(false, true)) {
+                overlaps.incrementAndGet();
+            }
+
+            seen.add(p.getData());
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            busy.set(false);
+            return p;
+        };
+
+        final var executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            final var eventloop = Eventloop.builder().withCurrentThread().build();
+            final var pipeline = EnrichmentPipeline.create(List.of(stateful, stateful), true, -1L);
+            final var count = 16;
+            final var promises = new ArrayList<Promise<Payload<?>>>(count);
+            for (var i = 0; i < count; i++) {
+                promises.add(pipeline.process(Payload.of(Provider.BYBIT, Source.PML, i), executor));
+            }
+
+            eventloop.run();
+            assertEquals(0, overlaps.get());
+            final var expected = new ArrayList<Object>(2 * count);
+            for (var i = 0; i < count; i++) {
+                assertEquals(i, promises.get(i).getResult().getData());
+                expected.add(i);
+                expected.add(i);
+            }
+
+            assertEquals(expected, seen);
+            assertEquals(1, pipeline.getBudgetOverrunCount());
+            assertEquals(count, pipeline.getOffloadCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldAcceptTopicsAnyStageTakes() {
+        final var books = new EnrichmentStage() {
+
+            @Override
+            public Payload<?> apply(final Payload<?> payload) {
+                return payload;
+            }
+
+            @Override
+            public boolean accepts(final String topic) {
+                return topic != null && topic.startsWith("orderbook.");
+            }
+        };
+
+        assertTrue(EnrichmentPipeline.create(List.of(books), true, NO_LIMIT).accepts("orderbook.50.BTCUSDT"));
+        assertFalse(EnrichmentPipeline.create(List.of(books), true, NO_LIMIT).accepts("tickers.BTCUSDT"));
+        assertFalse(EnrichmentPipeline.create(List.of(books), true, NO_LIMIT).accepts(null));
+        assertFalse(EnrichmentPipeline.create(List.of(), true, NO_LIMIT).accepts("kline.1.BTCUSDT"));
+        // A stage that does not say accepts everything
+        assertTrue(EnrichmentPipeline.create(List.of(books, p -> p), true, NO_LIMIT).accepts(null));
+    }
+}
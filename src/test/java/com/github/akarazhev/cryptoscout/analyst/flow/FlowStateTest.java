@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.flow;
+
+import com.github.akarazhev.cryptoscout.analyst.model.Trade;
+import com.github.akarazhev.cryptoscout.analyst.model.Trades;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class FlowStateTest {
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void shouldSlideWindowByEventTime() {
+        final var window = new TimeWindow(10_000L, 1_000L);
+        window.add(0L, true, 2d, false);
+        window.add(4_500L, false, 1d, false);
+        window.add(9_999L, true, 3d, false);
+        assertEquals(5d, window.buyVolume(), EPSILON);
+        assertEquals(3, window.trades());
+        window.advance(10_000L);
+        assertEquals(3d, window.buyVolume(), EPSILON);
+        assertEquals(1d, window.sellVolume(), EPSILON);
+        // Too old for the window by now
+        window.add(500L, true, 7d, false);
+        assertEquals(3d, window.buyVolume(), EPSILON);
+        window.advance(100_000L);
+        assertEquals(0, window.trades());
+        assertEquals(0d, window.buyVolume(), EPSILON);
+    }
+
+    @Test
+    void shouldTrackDeltaImbalanceAndLargePrints() {
+        final var state = new FlowState(new long[]{60_000L, 300_000L}, 1_000L);
+        final var trades = new Trade[Constants.LargePrint.MIN_TRADES + 1];
+        for (var i = 0; i < trades.length - 1; i++) {
+            trades[i] = new Trade(i * 100L, i % 2 == 0, 1d, 1d);
+        }
+
+        trades[trades.length - 1] = new Trade(5_000L, false, 1d, 50d);
+        final var result = state.apply(new Trades("BTCUSDT", 5_000L, trades));
+        assertEquals(-50d, result.cumulativeDelta(), EPSILON);
+        assertEquals(1, result.largePrints());
+        final var minute = result.flows()[0];
+        assertEquals(10d, minute.buyVolume(), EPSILON);
+        assertEquals(60d, minute.sellVolume(), EPSILON);
+        assertEquals(-50d / 70d, minute.imbalance(), EPSILON);
+        assertEquals(21d / 60d, minute.intensity(), EPSILON);
+        assertEquals(1, minute.largePrints());
+
+        final var later = state.apply(new Trades("BTCUSDT", 70_000L, new Trade[]{new Trade(70_000L, true, 1d, 2d)}));
+        assertEquals(-48d, later.cumulativeDelta(), EPSILON);
+        assertEquals(2d, later.flows()[0].buyVolume(), EPSILON);
+        assertEquals(0, later.flows()[0].largePrints());
+        assertEquals(1, later.flows()[1].largePrints());
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.history;
+
+import com.github.akarazhev.cryptoscout.analyst.codec.JsonReader;
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolTable;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class KlineSeriesTest {
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void shouldKeepCandlesSortedAcrossChunks() {
+        // Four candles per chunk
+        final var series = new KlineSeries(2);
+        for (var i = 0; i < 10; i++) {
+            series.append(i * 2L, i, i + 1, i - 1, i + 0.5, 10d * i);
+        }
+        // Replaces the candle at 4, then inserts between existing ones
+        series.append(4L, 0d, 0d, 0d, 42d, 0d);
+        series.append(7L, 0d, 0d, 0d, 7d, 0d);
+        series.append(-1L, 0d, 0d, 0d, -1d, 0d);
+        assertEquals(12, series.size());
+        for (var i = 1; i < series.size(); i++) {
+            assertTrue(series.timestamp(i - 1) < series.timestamp(i));
+        }
+
+        assertEquals(-1d, series.close(0), EPSILON);
+        assertEquals(42d, series.close(series.lowerBound(4L)), EPSILON);
+        assertEquals(7d, series.close(series.lowerBound(7L)), EPSILON);
+        assertEquals(3L * 4 * (Long.BYTES + 5 * Double.BYTES), series.allocatedBytes());
+    }
+
+    @Test
+    void shouldViewTimeRangeWithoutCopying() {
+        final var series = new KlineSeries(2);
+        for (var i = 0; i < 10; i++) {
+            series.append(i * 10L, i, i, i, i, i);
+        }
+
+        final var view = series.range(15L, 50L);
+        assertEquals(3, view.size());
+        assertEquals(20L, view.timestamp(0));
+        assertEquals(4d, view.close(2), EPSILON);
+        assertEquals(0, series.range(91L, 200L).size());
+        assertEquals(10, series.all().size());
+    }
+
+    @Test
+    void shouldReleaseChunksOfEvictedCandles() {
+        final var series = new KlineSeries(2);
+        for (var i = 0; i < 10; i++) {
+            series.append(i, i, i, i, i, i);
+        }
+
+        assertEquals(3, series.evictFirst(3));
+        assertEquals(3 * 4 * 48L, series.allocatedBytes());
+        assertEquals(3L, series.timestamp(0));
+        assertEquals(2, series.evictFirst(2));
+        assertEquals(2 * 4 * 48L, series.allocatedBytes());
+        assertEquals(5L, series.timestamp(0));
+        assertEquals(3, series.lowerBound(8L));
+        // Inserts and appends still line up after the head moved
+        series.append(12L, 0d, 0d, 0d, 12d, 0d);
+        series.append(11L, 0d, 0d, 0d, 11d, 0d);
+        assertEquals(7, series.size());
+        assertEquals(11d, series.close(5), EPSILON);
+        assertEquals(12d, series.close(6), EPSILON);
+        assertEquals(7, series.evictFirst(100));
+        assertEquals(0, series.size());
+    }
+
+    @Test
+    void shouldEvictCandlesPerSymbolByCountAndAge() {
+        final var history = KlineHistory.create(SymbolTable.create(), RetentionPolicy.of(5, 100L, 0));
+        final var rows = new ArrayList<Map<String, Object>>();
+        for (var i = 0; i < 8; i++) {
+            rows.add(Map.of("symbol", "BTCUSDT", "start", i * 10L, "close", i));
+            rows.add(Map.of("symbol", "ETHUSDT", "start", 50L + i * 10L, "close", i));
+        }
+
+        history.appendAll(rows);
+        assertEquals(16, history.size());
+        // BTCUSDT loses its candles older than 100 ms, ETHUSDT the ones beyond its newest 5
+        assertEquals(5 + 3, history.evict(150L, 100));
+        assertEquals(8, history.size());
+        assertEquals(50L, history.series("BTCUSDT").timestamp(0));
+        assertEquals(80L, history.series("ETHUSDT").timestamp(0));
+        assertEquals(8, history.getEvictedCount());
+    }
+
+    @Test
+    void shouldParseCollectorRowsPerSymbol() {
+        final var history = KlineHistory.create(SymbolTable.create());
+        history.appendAll(List.of(
+                Map.of("symbol", "BTCUSDT", "start", 2_000L, "open", "2", "high", "3", "low", "1", "close", "2.5",
+                        "volume", 10),
+                Map.of("symbol", "BTCUSDT", "timestamp", "1970-01-01T00:00:01Z", "close", 1.5d),
+                Map.of("symbol", "ETHUSDT", "start", "3000", "close", "30"),
+                Map.of("symbol", "ETHUSDT", "close", "31")));
+        assertEquals(3, history.size());
+        assertEquals(1, history.getSkippedCount());
+        final var btc = history.series("BTCUSDT");
+        assertEquals(1_000L, btc.timestamp(0));
+        assertEquals(2.5d, btc.close(1), EPSILON);
+        assertEquals(10d, btc.volume(1), EPSILON);
+        assertEquals(Double.NaN, btc.open(0));
+        assertEquals(30d, history.series("ETHUSDT").close(0), EPSILON);
+        assertNull(history.series("SOLUSDT"));
+    }
+
+    @Test
+    void shouldStreamNewestFirstRowsFromBytes() {
+        final var history = KlineHistory.create(SymbolTable.create());
+        final var json = "[{\"symbol\":\"BTCUSDT\",\"ts\":9,\"start\":\"3000\",\"open\":\"3\",\"extra\":[1,{}]," +
+                "\"close\":3.5,\"volume\":null},{\"symbol\":\"BTCUSDT\",\"timestamp\":\"1970-01-01T00:00:02Z\"," +
+                "\"close\":\"2.5\"},{\"close\":1},7,{\"start\":1000,\"close\":1.5}]";
+        final var bytes = json.getBytes(StandardCharsets.UTF_8);
+        history.appendAll(JsonReader.create(bytes, 0, bytes.length));
+        assertEquals(3, history.size());
+        assertEquals(2, history.getSkippedCount());
+        final var btc = history.series("BTCUSDT");
+        assertEquals(2_000L, btc.timestamp(0));
+        assertEquals(3_000L, btc.timestamp(1));
+        assertEquals(2.5d, btc.close(0), EPSILON);
+        assertEquals(3d, btc.open(1), EPSILON);
+        assertEquals(Double.NaN, btc.volume(1));
+        assertEquals(1.5d, history.series("").close(0), EPSILON);
+    }
+
+    @Test
+    void shouldFallBackToLowerPrecedenceTimesWhenHigherOnesAreUnreadable() {
+        final var history = KlineHistory.create(SymbolTable.create());
+        final var json = "[{\"symbol\":\"BTCUSDT\",\"start\":\"soon\",\"timestamp\":1000,\"close\":1}," +
+                "{\"symbol\":\"BTCUSDT\",\"start\":true,\"time\":[2],\"ts\":\"2000\",\"close\":2}," +
+                "{\"symbol\":\"BTCUSDT\",\"start\":{},\"close\":3}]";
+        final var bytes = json.getBytes(StandardCharsets.UTF_8);
+        history.appendAll(JsonReader.create(bytes, 0, bytes.length));
+        assertEquals(2, history.size());
+        assertEquals(1, history.getSkippedCount());
+        final var btc = history.series("BTCUSDT");
+        assertEquals(1_000L, btc.timestamp(0));
+        assertEquals(2_000L, btc.timestamp(1));
+        assertEquals(2d, btc.close(1), EPSILON);
+
+        final var rows = KlineHistory.create(SymbolTable.create());
+        rows.appendAll(List.of(Map.of("symbol", "BTCUSDT", "start", "soon", "ts", 1_000L, "close", 1)));
+        assertEquals(1, rows.size());
+        assertEquals(0, rows.getSkippedCount());
+        assertEquals(1_000L, rows.series("BTCUSDT").timestamp(0));
+    }
+}
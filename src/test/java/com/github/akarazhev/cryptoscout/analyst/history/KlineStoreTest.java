@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.history;
+
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class KlineStoreTest {
+    private static final double EPSILON = 1e-9;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldRestoreCandlesAcrossSegments() throws Exception {
+        final var store = KlineStore.open(directory, 4);
+        for (var i = 0; i < 10; i++) {
+            store.append("BTCUSDT", i * 60_000L, i, i + 1, i - 1, i + 0.5, 10d * i);
+        }
+        // An update of the newest candle rewrites it, a late candle is appended
+        store.append("BTCUSDT", 540_000L, 9d, 9d, 9d, 42d, 9d);
+        store.append("BTCUSDT", 30_000L, 0d, 0d, 0d, 0.25d, 0d);
+        store.append("", 0L, 1d, 1d, 1d, 1d, 1d);
+        store.close();
+        try (final var segments = Files.list(directory.resolve("BTCUSDT"))) {
+            assertEquals(3, segments.count());
+        }
+
+        final var restored = KlineStore.open(directory, 4);
+        assertEquals(30_000L, restored.lastTimestamp("BTCUSDT"));
+        final var history = KlineHistory.create(SymbolTable.create());
+        history.restore(restored, 0L);
+        final var series = history.series("BTCUSDT");
+        assertEquals(11, series.size());
+        assertEquals(0.25d, series.close(1), EPSILON);
+        assertEquals(42d, series.close(10), EPSILON);
+        assertEquals(1, history.series("").size());
+        assertEquals(540_000L, history.lastTimestamp());
+    }
+
+    @Test
+    void shouldWriteThroughAfterRestore() throws Exception {
+        final var history = KlineHistory.create(SymbolTable.create());
+        history.restore(KlineStore.open(directory, 4), 0L);
+        history.appendAll(List.of(
+                Map.of("symbol", "ETHUSDT", "start", 120_000L, "close", "2"),
+                Map.of("symbol", "ETHUSDT", "start", 60_000L, "close", "1")));
+
+        final var restored = KlineHistory.create(SymbolTable.create());
+        restored.restore(KlineStore.open(directory, 4), 0L);
+        assertEquals(2, restored.size());
+        assertEquals(60_000L, restored.series("ETHUSDT").timestamp(0));
+        assertEquals(2d, restored.series("ETHUSDT").close(1), EPSILON);
+    }
+
+    @Test
+    void shouldSkipSegmentsBeforeTheAgeBound() throws Exception {
+        final var store = KlineStore.open(directory, 4);
+        for (var i = 0; i < 12; i++) {
+            store.append("BTCUSDT", i * 60_000L, i, i, i, i, 1d);
+        }
+        // A late candle opens a segment of its own, skipped whole like the first two
+        store.append("BTCUSDT", 0L, 0d, 0d, 0d, 0d, 1d);
+        store.close();
+
+        final var times = new ArrayList<Long>();
+        KlineStore.open(directory, 4).replay(9 * 60_000L, (_, time, _, _, _, _, _) -> times.add(time));
+        assertEquals(List.of(8 * 60_000L, 9 * 60_000L, 10 * 60_000L, 11 * 60_000L), times);
+    }
+
+    @Test
+    void shouldCompactStoresHoldingMoreThanTheHistoryKeeps() throws Exception {
+        final var store = KlineStore.open(directory, 4);
+        for (var i = 0; i < 20; i++) {
+            store.append("BTCUSDT", i * 60_000L, i, i, i, i, 1d);
+        }
+
+        store.close();
+        final var history = KlineHistory.create(SymbolTable.create(), RetentionPolicy.of(3L, 0L, 0L));
+        history.restore(KlineStore.open(directory, 4), 20 * 60_000L);
+        history.append("BTCUSDT", 20 * 60_000L, 20d, 20d, 20d, 20d, 1d);
+        try (final var segments = Files.list(directory.resolve("BTCUSDT"))) {
+            assertEquals(1, segments.count());
+        }
+
+        final var restored = KlineHistory.create(SymbolTable.create());
+        restored.restore(KlineStore.open(directory, 4), 0L);
+        final var series = restored.series("BTCUSDT");
+        assertEquals(4, series.size());
+        assertEquals(17 * 60_000L, series.timestamp(0));
+        assertEquals(20d, series.close(3), EPSILON);
+    }
+
+    @Test
+    void shouldApplyCountAndAgeBoundsWhileRestoring() throws Exception {
+        final var store = KlineStore.open(directory, 64);
+        final var count = 3 * (1 << Constants.Storage.CHUNK_SHIFT);
+        for (var i = 0; i < count; i++) {
+            store.append("BTCUSDT", i * 60_000L, i, i, i, i, 1d);
+            store.append("ETHUSDT", i * 60_000L, i, i, i, i, 1d);
+        }
+
+        store.close();
+        final var now = count * 60_000L;
+        final var history = KlineHistory.create(SymbolTable.create(), RetentionPolicy.of(10L, 0L, 0L));
+        history.restore(KlineStore.open(directory, 64), now);
+        assertEquals(20, history.size());
+        assertEquals((count - 10) * 60_000L, history.series("BTCUSDT").timestamp(0));
+        assertEquals(0, history.evict(now, Integer.MAX_VALUE));
+
+        final var recent = KlineHistory.create(SymbolTable.create(), RetentionPolicy.of(0L, 5 * 60_000L, 0L));
+        recent.restore(KlineStore.open(directory, 64), now);
+        assertEquals(5, recent.series("ETHUSDT").size());
+        assertEquals((count - 5) * 60_000L, recent.series("ETHUSDT").timestamp(0));
+        assertEquals(10, recent.size());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class RowHistoryTest {
+
+    @Test
+    void shouldEvictOldestRowsBeyondCount() {
+        final var history = RowHistory.create(RetentionPolicy.of(3, 0, 0));
+        history.appendAll(rows(0, 5), 0L);
+        assertEquals(5, history.size());
+
+        assertEquals(2, history.evict(0L, 100));
+        assertEquals(3, history.size());
+        assertEquals(2, history.peek().get("id"));
+        assertEquals(0, history.evict(0L, 100));
+        assertEquals(2, history.getEvictedCount());
+    }
+
+    @Test
+    void shouldEvictByArrivalAgeWithinBudget() {
+        final var history = RowHistory.create(RetentionPolicy.of(0, 1_000L, 0));
+        history.appendAll(rows(0, 100), 1_000L);
+        history.appendAll(rows(100, 10), 5_000L);
+
+        // Only the budget goes per call, the rest waits for the next one
+        assertEquals(40, history.evict(5_500L, 40));
+        assertEquals(60, history.evict(5_500L, 100));
+        assertEquals(10, history.size());
+        assertEquals(100, history.peek().get("id"));
+        assertEquals(10, history.evict(6_001L, 100));
+        assertNull(history.peek());
+    }
+
+    @Test
+    void shouldEvictByEstimatedBytesAndShrink() {
+        final var row = RowHistory.estimate(Map.of("id", 0, "symbol", "BTCUSDT"));
+        final var history = RowHistory.create(RetentionPolicy.of(0, 0, row * 10));
+        history.appendAll(rows(0, 1_000), 0L);
+        final var full = history.estimatedBytes();
+
+        assertEquals(990, history.evict(0L, 10_000));
+        assertEquals(10, history.size());
+        assertTrue(history.estimatedBytes() < full / 50);
+        // Survivors keep arrival order through the shrink
+        assertEquals(990, history.peek().get("id"));
+    }
+
+    private static List<Map<String, Object>> rows(final int from, final int count) {
+        final var rows = new ArrayList<Map<String, Object>>(count);
+        for (var i = from; i < from + count; i++) {
+            rows.add(Map.of("id", i, "symbol", "BTCUSDT"));
+        }
+
+        return rows;
+    }
+}
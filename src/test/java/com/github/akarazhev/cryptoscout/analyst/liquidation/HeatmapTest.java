@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.liquidation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class HeatmapTest {
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void shouldClusterByBandAndSide() {
+        // Ten bands of 1.0 starting at 95
+        final var heatmap = new Heatmap(1_000L, 4, 10, 0.01d);
+        heatmap.add(0L, true, 100d, 1d);
+        heatmap.add(100L, true, 100.5d, 2d);
+        heatmap.add(200L, false, 103.2d, 1d);
+        final var clusters = heatmap.clusters();
+        assertEquals(4_000L, clusters.windowMs());
+        assertEquals(1d, clusters.bandWidth(), EPSILON);
+        assertArrayEquals(new double[]{100d, 103d}, clusters.bandPrices(), EPSILON);
+        assertArrayEquals(new double[]{301d, 0d}, clusters.longVolumes(), EPSILON);
+        assertArrayEquals(new double[]{0d, 103.2d}, clusters.shortVolumes(), EPSILON);
+        assertEquals(100d, clusters.topLongPrice(), EPSILON);
+        assertEquals(103d, clusters.topShortPrice(), EPSILON);
+        assertEquals(Double.NaN, new Heatmap(1_000L, 4, 10, 0.01d).clusters().topLongPrice());
+    }
+
+    @Test
+    void shouldEvictExpiredBuckets() {
+        final var heatmap = new Heatmap(1_000L, 4, 10, 0.01d);
+        heatmap.add(0L, true, 100d, 1d);
+        heatmap.add(2_500L, true, 100d, 2d);
+        heatmap.advance(3_999L);
+        assertEquals(300d, heatmap.clusters().longVolume(), EPSILON);
+        heatmap.advance(4_000L);
+        assertEquals(200d, heatmap.clusters().longVolume(), EPSILON);
+        // Too old for the window by now
+        heatmap.add(500L, true, 100d, 5d);
+        assertEquals(200d, heatmap.clusters().longVolume(), EPSILON);
+        heatmap.advance(60_000L);
+        assertEquals(0, heatmap.clusters().bandPrices().length);
+    }
+
+    @Test
+    void shouldSlideWhenPriceLeavesRange() {
+        final var heatmap = new Heatmap(1_000L, 4, 10, 0.01d);
+        heatmap.add(0L, true, 100d, 1d);
+        heatmap.add(0L, false, 107d, 1d);
+        final var clusters = heatmap.clusters();
+        // Bands slide up just enough for 107, so 100 is still covered
+        assertArrayEquals(new double[]{100d, 107d}, clusters.bandPrices(), EPSILON);
+        assertEquals(100d, clusters.longVolume(), EPSILON);
+        heatmap.add(0L, false, 150d, 1d);
+        assertArrayEquals(new double[]{150d}, heatmap.clusters().bandPrices(), EPSILON);
+    }
+
+    @Test
+    void shouldKeepFarOffPricesInsideTheBands() {
+        final var heatmap = new Heatmap(1_000L, 4, 10, 0.01d);
+        heatmap.add(0L, true, 100d, 1d);
+        // Far enough out that the band index overflows an int
+        heatmap.add(0L, false, 1e30d, 1d);
+        final var up = heatmap.clusters();
+        assertEquals(1, up.bandPrices().length);
+        assertEquals(1e30d, up.shortVolume(), 1e30d * EPSILON);
+        assertEquals(0d, up.longVolume(), EPSILON);
+
+        heatmap.add(0L, true, 1e-12d, 1d);
+        final var down = heatmap.clusters();
+        assertEquals(1, down.bandPrices().length);
+        assertEquals(1e-12d, down.longVolume(), EPSILON);
+        assertEquals(0d, down.shortVolume(), EPSILON);
+    }
+}
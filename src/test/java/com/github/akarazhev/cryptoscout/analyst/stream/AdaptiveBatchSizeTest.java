@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class AdaptiveBatchSizeTest {
+
+    @Test
+    void shouldGrowWhileBatchesFillUp() {
+        final var size = new AdaptiveBatchSize(8);
+        assertEquals(1, size.current());
+        size.onFull();
+        size.onFull();
+        assertEquals(4, size.current());
+        size.onFull();
+        size.onFull();
+        assertEquals(8, size.current());
+    }
+
+    @Test
+    void shouldShrinkTowardsObservedDepthOnLinger() {
+        final var size = new AdaptiveBatchSize(64);
+        for (var i = 0; i < 6; i++) {
+            size.onFull();
+        }
+
+        size.onLinger(3);
+        assertEquals(32, size.current());
+        size.onLinger(20);
+        assertEquals(20, size.current());
+        size.onLinger(0);
+        size.onLinger(0);
+        size.onLinger(0);
+        size.onLinger(0);
+        size.onLinger(0);
+        assertEquals(1, size.current());
+    }
+}
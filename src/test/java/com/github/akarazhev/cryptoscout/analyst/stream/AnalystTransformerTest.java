@@ -0,0 +1,217 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+import com.github.akarazhev.cryptoscout.analyst.DataService;
+import com.github.akarazhev.cryptoscout.analyst.codec.DecoderRegistry;
+import com.github.akarazhev.cryptoscout.analyst.codec.PayloadDecoder;
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolTable;
+import com.github.akarazhev.cryptoscout.config.AnalystConfig;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import io.activej.datastream.consumer.ToListStreamConsumer;
+import io.activej.datastream.supplier.StreamSuppliers;
+import io.activej.eventloop.Eventloop;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class AnalystTransformerTest {
+    private ExecutorService executor;
+    private Eventloop reactor;
+    private DataService dataService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        reactor = Eventloop.builder().withCurrentThread().build();
+        // Publishers are only used once the service starts, which these tests never do
+        dataService = DataService.create(reactor, executor, SymbolTable.create(), null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldEmitEveryPayloadBeyondTheWindowInOrder() {
+        final var count = AnalystConfig.getEnrichmentMaxInFlight() * 4 + 3;
+        final var output = run(AnalystTransformer.createForBybit(dataService), payloads(Provider.BYBIT, count));
+        assertEquals(count, output.size());
+        for (var i = 0; i < count; i++) {
+            assertEquals(i, output.get(i).offset());
+            assertEquals(Provider.BYBIT_TA, output.get(i).payload().getProvider());
+        }
+    }
+
+    @Test
+    void shouldForwardFilteredPayloadsWithoutData() {
+        final var count = AnalystConfig.getEnrichmentMaxInFlight() * 2;
+        final var output = run(AnalystTransformer.createForBybit(dataService), payloads(Provider.CMC, count));
+        assertEquals(count, output.size());
+        for (var i = 0; i < count; i++) {
+            assertEquals(i, output.get(i).offset());
+            assertNull(output.get(i).payload());
+        }
+    }
+
+    @Test
+    void shouldEnrichInMicroBatchesThatGrowWithTheBacklog() {
+        final var window = AnalystConfig.getEnrichmentMaxInFlight();
+        final var count = window * 4;
+        final var output = run(AnalystTransformer.createForBybit(dataService), payloads(Provider.BYBIT, count));
+        assertEquals(count, output.size());
+        // Each batch is one pipeline call, so fewer calls than payloads but none larger than the window
+        final var pipeline = dataService.getEnrichmentPipeline();
+        final var calls = pipeline.getInlineCount() + pipeline.getOffloadCount();
+        assertTrue(calls < count);
+        assertTrue(calls >= count / Math.min(window, AnalystConfig.getEnrichmentBatchMaxSize()));
+    }
+
+    @Test
+    void shouldReleaseAPartialBatchAtTheEndOfTheTick() {
+        final var output = run(AnalystTransformer.createForBybit(dataService), payloads(Provider.BYBIT, 4));
+        assertEquals(4, output.size());
+        // Batches of one and two fill the target as it doubles; the last payload is released when the tick ends
+        final var pipeline = dataService.getEnrichmentPipeline();
+        assertEquals(3L, pipeline.getInlineCount() + pipeline.getOffloadCount());
+    }
+
+    @Test
+    void shouldForwardPayloadsNoStageTakesWithoutDecoding() {
+        final var count = AnalystConfig.getEnrichmentMaxInFlight() * 2;
+        final var output = run(AnalystTransformer.createForBybit(dataService),
+                payloads(Provider.BYBIT, "tickers.BTCUSDT", count));
+        assertEquals(count, output.size());
+        for (var i = 0; i < count; i++) {
+            assertEquals(i, output.get(i).offset());
+            assertEquals(Provider.BYBIT_TA, output.get(i).payload().getProvider());
+            assertFalse(output.get(i).payload().isDecoded());
+        }
+
+        final var pipeline = dataService.getEnrichmentPipeline();
+        assertEquals(0L, pipeline.getInlineCount() + pipeline.getOffloadCount());
+    }
+
+    @Test
+    void shouldForwardCryptoScoutPayloadsWithTheirRawBytes() {
+        final var input = payloads(Provider.CMC, null, 8);
+        final var output = run(AnalystTransformer.createForCryptoScout(dataService), input);
+        assertEquals(input.size(), output.size());
+        for (var i = 0; i < input.size(); i++) {
+            assertSame(input.get(i), output.get(i));
+            assertNotNull(output.get(i).payload().getRaw());
+        }
+
+        final var pipeline = dataService.getEnrichmentPipeline();
+        assertEquals(0L, pipeline.getInlineCount() + pipeline.getOffloadCount());
+    }
+
+    @Test
+    void shouldKeepConfirmedStreamKlinesInTheirHistory() {
+        final var decoder = PayloadDecoder.create(DecoderRegistry.createForBybit(dataService.getSymbolTable()));
+        final var input = new ArrayList<StreamPayload>();
+        for (var i = 0; i < 3; i++) {
+            // The last candle is still open
+            final var start = 1672324800000L + i * 60_000L;
+            input.add(klines(decoder, i, "[{\"start\":" + start + ",\"end\":" + (start + 59_999L) +
+                    ",\"interval\":\"1\",\"open\":\"16649.5\",\"close\":\"16677\",\"high\":\"16677\"," +
+                    "\"low\":\"16608\",\"volume\":\"2.081\",\"turnover\":\"34666.4005\",\"confirm\":" + (i < 2) +
+                    ",\"timestamp\":" + start + "}]"));
+        }
+
+        final var output = run(AnalystTransformer.createForBybit(dataService), input);
+        assertEquals(input.size(), output.size());
+        final var sizes = dataService.getHistorySizeBySeries();
+        assertEquals(2, sizes.get("bybitKlines1m"));
+        assertEquals(0, sizes.get("bybitKlines5m"));
+    }
+
+    @Test
+    void shouldCompleteBatchesAroundUndecodablePayloads() {
+        final var decoder = PayloadDecoder.create(DecoderRegistry.createForBybit(dataService.getSymbolTable()));
+        final var count = AnalystConfig.getEnrichmentMaxInFlight() * 2;
+        final var input = new ArrayList<StreamPayload>(count);
+        for (var i = 0; i < count; i++) {
+            // The envelope skips over the second payload's data, but its typed decode fails
+            input.add(klines(decoder, i, i == 1 ? "[42]" : "[]"));
+        }
+
+        final var output = run(AnalystTransformer.createForBybit(dataService), input);
+        assertEquals(count, output.size());
+        for (var i = 0; i < count; i++) {
+            assertEquals(i, output.get(i).offset());
+            if (i == 1) {
+                assertNull(output.get(i).payload());
+            } else {
+                assertNotNull(output.get(i).payload());
+            }
+        }
+    }
+
+    private List<StreamPayload> run(final AnalystTransformer transformer, final List<StreamPayload> input) {
+        final var consumer = ToListStreamConsumer.<StreamPayload>create();
+        StreamSuppliers.ofIterable(input).transformWith(transformer).streamTo(consumer);
+        reactor.run();
+        return consumer.getList();
+    }
+
+    private static StreamPayload klines(final PayloadDecoder decoder, final long offset, final String data) {
+        final var bytes = ("{\"provider\":\"BYBIT\",\"source\":\"PML\",\"data\":{\"topic\":\"kline.1.BTCUSDT\"," +
+                "\"type\":\"snapshot\",\"ts\":1672324800000,\"data\":" + data + "}}").getBytes(StandardCharsets.UTF_8);
+        return new StreamPayload("stream", offset, decoder.decodeView(bytes, 0, bytes.length));
+    }
+
+    private static List<StreamPayload> payloads(final Provider provider, final int count) {
+        return payloads(provider, "kline.1.BTCUSDT", count);
+    }
+
+    private static List<StreamPayload> payloads(final Provider provider, final String topic, final int count) {
+        // Read from bytes like the stream does, so the views carry the envelope topic
+        final var decoder = PayloadDecoder.create();
+        final var data = topic != null ? "{\"topic\":\"" + topic + "\"}" : "{\"value\":\"42\"}";
+        final var payloads = new ArrayList<StreamPayload>(count);
+        for (var i = 0; i < count; i++) {
+            final var bytes = ("{\"provider\":\"" + provider + "\",\"source\":\"PML\",\"data\":" + data + "}")
+                    .getBytes(StandardCharsets.UTF_8);
+            payloads.add(new StreamPayload("stream", i, decoder.decodeView(bytes, 0, bytes.length)));
+        }
+
+        return payloads;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class MpscRingBufferTest {
+    private static final int PRODUCERS = 4;
+    private static final int PER_PRODUCER = 100_000;
+
+    @Test
+    void shouldRejectOffersWhileFull() {
+        final var buffer = new MpscRingBuffer<Integer>(3);
+        assertEquals(4, buffer.capacity());
+        for (var lap = 0; lap < 3; lap++) {
+            for (var i = 0; i < 4; i++) {
+                assertTrue(buffer.offer(lap * 4 + i));
+            }
+
+            assertFalse(buffer.offer(-1));
+            assertEquals(4, buffer.size());
+            // One freed slot takes exactly one more element
+            assertEquals(lap * 4, buffer.poll());
+            assertTrue(buffer.offer(-2));
+            assertFalse(buffer.offer(-1));
+            for (var i = 1; i < 4; i++) {
+                assertEquals(lap * 4 + i, buffer.poll());
+            }
+
+            assertEquals(-2, buffer.poll());
+            assertNull(buffer.poll());
+            assertTrue(buffer.isEmpty());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<Integer>(0));
+    }
+
+    @Test
+    void shouldDeliverEveryElementOnceUnderConcurrentProducers() throws Exception {
+        // Small enough that producers keep contending for slots and finding the buffer full
+        final var buffer = new MpscRingBuffer<Long>(64);
+        final var start = new CountDownLatch(1);
+        final var producers = new ArrayList<Thread>(PRODUCERS);
+        for (var p = 0; p < PRODUCERS; p++) {
+            final var producer = p;
+            producers.add(Thread.ofPlatform().start(() -> {
+                awaitQuietly(start);
+                for (var i = 0; i < PER_PRODUCER; i++) {
+                    final var element = (long) producer * PER_PRODUCER + i;
+                    while (!buffer.offer(element)) {
+                        // Yield rather than spin so the test also makes progress on a single core
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+
+        final var next = new int[PRODUCERS];
+        start.countDown();
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            var received = 0;
+            while (received < PRODUCERS * PER_PRODUCER) {
+                final var element = buffer.poll();
+                if (element == null) {
+                    Thread.yield();
+                    continue;
+                }
+
+                // Elements of one producer arrive in the order offered, so a gap is a loss and a repeat a duplicate
+                final var producer = (int) (element / PER_PRODUCER);
+                assertEquals(next[producer]++, (int) (element % PER_PRODUCER));
+                received++;
+            }
+        });
+
+        for (final var producer : producers) {
+            producer.join();
+        }
+
+        for (var p = 0; p < PRODUCERS; p++) {
+            assertEquals(PER_PRODUCER, next[p]);
+        }
+
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
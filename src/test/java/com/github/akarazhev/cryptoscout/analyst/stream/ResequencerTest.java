@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ResequencerTest {
+
+    @Test
+    void shouldReleaseResultsInRegistrationOrder() {
+        final var resequencer = new Resequencer<String>(4);
+        resequencer.register(1);
+        resequencer.register(2);
+        resequencer.register(3);
+        assertTrue(resequencer.complete(3, "c"));
+        assertTrue(resequencer.complete(2, "b"));
+        assertNull(resequencer.pollReady());
+        assertTrue(resequencer.complete(1, "a"));
+        assertEquals("a", resequencer.pollReady());
+        assertEquals("b", resequencer.pollReady());
+        assertEquals("c", resequencer.pollReady());
+        assertNull(resequencer.pollReady());
+        assertEquals(0, resequencer.size());
+    }
+
+    @Test
+    void shouldMatchRepeatedKeysToTheOldestPendingSlot() {
+        final var resequencer = new Resequencer<String>(2);
+        resequencer.register(7);
+        resequencer.register(7);
+        assertTrue(resequencer.complete(7, "first"));
+        assertTrue(resequencer.complete(7, "second"));
+        assertFalse(resequencer.complete(7, "third"));
+        assertFalse(resequencer.complete(8, "unknown"));
+        assertEquals("first", resequencer.pollReady());
+        assertEquals("second", resequencer.pollReady());
+    }
+
+    @Test
+    void shouldKeepOrderWhenGrowingAcrossTheWrap() {
+        final var resequencer = new Resequencer<Long>(4);
+        var next = 0L;
+        for (var key = 0L; key < 3; key++) {
+            resequencer.register(key);
+        }
+
+        for (var key = 0L; key < 2; key++) {
+            resequencer.complete(key, key);
+            assertEquals(next++, resequencer.pollReady());
+        }
+        // The head now sits inside the array, so the next registrations wrap before the array grows
+        for (var key = 3L; key < 40; key++) {
+            resequencer.register(key);
+        }
+
+        assertEquals(38, resequencer.size());
+        for (var key = 39L; key >= 2; key--) {
+            assertTrue(resequencer.complete(key, key));
+        }
+
+        while (resequencer.size() > 0) {
+            assertEquals(next++, resequencer.pollReady());
+        }
+
+        assertEquals(40, next);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+import com.github.akarazhev.cryptoscout.analyst.DataService;
+import com.github.akarazhev.cryptoscout.analyst.codec.PayloadView;
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolTable;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import io.activej.datastream.consumer.ToListStreamConsumer;
+import io.activej.datastream.processor.transformer.StreamTransformer;
+import io.activej.datastream.processor.transformer.StreamTransformers;
+import io.activej.datastream.supplier.StreamSuppliers;
+import io.activej.eventloop.Eventloop;
+import io.activej.reactor.nio.NioReactor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ShardedTransformerTest {
+    private static final List<String> SYMBOLS = List.of("BTCUSDT", "ETHUSDT", "SOLUSDT", "XRPUSDT", "DOGEUSDT");
+    private ExecutorService executor;
+    private ShardPool shardPool;
+    private Eventloop reactor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        shardPool = ShardPool.create("shard-test", 2);
+        shardPool.start();
+        reactor = Eventloop.builder().withCurrentThread().build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        shardPool.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldMergeShardResultsInSourceOrder() {
+        final var slow = shardPool.getReactors().getFirst();
+        final var threads = new ConcurrentHashMap<String, Set<String>>();
+        // The first shard lags behind, so the other one completes later offsets before earlier ones arrive
+        final Function<NioReactor, StreamTransformer<StreamPayload, StreamPayload>> factory = shard ->
+                StreamTransformers.mapper(in -> {
+                    threads.computeIfAbsent(Symbols.of(in.payload()), _ -> ConcurrentHashMap.newKeySet())
+                            .add(Thread.currentThread().getName());
+                    if (shard == slow) {
+                        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+                    }
+
+                    return in;
+                });
+        final var count = 500;
+        final var output = run(ShardedTransformer.create(shardPool.getReactors(), 16, factory),
+                payloads(Provider.BYBIT, count));
+        assertEquals(count, output.size());
+        for (var i = 0; i < count; i++) {
+            assertEquals(i, output.get(i).offset());
+        }
+
+        // Every symbol stays on one shard
+        assertEquals(SYMBOLS.size(), threads.size());
+        threads.values().forEach(names -> assertEquals(1, names.size()));
+    }
+
+    @Test
+    void shouldForwardPayloadsWithoutDataInOrder() {
+        final var input = payloads(Provider.BYBIT, 40);
+        for (var i = 0; i < input.size(); i += 3) {
+            input.set(i, new StreamPayload("stream", i, null));
+        }
+
+        final var output = run(ShardedTransformer.create(shardPool.getReactors(), 4,
+                _ -> StreamTransformers.mapper(in -> in)), input);
+        assertEquals(input.size(), output.size());
+        for (var i = 0; i < input.size(); i++) {
+            assertEquals(i, output.get(i).offset());
+            if (i % 3 == 0) {
+                assertNull(output.get(i).payload());
+            }
+        }
+    }
+
+    @Test
+    void shouldEnrichOnEnrichmentOnlyForks() {
+        final var dataService = DataService.create(reactor, executor, SymbolTable.create(), null, null);
+        final var forks = new ConcurrentHashMap<NioReactor, DataService>();
+        final var count = 200;
+        final var output = run(ShardedTransformer.create(shardPool.getReactors(), 32, shard ->
+                AnalystTransformer.createForBybit(forks.computeIfAbsent(shard, dataService::fork))),
+                payloads(Provider.BYBIT, count));
+        assertEquals(count, output.size());
+        for (var i = 0; i < count; i++) {
+            assertEquals(i, output.get(i).offset());
+            assertEquals(Provider.BYBIT_TA, output.get(i).payload().getProvider());
+        }
+
+        assertEquals(shardPool.size(), forks.size());
+        for (final var fork : forks.values()) {
+            assertEquals(0, fork.getHistoryBytes());
+            assertTrue(fork.getHistorySizeBySeries().isEmpty());
+            assertEquals(0, fork.getBackfill().getPendingCount());
+            assertTrue(fork.start().isException());
+        }
+    }
+
+    @Test
+    void shouldRunOnShardsAgainAfterARestart() throws InterruptedException {
+        shardPool.stop();
+        shardPool.start();
+        final var threads = ConcurrentHashMap.<String>newKeySet();
+        final var count = 50;
+        final var output = run(ShardedTransformer.create(shardPool.getReactors(), 8,
+                _ -> StreamTransformers.mapper(in -> {
+                    threads.add(Thread.currentThread().getName());
+                    return in;
+                })), payloads(Provider.BYBIT, count));
+        assertEquals(count, output.size());
+        for (var i = 0; i < count; i++) {
+            assertEquals(i, output.get(i).offset());
+        }
+
+        assertFalse(threads.isEmpty());
+        threads.forEach(name -> assertTrue(name.startsWith("shard-test-")));
+    }
+
+    private List<StreamPayload> run(final ShardedTransformer transformer, final List<StreamPayload> input) {
+        final var consumer = ToListStreamConsumer.<StreamPayload>create();
+        // Shard results come back from other threads, so the loop is kept alive until the stream ends
+        reactor.keepAlive(true);
+        StreamSuppliers.ofIterable(input).transformWith(transformer).streamTo(consumer);
+        consumer.getResult().whenComplete(() -> reactor.keepAlive(false));
+        reactor.run();
+        assertTrue(consumer.getResult().isResult());
+        return consumer.getList();
+    }
+
+    private static List<StreamPayload> payloads(final Provider provider, final int count) {
+        final var payloads = new ArrayList<StreamPayload>(count);
+        for (var i = 0; i < count; i++) {
+            final var topic = "kline.1." + SYMBOLS.get(i % SYMBOLS.size());
+            payloads.add(new StreamPayload("stream", i,
+                    PayloadView.of(Payload.of(provider, null, Map.of("topic", topic)))));
+        }
+
+        return payloads;
+    }
+}
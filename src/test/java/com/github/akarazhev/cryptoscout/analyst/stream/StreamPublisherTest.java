@@ -0,0 +1,201 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+import com.github.akarazhev.cryptoscout.analyst.codec.JsonOutputCodec;
+import com.github.akarazhev.cryptoscout.analyst.codec.PayloadView;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import com.rabbitmq.stream.ConfirmationHandler;
+import com.rabbitmq.stream.ConfirmationStatus;
+import com.rabbitmq.stream.Message;
+import com.rabbitmq.stream.MessageBuilder;
+import com.rabbitmq.stream.Producer;
+import com.rabbitmq.stream.codec.WrapperMessageBuilder;
+import io.activej.datastream.supplier.StreamSuppliers;
+import io.activej.eventloop.Eventloop;
+import io.activej.promise.Promise;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class StreamPublisherTest {
+    private final List<Long> writes = new ArrayList<>();
+    private Eventloop reactor;
+    private RecordingProducer producer;
+    private int pulled;
+
+    @BeforeEach
+    void setUp() {
+        reactor = Eventloop.builder().withCurrentThread().build();
+        producer = new RecordingProducer();
+    }
+
+    @Test
+    void shouldHoldInputAtTheUnconfirmedLimitAndCommitInOrder() {
+        final var done = stream(publisher(4, false), 10);
+        reactor.run();
+        assertEquals(4, producer.sent.size());
+
+        // Confirms of later offsets neither commit past the pending first one nor open the window
+        producer.confirm(2);
+        producer.confirm(1);
+        producer.confirm(3);
+        reactor.run();
+        assertEquals(List.of(), writes);
+        assertEquals(4, producer.sent.size());
+
+        producer.confirm(0);
+        reactor.run();
+        assertEquals(List.of(3L), writes);
+        assertEquals(8, producer.sent.size());
+
+        for (var i = 7; i >= 4; i--) {
+            producer.confirm(i);
+        }
+
+        reactor.run();
+        assertEquals(10, producer.sent.size());
+        assertFalse(done.isComplete());
+
+        producer.confirm(9);
+        producer.confirm(8);
+        reactor.run();
+        assertEquals(9L, writes.getLast());
+        assertTrue(done.isResult());
+    }
+
+    @Test
+    void shouldCoalesceConfirmsWhileACommitIsInFlight() {
+        final var done = stream(publisher(16, false), 4);
+        reactor.run();
+        // Delivered together: the first confirm starts a commit, the rest arrive before it is written
+        for (var i = 0; i < 4; i++) {
+            producer.confirm(i);
+        }
+
+        reactor.run();
+        assertEquals(List.of(0L, 3L), writes);
+        assertTrue(done.isResult());
+    }
+
+    @Test
+    void shouldCommitSkippedPayloadsWithoutPublishing() {
+        final var input = new ArrayList<StreamPayload>();
+        input.add(new StreamPayload("stream", 0L, view()));
+        input.add(new StreamPayload("stream", 1L, null));
+        input.add(new StreamPayload("stream", 2L, null));
+        final var done = StreamSuppliers.ofIterable(input).streamTo(publisher(16, false));
+        reactor.run();
+        assertEquals(1, producer.sent.size());
+        assertEquals(List.of(), writes);
+
+        producer.confirm(0);
+        reactor.run();
+        assertEquals(2L, writes.getLast());
+        assertTrue(done.isResult());
+    }
+
+    @Test
+    void shouldHandPayloadsOfATickToTheProducerTogether() {
+        stream(publisher(16, true), 5);
+        reactor.run();
+        assertEquals(List.of(5, 5, 5, 5, 5), producer.pulledAtSend);
+    }
+
+    @Test
+    void shouldPublishEachPayloadOnArrivalWithoutFlushPerTick() {
+        stream(publisher(16, false), 5);
+        reactor.run();
+        assertEquals(List.of(1, 2, 3, 4, 5), producer.pulledAtSend);
+    }
+
+    private StreamPublisher publisher(final int maxUnconfirmed, final boolean flushPerTick) {
+        // Offset writes run as reactor tasks, so confirms queued before one runs are coalesced into the next write
+        return StreamPublisher.create(producer, (_, offset) -> writes.add(offset), reactor::post,
+                JsonOutputCodec.create(), maxUnconfirmed, flushPerTick);
+    }
+
+    private Promise<Void> stream(final StreamPublisher publisher, final int count) {
+        final Iterable<StreamPayload> input = () -> new Iterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                return pulled < count;
+            }
+
+            @Override
+            public StreamPayload next() {
+                return new StreamPayload("stream", pulled++, view());
+            }
+        };
+        return StreamSuppliers.ofIterable(input).streamTo(publisher);
+    }
+
+    private static PayloadView view() {
+        return PayloadView.of(Payload.of(Provider.BYBIT_TA, null, Map.of()));
+    }
+
+    private final class RecordingProducer implements Producer {
+        private final List<Sent> sent = new ArrayList<>();
+        private final List<Integer> pulledAtSend = new ArrayList<>();
+
+        @Override
+        public MessageBuilder messageBuilder() {
+            return new WrapperMessageBuilder();
+        }
+
+        @Override
+        public long getLastPublishingId() {
+            return sent.size() - 1;
+        }
+
+        @Override
+        public void send(final Message message, final ConfirmationHandler handler) {
+            sent.add(new Sent(message, handler));
+            pulledAtSend.add(pulled);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private void confirm(final int index) {
+            final var entry = sent.get(index);
+            entry.handler().handle(new ConfirmationStatus(entry.message(), true, (short) 0));
+        }
+    }
+
+    private record Sent(Message message, ConfirmationHandler handler) {
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Window updates per second of the event-time window operator for a trade-like stream over a handful of symbols with
+ * slightly out-of-order timestamps; fired results go to a blackhole.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WindowOperatorBenchmark {
+    private static final String[] SYMBOLS = {"BTCUSDT", "ETHUSDT", "SOLUSDT", "XRPUSDT", "DOGEUSDT", "BNBUSDT"};
+    private static final int EVENTS = 1 << 16;
+    @Param({"tumbling", "sliding", "session"})
+    private String window;
+    private final Tick[] ticks = new Tick[EVENTS];
+    private WindowOperator<Tick, String, double[], Double> operator;
+    private Blackhole blackhole;
+    private long offset;
+    private int index;
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(WindowOperatorBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup(final Blackhole blackhole) {
+        this.blackhole = blackhole;
+        final var random = new SplittableRandom(42L);
+        // About a hundred ticks per second, each up to half a second late
+        for (var i = 0; i < EVENTS; i++) {
+            ticks[i] = new Tick(SYMBOLS[random.nextInt(SYMBOLS.length)], i * 10L - random.nextInt(500),
+                    random.nextDouble());
+        }
+
+        final var spec = switch (window) {
+            case "sliding" -> WindowSpec.sliding(60_000L, 5_000L);
+            case "session" -> WindowSpec.session(30L);
+            default -> WindowSpec.tumbling(60_000L);
+        };
+        operator = new WindowOperator<>(spec, Tick::symbol, tick -> tick.time() + offset, new Volume(), 500L,
+                1_000L);
+    }
+
+    @Benchmark
+    public void add() {
+        operator.add(ticks[index], blackhole::consume);
+        if (++index == EVENTS) {
+            // Replay the sample further along in time so the watermark keeps moving
+            index = 0;
+            offset += EVENTS * 10L;
+        }
+    }
+
+    private record Tick(String symbol, long time, double size) {
+    }
+
+    private static final class Volume implements SessionAggregator<Tick, String, double[], Double> {
+
+        @Override
+        public double[] create() {
+            return new double[1];
+        }
+
+        @Override
+        public double[] add(final double[] accumulator, final Tick event) {
+            accumulator[0] += event.size();
+            return accumulator;
+        }
+
+        @Override
+        public double[] merge(final double[] left, final double[] right) {
+            left[0] += right[0];
+            return left;
+        }
+
+        @Override
+        public Double result(final String key, final long start, final long end, final double[] accumulator) {
+            return accumulator[0];
+        }
+    }
+}
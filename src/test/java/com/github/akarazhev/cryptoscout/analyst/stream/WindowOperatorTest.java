@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class WindowOperatorTest {
+
+    @Test
+    void shouldFireTumblingWindowsOnWatermark() {
+        final var fired = new ArrayList<String>();
+        final var operator = operator(WindowSpec.tumbling(10L), 0L, 0L);
+        operator.add(new Event("a", 1L, 1d), fired::add);
+        operator.add(new Event("b", 5L, 2d), fired::add);
+        operator.add(new Event("a", 8L, 3d), fired::add);
+        assertEquals(List.of(), fired);
+        operator.add(new Event("a", 12L, 4d), fired::add);
+        assertEquals(List.of("a[0,10)=4.0", "b[0,10)=2.0"), sorted(fired));
+        // Behind the watermark with no lateness allowed
+        operator.add(new Event("a", 3L, 9d), fired::add);
+        assertEquals(1L, operator.lateDropCount());
+        operator.advance(Long.MAX_VALUE, fired::add);
+        assertEquals("a[10,20)=4.0", fired.getLast());
+        assertEquals(0, operator.openCount());
+    }
+
+    @Test
+    void shouldAssignEventToEveryOverlappingSlidingWindow() {
+        final var fired = new ArrayList<String>();
+        final var operator = operator(WindowSpec.sliding(10L, 5L), 0L, 0L);
+        operator.add(new Event("a", 7L, 1d), fired::add);
+        assertEquals(2, operator.openCount());
+        operator.add(new Event("a", 12L, 2d), fired::add);
+        assertEquals(List.of("a[0,10)=1.0"), fired);
+        operator.advance(Long.MAX_VALUE, fired::add);
+        assertEquals(List.of("a[0,10)=1.0", "a[5,15)=3.0", "a[10,20)=2.0"), fired);
+    }
+
+    @Test
+    void shouldMergeSessionsBridgedByAnEvent() {
+        final var fired = new ArrayList<String>();
+        final var operator = operator(WindowSpec.session(10L), 100L, 0L);
+        operator.add(new Event("a", 0L, 1d), fired::add);
+        operator.add(new Event("a", 18L, 2d), fired::add);
+        assertEquals(2, operator.openCount());
+        operator.add(new Event("a", 9L, 4d), fired::add);
+        assertEquals(1, operator.openCount());
+        operator.add(new Event("a", 25L, 8d), fired::add);
+        operator.advance(Long.MAX_VALUE, fired::add);
+        assertEquals(List.of("a[0,35)=15.0"), fired);
+    }
+
+    @Test
+    void shouldUpdateFiredWindowWithinAllowedLateness() {
+        final var fired = new ArrayList<String>();
+        final var operator = operator(WindowSpec.tumbling(10L), 2L, 10L);
+        operator.add(new Event("a", 1L, 1d), fired::add);
+        operator.add(new Event("a", 11L, 1d), fired::add);
+        assertEquals(List.of("a[0,10)=1.0"), fired);
+        operator.add(new Event("a", 4L, 2d), fired::add);
+        assertEquals(List.of("a[0,10)=1.0", "a[0,10)=3.0"), fired);
+        assertEquals(1L, operator.lateUpdateCount());
+        operator.add(new Event("a", 30L, 1d), fired::add);
+        operator.add(new Event("a", 5L, 2d), fired::add);
+        assertEquals(1L, operator.lateDropCount());
+        assertEquals(List.of("a[0,10)=1.0", "a[0,10)=3.0", "a[10,20)=1.0"), fired);
+    }
+
+    @Test
+    void shouldRejectSessionWindowsWithoutMerging() {
+        final WindowAggregator<Event, String, double[], String> count = new WindowAggregator<>() {
+
+            @Override
+            public double[] create() {
+                return new double[1];
+            }
+
+            @Override
+            public double[] add(final double[] accumulator, final Event event) {
+                accumulator[0]++;
+                return accumulator;
+            }
+
+            @Override
+            public String result(final String key, final long start, final long end, final double[] accumulator) {
+                return key + "=" + accumulator[0];
+            }
+        };
+        assertThrows(IllegalArgumentException.class, () -> new WindowOperator<>(WindowSpec.session(10L), Event::key,
+                Event::time, count, 0L, 0L));
+        assertEquals(0, new WindowOperator<>(WindowSpec.tumbling(10L), Event::key, Event::time, count, 0L, 0L)
+                .openCount());
+    }
+
+    private static WindowOperator<Event, String, double[], String> operator(final WindowSpec spec,
+                                                                           final long outOfOrdernessMs,
+                                                                           final long allowedLatenessMs) {
+        return new WindowOperator<>(spec, Event::key, Event::time, new Sum(), outOfOrdernessMs, allowedLatenessMs);
+    }
+
+    private static List<String> sorted(final List<String> values) {
+        return values.stream().sorted().toList();
+    }
+
+    private record Event(String key, long time, double value) {
+    }
+
+    private static final class Sum implements SessionAggregator<Event, String, double[], String> {
+
+        @Override
+        public double[] create() {
+            return new double[1];
+        }
+
+        @Override
+        public double[] add(final double[] accumulator, final Event event) {
+            accumulator[0] += event.value();
+            return accumulator;
+        }
+
+        @Override
+        public double[] merge(final double[] left, final double[] right) {
+            left[0] += right[0];
+            return left;
+        }
+
+        @Override
+        public String result(final String key, final long start, final long end, final double[] accumulator) {
+            return key + "[" + start + "," + end + ")=" + accumulator[0];
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.stream;
+
+import io.activej.datastream.consumer.AbstractStreamConsumer;
+import io.activej.datastream.consumer.ToListStreamConsumer;
+import io.activej.datastream.supplier.StreamSuppliers;
+import io.activej.eventloop.Eventloop;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class WindowTransformerTest {
+    private Eventloop reactor;
+
+    @BeforeEach
+    void setUp() {
+        reactor = Eventloop.builder().withCurrentThread().build();
+    }
+
+    @Test
+    void shouldEmitTumblingWindowsAndFireOpenOnesAtEndOfStream() {
+        final var transformer = transformer(WindowSpec.tumbling(10L), 0L, 0L);
+        final var output = run(transformer, List.of(new Event("a", 1L, 1d), new Event("b", 4L, 2d),
+                new Event("a", 9L, 3d), new Event("a", 15L, 4d), new Event("b", 27L, 5d)));
+        assertEquals(List.of("a[0,10)=4.0", "b[0,10)=2.0", "a[10,20)=4.0", "b[20,30)=5.0"), output);
+        assertEquals(0, transformer.getOpenWindowCount());
+        assertEquals(Long.MAX_VALUE, transformer.getWatermark());
+    }
+
+    @Test
+    void shouldReFireLateEventsAndDropThoseBeyondTheLateness() {
+        final var transformer = transformer(WindowSpec.tumbling(10L), 0L, 5L);
+        final var output = run(transformer, List.of(new Event("a", 1L, 1d), new Event("a", 12L, 1d),
+                new Event("a", 3L, 2d), new Event("a", 40L, 1d), new Event("a", 5L, 7d)));
+        assertEquals(List.of("a[0,10)=1.0", "a[0,10)=3.0", "a[10,20)=1.0", "a[40,50)=1.0"), output);
+        assertEquals(1L, transformer.getLateUpdateCount());
+        assertEquals(1L, transformer.getLateDropCount());
+    }
+
+    @Test
+    void shouldMergeSessionsAcrossTheStream() {
+        final var output = run(transformer(WindowSpec.session(10L), 100L, 0L), List.of(new Event("a", 0L, 1d),
+                new Event("a", 18L, 2d), new Event("b", 5L, 3d), new Event("a", 9L, 4d), new Event("a", 60L, 8d)));
+        assertEquals(List.of("a[0,28)=7.0", "a[60,70)=8.0", "b[5,15)=3.0"), output.stream().sorted().toList());
+    }
+
+    @Test
+    void shouldDeliverEveryWindowToASlowConsumer() {
+        final var events = new ArrayList<Event>();
+        for (var i = 0; i < 1_000; i++) {
+            events.add(new Event(i % 2 == 0 ? "a" : "b", i, 1d));
+        }
+
+        final var consumer = new SlowConsumer();
+        StreamSuppliers.ofIterable(events)
+                .transformWith(transformer(WindowSpec.sliding(20L, 10L), 0L, 0L))
+                .streamTo(consumer);
+        reactor.run();
+        assertTrue(consumer.getAcknowledgement().isResult());
+        // Windows start every 10 ms from -10 to 990, and both keys have events in each of them
+        assertEquals(2 * 101, consumer.received.size());
+    }
+
+    private List<String> run(final WindowTransformer<Event, String, double[], String> transformer,
+                             final List<Event> events) {
+        final var consumer = ToListStreamConsumer.<String>create();
+        StreamSuppliers.ofIterable(events).transformWith(transformer).streamTo(consumer);
+        reactor.run();
+        assertTrue(consumer.getResult().isResult());
+        return consumer.getList();
+    }
+
+    private static WindowTransformer<Event, String, double[], String> transformer(final WindowSpec spec,
+                                                                                 final long outOfOrdernessMs,
+                                                                                 final long allowedLatenessMs) {
+        return WindowTransformer.create(spec, Event::key, Event::time, new Sum(), outOfOrdernessMs,
+                allowedLatenessMs);
+    }
+
+    /**
+     * Takes one item per reactor tick, so fired windows keep waiting for downstream.
+     */
+    private final class SlowConsumer extends AbstractStreamConsumer<String> {
+        private final List<String> received = new ArrayList<>();
+
+        @Override
+        protected void onStarted() {
+            resume(this::accept);
+        }
+
+        @Override
+        protected void onEndOfStream() {
+            acknowledge();
+        }
+
+        private void accept(final String item) {
+            received.add(item);
+            suspend();
+            reactor.post(() -> resume(this::accept));
+        }
+    }
+
+    private record Event(String key, long time, double value) {
+    }
+
+    private static final class Sum implements SessionAggregator<Event, String, double[], String> {
+
+        @Override
+        public double[] create() {
+            return new double[1];
+        }
+
+        @Override
+        public double[] add(final double[] accumulator, final Event event) {
+            accumulator[0] += event.value();
+            return accumulator;
+        }
+
+        @Override
+        public double[] merge(final double[] left, final double[] right) {
+            left[0] += right[0];
+            return left;
+        }
+
+        @Override
+        public String result(final String key, final long start, final long end, final double[] accumulator) {
+            return key + "[" + start + "," + end + ")=" + accumulator[0];
+        }
+    }
+}
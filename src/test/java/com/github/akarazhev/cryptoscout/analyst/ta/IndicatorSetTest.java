@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.ta;
+
+import com.github.akarazhev.cryptoscout.analyst.model.Indicators;
+import com.github.akarazhev.cryptoscout.analyst.model.Kline;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class IndicatorSetTest {
+    private static final long MINUTE = 60_000L;
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void shouldMatchRecomputationOverHistory() {
+        final var set = new IndicatorSet();
+        final var closed = new ArrayList<Kline>();
+        Indicators last = null;
+        for (var i = 0; i < 200; i++) {
+            final var kline = kline(i, true);
+            closed.add(kline);
+            last = set.update(kline);
+            if (i >= 19) {
+                assertEquals(sma(closed, 20), last.sma(), EPSILON);
+                assertEquals(sma(closed, 20), last.bollingerMiddle(), EPSILON);
+                assertEquals(sma(closed, 20) + 2 * stdDev(closed, 20), last.bollingerUpper(), EPSILON);
+            }
+
+            if (i >= 13) {
+                assertEquals(stochasticK(closed, 14), last.stochasticK(), EPSILON);
+            }
+        }
+
+        assertEquals(ema(closed, 20), last.ema(), EPSILON);
+        assertEquals(rsi(closed, 14), last.rsi(), EPSILON);
+        assertEquals(ema(closed, 12) - ema(closed, 26), last.macd(), EPSILON);
+        assertEquals(last.macd() - last.macdSignal(), last.macdHistogram(), EPSILON);
+        assertTrue(last.atr() > 0d);
+    }
+
+    @Test
+    void shouldNotCommitOpenKlines() {
+        final var set = new IndicatorSet();
+        for (var i = 0; i < 30; i++) {
+            set.update(kline(i, true));
+        }
+
+        final var open = kline(30, false);
+        final var first = set.update(open);
+        for (var i = 0; i < 5; i++) {
+            assertEquals(first, set.update(open));
+        }
+
+        assertEquals(first, set.update(kline(30, true)));
+        // A redelivered closed kline returns the committed values instead of advancing the state again
+        assertEquals(first, set.update(kline(30, true)));
+    }
+
+    @Test
+    void shouldReportNaNUntilWarm() {
+        final var indicators = new IndicatorSet().update(kline(0, true));
+        assertTrue(Double.isNaN(indicators.sma()));
+        assertTrue(Double.isNaN(indicators.rsi()));
+        assertTrue(Double.isNaN(indicators.stochasticK()));
+        assertEquals((kline(0, true).high() + kline(0, true).low() + kline(0, true).close()) / 3d,
+                indicators.vwap(), EPSILON);
+    }
+
+    private static Kline kline(final int i, final boolean confirm) {
+        final var close = 100d + 10d * Math.sin(i / 7d) + (i % 5);
+        final var open = close - Math.cos(i / 3d);
+        final var high = Math.max(open, close) + 1d + (i % 3);
+        final var low = Math.min(open, close) - 1d - (i % 4);
+        return new Kline(i * MINUTE, (i + 1) * MINUTE - 1, open, high, low, close, 10d + i % 7, 0d, confirm,
+                (i + 1) * MINUTE);
+    }
+
+    private static double sma(final List<Kline> klines, final int period) {
+        var sum = 0d;
+        for (var i = klines.size() - period; i < klines.size(); i++) {
+            sum += klines.get(i).close();
+        }
+
+        return sum / period;
+    }
+
+    private static double stdDev(final List<Kline> klines, final int period) {
+        final var mean = sma(klines, period);
+        var sum = 0d;
+        for (var i = klines.size() - period; i < klines.size(); i++) {
+            sum += Math.pow(klines.get(i).close() - mean, 2);
+        }
+
+        return Math.sqrt(sum / period);
+    }
+
+    private static double ema(final List<Kline> klines, final int period) {
+        final var alpha = 2d / (period + 1);
+        var value = 0d;
+        for (var i = 0; i < period; i++) {
+            value += klines.get(i).close();
+        }
+
+        value /= period;
+        for (var i = period; i < klines.size(); i++) {
+            value += alpha * (klines.get(i).close() - value);
+        }
+
+        return value;
+    }
+
+    private static double rsi(final List<Kline> klines, final int period) {
+        var gain = 0d;
+        var loss = 0d;
+        for (var i = 1; i <= period; i++) {
+            final var change = klines.get(i).close() - klines.get(i - 1).close();
+            gain += Math.max(change, 0d);
+            loss += Math.max(-change, 0d);
+        }
+
+        gain /= period;
+        loss /= period;
+        for (var i = period + 1; i < klines.size(); i++) {
+            final var change = klines.get(i).close() - klines.get(i - 1).close();
+            gain += (Math.max(change, 0d) - gain) / period;
+            loss += (Math.max(-change, 0d) - loss) / period;
+        }
+
+        return 100d - 100d / (1d + gain / loss);
+    }
+
+    private static double stochasticK(final List<Kline> klines, final int period) {
+        var high = Double.NEGATIVE_INFINITY;
+        var low = Double.POSITIVE_INFINITY;
+        for (var i = klines.size() - period; i < klines.size(); i++) {
+            high = Math.max(high, klines.get(i).high());
+            low = Math.min(low, klines.get(i).low());
+        }
+
+        return 100d * (klines.getLast().close() - low) / (high - low);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.analyst.ta;
+
+import com.github.akarazhev.cryptoscout.analyst.codec.SymbolTable;
+import com.github.akarazhev.cryptoscout.analyst.model.Kline;
+import com.github.akarazhev.cryptoscout.analyst.model.Klines;
+import com.github.akarazhev.cryptoscout.analyst.model.Timeframes;
+import com.github.akarazhev.cryptoscout.analyst.model.Trade;
+import com.github.akarazhev.cryptoscout.analyst.model.Trades;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import com.github.akarazhev.jcryptolib.stream.Source;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class KlineAggregatorTest {
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    void shouldBuildFiveMinuteCandleFromOneMinuteKlines() {
+        final var builder = new CandleBuilder("5", 5 * MINUTE);
+        Kline candle = null;
+        for (var i = 0; i < 5; i++) {
+            // Every minute is seen open twice before it closes
+            builder.onKline(kline(i, 100 + i, false));
+            builder.onKline(kline(i, 100 + i, false));
+            candle = builder.onKline(kline(i, 100 + i, true));
+            assertEquals(i == 4, candle.confirm());
+        }
+
+        assertEquals(0L, candle.start());
+        assertEquals(5 * MINUTE - 1, candle.end());
+        assertEquals(99d, candle.open());
+        assertEquals(105d, candle.high());
+        assertEquals(98d, candle.low());
+        assertEquals(104d, candle.close());
+        assertEquals(50d, candle.volume());
+    }
+
+    @Test
+    void shouldIgnoreRedeliveredAndStaleKlines() {
+        final var builder = new CandleBuilder("5", 5 * MINUTE);
+        builder.onKline(kline(0, 100, true));
+        final var first = builder.onKline(kline(1, 101, true));
+        assertSame(first, builder.onKline(kline(1, 101, true)));
+        assertEquals(20d, first.volume());
+        builder.onKline(kline(5, 102, true));
+        assertNull(builder.onKline(kline(3, 103, true)));
+    }
+
+    @Test
+    void shouldCloseTradeCandlesOnBucketRollover() {
+        final var builder = new CandleBuilder("1", MINUTE);
+        final var closed = new ArrayList<Kline>();
+        builder.onTrade(1_000L, 100d, 1d, closed);
+        builder.onTrade(2_000L, 102d, 2d, closed);
+        builder.onTrade(MINUTE + 1_000L, 101d, 1d, closed);
+        assertEquals(1, closed.size());
+        assertTrue(closed.getFirst().confirm());
+        assertEquals(102d, closed.getFirst().high());
+        assertEquals(3d, closed.getFirst().volume());
+        assertFalse(builder.current().confirm());
+        assertEquals(101d, builder.current().open());
+    }
+
+    @Test
+    void shouldEmitTimeframesForBaseKlinesOnly() {
+        final var aggregator = KlineAggregator.create(SymbolTable.create(), KlineAggregator.Mode.KLINE);
+        final var base = new Klines("BTCUSDT", "1", MINUTE, new Kline[]{kline(0, 100, false)});
+        final var result = aggregator.apply(Payload.of(Provider.BYBIT_TA, Source.PML, base));
+        final var timeframes = assertInstanceOf(Timeframes.class, result.getData());
+        assertSame(base, timeframes.series()[0]);
+        assertEquals(6, timeframes.series().length);
+        assertEquals("D", ((Klines) timeframes.series()[5]).interval());
+
+        final var fiveMinutes = Payload.of(Provider.BYBIT_TA, Source.PML,
+                new Klines("BTCUSDT", "5", MINUTE, new Kline[]{kline(0, 100, false)}));
+        assertSame(fiveMinutes, aggregator.apply(fiveMinutes));
+    }
+
+    @Test
+    void shouldEmitOneCandlePerBucketOfAMessage() {
+        final var aggregator = KlineAggregator.create(SymbolTable.create(), KlineAggregator.Mode.KLINE);
+        final var base = new Klines("BTCUSDT", "1", 6 * MINUTE, new Kline[]{kline(3, 100, true), kline(4, 101, true),
+                kline(5, 102, true), kline(6, 103, false)});
+        final var timeframes = (Timeframes) aggregator.apply(Payload.of(Provider.BYBIT_TA, Source.PML, base))
+                .getData();
+        final var fiveMinutes = ((Klines) timeframes.series()[1]).klines();
+        assertEquals(2, fiveMinutes.length);
+        assertEquals(0L, fiveMinutes[0].start());
+        assertTrue(fiveMinutes[0].confirm());
+        assertEquals(101d, fiveMinutes[0].close());
+        assertEquals(20d, fiveMinutes[0].volume());
+        assertEquals(5 * MINUTE, fiveMinutes[1].start());
+        assertFalse(fiveMinutes[1].confirm());
+        assertEquals(103d, fiveMinutes[1].close());
+        final var fifteenMinutes = ((Klines) timeframes.series()[2]).klines();
+        assertEquals(1, fifteenMinutes.length);
+        assertEquals(40d, fifteenMinutes[0].volume());
+    }
+
+    @Test
+    void shouldStopAggregatingIntervalsSubscribedDirectly() {
+        final var aggregator = KlineAggregator.create(SymbolTable.create(), KlineAggregator.Mode.KLINE);
+        final var fiveMinutes = Payload.of(Provider.BYBIT_TA, Source.PML,
+                new Klines("BTCUSDT", "5", MINUTE, new Kline[]{kline(0, 100, false)}));
+        assertSame(fiveMinutes, aggregator.apply(fiveMinutes));
+        final var timeframes = (Timeframes) aggregator.apply(Payload.of(Provider.BYBIT_TA, Source.PML,
+                new Klines("BTCUSDT", "1", MINUTE, new Kline[]{kline(0, 100, true)}))).getData();
+        assertEquals(5, timeframes.series().length);
+        for (final var series : timeframes.series()) {
+            assertNotEquals("5", ((Klines) series).interval());
+        }
+        // Other symbols still get the interval aggregated
+        final var other = (Timeframes) aggregator.apply(Payload.of(Provider.BYBIT_TA, Source.PML,
+                new Klines("ETHUSDT", "1", MINUTE, new Kline[]{kline(0, 100, true)}))).getData();
+        assertEquals("5", ((Klines) other.series()[1]).interval());
+    }
+
+    @Test
+    void shouldAggregateTrades() {
+        final var aggregator = KlineAggregator.create(SymbolTable.create(), KlineAggregator.Mode.TRADE);
+        final var trades = new Trades("BTCUSDT", 2_000L, new Trade[]{
+                new Trade(1_000L, true, 100d, 1d),
+                new Trade(2_000L, false, 99d, 2d)
+        });
+        final var timeframes = (Timeframes) aggregator.apply(Payload.of(Provider.BYBIT_TA, Source.PML, trades))
+                .getData();
+        assertSame(trades, timeframes.series()[0]);
+        assertEquals(7, timeframes.series().length);
+        final var minute = (Klines) timeframes.series()[1];
+        assertEquals("1", minute.interval());
+        assertEquals(99d, minute.klines()[0].close());
+        assertEquals(3d, minute.klines()[0].volume());
+    }
+
+    private static Kline kline(final int minute, final double close, final boolean confirm) {
+        return new Kline(minute * MINUTE, (minute + 1) * MINUTE - 1, close - 1, close + 1, close - 2, close, 10d,
+                10d * close, confirm, (minute + 1) * MINUTE);
+    }
+}